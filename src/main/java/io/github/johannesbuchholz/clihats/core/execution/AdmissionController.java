@@ -0,0 +1,300 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.exception.AdmissionRejectedException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderExecutionException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrently running invocations of a {@link Commander}, in total and per command.
+ * <p>
+ *     Arguments are dispatched and parsed before admission. Help calls and invalid arguments thus never wait. An
+ *     invocation exceeding a limit waits in a bounded queue and is admitted in order of arrival as soon as its
+ *     command may run. If the queue is full, the {@link RejectPolicy} decides which invocation is rejected. Rejected
+ *     invocations fail fast with {@link AdmissionRejectedException} whose exit code is
+ *     {@value AdmissionRejectedException#EXIT_CODE}.
+ * </p>
+ * <p>
+ *     An invocation that timed out or was cancelled returns to its caller at once but keeps counting against the
+ *     limits until its instruction actually terminates.
+ * </p>
+ * <p>
+ *     Every copy created by the builder-like methods has its own limits and state. Commands of nested commanders
+ *     sharing a name share their per-command limit.
+ * </p>
+ */
+public class AdmissionController {
+
+    /**
+     * Decides which invocation to reject if an invocation arrives while the wait queue is full.
+     */
+    public enum RejectPolicy {
+        /**
+         * Rejects the arriving invocation.
+         */
+        REJECT_NEW,
+        /**
+         * Rejects the invocation waiting longest and queues the arriving invocation.
+         */
+        REJECT_OLDEST
+    }
+
+    private final Commander commander;
+    private final int maxConcurrency;
+    private final Map<String, Integer> maxConcurrencyByCommandName;
+    private final int maxQueueLength;
+    private final RejectPolicy rejectPolicy;
+    // null if waiting is not bounded
+    private final Duration maxWaitTime;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private final Map<String, Integer> runningCountByCommandName = new HashMap<>();
+    private int runningCount = 0;
+    private long admittedCount = 0;
+    private long rejectedCount = 0;
+
+    /**
+     * Creates a new AdmissionController without any limits.
+     * @param commander the commander executing admitted invocations.
+     * @return a new AdmissionController.
+     */
+    public static AdmissionController forCommander(Commander commander) {
+        return new AdmissionController(Objects.requireNonNull(commander), Integer.MAX_VALUE, Map.of(), Integer.MAX_VALUE, RejectPolicy.REJECT_NEW, null);
+    }
+
+    private AdmissionController(Commander commander, int maxConcurrency, Map<String, Integer> maxConcurrencyByCommandName,
+                                int maxQueueLength, RejectPolicy rejectPolicy, Duration maxWaitTime) {
+        this.commander = commander;
+        this.maxConcurrency = maxConcurrency;
+        this.maxConcurrencyByCommandName = maxConcurrencyByCommandName;
+        this.maxQueueLength = maxQueueLength;
+        this.rejectPolicy = rejectPolicy;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    // builder likes
+
+    /**
+     * @param maxConcurrency the maximum number of invocations running at the same time.
+     * @return a new AdmissionController as a copy of this using the specified limit.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    public AdmissionController withMaxConcurrency(int maxConcurrency) {
+        return new AdmissionController(commander, requirePositive(maxConcurrency), maxConcurrencyByCommandName, maxQueueLength, rejectPolicy, maxWaitTime);
+    }
+
+    /**
+     * @param commandName the name of the limited command.
+     * @param maxConcurrency the maximum number of invocations of the specified command running at the same time.
+     * @return a new AdmissionController as a copy of this using the specified limit.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    public AdmissionController withMaxConcurrency(String commandName, int maxConcurrency) {
+        Map<String, Integer> newMaxConcurrencyByCommandName = new HashMap<>(maxConcurrencyByCommandName);
+        newMaxConcurrencyByCommandName.put(Objects.requireNonNull(commandName), requirePositive(maxConcurrency));
+        return new AdmissionController(commander, this.maxConcurrency, Map.copyOf(newMaxConcurrencyByCommandName), maxQueueLength, rejectPolicy, maxWaitTime);
+    }
+
+    /**
+     * @param maxQueueLength the maximum number of invocations waiting for admission. Zero rejects every invocation
+     *                       exceeding a limit immediately.
+     * @return a new AdmissionController as a copy of this using the specified queue length.
+     * @throws IllegalArgumentException if the length is negative.
+     */
+    public AdmissionController withMaxQueueLength(int maxQueueLength) {
+        if (maxQueueLength < 0)
+            throw new IllegalArgumentException("Queue length must not be negative but is " + maxQueueLength);
+        return new AdmissionController(commander, maxConcurrency, maxConcurrencyByCommandName, maxQueueLength, rejectPolicy, maxWaitTime);
+    }
+
+    /**
+     * @param rejectPolicy the policy applied if an invocation arrives while the wait queue is full.
+     * @return a new AdmissionController as a copy of this using the specified policy.
+     */
+    public AdmissionController withRejectPolicy(RejectPolicy rejectPolicy) {
+        return new AdmissionController(commander, maxConcurrency, maxConcurrencyByCommandName, maxQueueLength, Objects.requireNonNull(rejectPolicy), maxWaitTime);
+    }
+
+    /**
+     * @param maxWaitTime the maximum time an invocation waits for admission before it is rejected.
+     * @return a new AdmissionController as a copy of this using the specified wait time.
+     */
+    public AdmissionController withMaxWaitTime(Duration maxWaitTime) {
+        if (maxWaitTime.isNegative())
+            throw new IllegalArgumentException("Wait time must not be negative but is " + maxWaitTime);
+        return new AdmissionController(commander, maxConcurrency, maxConcurrencyByCommandName, maxQueueLength, rejectPolicy, maxWaitTime);
+    }
+
+    private static int requirePositive(int maxConcurrency) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("Concurrency limit must be positive but is " + maxConcurrency);
+        return maxConcurrency;
+    }
+
+    // functionality
+
+    /**
+     * Executes the specified arguments using the {@link InvocationContext#current() current} invocation context once
+     * admitted.
+     * @see #execute(String[], InvocationContext)
+     */
+    public void execute(String[] inputArgs) throws CommanderExecutionException, CliHelpCallException, AdmissionRejectedException {
+        execute(inputArgs, InvocationContext.current());
+    }
+
+    /**
+     * Dispatches and parses the specified arguments like {@link Commander#execute(String[], InvocationContext)}, then
+     * waits for admission and runs the matching command. Blocks the calling thread while waiting.
+     * @throws AdmissionRejectedException  if the invocation was rejected due to overload.
+     * @throws CommanderExecutionException if the execution fails.
+     * @throws CliHelpCallException        if the user input requests help.
+     */
+    public void execute(String[] inputArgs, InvocationContext context) throws CommanderExecutionException, CliHelpCallException, AdmissionRejectedException {
+        try (InvocationContext.Binding ignored = context.bind()) {
+            Commander.Dispatch dispatch = commander.dispatch(inputArgs, new Object[0]);
+            String commandName = dispatch.getCommand().getName();
+            acquire(commandName);
+            // an instruction ignoring its timeout or cancellation keeps its permit until it actually terminates
+            dispatch.run(() -> release(commandName));
+        }
+    }
+
+    /**
+     * @return the commander whose invocations are controlled.
+     */
+    public Commander getCommander() {
+        return commander;
+    }
+
+    /**
+     * @return a snapshot of the current state of this controller.
+     */
+    public AdmissionMetrics getMetrics() {
+        lock.lock();
+        try {
+            return new AdmissionMetrics(runningCount, queue.size(), admittedCount, rejectedCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(String commandName) throws AdmissionRejectedException {
+        lock.lock();
+        try {
+            // queued invocations are blocked by their own command limit whenever global capacity is left
+            if (hasCapacity(commandName)) {
+                start(commandName);
+                return;
+            }
+            if (queue.size() >= maxQueueLength) {
+                if (rejectPolicy == RejectPolicy.REJECT_NEW || queue.isEmpty()) {
+                    rejectedCount++;
+                    throw new AdmissionRejectedException(commandName, "Too many invocations waiting");
+                }
+                queue.pollFirst().reject("Displaced by a newer invocation");
+                rejectedCount++;
+            }
+            Waiter waiter = new Waiter(commandName, lock.newCondition());
+            queue.addLast(waiter);
+            await(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void await(Waiter waiter) throws AdmissionRejectedException {
+        long remainingNanos = maxWaitTime == null ? Long.MAX_VALUE : maxWaitTime.toNanos();
+        try {
+            while (waiter.state == Waiter.State.WAITING) {
+                if (maxWaitTime == null) {
+                    waiter.condition.await();
+                } else if (remainingNanos > 0) {
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                } else {
+                    queue.remove(waiter);
+                    rejectedCount++;
+                    throw new AdmissionRejectedException(waiter.commandName, "Waited longer than " + maxWaitTime);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (waiter.state == Waiter.State.ADMITTED)
+                return;
+            queue.remove(waiter);
+            rejectedCount++;
+            throw new AdmissionRejectedException(waiter.commandName, "Interrupted while waiting");
+        }
+        if (waiter.state == Waiter.State.REJECTED)
+            throw new AdmissionRejectedException(waiter.commandName, waiter.rejectionReason);
+    }
+
+    private void release(String commandName) {
+        lock.lock();
+        try {
+            runningCount--;
+            runningCountByCommandName.computeIfPresent(commandName, (name, count) -> count == 1 ? null : count - 1);
+            admitWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admitWaiters() {
+        Iterator<Waiter> waiters = queue.iterator();
+        while (runningCount < maxConcurrency && waiters.hasNext()) {
+            Waiter waiter = waiters.next();
+            if (hasCapacity(waiter.commandName)) {
+                waiters.remove();
+                start(waiter.commandName);
+                waiter.admit();
+            }
+        }
+    }
+
+    private boolean hasCapacity(String commandName) {
+        return runningCount < maxConcurrency
+                && runningCountByCommandName.getOrDefault(commandName, 0) < maxConcurrencyByCommandName.getOrDefault(commandName, Integer.MAX_VALUE);
+    }
+
+    private void start(String commandName) {
+        runningCount++;
+        runningCountByCommandName.merge(commandName, 1, Integer::sum);
+        admittedCount++;
+    }
+
+    /**
+     * An invocation waiting for admission. Guarded by the lock of the controller.
+     */
+    private static final class Waiter {
+
+        private enum State {WAITING, ADMITTED, REJECTED}
+
+        private final String commandName;
+        private final Condition condition;
+        private State state = State.WAITING;
+        private String rejectionReason;
+
+        private Waiter(String commandName, Condition condition) {
+            this.commandName = commandName;
+            this.condition = condition;
+        }
+
+        private void admit() {
+            state = State.ADMITTED;
+            condition.signal();
+        }
+
+        private void reject(String reason) {
+            state = State.REJECTED;
+            rejectionReason = reason;
+            condition.signal();
+        }
+
+    }
+
+}
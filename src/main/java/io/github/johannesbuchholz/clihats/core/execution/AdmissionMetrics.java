@@ -0,0 +1,54 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+/**
+ * Snapshot of the state of an {@link AdmissionController}.
+ */
+public class AdmissionMetrics {
+
+    private final int runningCount;
+    private final int queuedCount;
+    private final long admittedCount;
+    private final long rejectedCount;
+
+    AdmissionMetrics(int runningCount, int queuedCount, long admittedCount, long rejectedCount) {
+        this.runningCount = runningCount;
+        this.queuedCount = queuedCount;
+        this.admittedCount = admittedCount;
+        this.rejectedCount = rejectedCount;
+    }
+
+    /**
+     * @return the number of invocations currently running.
+     */
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    /**
+     * @return the number of invocations currently waiting for admission.
+     */
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    /**
+     * @return the total number of admitted invocations.
+     */
+    public long getAdmittedCount() {
+        return admittedCount;
+    }
+
+    /**
+     * @return the total number of rejected invocations, including invocations that waited too long.
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{running=%d, queued=%d, admitted=%d, rejected=%d}",
+                this.getClass().getSimpleName(), runningCount, queuedCount, admittedCount, rejectedCount);
+    }
+
+}
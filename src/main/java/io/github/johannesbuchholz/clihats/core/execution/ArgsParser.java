@@ -2,8 +2,23 @@ package io.github.johannesbuchholz.clihats.core.execution;
 
 import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
 
+import java.util.Arrays;
+
 public interface ArgsParser {
 
     Object[] parse(InputArgument[] args) throws ArgumentParsingException;
 
+    /**
+     * Same as {@link #parse(InputArgument[])} but the returned array ends with the specified number of additional
+     * empty slots, for example to receive the values of global options without copying the parsed values.
+     * @param args the arguments to parse.
+     * @param trailingCapacity the number of empty slots following the parsed values.
+     * @return the parsed values followed by the empty slots.
+     * @throws ArgumentParsingException if parsing fails.
+     */
+    default Object[] parse(InputArgument[] args, int trailingCapacity) throws ArgumentParsingException {
+        Object[] parsedValues = parse(args);
+        return trailingCapacity == 0 ? parsedValues : Arrays.copyOf(parsedValues, parsedValues.length + trailingCapacity);
+    }
+
 }
@@ -3,6 +3,8 @@ package io.github.johannesbuchholz.clihats.core.execution;
 import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
 import io.github.johannesbuchholz.clihats.core.execution.parser.exception.MissingArgumentException;
 
+import java.util.Optional;
+
 /**
  * Extending classes are able to parse a value from a list of options.
  * @param <T> The type this parser returns.
@@ -37,4 +39,11 @@ public interface ArgumentParser<T> {
      */
     ArgumentParsingResult<T> defaultValue() throws ArgumentParsingException;
 
+    /**
+     * @return the provider of the values this parser accepts if any. Used to complete values on the command line.
+     */
+    default Optional<CompletionProvider> getCompletionProvider() {
+        return Optional.empty();
+    }
+
 }
@@ -0,0 +1,250 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidCommandLineException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Executes a stream of command lines using a {@link Commander} and a bounded number of worker threads.
+ * <p>
+ *     Lines are read one at a time, split by {@link CommandLineTokenizer} and dispatched on the reading thread. Their
+ *     commands then run on the workers. On JVMs providing virtual threads, each line runs on a new virtual thread
+ *     and at most {@link #withParallelism(int) parallelism} lines run at a time. Otherwise, lines run on a fixed
+ *     pool of platform threads. Only a bounded number of lines is held in memory at any time, so batches of
+ *     arbitrary size can be executed. Blank lines and comments are skipped.
+ * </p>
+ * <p>
+ *     The outcome of every line is reported to a consumer. If reporting is ordered, outcomes are reported in the
+ *     order of the lines. Otherwise, outcomes are reported as soon as their line completes. The consumer is never
+ *     called concurrently.
+ * </p>
+ * <p>
+ *     In a dry run, lines are validated by {@link Commander#validate(String[], InvocationContext, boolean)} including
+ *     lazy values instead of being executed. Since there is no instruction to run, dispatching and parsing happen on
+ *     the worker pool.
+ * </p>
+ */
+public class BatchExecutor {
+
+    // lines read ahead per worker thread
+    private static final int PENDING_LINES_PER_WORKER = 4;
+
+    private final Commander commander;
+    private final int parallelism;
+    private final boolean isOrdered;
+    private final boolean isDryRun;
+    // null to use the current context when executing
+    private final InvocationContext context;
+
+    /**
+     * Creates a new BatchExecutor running one line at a time with ordered reporting.
+     * @param commander the commander executing each line.
+     * @return a new BatchExecutor.
+     */
+    public static BatchExecutor forCommander(Commander commander) {
+        return new BatchExecutor(Objects.requireNonNull(commander), 1, true, false, null);
+    }
+
+    private BatchExecutor(Commander commander, int parallelism, boolean isOrdered, boolean isDryRun, InvocationContext context) {
+        this.commander = commander;
+        this.parallelism = parallelism;
+        this.isOrdered = isOrdered;
+        this.isDryRun = isDryRun;
+        this.context = context;
+    }
+
+    /**
+     * @param parallelism the maximum number of lines running at the same time.
+     * @return a new BatchExecutor as a copy of this using the specified parallelism.
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public BatchExecutor withParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be positive but is " + parallelism);
+        return new BatchExecutor(commander, parallelism, isOrdered, isDryRun, context);
+    }
+
+    /**
+     * @param isOrdered true if outcomes should be reported in the order of lines.
+     * @return a new BatchExecutor as a copy of this using the specified reporting order.
+     */
+    public BatchExecutor withOrderedReporting(boolean isOrdered) {
+        return new BatchExecutor(commander, parallelism, isOrdered, isDryRun, context);
+    }
+
+    /**
+     * @param isDryRun true if lines should only be validated instead of executed.
+     * @return a new BatchExecutor as a copy of this using the specified mode.
+     */
+    public BatchExecutor withDryRun(boolean isDryRun) {
+        return new BatchExecutor(commander, parallelism, isOrdered, isDryRun, context);
+    }
+
+    /**
+     * @param context the context of every line. Defaults to the {@link InvocationContext#current() current} context
+     *                of the thread calling {@link #execute(BufferedReader, Consumer)}.
+     * @return a new BatchExecutor as a copy of this using the specified invocation context.
+     */
+    public BatchExecutor withInvocationContext(InvocationContext context) {
+        return new BatchExecutor(commander, parallelism, isOrdered, isDryRun, Objects.requireNonNull(context));
+    }
+
+    /**
+     * Executes every line read from the specified reader and waits for all lines to complete.
+     * @param reader the source of command lines.
+     * @param lineConsumer receives the outcome of each line.
+     * @return the totals of all lines.
+     * @throws IOException if reading fails. Lines already dispatched still complete.
+     */
+    public BatchResult execute(BufferedReader reader, Consumer<BatchResult.Line> lineConsumer) throws IOException {
+        Objects.requireNonNull(lineConsumer);
+        InvocationContext lineContext = context == null ? InvocationContext.current() : context;
+        int maxPendingLines = parallelism * PENDING_LINES_PER_WORKER;
+        Reporter reporter = new Reporter(lineConsumer, new Semaphore(maxPendingLines));
+        ExecutorService workerThreads = CliExecutors.isVirtualThreadSupported()
+                ? CliExecutors.newPerTaskExecutor()
+                : Executors.newFixedThreadPool(parallelism);
+        Executor workers = limitConcurrency(workerThreads, parallelism);
+        try {
+            int lineNumber = 0;
+            int sequenceNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String[] args;
+                try {
+                    args = CommandLineTokenizer.tokenize(line);
+                } catch (IllegalArgumentException e) {
+                    reporter.acquire();
+                    reporter.report(sequenceNumber++, new BatchResult.Line(lineNumber, line, new InvalidCommandLineException(commander, e)));
+                    continue;
+                }
+                if (args.length == 0)
+                    continue;
+                reporter.acquire();
+                int currentSequenceNumber = sequenceNumber++;
+                int currentLineNumber = lineNumber;
+                String currentLine = line;
+                if (isDryRun) {
+                    CompletableFuture.supplyAsync(() -> commander.validate(args, lineContext, true), workers).whenComplete((result, e) ->
+                            reporter.report(currentSequenceNumber, new BatchResult.Line(currentLineNumber, currentLine,
+                                    unwrap(e == null ? result.getException().orElse(null) : e))));
+                } else {
+                    commander.executeAsync(args, lineContext, workers).whenComplete((result, e) ->
+                            reporter.report(currentSequenceNumber, new BatchResult.Line(currentLineNumber, currentLine, unwrap(e))));
+                }
+            }
+        } finally {
+            // wait for dispatched lines
+            reporter.acquire(maxPendingLines);
+            workerThreads.shutdown();
+        }
+        return reporter.createResult();
+    }
+
+    /**
+     * A fixed pool never runs more tasks than it has threads. Virtual threads are started per task and wait for one
+     * of the specified number of permits instead.
+     */
+    private static Executor limitConcurrency(ExecutorService workerThreads, int parallelism) {
+        if (!CliExecutors.isVirtualThreadSupported())
+            return workerThreads;
+        Semaphore runningLinePermits = new Semaphore(parallelism, true);
+        return task -> workerThreads.execute(() -> {
+            runningLinePermits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                runningLinePermits.release();
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null)
+            e = e.getCause();
+        // help calls are expected outcomes
+        return e instanceof CliHelpCallException ? null : e;
+    }
+
+    private class Reporter {
+
+        private final Consumer<BatchResult.Line> lineConsumer;
+        private final Semaphore pendingLinePermits;
+        private final Map<Integer, BatchResult.Line> completedLinesBySequenceNumber = new HashMap<>();
+        private int nextSequenceNumber = 0;
+        private int lineCount = 0;
+        private int failedLineCount = 0;
+        private int firstFailedLineNumber = Integer.MAX_VALUE;
+        private int exitCode = 0;
+
+        private Reporter(Consumer<BatchResult.Line> lineConsumer, Semaphore pendingLinePermits) {
+            this.lineConsumer = lineConsumer;
+            this.pendingLinePermits = pendingLinePermits;
+        }
+
+        private void acquire() throws InterruptedIOException {
+            acquire(1);
+        }
+
+        private void acquire(int permits) throws InterruptedIOException {
+            try {
+                pendingLinePermits.acquire(permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for pending lines");
+            }
+            if (permits > 1)
+                pendingLinePermits.release(permits);
+        }
+
+        private synchronized void report(int sequenceNumber, BatchResult.Line line) {
+            lineCount++;
+            if (line.getFailure().isPresent()) {
+                failedLineCount++;
+                if (line.getLineNumber() < firstFailedLineNumber) {
+                    firstFailedLineNumber = line.getLineNumber();
+                    exitCode = line.getExitCode();
+                }
+            }
+            if (!isOrdered) {
+                accept(line);
+                return;
+            }
+            // in ordered mode, permits are released on reporting to bound the number of buffered lines
+            completedLinesBySequenceNumber.put(sequenceNumber, line);
+            BatchResult.Line nextLine;
+            while ((nextLine = completedLinesBySequenceNumber.remove(nextSequenceNumber)) != null) {
+                nextSequenceNumber++;
+                accept(nextLine);
+            }
+        }
+
+        private void accept(BatchResult.Line line) {
+            try {
+                lineConsumer.accept(line);
+            } finally {
+                pendingLinePermits.release();
+            }
+        }
+
+        private synchronized BatchResult createResult() {
+            return new BatchResult(lineCount, failedLineCount, exitCode);
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Totals of the execution of a batch of command lines.
+ * @see BatchExecutor
+ */
+public class BatchResult {
+
+    private final int lineCount;
+    private final int failedLineCount;
+    private final int exitCode;
+
+    BatchResult(int lineCount, int failedLineCount, int exitCode) {
+        this.lineCount = lineCount;
+        this.failedLineCount = failedLineCount;
+        this.exitCode = exitCode;
+    }
+
+    /**
+     * @return the number of executed lines, not counting blank lines and comments.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getSucceededLineCount() {
+        return lineCount - failedLineCount;
+    }
+
+    public int getFailedLineCount() {
+        return failedLineCount;
+    }
+
+    /**
+     * @return the exit code of the first failed line or 0 if no line failed.
+     */
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{lineCount=%d, failedLineCount=%d, exitCode=%d}", this.getClass().getSimpleName(), lineCount, failedLineCount, exitCode);
+    }
+
+    /**
+     * The outcome of a single command line.
+     */
+    public static class Line {
+
+        private final int lineNumber;
+        private final String line;
+        private final Throwable failure;
+
+        Line(int lineNumber, String line, Throwable failure) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.failure = failure;
+        }
+
+        /**
+         * @return the number of this line within the batch starting at 1.
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        /**
+         * @return the exception raised when executing this line. A {@link CliException} unless the instruction
+         * threw an {@link Error}.
+         */
+        public Optional<Throwable> getFailure() {
+            return Optional.ofNullable(failure);
+        }
+
+        /**
+         * @return the problems described by the failure of this line. Empty if this line succeeded.
+         */
+        public List<Diagnostic> getDiagnostics() {
+            return Diagnostic.describe(failure);
+        }
+
+        /**
+         * @return 0 if this line succeeded or was a help call, otherwise the exit code of its failure.
+         */
+        public int getExitCode() {
+            if (failure == null)
+                return 0;
+            return failure instanceof CliException ? ((CliException) failure).getExitCode() : 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{lineNumber=%d, exitCode=%d}", this.getClass().getSimpleName(), lineNumber, getExitCode());
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Signals that an invocation should stop. Cancellation is cooperative: instructions running for a long time check
+ * {@link #isCancelled()} or call {@link #throwIfCancelled()} at convenient points. Additionally, cancelling interrupts
+ * the thread running the instruction and releases the thread waiting for it.
+ * <p>
+ *     Instructions obtain the token of their invocation via {@code InvocationContext.current().getCancellationToken()}.
+ * </p>
+ * @see InvocationContext#withCancellationToken(CancellationToken)
+ * @see InvocationContext#withTimeout(java.time.Duration)
+ */
+public final class CancellationToken {
+
+    private static final CancellationToken NEVER_CANCELLED = new CancellationToken(false);
+
+    private final boolean isCancellable;
+    private final List<Runnable> cancellationListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean isCancelled = false;
+
+    /**
+     * @return a new token that is not cancelled.
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(true);
+    }
+
+    /**
+     * @return the token of invocations that can not be cancelled.
+     */
+    static CancellationToken neverCancelled() {
+        return NEVER_CANCELLED;
+    }
+
+    private CancellationToken(boolean isCancellable) {
+        this.isCancellable = isCancellable;
+    }
+
+    /**
+     * Cancels this token. Subsequent calls have no effect.
+     * @throws UnsupportedOperationException if this token belongs to an invocation that can not be cancelled.
+     */
+    public void cancel() {
+        if (!isCancellable)
+            throw new UnsupportedOperationException("Invocation can not be cancelled");
+        synchronized (this) {
+            if (isCancelled)
+                return;
+            isCancelled = true;
+        }
+        for (Runnable listener : cancellationListeners)
+            listener.run();
+    }
+
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    /**
+     * @throws CancellationException if this token has been cancelled.
+     */
+    public void throwIfCancelled() throws CancellationException {
+        if (isCancelled)
+            throw new CancellationException("Invocation has been cancelled");
+    }
+
+    /**
+     * Runs the specified listener once this token is cancelled or immediately if it already is. The listener may run
+     * twice if this token is cancelled concurrently and thus must be idempotent.
+     */
+    void onCancel(Runnable listener) {
+        if (!isCancellable)
+            return;
+        cancellationListeners.add(listener);
+        if (isCancelled)
+            listener.run();
+    }
+
+    void removeCancelListener(Runnable listener) {
+        cancellationListeners.remove(listener);
+    }
+
+}
@@ -0,0 +1,101 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The outcome of each step of a chain of commands.
+ * @see Commander#executeChain(String[], java.util.concurrent.Executor)
+ */
+public class ChainExecutionResult {
+
+    private final List<Step> steps;
+
+    ChainExecutionResult(List<Step> steps) {
+        this.steps = List.copyOf(steps);
+    }
+
+    /**
+     * @return the steps of the chain in the order of their appearance.
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return true if every step succeeded.
+     */
+    public boolean isSuccessful() {
+        return steps.stream().allMatch(step -> step.getStatus() == Status.SUCCEEDED);
+    }
+
+    /**
+     * @return the exit code of the first failed step or 0 if no step failed.
+     */
+    public int getExitCode() {
+        return steps.stream()
+                .filter(step -> step.getStatus() == Status.FAILED)
+                .findFirst()
+                .map(Step::getExitCode)
+                .orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{exitCode=%d, steps=%s}", this.getClass().getSimpleName(), getExitCode(), steps);
+    }
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        /**
+         * The step did not run because a preceding step failed.
+         */
+        SKIPPED
+    }
+
+    public static class Step {
+
+        private final List<String> args;
+        private final Status status;
+        private final CliException exception;
+
+        Step(List<String> args, Status status, CliException exception) {
+            this.args = List.copyOf(args);
+            this.status = status;
+            this.exception = exception;
+        }
+
+        /**
+         * @return the arguments of this step starting with the command name.
+         */
+        public List<String> getArgs() {
+            return args;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the exception of this step if it failed.
+         */
+        public Optional<CliException> getException() {
+            return Optional.ofNullable(exception);
+        }
+
+        /**
+         * @return the exit code of the exception of this step or 0 if this step did not fail.
+         */
+        public int getExitCode() {
+            return exception == null ? 0 : exception.getExitCode();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{args=%s, status=%s}", this.getClass().getSimpleName(), args, status);
+        }
+
+    }
+
+}
@@ -1,16 +1,48 @@
 package io.github.johannesbuchholz.clihats.core.execution;
 
+import java.util.function.Supplier;
+
 /**
  * Base class for checked cli exceptions.
  */
 public class CliException extends Exception {
 
+    // null if the message has been passed to the super constructor
+    private final Supplier<String> messageSupplier;
+    private volatile String renderedMessage;
+
     public CliException(String message) {
         super(message);
+        this.messageSupplier = null;
     }
 
     public CliException(String message, Throwable cause) {
         super(message, cause);
+        this.messageSupplier = null;
+    }
+
+    /**
+     * For expected outcomes like invalid user input or help calls: The message is rendered on first access and the
+     * stack trace is not captured if not writable.
+     * @param messageSupplier supplies the message on first access.
+     * @param cause the cause. May be null.
+     * @param writableStackTrace false if the stack trace of this exception provides no value.
+     */
+    protected CliException(Supplier<String> messageSupplier, Throwable cause, boolean writableStackTrace) {
+        super(null, cause, true, writableStackTrace);
+        this.messageSupplier = messageSupplier;
+    }
+
+    @Override
+    public String getMessage() {
+        if (messageSupplier == null)
+            return super.getMessage();
+        String message = renderedMessage;
+        if (message == null) {
+            message = messageSupplier.get();
+            renderedMessage = message;
+        }
+        return message;
     }
 
     public int getExitCode() {
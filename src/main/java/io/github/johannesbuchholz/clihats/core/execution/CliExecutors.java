@@ -0,0 +1,116 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of executors suited for {@link Commander#executeAsync(String[], java.util.concurrent.Executor)}.
+ * <p>
+ *     CliHats is compiled for Java 11. Virtual threads are therefore looked up at runtime and used whenever the
+ *     running JVM provides them.
+ * </p>
+ */
+public final class CliExecutors {
+
+    // null if the running JVM does not provide virtual threads
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutorFactory();
+
+    private CliExecutors() {}
+
+    /**
+     * Lazily creates the shared executor on first use.
+     */
+    private static final class CancellableWorkers {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final AtomicInteger ACTIVE_COUNT = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = newPerTaskExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "clihats-worker-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private static void execute(Runnable task) {
+            ACTIVE_COUNT.incrementAndGet();
+            try {
+                EXECUTOR.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        ACTIVE_COUNT.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                ACTIVE_COUNT.decrementAndGet();
+                throw e;
+            }
+        }
+
+    }
+
+    /**
+     * @return the executor running instructions subject to a timeout or cancellation. Starts a new daemon thread,
+     * virtual if available, for each task and never rejects tasks.
+     */
+    static Executor getCancellableWorkers() {
+        return CancellableWorkers::execute;
+    }
+
+    /**
+     * @return the number of instructions currently running on behalf of invocations with a timeout or cancellation,
+     * including instructions that keep running after their invocation timed out or was cancelled.
+     */
+    public static int getCancellableWorkerCount() {
+        return CancellableWorkers.ACTIVE_COUNT.get();
+    }
+
+    private static MethodHandle findVirtualThreadPerTaskExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the running JVM provides virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor starting a new thread for each task. Instructions blocking on I/O then do not limit the
+     * number of concurrent executions.
+     * <p>
+     *     On JVMs providing virtual threads, each task runs on a new virtual thread. Otherwise, the returned executor is
+     *     a cached pool of platform threads.
+     * </p>
+     * @return a new executor starting a thread per task.
+     * @see #isVirtualThreadSupported()
+     */
+    public static ExecutorService newPerTaskExecutor() {
+        return newPerTaskExecutor(Executors.defaultThreadFactory());
+    }
+
+    /**
+     * @param platformThreadFactory creates the threads of the cached pool used if the running JVM does not provide
+     *                              virtual threads.
+     */
+    private static ExecutorService newPerTaskExecutor(ThreadFactory platformThreadFactory) {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null)
+            return Executors.newCachedThreadPool(platformThreadFactory);
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+
+}
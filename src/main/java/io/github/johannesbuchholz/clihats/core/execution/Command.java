@@ -3,12 +3,31 @@ package io.github.johannesbuchholz.clihats.core.execution;
 import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
 import io.github.johannesbuchholz.clihats.core.execution.exception.ClientCodeExecutionException;
 import io.github.johannesbuchholz.clihats.core.execution.exception.CommandExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommandTimeoutException;
 import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidInputArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.AbstractOptionParser;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArrayOperandParser;
 import io.github.johannesbuchholz.clihats.core.execution.parser.CliArgsParser;
+import io.github.johannesbuchholz.clihats.core.execution.parser.OperandParser;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ValuedOptionParser;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.UnknownArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.UncheckedValueMappingException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
+import io.github.johannesbuchholz.clihats.core.execution.result.TextResultWriter;
 import io.github.johannesbuchholz.clihats.core.text.TextMatrix;
 
+import java.io.Writer;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Wraps a particular action together with a list of options.
@@ -22,13 +41,19 @@ import java.util.stream.Collectors;
 public class Command {
 
     public static final int COMMAND_DESCRIPTION_WIDTH = 80;
+    private static final ResultWriter DEFAULT_RESULT_WRITER = new TextResultWriter();
 
-    private final Instruction instruction;
+    private final ResultInstruction instruction;
+    private final ResultWriter resultWriter;
     private final List<ArgumentParser<?>> parsers;
     private final String description;
+    // null if unbounded
+    private final Duration timeout;
 
     private final String name;
     private final ArgsParser argsParser;
+    // built on first unknown argument
+    private volatile NameSuggestionIndex optionNameSuggestionIndex;
 
     /**
      * A new Command with the specified name. The name will be used to identify this Command and may not contain
@@ -48,20 +73,28 @@ public class Command {
     public static Command forName(String name) {
         if (name == null || name.isEmpty() || name.chars().anyMatch(Character::isSpaceChar))
             throw new IllegalArgumentException("Command name must not contain a space character but is '" + name + "'");
-        return new Command(name, Instruction.empty(), List.of(), "");
+        return new Command(name, toResultInstruction(Instruction.empty()), List.of(), "", null, DEFAULT_RESULT_WRITER);
     }
 
+    /**
+     * Detects conflicts in linear time by hashing the conflict keys of each parser id.
+     */
     private static List<ArgumentParser<?>> validate(List<ArgumentParser<?>> parsers) {
-        List<ArgumentParser<?>> processedParsers = new ArrayList<>(parsers.size());
-        List<String> conflictsMessages = new ArrayList<>();
+        Map<Object, ArgumentParser<?>> parsersByConflictKey = new HashMap<>(parsers.size() * 2);
+        Map<ArgumentParser<?>, Set<ArgumentParser<?>>> conflictingParsersByParser = new LinkedHashMap<>();
         for (ArgumentParser<?> parser : parsers) {
-            processedParsers.forEach(coherent ->
-                    coherent.getId().hasCommonParts(parser.getId()).ifPresent(commonPart -> {
-                        conflictsMessages.add(String.format("Conflicts on parsers %s and %s: %s", parser, coherent, commonPart));
-                    }));
-            processedParsers.add(parser);
+            for (Object conflictKey : parser.getId().getConflictKeys()) {
+                ArgumentParser<?> coherent = parsersByConflictKey.putIfAbsent(conflictKey, parser);
+                if (coherent != null)
+                    conflictingParsersByParser.computeIfAbsent(parser, p -> new LinkedHashSet<>()).add(coherent);
+            }
         }
-        if (!conflictsMessages.isEmpty()) {
+        if (!conflictingParsersByParser.isEmpty()) {
+            // here if conflicts exist: compute messages
+            List<String> conflictsMessages = new ArrayList<>();
+            conflictingParsersByParser.forEach((parser, coherentParsers) -> coherentParsers.forEach(coherent ->
+                    coherent.getId().hasCommonParts(parser.getId()).ifPresent(commonPart ->
+                            conflictsMessages.add(String.format("Conflicts on parsers %s and %s: %s", parser, coherent, commonPart)))));
             throw new IllegalArgumentException(String.format("Invalid parsers:\n%s",
                     conflictsMessages.stream().map(s -> "    " + s).collect(Collectors.joining("\n")))
             );
@@ -69,13 +102,25 @@ public class Command {
         return parsers;
     }
 
-    private Command(String name, Instruction instruction, List<ArgumentParser<?>> parsers, String description) {
+    private static ResultInstruction toResultInstruction(Instruction instruction) {
+        return args -> {
+            instruction.execute(args);
+            return null;
+        };
+    }
+
+    private Command(String name, ResultInstruction instruction, List<ArgumentParser<?>> parsers, String description, Duration timeout, ResultWriter resultWriter) {
+        this(name, instruction, parsers, description, timeout, resultWriter, new CliArgsParser(validate(parsers)));
+    }
+
+    private Command(String name, ResultInstruction instruction, List<ArgumentParser<?>> parsers, String description, Duration timeout, ResultWriter resultWriter, ArgsParser argsParser) {
         this.name = name;
         this.instruction = instruction;
         this.parsers = parsers;
         this.description = description;
-
-        argsParser = new CliArgsParser(validate(parsers));
+        this.timeout = timeout;
+        this.resultWriter = resultWriter;
+        this.argsParser = argsParser;
     }
 
     // builder likes
@@ -88,7 +133,7 @@ public class Command {
      * @see ArgumentParser
      */
     public Command withParsers(ArgumentParser<?>... parsers) {
-        return new Command(name, instruction, Arrays.asList(Objects.requireNonNull(parsers)), description);
+        return new Command(name, instruction, Arrays.asList(Objects.requireNonNull(parsers)), description, timeout, resultWriter);
     }
 
     /**
@@ -98,42 +143,426 @@ public class Command {
      * @throws NullPointerException if the specified description is null.
      */
     public Command withDescription(String description) {
-        return new Command(name, instruction, parsers, Objects.requireNonNullElse(description, "").trim());
+        return new Command(name, instruction, parsers, Objects.requireNonNullElse(description, "").trim(), timeout, resultWriter, argsParser);
     }
 
     /**
-     * Creates a new Command as a copy of this using the specified instruction.
+     * Creates a new Command as a copy of this using the specified instruction. Typed variants like
+     * {@link Instruction2} receive the values of the parsers in order as parameters.
      * @param instruction the instruction to set.
      * @return a new Command with the specified instruction.
      * @throws NullPointerException if the specified instruction is null.
      * @see Instruction
      */
     public Command withInstruction(Instruction instruction) {
-        return new Command(name, Objects.requireNonNull(instruction), parsers, description);
+        return new Command(name, toResultInstruction(Objects.requireNonNull(instruction)), parsers, description, timeout, resultWriter, argsParser);
+    }
+
+    /**
+     * Creates a new Command as a copy of this using the specified instruction returning a result. The result is
+     * written to the output stream of the {@link InvocationContext} using the {@link ResultWriter} of this command.
+     * @param instruction the instruction to set.
+     * @return a new Command with the specified instruction.
+     * @throws NullPointerException if the specified instruction is null.
+     * @see ResultInstruction
+     */
+    public Command withResultInstruction(ResultInstruction instruction) {
+        return new Command(name, Objects.requireNonNull(instruction), parsers, description, timeout, resultWriter, argsParser);
+    }
+
+    /**
+     * Creates a new Command as a copy of this using the specified writer for results of a {@link ResultInstruction}.
+     * Defaults to {@link TextResultWriter}.
+     * @param resultWriter the result writer to set.
+     * @return a new Command with the specified result writer.
+     * @throws NullPointerException if the specified result writer is null.
+     */
+    public Command withResultWriter(ResultWriter resultWriter) {
+        return new Command(name, instruction, parsers, description, timeout, Objects.requireNonNull(resultWriter), argsParser);
+    }
+
+    /**
+     * Creates a new Command as a copy of this bounding the time its instruction may run. Once the timeout elapses,
+     * the {@link CancellationToken} of the invocation is cancelled, the thread running the instruction is interrupted
+     * and the execution fails with {@link CommandTimeoutException}. The calling thread returns immediately even if the
+     * instruction ignores the cancellation.
+     * <p>Instructions of commands with a timeout or executed within a context providing a {@link CancellationToken}
+     * run on a separate thread to which the invocation context is bound.</p>
+     * @param timeout the positive maximum execution time of the instruction.
+     * @return a new Command with the specified timeout.
+     * @see InvocationContext#withTimeout(Duration)
+     */
+    public Command withTimeout(Duration timeout) {
+        return new Command(name, instruction, parsers, description, InvocationContext.requirePositive(timeout), resultWriter, argsParser);
     }
 
     // functionality
 
     /**
      * Parses the specified arguments and invokes the instruction of this command with the received arguments.
+     * Uses the {@link InvocationContext#current() current} invocation context.
      * @param inputArgs the array of options to be parsed and sent to the instruction of this Command.
      * @throws CommandExecutionException if parsing of arguments or execution fails.
      */
     public void execute(String[] inputArgs) throws CommandExecutionException {
+        execute(inputArgs, InvocationContext.current());
+    }
+
+    /**
+     * Parses the specified arguments and invokes the instruction of this command with the received arguments. The
+     * specified context is bound to the current thread during parsing and execution.
+     * @param inputArgs the array of options to be parsed and sent to the instruction of this Command.
+     * @param context the context of this invocation.
+     * @throws CommandExecutionException if parsing of arguments or execution fails.
+     */
+    public void execute(String[] inputArgs, InvocationContext context) throws CommandExecutionException {
+        try (InvocationContext.Binding ignored = context.bind()) {
+            run(parse(inputArgs, new Object[0]));
+        }
+    }
+
+    /**
+     * Parses the specified arguments on the calling thread and invokes the instruction of this command with the
+     * received arguments using the specified executor. The {@link InvocationContext#current() current} invocation
+     * context of the calling thread is bound to the thread running the instruction.
+     * <p>
+     *     The returned future completes exceptionally with the {@link CommandExecutionException} that {@link #execute(String[])}
+     *     would have thrown. If the arguments can not be parsed, the instruction is never submitted to the executor.
+     *     If the executor rejects the instruction, the future completes exceptionally with the rejection exception.
+     * </p>
+     * @param inputArgs the array of options to be parsed and sent to the instruction of this Command.
+     * @param executor the executor running the instruction.
+     * @return a future of the result of the execution.
+     */
+    public CompletableFuture<ExecutionResult> executeAsync(String[] inputArgs, Executor executor) {
+        Objects.requireNonNull(executor);
+        InvocationContext context = InvocationContext.current();
+        Object[] parsedValues;
+        try {
+            parsedValues = parse(inputArgs, new Object[0]);
+        } catch (CommandExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try (InvocationContext.Binding ignored = context.bind()) {
+                    run(parsedValues);
+                    future.complete(new ExecutionResult(this, Duration.ofNanos(System.nanoTime() - start)));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Parses the specified arguments and appends the specified values of global options.
+     * @return the values to pass to the instruction of this command.
+     */
+    Object[] parse(String[] inputArgs, Object[] globalValues) throws CommandExecutionException {
         InputArgument[] args = Arrays.stream(inputArgs).map(InputArgument::of).toArray(InputArgument[]::new);
         Object[] parsedValues;
         try {
-            parsedValues = argsParser.parse(args);
+            // global values are put into the same array instead of copying the parsed values
+            parsedValues = argsParser.parse(args, globalValues.length);
+        } catch (UnknownArgumentException e) {
+            throw new InvalidInputArgumentException(this, addOptionNameSuggestions(e));
         } catch (ArgumentParsingException e) {
             throw new InvalidInputArgumentException(this, e);
         }
-        try {
-            instruction.execute(parsedValues);
+        if (globalValues.length > 0)
+            System.arraycopy(globalValues, 0, parsedValues, parsedValues.length - globalValues.length, globalValues.length);
+        return parsedValues;
+    }
+
+    /**
+     * Invokes the instruction of this command with the specified values. Applies the shorter of the timeouts of this
+     * command and of the current invocation context.
+     */
+    void run(Object[] parsedValues) throws CommandExecutionException {
+        run(parsedValues, () -> {});
+    }
+
+    /**
+     * Like {@link #run(Object[])} but calls the specified listener exactly once as soon as the instruction has
+     * terminated. On timeout or cancellation, the instruction may terminate after this method returned.
+     */
+    void run(Object[] parsedValues, Runnable terminationListener) throws CommandExecutionException {
+        InvocationContext context = InvocationContext.current();
+        Duration effectiveTimeout = context.getTimeout()
+                .filter(contextTimeout -> timeout == null || contextTimeout.compareTo(timeout) < 0)
+                .orElse(timeout);
+        if (effectiveTimeout == null && !context.hasCancellationToken()) {
+            try {
+                invoke(parsedValues, context.createOutputChannel());
+            } finally {
+                terminationListener.run();
+            }
+        } else {
+            runCancellable(parsedValues, context, effectiveTimeout, terminationListener);
+        }
+    }
+
+    /**
+     * Runs the instruction providing the specified {@link OutputChannel} which is flushed on completion, even if the
+     * instruction fails.
+     */
+    private void invoke(Object[] parsedValues, OutputChannel outputChannel) throws CommandExecutionException {
+        InvocationContext context = InvocationContext.current();
+        try (InvocationContext.Binding ignored = context.withOutputChannel(outputChannel).bind(); outputChannel) {
+            writeResult(instruction.execute(parsedValues), outputChannel, context.getCancellationToken());
+        } catch (UncheckedValueMappingException e) {
+            // here if a lazy value could not be mapped within the instruction
+            throw new InvalidInputArgumentException(this, e.getCause());
+        } catch (ValueMappingException e) {
+            throw new InvalidInputArgumentException(this, e);
         } catch (Exception e) {
             throw new ClientCodeExecutionException(this, e);
         }
     }
 
+    /**
+     * Writes the specified result record by record into the output channel of the invocation. Lazy results are
+     * consumed one record at a time. Thus, producers never run ahead of the output stream by more than the buffer of
+     * the channel.
+     */
+    private void writeResult(Object result, OutputChannel out, CancellationToken cancellationToken) throws Exception {
+        if (result == null)
+            return;
+        if (result instanceof Stream) {
+            try (Stream<?> stream = (Stream<?>) result) {
+                writeRecords(stream.iterator(), out, cancellationToken);
+            }
+        } else if (result instanceof Iterator) {
+            writeRecords((Iterator<?>) result, out, cancellationToken);
+        } else if (result instanceof Iterable) {
+            writeRecords(((Iterable<?>) result).iterator(), out, cancellationToken);
+        } else if (result instanceof Object[]) {
+            writeRecords(Arrays.asList((Object[]) result).iterator(), out, cancellationToken);
+        } else {
+            resultWriter.writeRecord(result, out);
+        }
+    }
+
+    private void writeRecords(Iterator<?> records, Writer out, CancellationToken cancellationToken) throws Exception {
+        while (records.hasNext()) {
+            cancellationToken.throwIfCancelled();
+            resultWriter.writeRecord(records.next(), out);
+        }
+    }
+
+    /**
+     * Runs the instruction on a new {@link CliExecutors#getCancellableWorkers() worker} thread and waits at most for
+     * the specified timeout if not null. On timeout or cancellation, the worker is interrupted and the calling thread
+     * is released regardless of whether the instruction reacts to it. The output channel of the abandoned instruction
+     * is discarded, so none of its output appears after this method returned.
+     * <p>
+     *     A worker ignoring the interrupt keeps running until the instruction returns. The termination listener is
+     *     called only once the worker is done.
+     * </p>
+     */
+    private void runCancellable(Object[] parsedValues, InvocationContext context, Duration effectiveTimeout, Runnable terminationListener) throws CommandExecutionException {
+        // cancelling the token of the context cancels this run but a timeout must not cancel the token of the context
+        CancellationToken contextToken = context.getCancellationToken();
+        CancellationToken token = CancellationToken.create();
+        Runnable contextCancellationListener = token::cancel;
+        contextToken.onCancel(contextCancellationListener);
+        InvocationContext timedContext = context.withCancellationToken(token);
+        OutputChannel outputChannel = context.createOutputChannel();
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        // the thread running the instruction, guarded by itself. Null before and after the instruction runs.
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        CliExecutors.getCancellableWorkers().execute(() -> {
+            try (InvocationContext.Binding ignored = timedContext.bind()) {
+                synchronized (worker) {
+                    worker.set(Thread.currentThread());
+                }
+                // here if cancelled before the worker started
+                token.throwIfCancelled();
+                invoke(parsedValues, outputChannel);
+                completion.complete(null);
+            } catch (Throwable e) {
+                completion.completeExceptionally(e);
+            } finally {
+                synchronized (worker) {
+                    worker.set(null);
+                    // a pooled platform thread must not carry the interrupt into its next task
+                    Thread.interrupted();
+                }
+                terminationListener.run();
+            }
+        });
+        Runnable cancellationListener = () -> {
+            outputChannel.discard();
+            synchronized (worker) {
+                Thread thread = worker.get();
+                if (thread != null)
+                    thread.interrupt();
+            }
+            completion.completeExceptionally(new ClientCodeExecutionException(this, new CancellationException("Invocation has been cancelled")));
+        };
+        token.onCancel(cancellationListener);
+        try {
+            if (effectiveTimeout == null)
+                completion.get();
+            else
+                completion.get(effectiveTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            token.cancel();
+            throw new CommandTimeoutException(this, effectiveTimeout);
+        } catch (InterruptedException e) {
+            // here if the calling thread is interrupted: the instruction must not outlive it
+            token.cancel();
+            Thread.currentThread().interrupt();
+            throw new ClientCodeExecutionException(this, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CommandExecutionException)
+                throw (CommandExecutionException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new ClientCodeExecutionException(this, cause);
+        } finally {
+            contextToken.removeCancelListener(contextCancellationListener);
+        }
+    }
+
+    private UnknownArgumentException addOptionNameSuggestions(UnknownArgumentException e) {
+        Map<String, List<String>> suggestionsByInputArgument = new HashMap<>();
+        for (InputArgument inputArgument : e.getInputArguments()) {
+            if (inputArgument.isOption()) {
+                List<String> suggestions = getOptionNameSuggestionIndex().suggest(inputArgument.getValue());
+                if (!suggestions.isEmpty())
+                    suggestionsByInputArgument.put(inputArgument.getValue(), suggestions);
+            }
+        }
+        if (suggestionsByInputArgument.isEmpty())
+            return e;
+        return new UnknownArgumentException(e.getInputArguments(), suggestionsByInputArgument);
+    }
+
+    private NameSuggestionIndex getOptionNameSuggestionIndex() {
+        NameSuggestionIndex index = optionNameSuggestionIndex;
+        if (index == null) {
+            index = NameSuggestionIndex.of(getOptionNames(parsers).collect(Collectors.toList()));
+            optionNameSuggestionIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * @return the timeout of this command. Empty if unbounded.
+     */
+    public Optional<Duration> getTimeout() {
+        return Optional.ofNullable(timeout);
+    }
+
+    /**
+     * Same as {@link #getCompletions(String[], CompletionCache)} without caching looked up candidates.
+     * @param partialArgs the arguments following the name of this command. The last argument is the one to complete
+     *                    and may be empty.
+     * @return the completions of the last argument in lexicographical order.
+     */
+    public List<String> getCompletions(String[] partialArgs) {
+        return getCompletions(partialArgs, CompletionCache.disabled());
+    }
+
+    /**
+     * Completes option names as well as values of options and operands whose parser provides a
+     * {@link CompletionProvider}. Provided candidates are taken from the specified cache if present.
+     * @param partialArgs the arguments following the name of this command. The last argument is the one to complete
+     *                    and may be empty.
+     * @param completionCache the cache of looked up candidates.
+     * @return the option names or provided values starting with the last argument in lexicographical order. Option
+     * names are returned for an empty last argument if no value is provided for it.
+     */
+    public List<String> getCompletions(String[] partialArgs, CompletionCache completionCache) {
+        return getCompletions(parsers, partialArgs, completionCache);
+    }
+
+    static List<String> getCompletions(List<? extends ArgumentParser<?>> parsers, String[] partialArgs, CompletionCache completionCache) {
+        String prefix = partialArgs.length == 0 ? "" : partialArgs[partialArgs.length - 1];
+        if (partialArgs.length > 1) {
+            Optional<ArgumentParser<?>> valuedOptionParser = getValuedOptionParser(parsers, partialArgs[partialArgs.length - 2]);
+            if (valuedOptionParser.isPresent())
+                return getProvidedCompletions(valuedOptionParser.get(), prefix, completionCache);
+        }
+        if (!prefix.isEmpty() && prefix.charAt(0) == InputArgument.OPTION_PREFIX)
+            return getOptionNameCompletions(parsers, prefix);
+        int operandIndex = countOperands(parsers, Arrays.copyOf(partialArgs, Math.max(0, partialArgs.length - 1)));
+        Optional<ArgumentParser<?>> operandParser = parsers.stream()
+                .filter(parser -> parser instanceof OperandParser && ((OperandParser<?>) parser).getIndex() == operandIndex
+                        || parser instanceof ArrayOperandParser && ((ArrayOperandParser<?>) parser).getIndex() <= operandIndex)
+                .findFirst()
+                .map(parser -> parser);
+        List<String> completions = operandParser
+                .map(parser -> getProvidedCompletions(parser, prefix, completionCache))
+                .orElse(List.of());
+        if (prefix.isEmpty() && completions.isEmpty())
+            // here if nothing but options may follow
+            return getOptionNameCompletions(parsers, prefix);
+        return completions;
+    }
+
+    static List<String> getOptionNameCompletions(List<? extends ArgumentParser<?>> parsers, String prefix) {
+        return Stream.concat(getOptionNames(parsers), InputArgument.getHelpArgumentValues().stream())
+                .filter(name -> name.startsWith(prefix))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> getProvidedCompletions(ArgumentParser<?> parser, String prefix, CompletionCache completionCache) {
+        return parser.getCompletionProvider()
+                .map(provider -> completionCache.getCandidates(provider, prefix))
+                .orElse(List.of());
+    }
+
+    /**
+     * @return the number of operands among the specified arguments.
+     */
+    private static int countOperands(List<? extends ArgumentParser<?>> parsers, String[] args) {
+        int operandCount = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(InputArgument.OPERAND_DELIMITER))
+                return operandCount + args.length - i - 1;
+            if (args[i].length() > 1 && args[i].charAt(0) == InputArgument.OPTION_PREFIX) {
+                if (getValuedOptionParser(parsers, args[i]).isPresent())
+                    i++;
+            } else {
+                operandCount++;
+            }
+        }
+        return operandCount;
+    }
+
+    /**
+     * @return true if the specified argument is the name of an option expecting a value.
+     */
+    static boolean isValuedOptionName(List<? extends ArgumentParser<?>> parsers, String arg) {
+        return getValuedOptionParser(parsers, arg).isPresent();
+    }
+
+    private static Optional<ArgumentParser<?>> getValuedOptionParser(List<? extends ArgumentParser<?>> parsers, String arg) {
+        return parsers.stream()
+                .filter(parser -> parser instanceof ValuedOptionParser)
+                .filter(parser -> ((AbstractOptionParser<?>) parser).getNames().stream().anyMatch(name -> name.getValue().equals(arg)))
+                .findFirst()
+                .map(parser -> parser);
+    }
+
+    private static Stream<String> getOptionNames(List<? extends ArgumentParser<?>> parsers) {
+        return parsers.stream()
+                .filter(parser -> parser instanceof AbstractOptionParser)
+                .flatMap(parser -> ((AbstractOptionParser<?>) parser).getNames().stream())
+                .map(AbstractOptionParser.OptionParserName::getValue);
+    }
+
     public String getName() {
         return name;
     }
@@ -142,12 +571,22 @@ public class Command {
         return description;
     }
 
+    /**
+     * @param other the command to check against.
+     * @return a message describing why this and the specified command can not be registered on the same commander.
+     * Empty if there is no conflict.
+     * @deprecated Commanders detect conflicting commands by name without constructing commands registered by
+     * suppliers and thus no longer call this method. Overriding it has no effect.
+     */
+    @Deprecated
     protected Optional<String> conflictsWith(Command other) {
-        String conflictMessage = null;
-        if (this.equals(other)) {
-            conflictMessage = String.format("Command %s is registered multiple times", this);
-        }
-        return Optional.ofNullable(conflictMessage);
+        if (!name.equals(other.getName()))
+            return Optional.empty();
+        return Optional.of(Commander.generateDuplicateCommandMessage(name));
+    }
+
+    List<ArgumentParser<?>> getParsers() {
+        return parsers;
     }
 
     private String generateHelpString() {
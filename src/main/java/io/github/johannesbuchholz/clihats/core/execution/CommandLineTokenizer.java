@@ -0,0 +1,79 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits command lines into arguments similar to POSIX shells.
+ * <ul>
+ *     <li>Unquoted whitespace separates arguments.</li>
+ *     <li>Characters within single quotes are taken literally.</li>
+ *     <li>Within double quotes, a backslash escapes a following double quote or backslash.</li>
+ *     <li>Outside of quotes, a backslash escapes any following character.</li>
+ *     <li>A {@code #} at the start of an argument starts a comment reaching to the end of the line.</li>
+ * </ul>
+ */
+public final class CommandLineTokenizer {
+
+    private CommandLineTokenizer() {}
+
+    /**
+     * @param line the command line to split.
+     * @return the arguments of the specified line. Empty if the line is blank or a comment.
+     * @throws IllegalArgumentException if the line contains an unterminated quote or ends with a backslash.
+     */
+    public static String[] tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        // distinguishes an empty quoted argument from no argument
+        boolean inToken = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                    inToken = false;
+                }
+                i++;
+            } else if (c == '#' && !inToken) {
+                break;
+            } else if (c == '\'') {
+                int end = line.indexOf('\'', i + 1);
+                if (end < 0)
+                    throw new IllegalArgumentException("Unterminated single quote at position " + i);
+                token.append(line, i + 1, end);
+                inToken = true;
+                i = end + 1;
+            } else if (c == '"') {
+                int position = i + 1;
+                while (position < line.length() && line.charAt(position) != '"') {
+                    char quoted = line.charAt(position);
+                    if (quoted == '\\' && position + 1 < line.length() && (line.charAt(position + 1) == '"' || line.charAt(position + 1) == '\\'))
+                        quoted = line.charAt(++position);
+                    token.append(quoted);
+                    position++;
+                }
+                if (position == line.length())
+                    throw new IllegalArgumentException("Unterminated double quote at position " + i);
+                inToken = true;
+                i = position + 1;
+            } else if (c == '\\') {
+                if (i + 1 == line.length())
+                    throw new IllegalArgumentException("Line ends with an escape character");
+                token.append(line.charAt(i + 1));
+                inToken = true;
+                i += 2;
+            } else {
+                token.append(c);
+                inToken = true;
+                i++;
+            }
+        }
+        if (inToken)
+            tokens.add(token.toString());
+        return tokens.toArray(String[]::new);
+    }
+
+}
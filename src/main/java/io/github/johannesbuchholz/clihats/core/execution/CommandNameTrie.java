@@ -0,0 +1,154 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.*;
+
+/**
+ * Immutable compressed trie of command names. Resolves exact names and unambiguous prefixes in time linear in the
+ * length of the input without allocating objects and lists all names starting with a given prefix.
+ */
+final class CommandNameTrie {
+
+    private static final CommandNameTrie EMPTY = new CommandNameTrie(null);
+
+    private final Node root;
+
+    static CommandNameTrie of(Collection<String> names) {
+        if (names.isEmpty())
+            return EMPTY;
+        String[] sortedNames = names.toArray(String[]::new);
+        Arrays.sort(sortedNames);
+        return new CommandNameTrie(Node.build(sortedNames, 0, sortedNames.length, 0));
+    }
+
+    private CommandNameTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param input the name or prefix of a command.
+     * @return the name equal to the specified input or the only name starting with the specified input. Null if no
+     * or more than one name starts with the specified input.
+     */
+    String resolve(String input) {
+        if (input.isEmpty())
+            return null;
+        Node node = root;
+        int position = 0;
+        while (node != null) {
+            String label = node.label;
+            int labelPosition = 0;
+            while (labelPosition < label.length() && position < input.length()) {
+                if (label.charAt(labelPosition) != input.charAt(position))
+                    return null;
+                labelPosition++;
+                position++;
+            }
+            if (position == input.length()) {
+                if (labelPosition == label.length() && node.name != null)
+                    return node.name;
+                return node.uniqueName;
+            }
+            node = node.getChild(input.charAt(position));
+        }
+        return null;
+    }
+
+    /**
+     * @param prefix the prefix of command names.
+     * @return all names starting with the specified prefix in lexicographical order.
+     */
+    List<String> getNamesStartingWith(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (node != null) {
+            String label = node.label;
+            int labelPosition = 0;
+            while (labelPosition < label.length() && position < prefix.length()) {
+                if (label.charAt(labelPosition) != prefix.charAt(position))
+                    return List.of();
+                labelPosition++;
+                position++;
+            }
+            if (position == prefix.length()) {
+                List<String> names = new ArrayList<>(node.size);
+                node.collectNames(names);
+                return names;
+            }
+            node = node.getChild(prefix.charAt(position));
+        }
+        return List.of();
+    }
+
+    private static final class Node {
+
+        private final String label;
+        // non-null if a name ends at this node
+        private final String name;
+        // non-null if exactly one name ends at this node or below
+        private final String uniqueName;
+        private final int size;
+        private final char[] childKeys;
+        private final Node[] children;
+
+        /**
+         * Builds the node holding the specified range of sorted names sharing their first {@code labelStart} characters.
+         */
+        private static Node build(String[] sortedNames, int from, int to, int labelStart) {
+            String first = sortedNames[from];
+            String last = sortedNames[to - 1];
+            int labelEnd = labelStart;
+            int maxLabelEnd = Math.min(first.length(), last.length());
+            while (labelEnd < maxLabelEnd && first.charAt(labelEnd) == last.charAt(labelEnd))
+                labelEnd++;
+
+            String name = null;
+            int childrenFrom = from;
+            if (first.length() == labelEnd) {
+                name = first;
+                childrenFrom++;
+            }
+            List<Node> children = new ArrayList<>();
+            StringBuilder childKeys = new StringBuilder();
+            int childFrom = childrenFrom;
+            while (childFrom < to) {
+                char key = sortedNames[childFrom].charAt(labelEnd);
+                int childTo = childFrom + 1;
+                while (childTo < to && sortedNames[childTo].charAt(labelEnd) == key)
+                    childTo++;
+                children.add(build(sortedNames, childFrom, childTo, labelEnd));
+                childKeys.append(key);
+                childFrom = childTo;
+            }
+            return new Node(first.substring(labelStart, labelEnd), name, to - from,
+                    childKeys.toString().toCharArray(), children.toArray(Node[]::new));
+        }
+
+        private Node(String label, String name, int size, char[] childKeys, Node[] children) {
+            this.label = label;
+            this.name = name;
+            this.size = size;
+            this.childKeys = childKeys;
+            this.children = children;
+            if (size != 1)
+                uniqueName = null;
+            else if (name != null)
+                uniqueName = name;
+            else
+                uniqueName = children[0].uniqueName;
+        }
+
+        private Node getChild(char key) {
+            int index = Arrays.binarySearch(childKeys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        private void collectNames(List<String> names) {
+            if (name != null)
+                names.add(name);
+            for (Node child : children)
+                child.collectNames(names);
+        }
+
+    }
+
+}
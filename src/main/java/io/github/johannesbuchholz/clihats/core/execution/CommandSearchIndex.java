@@ -0,0 +1,87 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index from terms to the names of commands whose name or documentation contains the term. Query terms match
+ * index terms they are equal to or a prefix of. A command matches a query if it matches every query term.
+ */
+final class CommandSearchIndex {
+
+    static final int NAME_WEIGHT = 4;
+    static final int DESCRIPTION_WEIGHT = 2;
+    static final int ARGUMENT_WEIGHT = 1;
+    // exact term matches count more than prefix matches
+    private static final int EXACT_MATCH_FACTOR = 2;
+
+    private final NavigableMap<String, Map<String, Integer>> scoresByCommandNameByTerm;
+
+    private CommandSearchIndex(NavigableMap<String, Map<String, Integer>> scoresByCommandNameByTerm) {
+        this.scoresByCommandNameByTerm = scoresByCommandNameByTerm;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank())
+            return List.of();
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param query whitespace separated search terms.
+     * @return the names of all matching commands ordered by descending score and name.
+     */
+    List<String> search(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty())
+            return List.of();
+        Map<String, Integer> totalScoresByCommandName = null;
+        for (String queryTerm : queryTerms) {
+            Map<String, Integer> scoresByCommandName = new HashMap<>();
+            scoresByCommandNameByTerm.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false)
+                    .forEach((term, scores) -> {
+                        int factor = term.equals(queryTerm) ? EXACT_MATCH_FACTOR : 1;
+                        scores.forEach((commandName, score) -> scoresByCommandName.merge(commandName, factor * score, Integer::sum));
+                    });
+            if (totalScoresByCommandName == null) {
+                totalScoresByCommandName = scoresByCommandName;
+            } else {
+                // every query term must match
+                totalScoresByCommandName.keySet().retainAll(scoresByCommandName.keySet());
+                totalScoresByCommandName.replaceAll((commandName, score) -> score + scoresByCommandName.get(commandName));
+            }
+        }
+        return totalScoresByCommandName.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    static final class Builder {
+
+        private final NavigableMap<String, Map<String, Integer>> scoresByCommandNameByTerm = new TreeMap<>();
+
+        private Builder() {}
+
+        /**
+         * Adds every term of the specified text to the index of the specified command.
+         */
+        Builder add(String commandName, String text, int weight) {
+            for (String term : tokenize(text))
+                scoresByCommandNameByTerm.computeIfAbsent(term, t -> new HashMap<>()).merge(commandName, weight, Integer::sum);
+            return this;
+        }
+
+        CommandSearchIndex build() {
+            return new CommandSearchIndex(scoresByCommandNameByTerm);
+        }
+
+    }
+
+}
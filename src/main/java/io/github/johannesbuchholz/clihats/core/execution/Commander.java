@@ -1,30 +1,60 @@
 package io.github.johannesbuchholz.clihats.core.execution;
 
 import io.github.johannesbuchholz.clihats.core.execution.exception.*;
+import io.github.johannesbuchholz.clihats.core.execution.parser.AbstractOptionParser;
+import io.github.johannesbuchholz.clihats.core.execution.parser.GlobalOptionsParser;
+import io.github.johannesbuchholz.clihats.core.execution.parser.Lazy;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
 import io.github.johannesbuchholz.clihats.core.text.TextCell;
 import io.github.johannesbuchholz.clihats.core.text.TextMatrix;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * A collection of commands. This class is responsible for invoking and passing arguments to particular commands.
  * <p>
  * When executed via {@link #execute(String[])}, the received arguments are parsed to determine the matching command
- * which then is executed with the remaining arguments.
+ * which then is executed with the remaining arguments. A command may be referred to by its name or by any prefix of its
+ * name that no other command name starts with.
  * </p>
  *
  * @see Command
  */
 public class Commander {
 
+    /**
+     * Separates steps of a chain of commands that run one after another.
+     */
+    public static final String CHAIN_SEPARATOR = "+";
+    /**
+     * Separates steps of a chain of commands that run in parallel.
+     */
+    public static final String PARALLEL_CHAIN_SEPARATOR = "++";
+    /**
+     * Prefixed to {@value #CHAIN_SEPARATOR} or {@value #PARALLEL_CHAIN_SEPARATOR} to pass the separator to a step
+     * of a chain as a plain argument.
+     */
+    public static final char CHAIN_SEPARATOR_ESCAPE = '\\';
+
     private static final int COMMANDER_DESCRIPTION_WIDTH = 100;
     private static final int COMMAND_NAME_WIDTH = 24;
     private static final int COMMAND_DESCRIPTION_WIDTH = 76;
     private final String cliName;
-    private final Map<String, Command> commandsByName;
+    private final Map<String, LazyEntry<Command>> commandsByName;
+    private final Map<String, LazyEntry<Commander>> subCommandersByName;
     private final String description;
+    private final GlobalOptionsParser globalOptionsParser;
+    private final CommandNameTrie commandNameTrie;
+    // built on first unknown command name
+    private volatile NameSuggestionIndex commandNameSuggestionIndex;
+    // built on first search
+    private volatile CommandSearchIndex commandSearchIndex;
 
     /**
      * Creates a new Commander with the specified name.
@@ -33,13 +63,32 @@ public class Commander {
      * @return a new Commander.
      */
     public static Commander forName(String name) {
-        return new Commander(Objects.requireNonNull(name).trim(), Map.of(), "");
+        return new Commander(Objects.requireNonNull(name).trim(), Map.of(), Map.of(), "", new GlobalOptionsParser(List.of()));
+    }
+
+    /**
+     * Creates a new {@link Builder} for a Commander with the specified name. Prefer the builder over
+     * {@link #withCommands(Command...)} when adding commands one by one, since every added command is checked for
+     * conflicts in constant time and no intermediate Commander is created.
+     *
+     * @param name the name of the commander.
+     * @return a new Builder.
+     */
+    public static Builder builder(String name) {
+        return new Builder(Objects.requireNonNull(name).trim());
+    }
+
+    private Commander(String cliName, Map<String, LazyEntry<Command>> commandsByName, Map<String, LazyEntry<Commander>> subCommandersByName, String description, GlobalOptionsParser globalOptionsParser) {
+        this(cliName, commandsByName, subCommandersByName, description, globalOptionsParser, createCommandNameTrie(commandsByName, subCommandersByName));
     }
 
-    private Commander(String cliName, Map<String, Command> commandsByName, String description) {
+    private Commander(String cliName, Map<String, LazyEntry<Command>> commandsByName, Map<String, LazyEntry<Commander>> subCommandersByName, String description, GlobalOptionsParser globalOptionsParser, CommandNameTrie commandNameTrie) {
         this.cliName = cliName;
         this.commandsByName = commandsByName;
+        this.subCommandersByName = subCommandersByName;
         this.description = description;
+        this.globalOptionsParser = globalOptionsParser;
+        this.commandNameTrie = commandNameTrie;
     }
 
     /**
@@ -50,10 +99,55 @@ public class Commander {
      * @throws CommanderCreationException if the commander could not be created.
      */
     public Commander withCommands(Command... commands) throws CommanderCreationException {
-        checkForCommandConflicts(commands);
-        Map<String, Command> commandMap = Arrays.stream(commands)
-                .collect(Collectors.toUnmodifiableMap(Command::getName, Function.identity()));
-        return new Commander(cliName, commandMap, description);
+        Map<String, LazyEntry<Command>> commandMap = collectCommands(cliName, Arrays.asList(commands));
+        checkForSubCommanderConflicts(cliName, commandMap, subCommandersByName);
+        return new Commander(cliName, Collections.unmodifiableMap(commandMap), subCommandersByName, description, globalOptionsParser);
+    }
+
+    /**
+     * Creates a copy of this with an additional command that is constructed on first use. The specified supplier is
+     * called at most once and only when the command is invoked or its help is requested. Until then, only the
+     * specified name and description are held, for example to be displayed in the help of this commander.
+     * <p>Use {@link Builder#addCommand(String, String, Supplier)} to register many commands at once.</p>
+     *
+     * @param name the name of the command. Must match the name of the supplied command.
+     * @param description the description of the command displayed in the help of this commander.
+     * @param commandSupplier supplies the command.
+     * @return a new Commander with the additional command.
+     * @throws CommanderCreationException if the name is already used by a command or nested commander.
+     * @throws IllegalArgumentException if the name is invalid.
+     */
+    public Commander withCommand(String name, String description, Supplier<Command> commandSupplier) throws CommanderCreationException {
+        LazyEntry<Command> entry = createLazyCommandEntry(name, description, "", commandSupplier);
+        Map<String, LazyEntry<Command>> commandMap = new HashMap<>(commandsByName);
+        if (commandMap.putIfAbsent(name, entry) != null)
+            throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n    %s", generateDuplicateCommandMessage(name)));
+        checkForSubCommanderConflicts(cliName, Map.of(name, entry), subCommandersByName);
+        return new Commander(cliName, Collections.unmodifiableMap(commandMap), subCommandersByName, this.description, globalOptionsParser);
+    }
+
+    /**
+     * Creates a copy of this with an additional nested commander. The nested commander is invoked by its name just
+     * like a command, e.g. {@code my-cli cluster node restart}, and receives all arguments following its name.
+     * <p>The specified supplier is called at most once and only when the nested commander is entered for the first
+     * time, so that deep command trees only construct the branches actually walked by an invocation.</p>
+     * <p>Values of global options of this commander are appended to the values of global options of the nested
+     * commander.</p>
+     *
+     * @param name the name used to invoke the nested commander. Must not contain whitespaces.
+     * @param description the description of the nested commander displayed in the help of this commander.
+     * @param subCommanderSupplier supplies the nested commander.
+     * @return a new Commander with the additional nested commander.
+     * @throws CommanderCreationException if the name is already used by a command or nested commander.
+     * @throws IllegalArgumentException if the name is invalid.
+     */
+    public Commander withSubCommander(String name, String description, Supplier<Commander> subCommanderSupplier) throws CommanderCreationException {
+        LazyEntry<Commander> entry = createSubCommanderEntry(name, description, subCommanderSupplier);
+        Map<String, LazyEntry<Commander>> subCommanderMap = new HashMap<>(subCommandersByName);
+        if (subCommanderMap.putIfAbsent(name, entry) != null)
+            throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n    Sub-commander %s is registered multiple times", name));
+        checkForSubCommanderConflicts(cliName, commandsByName, Map.of(name, entry));
+        return new Commander(cliName, commandsByName, Collections.unmodifiableMap(subCommanderMap), this.description, globalOptionsParser);
     }
 
     /**
@@ -64,61 +158,534 @@ public class Commander {
      * @throws CommanderCreationException if the commander could not be created.
      */
     public Commander withDescription(String description) {
-        return new Commander(cliName, commandsByName, Objects.requireNonNull(description).trim());
+        return new Commander(cliName, commandsByName, subCommandersByName, Objects.requireNonNull(description).trim(), globalOptionsParser, commandNameTrie);
+    }
+
+    /**
+     * Creates a copy of this with the specified global options.
+     * <p>Global options are parsed once per invocation by a single parser shared among all commands. They must
+     * precede the command name. Their values are appended to the arguments passed to the {@link Instruction} of the
+     * invoked command in the order of the specified parsers.</p>
+     *
+     * @param parsers the global option parsers.
+     * @return a new Commander with the specified global options.
+     * @throws CommanderCreationException if the global options conflict with each other.
+     */
+    public Commander withGlobalOptions(AbstractOptionParser<?>... parsers) throws CommanderCreationException {
+        List<AbstractOptionParser<?>> parserList = Arrays.asList(Objects.requireNonNull(parsers));
+        checkForGlobalOptionConflicts(cliName, parserList);
+        return new Commander(cliName, commandsByName, subCommandersByName, description, new GlobalOptionsParser(parserList), commandNameTrie);
     }
 
     /**
      * Derives the matching command from the first given arguments and executes that command using the remaining
-     * arguments.
+     * arguments. Uses the {@link InvocationContext#current() current} invocation context.
      *
      * @throws CommanderExecutionException if the execution fails.
      * @throws CliHelpCallException        if the user input requests help.
      */
     public void execute(String[] inputArgs) throws CommanderExecutionException, CliHelpCallException {
+        execute(inputArgs, InvocationContext.current());
+    }
+
+    /**
+     * Derives the matching command from the first given arguments and executes that command using the remaining
+     * arguments. The specified context is bound to the current thread during parsing and execution.
+     *
+     * @param inputArgs the arguments to pass to this commander.
+     * @param context the context of this invocation.
+     * @throws CommanderExecutionException if the execution fails.
+     * @throws CliHelpCallException        if the user input requests help.
+     */
+    public void execute(String[] inputArgs, InvocationContext context) throws CommanderExecutionException, CliHelpCallException {
+        try (InvocationContext.Binding ignored = context.bind()) {
+            dispatch(inputArgs, new Object[0]).run();
+        }
+    }
+
+    /**
+     * Like {@link #tryExecute(String[], InvocationContext)} using the {@link InvocationContext#current() current}
+     * invocation context.
+     *
+     * @param inputArgs the arguments to pass to this commander.
+     * @return the outcome of the execution.
+     */
+    public ExecutionResult tryExecute(String[] inputArgs) {
+        return tryExecute(inputArgs, InvocationContext.current());
+    }
+
+    /**
+     * Like {@link #validate(String[], InvocationContext, boolean)} using the {@link InvocationContext#current() current}
+     * invocation context without mapping lazy values.
+     *
+     * @param inputArgs the arguments to validate.
+     * @return the outcome of the validation.
+     */
+    public ValidationResult validate(String[] inputArgs) {
+        return validate(inputArgs, InvocationContext.current(), false);
+    }
+
+    /**
+     * Derives the matching command and parses its arguments like {@link #execute(String[], InvocationContext)} but
+     * never runs the instruction of the command. Parsing happens without user interaction: The specified context is
+     * bound without input and with discarded output, so arguments that would be prompted for are not read.
+     * <p>
+     *     Values of parsers mapping eagerly are always mapped while parsing. Values of parsers mapping
+     *     {@link Lazy lazily} are only mapped if requested.
+     * </p>
+     *
+     * @param inputArgs the arguments to validate.
+     * @param context the context of this validation.
+     * @param mapLazyValues true if lazy values should be mapped as well.
+     * @return the outcome of the validation.
+     */
+    public ValidationResult validate(String[] inputArgs, InvocationContext context, boolean mapLazyValues) {
+        Dispatch dispatch = null;
+        try (InvocationContext.Binding ignored = context.withoutInteraction().bind()) {
+            dispatch = dispatch(inputArgs, new Object[0]);
+            if (mapLazyValues)
+                dispatch.mapLazyValues();
+            return new ValidationResult(dispatch.getCommand(), null);
+        } catch (CliException e) {
+            return new ValidationResult(dispatch == null ? getFailingCommand(e) : dispatch.getCommand(), e);
+        }
+    }
+
+    /**
+     * @return the command whose arguments could not be parsed or null if the arguments could not be dispatched.
+     */
+    private static Command getFailingCommand(CliException e) {
+        return e.getCause() instanceof CommandExecutionException ? ((CommandExecutionException) e.getCause()).getFailingCommand() : null;
+    }
+
+    /**
+     * Like {@link #execute(String[], InvocationContext)} but reports help calls, invalid input and failures as result
+     * instead of throwing. The message of the result, for example the help message, is rendered on first access.
+     *
+     * @param inputArgs the arguments to pass to this commander.
+     * @param context the context of this invocation.
+     * @return the outcome of the execution.
+     */
+    public ExecutionResult tryExecute(String[] inputArgs, InvocationContext context) {
+        Dispatch dispatch = null;
+        try (InvocationContext.Binding ignored = context.bind()) {
+            dispatch = dispatch(inputArgs, new Object[0]);
+            long start = System.nanoTime();
+            dispatch.run();
+            return new ExecutionResult(dispatch.getCommand(), Duration.ofNanos(System.nanoTime() - start));
+        } catch (CliException e) {
+            return ExecutionResult.of(dispatch == null ? getFailingCommand(e) : dispatch.getCommand(), e);
+        }
+    }
+
+    /**
+     * Derives the matching command from the first given arguments and parses the remaining arguments on the calling
+     * thread. The instruction of the matching command then runs using the specified executor.
+     * <p>
+     *     The returned future completes exceptionally with the {@link CliException} that {@link #execute(String[])}
+     *     would have thrown, including {@link CliHelpCallException} on help calls. If the arguments can not be
+     *     dispatched or parsed, the instruction is never submitted to the executor. If the executor rejects the
+     *     instruction, the future completes exceptionally with the rejection exception.
+     * </p>
+     *
+     * @param inputArgs the arguments to pass to this commander.
+     * @param executor the executor running the instruction.
+     * @return a future of the result of the execution.
+     * @see #executeAsync(String[], InvocationContext, Executor)
+     */
+    public CompletableFuture<ExecutionResult> executeAsync(String[] inputArgs, Executor executor) {
+        return executeAsync(inputArgs, InvocationContext.current(), executor);
+    }
+
+    /**
+     * Like {@link #executeAsync(String[], Executor)} but binds the specified context to the calling thread while
+     * parsing and to the thread running the instruction.
+     *
+     * @param inputArgs the arguments to pass to this commander.
+     * @param context the context of this invocation.
+     * @param executor the executor running the instruction.
+     * @return a future of the result of the execution.
+     */
+    public CompletableFuture<ExecutionResult> executeAsync(String[] inputArgs, InvocationContext context, Executor executor) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(executor);
+        Dispatch dispatch;
+        try (InvocationContext.Binding ignored = context.bind()) {
+            dispatch = dispatch(inputArgs, new Object[0]);
+        } catch (CliException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try (InvocationContext.Binding ignored = context.bind()) {
+                    dispatch.run();
+                    future.complete(new ExecutionResult(dispatch.getCommand(), Duration.ofNanos(System.nanoTime() - start)));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Executes a chain of commands within this process. Steps of the chain are separated by
+     * {@value #CHAIN_SEPARATOR} or {@value #PARALLEL_CHAIN_SEPARATOR}, for example
+     * {@code cmd1 a b + cmd2 c ++ cmd3}. Each step consists of optional global options, a command name and the
+     * arguments of that command.
+     * <p>
+     *     Steps separated by {@value #CHAIN_SEPARATOR} run one after another. Steps separated by
+     *     {@value #PARALLEL_CHAIN_SEPARATOR} are independent of each other and run in parallel using the specified
+     *     executor. If a step fails, no further steps are started. Steps already running in parallel to the failed
+     *     step still complete.
+     * </p>
+     * <p>
+     *     All steps share the {@link InvocationContext#current() current} invocation context.
+     *     All steps are dispatched, parsed and mapped before the first step runs. This includes prompting for values
+     *     and resolving default values of every step. Thus, invalid arguments in any step throw the corresponding
+     *     exception without running any step, and prompts of later steps are shown before earlier steps run.
+     * </p>
+     * <p>
+     *     A step whose instruction throws, or which the executor rejects, fails with a
+     *     {@link ClientCodeExecutionException}. If the executor rejects a step, steps of the same group that already
+     *     started are awaited and the remaining steps are skipped.
+     * </p>
+     * <p>
+     *     A step receives a literal {@value #CHAIN_SEPARATOR} or {@value #PARALLEL_CHAIN_SEPARATOR} as argument if
+     *     the separator is escaped by a leading backslash, for example {@code calc 1 \+ 2}. Arguments consisting of
+     *     backslashes followed by a separator lose their first backslash, so {@code \\+} passes {@code \+}.
+     * </p>
+     *
+     * @param inputArgs the steps to execute.
+     * @param executor the executor running independent steps.
+     * @return the outcome of every step.
+     * @throws InvalidCommandChainException if the chain contains an empty step.
+     * @throws CommanderExecutionException  if the arguments of any step are invalid.
+     * @throws CliHelpCallException         if the arguments of any step request help.
+     */
+    public ChainExecutionResult executeChain(String[] inputArgs, Executor executor) throws CommanderExecutionException, CliHelpCallException {
+        Objects.requireNonNull(executor);
+        // split steps and mark where a new group of independent steps starts
+        List<String[]> stepArgs = new ArrayList<>();
+        List<Boolean> startsGroup = new ArrayList<>();
+        int stepStart = 0;
+        boolean isParallelToPrevious = false;
+        for (int i = 0; i <= inputArgs.length; i++) {
+            boolean isEnd = i == inputArgs.length;
+            if (isEnd || CHAIN_SEPARATOR.equals(inputArgs[i]) || PARALLEL_CHAIN_SEPARATOR.equals(inputArgs[i])) {
+                if (stepStart == i)
+                    throw new InvalidCommandChainException(this, "Empty step at position " + (stepArgs.size() + 1));
+                stepArgs.add(unescapeChainSeparators(Arrays.copyOfRange(inputArgs, stepStart, i)));
+                startsGroup.add(!isParallelToPrevious);
+                if (!isEnd)
+                    isParallelToPrevious = PARALLEL_CHAIN_SEPARATOR.equals(inputArgs[i]);
+                stepStart = i + 1;
+            }
+        }
+        Dispatch[] dispatches = new Dispatch[stepArgs.size()];
+        for (int i = 0; i < dispatches.length; i++)
+            dispatches[i] = dispatch(stepArgs.get(i), new Object[0]);
+
+        ChainExecutionResult.Status[] statuses = new ChainExecutionResult.Status[dispatches.length];
+        CliException[] exceptions = new CliException[dispatches.length];
+        Arrays.fill(statuses, ChainExecutionResult.Status.SKIPPED);
+        int groupStart = 0;
+        while (groupStart < dispatches.length) {
+            int groupEnd = groupStart + 1;
+            while (groupEnd < dispatches.length && !startsGroup.get(groupEnd))
+                groupEnd++;
+            if (groupEnd - groupStart == 1) {
+                runStep(dispatches, groupStart, statuses, exceptions);
+            } else {
+                InvocationContext context = InvocationContext.current();
+                List<CompletableFuture<?>> futures = new ArrayList<>(groupEnd - groupStart);
+                for (int i = groupStart; i < groupEnd; i++) {
+                    int stepIndex = i;
+                    try {
+                        futures.add(CompletableFuture.runAsync(() -> {
+                            try (InvocationContext.Binding ignored = context.bind()) {
+                                runStep(dispatches, stepIndex, statuses, exceptions);
+                            }
+                        }, executor));
+                    } catch (RejectedExecutionException e) {
+                        // here if the executor is saturated or shut down: steps already started still complete
+                        statuses[stepIndex] = ChainExecutionResult.Status.FAILED;
+                        exceptions[stepIndex] = dispatches[stepIndex].createFailure(e);
+                        break;
+                    }
+                }
+                CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+            }
+            for (int i = groupStart; i < groupEnd; i++) {
+                if (statuses[i] == ChainExecutionResult.Status.FAILED)
+                    return createChainExecutionResult(stepArgs, statuses, exceptions);
+            }
+            groupStart = groupEnd;
+        }
+        return createChainExecutionResult(stepArgs, statuses, exceptions);
+    }
+
+    private static String[] unescapeChainSeparators(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (isEscapedChainSeparator(args[i]))
+                args[i] = args[i].substring(1);
+        }
+        return args;
+    }
+
+    private static boolean isEscapedChainSeparator(String arg) {
+        int escapeCount = 0;
+        while (escapeCount < arg.length() && arg.charAt(escapeCount) == CHAIN_SEPARATOR_ESCAPE)
+            escapeCount++;
+        if (escapeCount == 0)
+            return false;
+        String unescaped = arg.substring(escapeCount);
+        return CHAIN_SEPARATOR.equals(unescaped) || PARALLEL_CHAIN_SEPARATOR.equals(unescaped);
+    }
+
+    private static void runStep(Dispatch[] dispatches, int stepIndex, ChainExecutionResult.Status[] statuses, CliException[] exceptions) {
+        try {
+            dispatches[stepIndex].run();
+            statuses[stepIndex] = ChainExecutionResult.Status.SUCCEEDED;
+        } catch (CommanderExecutionException e) {
+            statuses[stepIndex] = ChainExecutionResult.Status.FAILED;
+            exceptions[stepIndex] = e;
+        } catch (RuntimeException e) {
+            statuses[stepIndex] = ChainExecutionResult.Status.FAILED;
+            exceptions[stepIndex] = dispatches[stepIndex].createFailure(e);
+        }
+    }
+
+    private static ChainExecutionResult createChainExecutionResult(List<String[]> stepArgs, ChainExecutionResult.Status[] statuses, CliException[] exceptions) {
+        List<ChainExecutionResult.Step> steps = new ArrayList<>(stepArgs.size());
+        for (int i = 0; i < statuses.length; i++)
+            steps.add(new ChainExecutionResult.Step(Arrays.asList(stepArgs.get(i)), statuses[i], exceptions[i]));
+        return new ChainExecutionResult(steps);
+    }
+
+    /**
+     * Determines the command to execute and parses its arguments. The specified global values of enclosing commanders
+     * are appended to the global values of this commander.
+     */
+    Dispatch dispatch(String[] inputArgs, Object[] inheritedGlobalValues) throws CommanderExecutionException, CliHelpCallException {
+        boolean isHelpCall = isHelpCall(inputArgs);
+        Object[] globalValues;
+        int commandNameIndex;
+        if (globalOptionsParser.isEmpty()) {
+            globalValues = inheritedGlobalValues;
+            commandNameIndex = 0;
+        } else {
+            InputArgument[] args = Arrays.stream(inputArgs).map(InputArgument::of).toArray(InputArgument[]::new);
+            try {
+                globalValues = globalOptionsParser.parse(args);
+            } catch (ArgumentParsingException e) {
+                if (isHelpCall)
+                    throw new CliHelpCallException(this::getDoc);
+                throw new InvalidGlobalOptionException(this, e);
+            }
+            commandNameIndex = 0;
+            while (commandNameIndex < args.length && args[commandNameIndex] == null)
+                commandNameIndex++;
+            if (inheritedGlobalValues.length > 0) {
+                int ownValuesCount = globalValues.length;
+                globalValues = Arrays.copyOf(globalValues, ownValuesCount + inheritedGlobalValues.length);
+                System.arraycopy(inheritedGlobalValues, 0, globalValues, ownValuesCount, inheritedGlobalValues.length);
+            }
+        }
+
+        if (isHelpCall && commandNameIndex + 1 < inputArgs.length && InputArgument.isHelpArgument(inputArgs[commandNameIndex])) {
+            // here if help is requested for search terms: my-cli --help <term>...
+            String query = String.join(" ", Arrays.copyOfRange(inputArgs, commandNameIndex + 1, inputArgs.length));
+            throw new CliHelpCallException(() -> generateSearchHelpString(query));
+        }
+
         Optional<Command> commandSearchResult;
-        if (inputArgs.length > 0) {
-            commandSearchResult = getCommand(inputArgs[0]);
+        if (commandNameIndex < inputArgs.length) {
+            String resolvedName = commandNameTrie.resolve(inputArgs[commandNameIndex]);
+            LazyEntry<Commander> subCommander = resolvedName == null ? null : subCommandersByName.get(resolvedName);
+            if (subCommander != null) {
+                // the nested commander handles help calls on its own
+                return subCommander.get().dispatch(Arrays.copyOfRange(inputArgs, commandNameIndex + 1, inputArgs.length), globalValues);
+            }
+            commandSearchResult = resolvedName == null ? Optional.empty() : Optional.ofNullable(commandsByName.get(resolvedName)).map(Commander::getCommand);
         } else {
             commandSearchResult = Optional.empty();
         }
-        if (isHelpCall(inputArgs)) {
-            String actualHelpString;
+        if (isHelpCall) {
+            // the help message is rendered only if requested by the caller
             if (commandSearchResult.isEmpty())
-                actualHelpString = getDoc();
-            else
-                actualHelpString = commandSearchResult.get().getDoc();
-            throw new CliHelpCallException(actualHelpString);
+                throw new CliHelpCallException(this::getDoc);
+            throw new CliHelpCallException(commandSearchResult.get()::getDoc);
+        }
+        if (commandSearchResult.isEmpty()) {
+            if (commandNameIndex < inputArgs.length) {
+                List<String> candidates = getCommandNameCompletions(inputArgs[commandNameIndex]);
+                if (candidates.size() > 1)
+                    throw new UnknownCommandException(this, inputArgs[commandNameIndex], candidates);
+                throw UnknownCommandException.withSuggestions(this, inputArgs[commandNameIndex],
+                        getCommandNameSuggestionIndex().suggest(inputArgs[commandNameIndex]));
+            }
+            throw new CliHelpCallException(this::getDoc);
         }
-        if (commandSearchResult.isEmpty())
-            throw new UnknownCommandException(this, inputArgs[0]);
 
+        Command command = commandSearchResult.get();
         try {
-            commandSearchResult.get().execute(Arrays.copyOfRange(inputArgs, 1, inputArgs.length));
+            return new Dispatch(this, command, command.parse(Arrays.copyOfRange(inputArgs, commandNameIndex + 1, inputArgs.length), globalValues));
         } catch (CommandExecutionException e) {
             throw new CommanderExecutionException(this, e);
         }
     }
 
+    private CommandSearchIndex getCommandSearchIndex() {
+        CommandSearchIndex index = commandSearchIndex;
+        if (index == null) {
+            CommandSearchIndex.Builder indexBuilder = CommandSearchIndex.builder();
+            commandsByName.values().forEach(entry -> {
+                indexBuilder
+                        .add(entry.getName(), entry.getName(), CommandSearchIndex.NAME_WEIGHT)
+                        .add(entry.getName(), entry.getDescription(), CommandSearchIndex.DESCRIPTION_WEIGHT)
+                        .add(entry.getName(), entry.getSearchText(), CommandSearchIndex.ARGUMENT_WEIGHT);
+                if (entry.isSupplied())
+                    // arguments of commands not constructed yet are only known from the search text
+                    return;
+                entry.get().getParsers().stream()
+                        .map(ArgumentParser::getHelpContent)
+                        .forEach(helpContent -> {
+                            helpContent.getPrimaryNames().forEach(name -> indexBuilder.add(entry.getName(), name, CommandSearchIndex.ARGUMENT_WEIGHT));
+                            helpContent.getSecondaryNames().forEach(name -> indexBuilder.add(entry.getName(), name, CommandSearchIndex.ARGUMENT_WEIGHT));
+                            helpContent.getDescription().ifPresent(description -> indexBuilder.add(entry.getName(), description, CommandSearchIndex.ARGUMENT_WEIGHT));
+                        });
+            });
+            subCommandersByName.values().forEach(entry -> indexBuilder
+                    .add(entry.getName(), entry.getName(), CommandSearchIndex.NAME_WEIGHT)
+                    .add(entry.getName(), entry.getDescription(), CommandSearchIndex.DESCRIPTION_WEIGHT));
+            index = indexBuilder.build();
+            commandSearchIndex = index;
+        }
+        return index;
+    }
+
+    private NameSuggestionIndex getCommandNameSuggestionIndex() {
+        NameSuggestionIndex index = commandNameSuggestionIndex;
+        if (index == null) {
+            List<String> names = new ArrayList<>(commandsByName.keySet());
+            names.addAll(subCommandersByName.keySet());
+            index = NameSuggestionIndex.of(names);
+            commandNameSuggestionIndex = index;
+        }
+        return index;
+    }
+
     private boolean isHelpCall(String[] inputArgs) {
         return inputArgs.length == 0 || Arrays.stream(inputArgs).anyMatch(InputArgument::isHelpArgument);
     }
 
-    private void checkForCommandConflicts(Command... commands) throws CommanderCreationException {
-        List<Command> processedCommands = new ArrayList<>(commands.length);
+    /**
+     * Constructs the command of the specified entry if not done yet.
+     */
+    private static Command getCommand(LazyEntry<Command> entry) {
+        Command command = entry.get();
+        if (!command.getName().equals(entry.getName()))
+            throw new IllegalStateException(String.format("Supplier of command %s supplied %s", entry.getName(), command));
+        return command;
+    }
+
+    private static LazyEntry<Command> createLazyCommandEntry(String name, String description, String searchText, Supplier<Command> commandSupplier) {
+        if (!LazyEntry.isValidName(name))
+            throw new IllegalArgumentException("Command name must not contain a space character but is '" + name + "'");
+        return LazyEntry.ofSupplier(name, description, searchText, commandSupplier);
+    }
+
+    private static LazyEntry<Commander> createSubCommanderEntry(String name, String description, Supplier<Commander> subCommanderSupplier) {
+        if (!LazyEntry.isValidName(name))
+            throw new IllegalArgumentException("Sub-commander name must not contain a space character but is '" + name + "'");
+        return LazyEntry.ofSupplier(name, description, "", subCommanderSupplier);
+    }
+
+    static String generateDuplicateCommandMessage(String commandName) {
+        return String.format("Command %s is registered multiple times", commandName);
+    }
+
+    /**
+     * Collects the specified commands by name while detecting duplicates in linear time.
+     */
+    private static Map<String, LazyEntry<Command>> collectCommands(String cliName, Collection<Command> commands) throws CommanderCreationException {
+        Map<String, LazyEntry<Command>> commandMap = new HashMap<>(commands.size() * 2);
         List<String> conflictMessages = new LinkedList<>();
         for (Command command : commands) {
-            processedCommands.forEach(coherent -> coherent.conflictsWith(command).ifPresent(conflictMessages::add));
-            processedCommands.add(command);
+            if (commandMap.putIfAbsent(command.getName(), LazyEntry.of(command.getName(), command.getDescription(), command)) != null)
+                conflictMessages.add(generateDuplicateCommandMessage(command.getName()));
         }
         if (!conflictMessages.isEmpty()) {
-            throw new CommanderCreationException(this, String.format("Detected conflicts among commands:\n%s",
+            throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n%s",
                     conflictMessages.stream().map(s -> "    " + s).collect(Collectors.joining("\n")))
             );
         }
+        return commandMap;
     }
 
-    private Optional<Command> getCommand(String commandName) {
-       return Optional.ofNullable(commandsByName.get(commandName));
+    /**
+     * Detects conflicts among the specified global options in linear time by hashing the conflict keys of each parser id.
+     */
+    private static void checkForGlobalOptionConflicts(String cliName, List<AbstractOptionParser<?>> parsers) throws CommanderCreationException {
+        Map<Object, AbstractOptionParser<?>> parsersByConflictKey = new HashMap<>(parsers.size() * 2);
+        List<String> conflictMessages = new LinkedList<>();
+        for (AbstractOptionParser<?> parser : parsers) {
+            conflictMessages.addAll(findGlobalOptionConflicts(parsersByConflictKey, parser));
+            for (Object conflictKey : parser.getId().getConflictKeys())
+                parsersByConflictKey.putIfAbsent(conflictKey, parser);
+        }
+        throwOnGlobalOptionConflicts(cliName, conflictMessages);
+    }
+
+    /**
+     * @return a message for each global option sharing a conflict key with the specified global option.
+     */
+    private static List<String> findGlobalOptionConflicts(Map<Object, AbstractOptionParser<?>> parsersByConflictKey, AbstractOptionParser<?> parser) {
+        Set<AbstractOptionParser<?>> coherentParsers = new LinkedHashSet<>();
+        for (Object conflictKey : parser.getId().getConflictKeys()) {
+            AbstractOptionParser<?> coherent = parsersByConflictKey.get(conflictKey);
+            if (coherent != null)
+                coherentParsers.add(coherent);
+        }
+        List<String> conflictMessages = new LinkedList<>();
+        coherentParsers.forEach(coherent ->
+                coherent.getId().hasCommonParts(parser.getId()).ifPresent(commonPart ->
+                        conflictMessages.add(String.format("Conflicts on global options %s and %s: %s", parser, coherent, commonPart))));
+        return conflictMessages;
+    }
+
+    private static void throwOnGlobalOptionConflicts(String cliName, List<String> conflictMessages) throws CommanderCreationException {
+        if (!conflictMessages.isEmpty()) {
+            throw new CommanderCreationException(cliName, String.format("Detected conflicts among global options:\n%s",
+                    conflictMessages.stream().map(s -> "    " + s).collect(Collectors.joining("\n")))
+            );
+        }
+    }
+
+    private static CommandNameTrie createCommandNameTrie(Map<String, LazyEntry<Command>> commandsByName, Map<String, LazyEntry<Commander>> subCommandersByName) {
+        if (subCommandersByName.isEmpty())
+            return CommandNameTrie.of(commandsByName.keySet());
+        Set<String> names = new HashSet<>(commandsByName.keySet());
+        names.addAll(subCommandersByName.keySet());
+        return CommandNameTrie.of(names);
+    }
+
+    private static void checkForSubCommanderConflicts(String cliName, Map<String, LazyEntry<Command>> commandsByName, Map<String, LazyEntry<Commander>> subCommandersByName) throws CommanderCreationException {
+        List<String> conflictMessages = new LinkedList<>();
+        for (String subCommanderName : subCommandersByName.keySet()) {
+            if (commandsByName.containsKey(subCommanderName))
+                conflictMessages.add(String.format("Sub-commander %s is also registered as command", subCommanderName));
+        }
+        if (!conflictMessages.isEmpty()) {
+            throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n%s",
+                    conflictMessages.stream().map(s -> "    " + s).collect(Collectors.joining("\n")))
+            );
+        }
     }
 
     private String generateHelpString() {
@@ -134,13 +701,54 @@ public class Commander {
         if (!commandsByName.isEmpty()) {
             matrixHeader.row(TextCell.getNew("Commands:"));
             commandsByName.values().stream()
-                    .sorted(Comparator.comparing(Command::getName))
-                    .forEach(command ->
-                            matrixCommands.row(new int[]{COMMAND_NAME_WIDTH, COMMAND_DESCRIPTION_WIDTH}, command.getName(), command.getDescription())
+                    .sorted(Comparator.comparing(LazyEntry::getName))
+                    .forEach(entry ->
+                            matrixCommands.row(new int[]{COMMAND_NAME_WIDTH, COMMAND_DESCRIPTION_WIDTH}, entry.getName(), entry.getDescription())
                     );
         }
-        return matrixHeader + "\n" +
+        String helpString = matrixHeader + "\n" +
                 matrixCommands.removeEmptyCols().resizeColumnWidths();
+        // add nested commanders
+        if (!subCommandersByName.isEmpty()) {
+            TextMatrix matrixSubCommanders = TextMatrix.empty();
+            subCommandersByName.values().stream()
+                    .sorted(Comparator.comparing(LazyEntry::getName))
+                    .forEach(entry ->
+                            matrixSubCommanders.row(new int[]{COMMAND_NAME_WIDTH, COMMAND_DESCRIPTION_WIDTH}, entry.getName(), entry.getDescription())
+                    );
+            helpString += "\n\n" + TextMatrix.empty().row(TextCell.getNew("Sub-commands:")) + "\n" +
+                    matrixSubCommanders.removeEmptyCols().resizeColumnWidths();
+        }
+        // add global options
+        if (!globalOptionsParser.isEmpty()) {
+            TextMatrix matrixGlobalOptions = TextMatrix.empty();
+            globalOptionsParser.getParsers().stream()
+                    .sorted(Comparator.comparing(ArgumentParser::getId))
+                    .map(ArgumentParser::getHelpContent)
+                    .map(ParserHelpContent::asTextCells)
+                    .forEach(matrixGlobalOptions::row);
+            helpString += "\n\n" + TextMatrix.empty().row(TextCell.getNew("Global options:")) + "\n" +
+                    matrixGlobalOptions.removeEmptyCols().resizeColumnWidths();
+        }
+        return helpString;
+    }
+
+    private String generateSearchHelpString(String query) {
+        TextMatrix matrixHeader = TextMatrix.empty()
+                .row(TextCell.getNew("Help for " + cliName + " matching '" + query + "'"))
+                .row();
+        List<String> matchingNames = search(query);
+        TextMatrix matrixCommands = TextMatrix.empty();
+        if (matchingNames.isEmpty()) {
+            matrixHeader.row(TextCell.getNew("No matching commands."));
+        } else {
+            matrixHeader.row(TextCell.getNew("Commands:"));
+            for (String name : matchingNames) {
+                LazyEntry<?> entry = commandsByName.containsKey(name) ? commandsByName.get(name) : subCommandersByName.get(name);
+                matrixCommands.row(new int[]{COMMAND_NAME_WIDTH, COMMAND_DESCRIPTION_WIDTH}, entry.getName(), entry.getDescription());
+            }
+        }
+        return matrixHeader + "\n" + matrixCommands.removeEmptyCols().resizeColumnWidths();
     }
 
     /**
@@ -150,6 +758,83 @@ public class Commander {
         return cliName;
     }
 
+    /**
+     * @param prefix the prefix of command names.
+     * @return the names of all commands starting with the specified prefix in lexicographical order.
+     */
+    public List<String> getCommandNameCompletions(String prefix) {
+        return commandNameTrie.getNamesStartingWith(Objects.requireNonNull(prefix));
+    }
+
+    /**
+     * Completes the last of the specified arguments. Global options and the names of commands and nested commanders
+     * are resolved like on execution to determine what the last argument refers to.
+     * <p>Completing the arguments of a command constructs that command but no other command or nested commander.</p>
+     *
+     * @param partialArgs the arguments typed so far. The last argument is the one to complete and may be empty.
+     * @return all candidates for the last argument in lexicographical order: the names of commands and nested
+     * commanders, global options, options of the addressed command or values provided by a {@link CompletionProvider}.
+     * @see #getCompletions(String[], CompletionCache)
+     */
+    public List<String> getCompletions(String[] partialArgs) {
+        return getCompletions(partialArgs, CompletionCache.disabled());
+    }
+
+    /**
+     * Like {@link #getCompletions(String[])} but takes candidates provided by a {@link CompletionProvider} from the
+     * specified cache if present. Long-lived processes answering many completion requests should pass the
+     * same cache to every call.
+     *
+     * @param partialArgs the arguments typed so far. The last argument is the one to complete and may be empty.
+     * @param completionCache the cache of looked up candidates.
+     * @return all candidates for the last argument in lexicographical order.
+     * @see Command#getCompletions(String[], CompletionCache)
+     */
+    public List<String> getCompletions(String[] partialArgs, CompletionCache completionCache) {
+        if (partialArgs.length == 0)
+            return getCommandNameCompletions("");
+        List<AbstractOptionParser<?>> globalParsers = globalOptionsParser.getParsers();
+        int lastIndex = partialArgs.length - 1;
+        int index = 0;
+        while (index < lastIndex) {
+            String arg = partialArgs[index];
+            if (!arg.isEmpty() && arg.charAt(0) == InputArgument.OPTION_PREFIX) {
+                index += Command.isValuedOptionName(globalParsers, arg) ? 2 : 1;
+                continue;
+            }
+            String resolvedName = commandNameTrie.resolve(arg);
+            if (resolvedName == null)
+                return List.of();
+            String[] remainingArgs = Arrays.copyOfRange(partialArgs, index + 1, partialArgs.length);
+            LazyEntry<Commander> subCommander = subCommandersByName.get(resolvedName);
+            if (subCommander != null)
+                return subCommander.get().getCompletions(remainingArgs, completionCache);
+            return getCommand(commandsByName.get(resolvedName)).getCompletions(remainingArgs, completionCache);
+        }
+        if (index > lastIndex)
+            // here if the last argument is the value of a global option
+            return Command.getCompletions(globalParsers, Arrays.copyOfRange(partialArgs, lastIndex - 1, partialArgs.length), completionCache);
+        String prefix = partialArgs[lastIndex];
+        if (!prefix.isEmpty() && prefix.charAt(0) == InputArgument.OPTION_PREFIX)
+            return Command.getOptionNameCompletions(globalParsers, prefix);
+        return getCommandNameCompletions(prefix);
+    }
+
+    /**
+     * Searches names and descriptions of commands and nested commanders as well as names and descriptions of the
+     * arguments of commands. Each query term matches words it is equal to or a prefix of, ignoring case. Matches on
+     * names rank above matches on descriptions, which rank above matches on arguments.
+     * <p>The underlying index is built on the first search without constructing commands registered by suppliers or
+     * nested commanders. Arguments of commands registered by suppliers are searched by the search text passed to
+     * {@link Builder#addCommand(String, String, String, Supplier)}.</p>
+     *
+     * @param query whitespace separated search terms.
+     * @return the names of commands and nested commanders matching all terms, best matches first.
+     */
+    public List<String> search(String query) {
+        return getCommandSearchIndex().search(Objects.requireNonNull(query));
+    }
+
     public String getDoc() {
         return generateHelpString();
     }
@@ -159,8 +844,205 @@ public class Commander {
      */
     @Override
     public String toString() {
-        return String.format("%s={name=%s, commands=%s}",
-                this.getClass().getSimpleName(), cliName, commandsByName.keySet().stream().sorted().collect(Collectors.toList()));
+        if (subCommandersByName.isEmpty())
+            return String.format("%s={name=%s, commands=%s}",
+                    this.getClass().getSimpleName(), cliName, commandsByName.keySet().stream().sorted().collect(Collectors.toList()));
+        return String.format("%s={name=%s, commands=%s, subCommanders=%s}",
+                this.getClass().getSimpleName(), cliName, commandsByName.keySet().stream().sorted().collect(Collectors.toList()),
+                subCommandersByName.keySet().stream().sorted().collect(Collectors.toList()));
+    }
+
+    /**
+     * A command together with its parsed arguments, ready to be run.
+     */
+    static final class Dispatch {
+
+        private final Commander commander;
+        private final Command command;
+        private final Object[] parsedValues;
+
+        private Dispatch(Commander commander, Command command, Object[] parsedValues) {
+            this.commander = commander;
+            this.command = command;
+            this.parsedValues = parsedValues;
+        }
+
+        Command getCommand() {
+            return command;
+        }
+
+        void mapLazyValues() throws CommanderExecutionException {
+            for (Object value : parsedValues) {
+                if (value instanceof Lazy) {
+                    try {
+                        ((Lazy<?>) value).getWithThrows();
+                    } catch (ValueMappingException e) {
+                        throw new CommanderExecutionException(commander, new InvalidInputArgumentException(command, e));
+                    }
+                }
+            }
+        }
+
+        void run() throws CommanderExecutionException {
+            run(() -> {});
+        }
+
+        /**
+         * @return an exception reporting that running the command failed for the specified reason.
+         */
+        CommanderExecutionException createFailure(Throwable cause) {
+            return new CommanderExecutionException(commander, new ClientCodeExecutionException(command, cause));
+        }
+
+        /**
+         * @param terminationListener called exactly once as soon as the instruction has terminated, possibly after
+         *                            this method threw on timeout or cancellation.
+         */
+        void run(Runnable terminationListener) throws CommanderExecutionException {
+            try {
+                command.run(parsedValues, terminationListener);
+            } catch (CommandExecutionException e) {
+                throw new CommanderExecutionException(commander, e);
+            }
+        }
+
+    }
+
+    /**
+     * Incrementally collects commands and global options of a {@link Commander}. Conflicts are detected when adding
+     * commands or global options.
+     * <p>A Builder is not thread safe.</p>
+     */
+    public static class Builder {
+
+        private final String cliName;
+        private final Map<String, LazyEntry<Command>> commandsByName = new HashMap<>();
+        private final Map<String, LazyEntry<Commander>> subCommandersByName = new HashMap<>();
+        private final Map<Object, AbstractOptionParser<?>> globalOptionsByConflictKey = new HashMap<>();
+        private final List<AbstractOptionParser<?>> globalOptions = new ArrayList<>();
+        private String description = "";
+
+        private Builder(String cliName) {
+            this.cliName = cliName;
+        }
+
+        /**
+         * @param description the description of the commander.
+         * @return this builder.
+         */
+        public Builder withDescription(String description) {
+            this.description = Objects.requireNonNull(description).trim();
+            return this;
+        }
+
+        /**
+         * @param command the command to add.
+         * @return this builder.
+         * @throws CommanderCreationException if a command with the same name has already been added.
+         */
+        public Builder addCommand(Command command) throws CommanderCreationException {
+            return addCommandEntry(LazyEntry.of(command.getName(), command.getDescription(), command));
+        }
+
+        /**
+         * Adds a command that is constructed on first use.
+         *
+         * @param name the name of the command. Must match the name of the supplied command.
+         * @param description the description of the command displayed in the help of the commander.
+         * @param commandSupplier supplies the command.
+         * @return this builder.
+         * @throws CommanderCreationException if a command with the same name has already been added.
+         * @throws IllegalArgumentException if the name is invalid.
+         * @see Commander#withCommand(String, String, Supplier)
+         */
+        public Builder addCommand(String name, String description, Supplier<Command> commandSupplier) throws CommanderCreationException {
+            return addCommand(name, description, "", commandSupplier);
+        }
+
+        /**
+         * Like {@link #addCommand(String, String, Supplier)} but the command is also found by {@link Commander#search(String)}
+         * for the terms of the specified text without being constructed.
+         *
+         * @param name the name of the command. Must match the name of the supplied command.
+         * @param description the description of the command displayed in the help of the commander.
+         * @param searchText the names and descriptions of the arguments of the command.
+         * @param commandSupplier supplies the command.
+         * @return this builder.
+         * @throws CommanderCreationException if a command with the same name has already been added.
+         * @throws IllegalArgumentException if the name is invalid.
+         */
+        public Builder addCommand(String name, String description, String searchText, Supplier<Command> commandSupplier) throws CommanderCreationException {
+            return addCommandEntry(createLazyCommandEntry(name, description, searchText, commandSupplier));
+        }
+
+        private Builder addCommandEntry(LazyEntry<Command> entry) throws CommanderCreationException {
+            if (subCommandersByName.containsKey(entry.getName()))
+                throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n    Sub-commander %s is also registered as command", entry.getName()));
+            if (commandsByName.putIfAbsent(entry.getName(), entry) != null)
+                throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n    %s", generateDuplicateCommandMessage(entry.getName())));
+            return this;
+        }
+
+        /**
+         * @param commands the commands to add.
+         * @return this builder.
+         * @throws CommanderCreationException if any command name has already been added.
+         */
+        public Builder addCommands(Command... commands) throws CommanderCreationException {
+            for (Command command : commands)
+                addCommand(command);
+            return this;
+        }
+
+        /**
+         * @param name the name used to invoke the nested commander.
+         * @param description the description of the nested commander.
+         * @param subCommanderSupplier supplies the nested commander on first use.
+         * @return this builder.
+         * @throws CommanderCreationException if the name is already used by a command or nested commander.
+         * @see Commander#withSubCommander(String, String, Supplier)
+         */
+        public Builder addSubCommander(String name, String description, Supplier<Commander> subCommanderSupplier) throws CommanderCreationException {
+            LazyEntry<Commander> subCommander = createSubCommanderEntry(name, description, subCommanderSupplier);
+            if (commandsByName.containsKey(name))
+                throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n    Sub-commander %s is also registered as command", name));
+            if (subCommandersByName.putIfAbsent(name, subCommander) != null)
+                throw new CommanderCreationException(cliName, String.format("Detected conflicts among commands:\n    Sub-commander %s is registered multiple times", name));
+            return this;
+        }
+
+        /**
+         * @param parser the global option to add.
+         * @return this builder.
+         * @throws CommanderCreationException if the global option conflicts with a previously added global option.
+         * @see Commander#withGlobalOptions(AbstractOptionParser[])
+         */
+        public Builder addGlobalOption(AbstractOptionParser<?> parser) throws CommanderCreationException {
+            throwOnGlobalOptionConflicts(cliName, findGlobalOptionConflicts(globalOptionsByConflictKey, parser));
+            for (Object conflictKey : parser.getId().getConflictKeys())
+                globalOptionsByConflictKey.put(conflictKey, parser);
+            globalOptions.add(parser);
+            return this;
+        }
+
+        /**
+         * @param parsers the global options to add.
+         * @return this builder.
+         * @throws CommanderCreationException if any global option conflicts with a previously added global option.
+         */
+        public Builder addGlobalOptions(AbstractOptionParser<?>... parsers) throws CommanderCreationException {
+            for (AbstractOptionParser<?> parser : parsers)
+                addGlobalOption(parser);
+            return this;
+        }
+
+        /**
+         * @return a new Commander holding the commands and global options added to this builder.
+         */
+        public Commander build() {
+            return new Commander(cliName, Map.copyOf(commandsByName), Map.copyOf(subCommandersByName), description, new GlobalOptionsParser(globalOptions));
+        }
+
     }
 
 }
@@ -0,0 +1,132 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Keeps the candidates looked up by {@link CompletionProvider}s for a limited time. Repeated completion requests are
+ * answered from memory instead of running the lookup again.
+ * <p>
+ *     Entries expire after the configured time to live. If more providers than the configured maximum size have
+ *     candidates cached, the least recently used entry is evicted. Lookups failing with an exception yield no
+ *     candidates and are not cached.
+ * </p>
+ * <p>A CompletionCache is thread safe. Lookups run outside of any lock.</p>
+ */
+public final class CompletionCache {
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final CompletionCache DISABLED = new CompletionCache(Duration.ZERO, 0);
+
+    private final long timeToLiveNanos;
+    private final int maxSize;
+    private final Map<CompletionProvider, Entry> entriesByProvider;
+
+    /**
+     * @return a new cache using {@link #DEFAULT_TIME_TO_LIVE} and {@link #DEFAULT_MAX_SIZE}.
+     */
+    public static CompletionCache create() {
+        return create(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param timeToLive the time after which cached candidates are looked up again.
+     * @param maxSize the maximum number of providers whose candidates are cached.
+     * @return a new cache.
+     */
+    public static CompletionCache create(Duration timeToLive, int maxSize) {
+        if (Objects.requireNonNull(timeToLive).isNegative())
+            throw new IllegalArgumentException("Time to live must not be negative but was " + timeToLive);
+        if (maxSize < 0)
+            throw new IllegalArgumentException("Maximum size must not be negative but was " + maxSize);
+        return new CompletionCache(timeToLive, maxSize);
+    }
+
+    /**
+     * @return a cache that never keeps any candidates.
+     */
+    public static CompletionCache disabled() {
+        return DISABLED;
+    }
+
+    private CompletionCache(Duration timeToLive, int maxSize) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.maxSize = maxSize;
+        this.entriesByProvider = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CompletionProvider, Entry> eldest) {
+                return size() > CompletionCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param provider the provider to look up candidates with if none are cached.
+     * @param prefix the typed prefix.
+     * @return the candidates of the specified provider starting with the specified prefix in lexicographical order.
+     */
+    public List<String> getCandidates(CompletionProvider provider, String prefix) {
+        List<String> candidates = getCandidates(provider);
+        List<String> matches = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (candidate.startsWith(prefix))
+                matches.add(candidate);
+        }
+        return matches;
+    }
+
+    private List<String> getCandidates(CompletionProvider provider) {
+        long now = System.nanoTime();
+        synchronized (entriesByProvider) {
+            Entry entry = entriesByProvider.get(provider);
+            if (entry != null && now - entry.createdAtNanos < timeToLiveNanos)
+                return entry.candidates;
+        }
+        List<String> candidates;
+        try {
+            candidates = new ArrayList<>(new TreeSet<>(provider.getCandidates()));
+        } catch (RuntimeException e) {
+            // completion must never fail the caller
+            return List.of();
+        }
+        if (maxSize > 0 && timeToLiveNanos > 0) {
+            synchronized (entriesByProvider) {
+                entriesByProvider.put(provider, new Entry(now, Collections.unmodifiableList(candidates)));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Discards all cached candidates.
+     */
+    public void clear() {
+        synchronized (entriesByProvider) {
+            entriesByProvider.clear();
+        }
+    }
+
+    /**
+     * @return the number of providers whose candidates are currently cached, including expired ones.
+     */
+    public int size() {
+        synchronized (entriesByProvider) {
+            return entriesByProvider.size();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long createdAtNanos;
+        private final List<String> candidates;
+
+        private Entry(long createdAtNanos, List<String> candidates) {
+            this.createdAtNanos = createdAtNanos;
+            this.candidates = candidates;
+        }
+
+    }
+
+}
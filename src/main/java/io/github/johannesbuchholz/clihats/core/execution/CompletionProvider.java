@@ -0,0 +1,22 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.Collection;
+
+/**
+ * Implementing classes look up the values an option or operand may take, for example the names of clusters or the
+ * ids of running jobs. Candidates are looked up only to answer completion requests.
+ * <p>
+ *     Lookups may be expensive. Processes answering many completion requests, like the interactive shell or a
+ *     daemon, keep candidates in a {@link CompletionCache}.
+ * </p>
+ * @see Commander#getCompletions(String[], CompletionCache)
+ */
+@FunctionalInterface
+public interface CompletionProvider {
+
+    /**
+     * @return all values currently known. Filtering by the typed prefix is done by the caller.
+     */
+    Collection<String> getCandidates();
+
+}
@@ -0,0 +1,386 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Precomputed names of the commands, nested commanders, options and known values of a command-line interface.
+ * Completes partial arguments like {@link Commander#getCompletions(String[])} without constructing any command or
+ * parser and additionally completes known values of options and operands, for example enum constants.
+ * <p>
+ *     A table is written as a compact line-based text. Reading it back is fast enough to answer a single completion
+ *     request within a freshly started JVM. For that reason, this class avoids lambdas and streams.
+ * </p>
+ */
+public final class CompletionTable {
+
+    private static final String HEADER = "# clihats completion table 1";
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final String LIST_SEPARATOR = " ";
+    private static final String COMMAND_RECORD = "C";
+    private static final String OPTION_RECORD = "O";
+    private static final String OPERAND_RECORD = "P";
+    private static final String VALUED_MARKER = "V";
+    private static final String FLAG_MARKER = "F";
+
+    private final Node root;
+
+    private CompletionTable(Node root) {
+        this.root = root;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Reads a table previously written by {@link #write(Writer)}.
+     * @param reader the source of the table.
+     * @return the table.
+     * @throws IOException if reading fails.
+     * @throws IllegalArgumentException if the input is not a completion table.
+     */
+    public static CompletionTable read(BufferedReader reader) throws IOException {
+        if (!HEADER.equals(reader.readLine()))
+            throw new IllegalArgumentException("Input is not a completion table");
+        Builder builder = new Builder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty())
+                continue;
+            String[] fields = split(line);
+            List<String> path = splitList(fields[1]);
+            switch (fields[0]) {
+                case COMMAND_RECORD:
+                    builder.addCommand(path);
+                    break;
+                case OPTION_RECORD:
+                    builder.addOption(path, splitList(fields[2]), VALUED_MARKER.equals(fields[3]), splitList(fields[4]));
+                    break;
+                case OPERAND_RECORD:
+                    builder.addOperand(path, splitList(fields[2]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown record in completion table: " + line);
+            }
+        }
+        return builder.build();
+    }
+
+    private static String[] split(String line) {
+        String[] fields = new String[5];
+        int fieldIndex = 0;
+        int start = 0;
+        for (int i = 0; i < line.length() && fieldIndex < fields.length - 1; i++) {
+            if (line.charAt(i) == FIELD_SEPARATOR) {
+                fields[fieldIndex++] = line.substring(start, i);
+                start = i + 1;
+            }
+        }
+        fields[fieldIndex] = line.substring(start);
+        for (int i = fieldIndex + 1; i < fields.length; i++)
+            fields[i] = "";
+        return fields;
+    }
+
+    private static List<String> splitList(String field) {
+        if (field.isEmpty())
+            return List.of();
+        return Arrays.asList(field.split(LIST_SEPARATOR));
+    }
+
+    /**
+     * Writes this table in a form readable by {@link #read(BufferedReader)}.
+     * @param writer the target of the table.
+     * @throws IOException if writing fails.
+     */
+    public void write(Writer writer) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+        write(writer, root, List.of());
+    }
+
+    private static void write(Writer writer, Node node, List<String> path) throws IOException {
+        String pathField = String.join(LIST_SEPARATOR, path);
+        if (node.isCommand)
+            writeRecord(writer, COMMAND_RECORD, pathField);
+        for (Option option : node.options)
+            writeRecord(writer, OPTION_RECORD, pathField, String.join(LIST_SEPARATOR, option.names),
+                    option.isValued ? VALUED_MARKER : FLAG_MARKER, String.join(LIST_SEPARATOR, option.values));
+        if (!node.operandValues.isEmpty())
+            writeRecord(writer, OPERAND_RECORD, pathField, String.join(LIST_SEPARATOR, node.operandValues));
+        for (Map.Entry<String, Node> child : node.childrenByName.entrySet()) {
+            List<String> childPath = new ArrayList<>(path);
+            childPath.add(child.getKey());
+            write(writer, child.getValue(), childPath);
+        }
+    }
+
+    private static void writeRecord(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0)
+                writer.write(FIELD_SEPARATOR);
+            writer.write(fields[i]);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Completes the last of the specified arguments. Global options and the names of commands and nested commanders
+     * are resolved like on execution to determine what the last argument refers to.
+     *
+     * @param partialArgs the arguments typed so far. The last argument is the one to complete and may be empty.
+     * @return all candidates for the last argument in lexicographical order: the names of commands and nested
+     * commanders, option names or known values of options and operands.
+     */
+    public List<String> complete(String[] partialArgs) {
+        if (partialArgs.length == 0)
+            return filter(root.childrenByName.keySet(), "");
+        int lastIndex = partialArgs.length - 1;
+        Node node = root;
+        int index = 0;
+        while (index < lastIndex) {
+            String arg = partialArgs[index];
+            if (isOption(arg)) {
+                index += node.getValuedOption(arg) == null ? 1 : 2;
+            } else if (node.isCommand) {
+                // here if arg is an operand
+                index++;
+            } else {
+                node = node.resolve(arg);
+                if (node == null)
+                    return List.of();
+                index++;
+            }
+        }
+        if (index > lastIndex) {
+            // here if the last argument is the value of an option
+            return filter(node.getValuedOption(partialArgs[lastIndex - 1]).values, partialArgs[lastIndex]);
+        }
+        String prefix = partialArgs[lastIndex];
+        if (!prefix.isEmpty() && prefix.charAt(0) == InputArgument.OPTION_PREFIX) {
+            List<String> optionNames = new ArrayList<>();
+            optionNames.addAll(InputArgument.getHelpArgumentValues());
+            for (Option option : node.options)
+                optionNames.addAll(option.names);
+            return filter(optionNames, prefix);
+        }
+        if (node.isCommand)
+            return filter(node.operandValues, prefix);
+        return filter(node.childrenByName.keySet(), prefix);
+    }
+
+    /**
+     * @return the paths of the root commander and of all nested commanders and commands, parents before children.
+     */
+    public List<List<String>> getPaths() {
+        List<List<String>> paths = new ArrayList<>();
+        collectPaths(root, new ArrayList<>(), paths);
+        return paths;
+    }
+
+    private static void collectPaths(Node node, List<String> path, List<List<String>> paths) {
+        paths.add(List.copyOf(path));
+        for (Map.Entry<String, Node> child : node.childrenByName.entrySet()) {
+            path.add(child.getKey());
+            collectPaths(child.getValue(), path, paths);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    /**
+     * @param path the path of a command or commander.
+     * @return true if the specified path denotes a command.
+     * @throws IllegalArgumentException if the path is unknown.
+     */
+    public boolean isCommand(List<String> path) {
+        return getNode(root, path).isCommand;
+    }
+
+    /**
+     * @param path the path of a commander.
+     * @return the names of the commands and nested commanders of the specified commander in lexicographical order.
+     * @throws IllegalArgumentException if the path is unknown.
+     */
+    public List<String> getChildNames(List<String> path) {
+        return new ArrayList<>(getNode(root, path).childrenByName.keySet());
+    }
+
+    /**
+     * @param path the path of a command or commander.
+     * @param valuedOnly if true, only names of options expecting a value are returned.
+     * @return the names of the options of the specified command or commander in lexicographical order.
+     * @throws IllegalArgumentException if the path is unknown.
+     */
+    public List<String> getOptionNames(List<String> path, boolean valuedOnly) {
+        List<String> names = new ArrayList<>();
+        for (Option option : getNode(root, path).options) {
+            if (option.isValued || !valuedOnly)
+                names.addAll(option.names);
+        }
+        return filter(names, "");
+    }
+
+    /**
+     * @param path the path of a command or commander.
+     * @param optionName the name of an option of the specified command or commander.
+     * @return the known values of the specified option. Empty if there are none or the option expects no value.
+     * @throws IllegalArgumentException if the path is unknown.
+     */
+    public List<String> getOptionValues(List<String> path, String optionName) {
+        Option option = getNode(root, path).getValuedOption(optionName);
+        return option == null ? List.of() : filter(option.values, "");
+    }
+
+    /**
+     * @param path the path of a command.
+     * @return the known values of the operands of the specified command in lexicographical order.
+     * @throws IllegalArgumentException if the path is unknown.
+     */
+    public List<String> getOperandValues(List<String> path) {
+        return new ArrayList<>(getNode(root, path).operandValues);
+    }
+
+    private static Node getNode(Node root, List<String> path) {
+        Node node = root;
+        for (String name : path) {
+            node = node.childrenByName.get(name);
+            if (node == null)
+                throw new IllegalArgumentException("Unknown path " + path);
+        }
+        return node;
+    }
+
+    private static boolean isOption(String arg) {
+        return arg.length() > 1 && arg.charAt(0) == InputArgument.OPTION_PREFIX && !arg.equals(InputArgument.OPERAND_DELIMITER);
+    }
+
+    private static List<String> filter(Collection<String> candidates, String prefix) {
+        TreeSet<String> matches = new TreeSet<>();
+        for (String candidate : candidates) {
+            if (candidate.startsWith(prefix))
+                matches.add(candidate);
+        }
+        return new ArrayList<>(matches);
+    }
+
+    /**
+     * Collects the entries of a {@link CompletionTable}. Entries are addressed by their path of names from the root
+     * commander. The empty path denotes the root commander itself.
+     * <p>A Builder is not thread safe.</p>
+     */
+    public static final class Builder {
+
+        private final Node root = new Node();
+
+        private Builder() {}
+
+        /**
+         * Adds a command together with all nested commanders along its path.
+         * @param path the names of the enclosing nested commanders followed by the name of the command.
+         * @return this builder.
+         */
+        public Builder addCommand(List<String> path) {
+            if (path.isEmpty())
+                throw new IllegalArgumentException("Path of command must not be empty");
+            Node node = root;
+            for (String name : path) {
+                Node child = node.childrenByName.get(name);
+                if (child == null) {
+                    child = new Node();
+                    node.childrenByName.put(name, child);
+                }
+                node = child;
+            }
+            node.isCommand = true;
+            return this;
+        }
+
+        /**
+         * Adds an option to the command or commander at the specified path. Options with names equal to an existing
+         * option are ignored.
+         * @param path the path of an added command or commander.
+         * @param names the names of the option.
+         * @param isValued true if the option expects a value.
+         * @param values the known values of the option.
+         * @return this builder.
+         */
+        public Builder addOption(List<String> path, Collection<String> names, boolean isValued, Collection<String> values) {
+            Node node = getNode(path);
+            for (Option option : node.options) {
+                if (option.names.equals(new ArrayList<>(names)))
+                    return this;
+            }
+            node.options.add(new Option(new ArrayList<>(names), isValued, new ArrayList<>(values)));
+            return this;
+        }
+
+        /**
+         * Adds known values of operands to the command at the specified path.
+         * @param path the path of an added command.
+         * @param values the known values of an operand.
+         * @return this builder.
+         */
+        public Builder addOperand(List<String> path, Collection<String> values) {
+            getNode(path).operandValues.addAll(values);
+            return this;
+        }
+
+        private Node getNode(List<String> path) {
+            return CompletionTable.getNode(root, path);
+        }
+
+        public CompletionTable build() {
+            return new CompletionTable(root);
+        }
+
+    }
+
+    /**
+     * A command or a commander.
+     */
+    private static final class Node {
+
+        private final SortedMap<String, Node> childrenByName = new TreeMap<>();
+        private final List<Option> options = new ArrayList<>();
+        private final SortedSet<String> operandValues = new TreeSet<>();
+        private boolean isCommand = false;
+
+        /**
+         * @return the child with the specified name or the only child whose name starts with the specified name.
+         */
+        private Node resolve(String name) {
+            Node child = childrenByName.get(name);
+            if (child != null)
+                return child;
+            SortedMap<String, Node> candidates = childrenByName.subMap(name, name.concat(String.valueOf(Character.MAX_VALUE)));
+            return candidates.size() == 1 ? candidates.get(candidates.firstKey()) : null;
+        }
+
+        private Option getValuedOption(String name) {
+            for (Option option : options) {
+                if (option.isValued && option.names.contains(name))
+                    return option;
+            }
+            return null;
+        }
+
+    }
+
+    private static final class Option {
+
+        private final List<String> names;
+        private final boolean isValued;
+        private final List<String> values;
+
+        private Option(List<String> names, boolean isValued, List<String> values) {
+            this.names = names;
+            this.isValued = isValued;
+            this.values = values;
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidCommandLineException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidGlobalOptionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidInputArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.UnknownCommandException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.MissingArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.MissingValueException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.UnknownArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A single problem found in a command line.
+ * @see Commander#validate(String[], InvocationContext, boolean)
+ */
+public class Diagnostic {
+
+    private final Kind kind;
+    private final String message;
+    // null if the problem is not caused by a single argument
+    private final String argument;
+    private final List<String> suggestions;
+
+    private Diagnostic(Kind kind, String message, String argument, List<String> suggestions) {
+        this.kind = kind;
+        this.message = message;
+        this.argument = argument;
+        this.suggestions = List.copyOf(suggestions);
+    }
+
+    /**
+     * @param failure the failure of a command line. May be null.
+     * @return the problems described by the specified failure. Empty if there is no failure or the failure is a help
+     * call.
+     */
+    static List<Diagnostic> describe(Throwable failure) {
+        if (failure == null || failure instanceof CliHelpCallException)
+            return List.of();
+        if (failure instanceof UnknownCommandException) {
+            UnknownCommandException e = (UnknownCommandException) failure;
+            List<String> suggestions = e.getCandidates().isEmpty() ? e.getSuggestions() : e.getCandidates();
+            return List.of(new Diagnostic(Kind.UNKNOWN_COMMAND, e.getMessage(), null, suggestions));
+        }
+        if (failure instanceof InvalidCommandLineException)
+            return List.of(new Diagnostic(Kind.INVALID_COMMAND_LINE, failure.getMessage(), null, List.of()));
+        if (failure instanceof InvalidGlobalOptionException && failure.getCause() instanceof ArgumentParsingException)
+            return describe((ArgumentParsingException) failure.getCause());
+        if (failure instanceof CommanderExecutionException && failure.getCause() instanceof InvalidInputArgumentException)
+            failure = failure.getCause();
+        if (failure instanceof InvalidInputArgumentException && failure.getCause() instanceof ArgumentParsingException)
+            return describe((ArgumentParsingException) failure.getCause());
+        return List.of(new Diagnostic(Kind.FAILED, failure.getMessage(), null, List.of()));
+    }
+
+    private static List<Diagnostic> describe(ArgumentParsingException e) {
+        if (e instanceof UnknownArgumentException) {
+            UnknownArgumentException unknownArgumentException = (UnknownArgumentException) e;
+            List<Diagnostic> diagnostics = new ArrayList<>();
+            for (InputArgument inputArgument : unknownArgumentException.getInputArguments()) {
+                String value = inputArgument.getValue();
+                diagnostics.add(new Diagnostic(Kind.UNKNOWN_ARGUMENT, "Unknown input argument " + value, value,
+                        unknownArgumentException.getSuggestionsByInputArgument().getOrDefault(value, List.of())));
+            }
+            return diagnostics;
+        }
+        Kind kind;
+        if (e instanceof MissingArgumentException)
+            kind = Kind.MISSING_ARGUMENT;
+        else if (e instanceof MissingValueException)
+            kind = Kind.MISSING_VALUE;
+        else if (e instanceof ValueMappingException)
+            kind = Kind.INVALID_VALUE;
+        else
+            kind = Kind.INVALID_ARGUMENT;
+        return List.of(new Diagnostic(kind, e.getMessage(), null, List.of()));
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the value of the argument causing this problem. Empty if the problem is not caused by a single
+     * argument.
+     */
+    public Optional<String> getArgument() {
+        return Optional.ofNullable(argument);
+    }
+
+    /**
+     * @return names similar to the unknown command or argument. Empty if there are none.
+     */
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ": " + message;
+    }
+
+    public enum Kind {
+        /**
+         * The line could not be split into arguments.
+         */
+        INVALID_COMMAND_LINE,
+        UNKNOWN_COMMAND,
+        UNKNOWN_ARGUMENT,
+        MISSING_ARGUMENT,
+        /**
+         * An option expecting a value was given without a value.
+         */
+        MISSING_VALUE,
+        /**
+         * A value could not be mapped to the type expected by the command.
+         */
+        INVALID_VALUE,
+        /**
+         * The arguments could not be parsed for any other reason.
+         */
+        INVALID_ARGUMENT,
+        /**
+         * The command line failed for a reason other than invalid input, for example a failing command.
+         */
+        FAILED
+    }
+
+}
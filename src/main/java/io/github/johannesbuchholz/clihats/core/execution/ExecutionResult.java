@@ -0,0 +1,132 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidCommandChainException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidCommandLineException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidGlobalOptionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidInputArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.UnknownCommandException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The outcome of an execution.
+ * @see Commander#tryExecute(String[], InvocationContext)
+ * @see Commander#executeAsync(String[], java.util.concurrent.Executor)
+ * @see Command#executeAsync(String[], java.util.concurrent.Executor)
+ */
+public class ExecutionResult {
+
+    private final Status status;
+    private final Command command;
+    private final Duration duration;
+    private final CliException exception;
+
+    ExecutionResult(Command command, Duration duration) {
+        this(Status.SUCCEEDED, command, duration, null);
+    }
+
+    private ExecutionResult(Status status, Command command, Duration duration, CliException exception) {
+        this.status = status;
+        this.command = command;
+        this.duration = duration;
+        this.exception = exception;
+    }
+
+    /**
+     * @param command the command that has been dispatched to. May be null if dispatching failed.
+     * @param exception the exception describing the outcome.
+     * @return a result classifying the specified exception.
+     */
+    static ExecutionResult of(Command command, CliException exception) {
+        return new ExecutionResult(classify(exception), command, Duration.ZERO, exception);
+    }
+
+    private static Status classify(CliException exception) {
+        if (exception instanceof CliHelpCallException)
+            return Status.HELP_REQUESTED;
+        Throwable cause = exception;
+        if (exception instanceof CommanderExecutionException && exception.getCause() instanceof CliException)
+            cause = exception.getCause();
+        if (cause instanceof InvalidInputArgumentException
+                || cause instanceof UnknownCommandException
+                || cause instanceof InvalidGlobalOptionException
+                || cause instanceof InvalidCommandLineException
+                || cause instanceof InvalidCommandChainException)
+            return Status.INVALID_INPUT;
+        return Status.FAILED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return true if the instruction of the command ran without failure.
+     */
+    public boolean isSuccessful() {
+        return status == Status.SUCCEEDED;
+    }
+
+    /**
+     * @return 0 on success or the exit code of the exception describing the outcome.
+     */
+    public int getExitCode() {
+        return exception == null ? 0 : exception.getExitCode();
+    }
+
+    /**
+     * The message is rendered on first access. For example, help messages are only generated if requested.
+     * @return the message describing the outcome. Empty on success.
+     */
+    public String getMessage() {
+        return exception == null ? "" : exception.getMessage();
+    }
+
+    /**
+     * @return the exception describing the outcome. Empty on success.
+     */
+    public Optional<CliException> getException() {
+        return Optional.ofNullable(exception);
+    }
+
+    /**
+     * @return the executed command. May be null if the arguments could not be dispatched to a command.
+     */
+    public Command getCommand() {
+        return command;
+    }
+
+    /**
+     * @return the time spent running the instruction of the executed command, excluding argument parsing and the
+     * time spent waiting for the executor. Zero if the instruction did not run to completion.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{status=%s, command=%s, duration=%s}",
+                this.getClass().getSimpleName(), status, command == null ? null : command.getName(), duration);
+    }
+
+    public enum Status {
+        SUCCEEDED,
+        /**
+         * The arguments requested help. The help message is available from {@link #getMessage()}.
+         */
+        HELP_REQUESTED,
+        /**
+         * The arguments could not be dispatched to a command or could not be parsed. The instruction did not run.
+         */
+        INVALID_INPUT,
+        /**
+         * The instruction failed, timed out or was rejected.
+         */
+        FAILED
+    }
+
+}
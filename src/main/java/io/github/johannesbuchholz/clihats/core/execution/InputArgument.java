@@ -21,6 +21,10 @@ public class InputArgument {
         return HELP_ARGUMENT_VALUES.contains(value);
     }
 
+    static Set<String> getHelpArgumentValues() {
+        return HELP_ARGUMENT_VALUES;
+    }
+
     public static InputArgument of(String value) {
         boolean isOption = value.length() > 1
                 && value.charAt(0) == OPTION_PREFIX
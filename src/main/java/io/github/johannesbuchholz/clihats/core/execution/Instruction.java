@@ -33,7 +33,8 @@ package io.github.johannesbuchholz.clihats.core.execution;
 public interface Instruction {
 
     /**
-     * @param args the list of arguments.
+     * @param args the list of arguments. When executed by a {@link Commander} possessing global options, the values
+     *             of these options follow the values of the command's own parsers.
      * @throws Exception if the execution fails.
      */
     void execute(Object[] args) throws Exception;
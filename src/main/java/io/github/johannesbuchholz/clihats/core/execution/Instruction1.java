@@ -0,0 +1,27 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+/**
+ * An {@link Instruction} receiving the first value as typed parameter instead of an array of
+ * arguments. Enables method references like {@code (Instruction1<A>) MyCli::myMethod} as instruction.
+ * <p>
+ *     Values following the first value, like values of global options not consumed by the method, are ignored.
+ * </p>
+ * @param <A> the type of the value at index 0.
+ * @see Command#withInstruction(Instruction)
+ */
+@FunctionalInterface
+public interface Instruction1<A> extends Instruction {
+
+    /**
+     * @param a the value at index 0.
+     * @throws Exception if the execution fails.
+     */
+    void execute(A a) throws Exception;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default void execute(Object[] args) throws Exception {
+        execute((A) args[0]);
+    }
+
+}
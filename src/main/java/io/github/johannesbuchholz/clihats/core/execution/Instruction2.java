@@ -0,0 +1,29 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+/**
+ * An {@link Instruction} receiving the first two values as typed parameters instead of an array of
+ * arguments. Enables method references like {@code (Instruction2<A, B>) MyCli::myMethod} as instruction.
+ * <p>
+ *     Values following the first two values, like values of global options not consumed by the method, are ignored.
+ * </p>
+ * @param <A> the type of the value at index 0.
+ * @param <B> the type of the value at index 1.
+ * @see Command#withInstruction(Instruction)
+ */
+@FunctionalInterface
+public interface Instruction2<A, B> extends Instruction {
+
+    /**
+     * @param a the value at index 0.
+     * @param b the value at index 1.
+     * @throws Exception if the execution fails.
+     */
+    void execute(A a, B b) throws Exception;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default void execute(Object[] args) throws Exception {
+        execute((A) args[0], (B) args[1]);
+    }
+
+}
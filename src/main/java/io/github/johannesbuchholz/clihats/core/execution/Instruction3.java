@@ -0,0 +1,31 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+/**
+ * An {@link Instruction} receiving the first three values as typed parameters instead of an array of
+ * arguments. Enables method references like {@code (Instruction3<A, B, C>) MyCli::myMethod} as instruction.
+ * <p>
+ *     Values following the first three values, like values of global options not consumed by the method, are ignored.
+ * </p>
+ * @param <A> the type of the value at index 0.
+ * @param <B> the type of the value at index 1.
+ * @param <C> the type of the value at index 2.
+ * @see Command#withInstruction(Instruction)
+ */
+@FunctionalInterface
+public interface Instruction3<A, B, C> extends Instruction {
+
+    /**
+     * @param a the value at index 0.
+     * @param b the value at index 1.
+     * @param c the value at index 2.
+     * @throws Exception if the execution fails.
+     */
+    void execute(A a, B b, C c) throws Exception;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default void execute(Object[] args) throws Exception {
+        execute((A) args[0], (B) args[1], (C) args[2]);
+    }
+
+}
@@ -0,0 +1,33 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+/**
+ * An {@link Instruction} receiving the first four values as typed parameters instead of an array of
+ * arguments. Enables method references like {@code (Instruction4<A, B, C, D>) MyCli::myMethod} as instruction.
+ * <p>
+ *     Values following the first four values, like values of global options not consumed by the method, are ignored.
+ * </p>
+ * @param <A> the type of the value at index 0.
+ * @param <B> the type of the value at index 1.
+ * @param <C> the type of the value at index 2.
+ * @param <D> the type of the value at index 3.
+ * @see Command#withInstruction(Instruction)
+ */
+@FunctionalInterface
+public interface Instruction4<A, B, C, D> extends Instruction {
+
+    /**
+     * @param a the value at index 0.
+     * @param b the value at index 1.
+     * @param c the value at index 2.
+     * @param d the value at index 3.
+     * @throws Exception if the execution fails.
+     */
+    void execute(A a, B b, C c, D d) throws Exception;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default void execute(Object[] args) throws Exception {
+        execute((A) args[0], (B) args[1], (C) args[2], (D) args[3]);
+    }
+
+}
@@ -0,0 +1,270 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.io.Console;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+/**
+ * The environment of a single invocation: standard streams, environment variables, working directory and the
+ * handler of exit codes.
+ * <p>
+ *     While a {@link Commander} or {@link Command} parses arguments and runs an instruction, the context of the
+ *     invocation is bound to the executing thread. Instructions and value suppliers obtain it via {@link #current()}.
+ *     Thus, many invocations may run concurrently within one JVM without sharing their streams.
+ * </p>
+ * <p>
+ *     Every property not set explicitly resolves to the corresponding property of the running process at the time
+ *     it is accessed. The context {@link #system()} sets no property at all.
+ * </p>
+ */
+public final class InvocationContext {
+
+    private static final ThreadLocal<InvocationContext> CURRENT = new ThreadLocal<>();
+    private static final InvocationContext SYSTEM = new InvocationContext(null, null, null, null, null, null, null, null, OutputChannel.DEFAULT_BUFFER_SIZE, null);
+
+    // null values resolve to the running process
+    private final InputStream in;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Map<String, String> environment;
+    private final Path workingDirectory;
+    private final IntConsumer exitHandler;
+    // null if unbounded
+    private final Duration timeout;
+    // null if not cancellable
+    private final CancellationToken cancellationToken;
+    private final int outputBufferSize;
+    // null unless a command is running within this context
+    private final OutputChannel outputChannel;
+
+    /**
+     * @return the context using the standard streams, environment and working directory of the running process and
+     * exiting via {@link System#exit(int)}.
+     */
+    public static InvocationContext system() {
+        return SYSTEM;
+    }
+
+    /**
+     * @return the context bound to the current thread or {@link #system()} if no invocation is running on the
+     * current thread.
+     */
+    public static InvocationContext current() {
+        InvocationContext context = CURRENT.get();
+        return context == null ? SYSTEM : context;
+    }
+
+    private InvocationContext(InputStream in, PrintStream out, PrintStream err, Map<String, String> environment, Path workingDirectory, IntConsumer exitHandler,
+                              Duration timeout, CancellationToken cancellationToken, int outputBufferSize, OutputChannel outputChannel) {
+        this.in = in;
+        this.out = out;
+        this.err = err;
+        this.environment = environment;
+        this.workingDirectory = workingDirectory;
+        this.exitHandler = exitHandler;
+        this.timeout = timeout;
+        this.cancellationToken = cancellationToken;
+        this.outputBufferSize = outputBufferSize;
+        this.outputChannel = outputChannel;
+    }
+
+    // builder likes
+
+    public InvocationContext withIn(InputStream in) {
+        return new InvocationContext(Objects.requireNonNull(in), out, err, environment, workingDirectory, exitHandler, timeout, cancellationToken, outputBufferSize, outputChannel);
+    }
+
+    public InvocationContext withOut(PrintStream out) {
+        // the channel of a running command writes to the previous stream
+        return new InvocationContext(in, Objects.requireNonNull(out), err, environment, workingDirectory, exitHandler, timeout, cancellationToken, outputBufferSize, null);
+    }
+
+    public InvocationContext withErr(PrintStream err) {
+        return new InvocationContext(in, out, Objects.requireNonNull(err), environment, workingDirectory, exitHandler, timeout, cancellationToken, outputBufferSize, outputChannel);
+    }
+
+    public InvocationContext withEnvironment(Map<String, String> environment) {
+        return new InvocationContext(in, out, err, Map.copyOf(environment), workingDirectory, exitHandler, timeout, cancellationToken, outputBufferSize, outputChannel);
+    }
+
+    public InvocationContext withWorkingDirectory(Path workingDirectory) {
+        return new InvocationContext(in, out, err, environment, Objects.requireNonNull(workingDirectory), exitHandler, timeout, cancellationToken, outputBufferSize, outputChannel);
+    }
+
+    /**
+     * @param exitHandler receives the exit code passed to {@link #exit(int)}.
+     * @return a new InvocationContext as a copy of this using the specified exit handler.
+     */
+    public InvocationContext withExitHandler(IntConsumer exitHandler) {
+        return new InvocationContext(in, out, err, environment, workingDirectory, Objects.requireNonNull(exitHandler), timeout, cancellationToken, outputBufferSize, outputChannel);
+    }
+
+    /**
+     * Bounds the time the instruction of each command executed within this context may run. Commands exceeding the
+     * timeout are cancelled and fail with a
+     * {@link io.github.johannesbuchholz.clihats.core.execution.exception.CommandTimeoutException}. If a command sets a
+     * timeout itself, the shorter timeout applies.
+     * @param timeout the positive maximum execution time of an instruction.
+     * @return a new InvocationContext as a copy of this using the specified timeout.
+     * @see Command#withTimeout(Duration)
+     */
+    public InvocationContext withTimeout(Duration timeout) {
+        return new InvocationContext(in, out, err, environment, workingDirectory, exitHandler, requirePositive(timeout), cancellationToken, outputBufferSize, outputChannel);
+    }
+
+    /**
+     * @param cancellationToken the token allowing to cancel invocations executed within this context.
+     * @return a new InvocationContext as a copy of this using the specified cancellation token.
+     */
+    public InvocationContext withCancellationToken(CancellationToken cancellationToken) {
+        return new InvocationContext(in, out, err, environment, workingDirectory, exitHandler, timeout, Objects.requireNonNull(cancellationToken), outputBufferSize, outputChannel);
+    }
+
+    /**
+     * @param outputBufferSize the number of characters the {@link OutputChannel} of a command buffers before writing
+     *                         them to the output stream. Defaults to {@value OutputChannel#DEFAULT_BUFFER_SIZE}.
+     * @return a new InvocationContext as a copy of this using the specified buffer size.
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     */
+    public InvocationContext withOutputBufferSize(int outputBufferSize) {
+        return new InvocationContext(in, out, err, environment, workingDirectory, exitHandler, timeout, cancellationToken,
+                OutputChannel.requirePositiveBufferSize(outputBufferSize), outputChannel);
+    }
+
+    /**
+     * @return a new InvocationContext as a copy of this providing the specified channel to the running command.
+     */
+    InvocationContext withOutputChannel(OutputChannel outputChannel) {
+        return new InvocationContext(in, out, err, environment, workingDirectory, exitHandler, timeout, cancellationToken, outputBufferSize, outputChannel);
+    }
+
+    /**
+     * @return a new InvocationContext as a copy of this providing no input and discarding output. Thus, reading user
+     * input never blocks and prompts are not shown.
+     */
+    InvocationContext withoutInteraction() {
+        return withIn(InputStream.nullInputStream()).withOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    static Duration requirePositive(Duration timeout) {
+        if (Objects.requireNonNull(timeout).isNegative() || timeout.isZero())
+            throw new IllegalArgumentException("Timeout must be positive but is " + timeout);
+        return timeout;
+    }
+
+    // functionality
+
+    public InputStream getIn() {
+        return in == null ? System.in : in;
+    }
+
+    public PrintStream getOut() {
+        return out == null ? System.out : out;
+    }
+
+    public PrintStream getErr() {
+        return err == null ? System.err : err;
+    }
+
+    public Map<String, String> getEnvironment() {
+        return environment == null ? System.getenv() : environment;
+    }
+
+    public Path getWorkingDirectory() {
+        return workingDirectory == null ? Path.of(System.getProperty("user.dir")) : workingDirectory;
+    }
+
+    /**
+     * @return the timeout of invocations executed within this context. Empty if unbounded.
+     */
+    public Optional<Duration> getTimeout() {
+        return Optional.ofNullable(timeout);
+    }
+
+    /**
+     * @return the token signalling the cancellation of this invocation. A token that is never cancelled if neither a
+     * token nor a timeout applies to this invocation.
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken == null ? CancellationToken.neverCancelled() : cancellationToken;
+    }
+
+    /**
+     * @return true if a cancellation token has been set explicitly.
+     */
+    boolean hasCancellationToken() {
+        return cancellationToken != null;
+    }
+
+    /**
+     * Provides a buffered writer to the output stream of this context which is flushed once the running command
+     * completes. Prefer it over {@link #getOut()} for commands printing many lines.
+     * @return the output channel of the running command. If no command is running, a new channel which must be
+     * flushed by the caller.
+     * @see OutputChannel
+     */
+    public OutputChannel getOutputChannel() {
+        return outputChannel == null ? createOutputChannel() : outputChannel;
+    }
+
+    /**
+     * @return a new channel to the output stream of this context.
+     */
+    OutputChannel createOutputChannel() {
+        return OutputChannel.of(getOut(), outputBufferSize);
+    }
+
+    /**
+     * @return the console of the running process if this context neither sets input nor output.
+     */
+    public Optional<Console> getConsole() {
+        return in == null && out == null ? Optional.ofNullable(System.console()) : Optional.empty();
+    }
+
+    /**
+     * Passes the specified exit code to the exit handler of this context. Unless an exit handler is set, this method
+     * calls {@link System#exit(int)} and does not return.
+     * @param exitCode the exit code of the invocation.
+     */
+    public void exit(int exitCode) {
+        if (exitHandler == null)
+            System.exit(exitCode);
+        else
+            exitHandler.accept(exitCode);
+    }
+
+    /**
+     * Binds this context to the current thread until the returned binding is closed.
+     */
+    Binding bind() {
+        Binding binding = new Binding(CURRENT.get());
+        CURRENT.set(this);
+        return binding;
+    }
+
+    static final class Binding implements AutoCloseable {
+
+        private final InvocationContext previous;
+
+        private Binding(InvocationContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A named element of a {@link Commander} together with its description. The element itself is constructed on first
+ * use, at most once.
+ */
+final class LazyEntry<T> {
+
+    private final String name;
+    private final String description;
+    // terms the element is found by in searches besides name and description
+    private final String searchText;
+    private final Supplier<T> supplier;
+    private volatile T value;
+
+    static <T> LazyEntry<T> of(String name, String description, T value) {
+        LazyEntry<T> entry = new LazyEntry<>(name, description, "", null);
+        entry.value = Objects.requireNonNull(value);
+        return entry;
+    }
+
+    static <T> LazyEntry<T> ofSupplier(String name, String description, String searchText, Supplier<T> supplier) {
+        return new LazyEntry<>(name, description, searchText, Objects.requireNonNull(supplier));
+    }
+
+    static boolean isValidName(String name) {
+        return name != null && !name.isEmpty() && name.chars().noneMatch(Character::isSpaceChar);
+    }
+
+    private LazyEntry(String name, String description, String searchText, Supplier<T> supplier) {
+        this.name = name;
+        this.description = Objects.requireNonNullElse(description, "").trim();
+        this.searchText = Objects.requireNonNullElse(searchText, "");
+        this.supplier = supplier;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    String getSearchText() {
+        return searchText;
+    }
+
+    /**
+     * @return true if the element is constructed by a supplier on first use, false if it has been passed on creation.
+     */
+    boolean isSupplied() {
+        return supplier != null;
+    }
+
+    T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = Objects.requireNonNull(supplier.get(), () -> "Supplier of " + name + " returned null");
+                    value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,109 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * BK-tree over names using the Levenshtein distance. Finds names similar to a misspelled input while computing the
+ * distance to only a fraction of all names.
+ */
+final class NameSuggestionIndex {
+
+    private static final int MAX_SUGGESTIONS = 3;
+    private static final int MAX_DISTANCE = 3;
+
+    private final Node root;
+
+    static NameSuggestionIndex of(Collection<String> names) {
+        Node root = null;
+        for (String name : names) {
+            if (root == null)
+                root = new Node(name);
+            else
+                root.add(name);
+        }
+        return new NameSuggestionIndex(root);
+    }
+
+    private NameSuggestionIndex(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param input the misspelled name.
+     * @return up to three names closest to the specified input, ordered by distance and name. The distance of a
+     * suggestion grows with the length of the input but never exceeds three.
+     */
+    List<String> suggest(String input) {
+        if (root == null || input.isEmpty())
+            return List.of();
+        int maxDistance = Math.max(1, Math.min(MAX_DISTANCE, input.length() / 3));
+        List<Map.Entry<String, Integer>> matches = new ArrayList<>();
+        Deque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            int distance = distance(input, node.name);
+            if (distance <= maxDistance)
+                matches.add(Map.entry(node.name, distance));
+            // triangle inequality: only children at distance within [distance - max, distance + max] may match
+            for (int childDistance = Math.max(1, distance - maxDistance); childDistance <= distance + maxDistance; childDistance++) {
+                Node child = node.children.get(childDistance);
+                if (child != null)
+                    nodesToVisit.push(child);
+            }
+        }
+        return matches.stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_SUGGESTIONS)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    static int distance(String a, String b) {
+        int[] previousRow = new int[b.length() + 1];
+        int[] currentRow = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++)
+            previousRow[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitutionCost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(
+                        Math.min(currentRow[j - 1] + 1, previousRow[j] + 1),
+                        previousRow[j - 1] + substitutionCost);
+            }
+            int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return previousRow[b.length()];
+    }
+
+    private static final class Node {
+
+        private final String name;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Node(String name) {
+            this.name = name;
+        }
+
+        private void add(String newName) {
+            Node node = this;
+            while (true) {
+                int distance = distance(newName, node.name);
+                if (distance == 0)
+                    return;
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(newName));
+                    return;
+                }
+                node = child;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,196 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * A large-buffer writer to a {@link PrintStream}. Unlike {@link PrintStream#println(String)} on an auto flushing
+ * stream, writing to this channel neither synchronizes nor flushes per line. Buffered characters are written to the
+ * stream once the buffer is full and on {@link #flush()}.
+ * <p>
+ *     Each running command possesses its own channel available via {@link InvocationContext#getOutputChannel()}. It
+ *     is flushed once the command completes, regardless of whether the command succeeds. Characters printed to the
+ *     output stream of the context directly are not ordered with respect to characters buffered by the channel.
+ * </p>
+ * <p>Like the print stream it wraps, this channel never throws {@link IOException}. An OutputChannel is not thread
+ * safe.</p>
+ */
+public final class OutputChannel extends Writer {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final PrintStream out;
+    private final int bufferSize;
+    // allocated on first write
+    private char[] buffer;
+    private int count = 0;
+    private Writer encoder;
+    // set by a thread abandoning the command owning this channel
+    private volatile boolean isDiscarded = false;
+
+    /**
+     * @param out the stream to write to.
+     * @return a new channel buffering {@value #DEFAULT_BUFFER_SIZE} characters.
+     */
+    public static OutputChannel of(PrintStream out) {
+        return of(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param out the stream to write to.
+     * @param bufferSize the number of characters after which buffered characters are written to the stream.
+     * @return a new channel buffering the specified number of characters.
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     */
+    public static OutputChannel of(PrintStream out, int bufferSize) {
+        return new OutputChannel(out, requirePositiveBufferSize(bufferSize));
+    }
+
+    static int requirePositiveBufferSize(int bufferSize) {
+        if (bufferSize < 1)
+            throw new IllegalArgumentException("Buffer size must be positive but is " + bufferSize);
+        return bufferSize;
+    }
+
+    private OutputChannel(PrintStream out, int bufferSize) {
+        this.out = out;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void write(int c) {
+        if (buffer == null || count == bufferSize)
+            ensureCapacity();
+        buffer[count++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        if (length >= bufferSize) {
+            // here if buffering is pointless
+            drain();
+            encode(chars, offset, length);
+            flush();
+            return;
+        }
+        if (buffer == null || count + length > bufferSize)
+            ensureCapacity();
+        System.arraycopy(chars, offset, buffer, count, length);
+        count += length;
+    }
+
+    @Override
+    public void write(String s, int offset, int length) {
+        if (length >= bufferSize) {
+            drain();
+            encode(s.substring(offset, offset + length).toCharArray(), 0, length);
+            flush();
+            return;
+        }
+        if (buffer == null || count + length > bufferSize)
+            ensureCapacity();
+        s.getChars(offset, offset + length, buffer, count);
+        count += length;
+    }
+
+    @Override
+    public void write(String s) {
+        write(s, 0, s.length());
+    }
+
+    @Override
+    public OutputChannel append(CharSequence csq) {
+        write(String.valueOf(csq));
+        return this;
+    }
+
+    @Override
+    public OutputChannel append(char c) {
+        write(c);
+        return this;
+    }
+
+    public void print(Object value) {
+        write(String.valueOf(value));
+    }
+
+    public void println(Object value) {
+        write(String.valueOf(value));
+        write(LINE_SEPARATOR);
+    }
+
+    public void println() {
+        write(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes all buffered characters to the stream and flushes it.
+     */
+    @Override
+    public void flush() {
+        drain();
+        if (!isDiscarded)
+            out.flush();
+    }
+
+    /**
+     * Same as {@link #flush()}. The stream is not closed.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Drops all buffered characters and every character written from now on. Used if the command owning this channel
+     * has been abandoned on timeout or cancellation but may still be running. May be called from any thread.
+     */
+    void discard() {
+        isDiscarded = true;
+    }
+
+    /**
+     * Allocates the buffer or, if it is full, writes its contents to the stream.
+     */
+    private void ensureCapacity() {
+        if (buffer == null)
+            buffer = new char[bufferSize];
+        else
+            flush();
+    }
+
+    private void drain() {
+        if (isDiscarded) {
+            count = 0;
+            return;
+        }
+        if (count > 0) {
+            encode(buffer, 0, count);
+            count = 0;
+        }
+        try {
+            if (encoder != null)
+                encoder.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void encode(char[] chars, int offset, int length) {
+        if (isDiscarded)
+            return;
+        try {
+            if (encoder == null)
+                encoder = new OutputStreamWriter(out, Charset.defaultCharset());
+            encoder.write(chars, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -42,6 +42,18 @@ public class ParserHelpContent {
         return new TextCell[] {nameCol, aliasesCell, valueDescCell, paragraphCell};
     }
 
+    public Collection<String> getPrimaryNames() {
+        return primaryNames;
+    }
+
+    public Collection<String> getSecondaryNames() {
+        return secondaryNames;
+    }
+
+    public Optional<String> getDescription() {
+        return Optional.ofNullable(description);
+    }
+
     public String getSynopsisSnippet() {
         return synopsisSnippet;
     }
@@ -1,5 +1,6 @@
 package io.github.johannesbuchholz.clihats.core.execution;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface ParserId extends Comparable<ParserId> {
@@ -8,4 +9,10 @@ public interface ParserId extends Comparable<ParserId> {
 
     Optional<String> hasCommonParts(ParserId other);
 
+    /**
+     * @return The parts of this id that must not be shared with other parsers of the same command. Two ids have
+     * common parts if and only if their conflict keys intersect. Allows hash-based conflict detection.
+     */
+    Collection<Object> getConflictKeys();
+
 }
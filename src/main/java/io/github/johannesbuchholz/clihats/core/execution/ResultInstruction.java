@@ -0,0 +1,27 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Like {@link Instruction} but returns a result which {@link Command} writes to the {@link OutputChannel} of the
+ * {@link InvocationContext} using its {@link ResultWriter}.
+ * <p>
+ *     Results of type {@link Stream}, {@link Iterator}, {@link Iterable} or {@code Object[]} are written record by
+ *     record while being consumed. Hence, lazily produced records are never materialized. Streams are closed once
+ *     written. A null result writes nothing.
+ * </p>
+ * @see Command#withResultInstruction(ResultInstruction)
+ */
+@FunctionalInterface
+public interface ResultInstruction {
+
+    /**
+     * @param args the list of arguments. When executed by a {@link Commander} possessing global options, the values
+     *             of these options follow the values of the command's own parsers.
+     * @return the result to write. May be null.
+     * @throws Exception if the execution fails.
+     */
+    Object execute(Object[] args) throws Exception;
+
+}
@@ -0,0 +1,31 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.result.NdjsonResultWriter;
+import io.github.johannesbuchholz.clihats.core.execution.result.TextResultWriter;
+import io.github.johannesbuchholz.clihats.core.execution.result.TsvResultWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Serializes the records returned by a {@link ResultInstruction}. Each call writes exactly one record including its
+ * line terminator.
+ * <p>
+ *     The writer passed to {@link #writeRecord(Object, Writer)} is the {@link OutputChannel} of the invocation which is
+ *     flushed once the command completes. Implementations should therefore neither flush nor close it.
+ * </p>
+ * @see TextResultWriter
+ * @see TsvResultWriter
+ * @see NdjsonResultWriter
+ */
+@FunctionalInterface
+public interface ResultWriter {
+
+    /**
+     * @param record the record to write. May be null.
+     * @param out the target of the record.
+     * @throws IOException if writing fails.
+     */
+    void writeRecord(Object record, Writer out) throws IOException;
+
+}
@@ -0,0 +1,69 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The outcome of validating a command line without executing it.
+ * @see Commander#validate(String[], InvocationContext, boolean)
+ */
+public class ValidationResult {
+
+    private final Command command;
+    private final CliException exception;
+
+    ValidationResult(Command command, CliException exception) {
+        this.command = command;
+        this.exception = exception;
+    }
+
+    /**
+     * @return true if the command line would be dispatched to a command and its arguments could be parsed. Help calls
+     * are valid.
+     */
+    public boolean isValid() {
+        return exception == null || isHelpCall();
+    }
+
+    public boolean isHelpCall() {
+        return exception instanceof CliHelpCallException;
+    }
+
+    /**
+     * @return the command the command line has been dispatched to. Empty if dispatching failed.
+     */
+    public Optional<Command> getCommand() {
+        return Optional.ofNullable(command);
+    }
+
+    /**
+     * @return the exception that executing the command line would throw before running the command. Empty if there
+     * is none.
+     */
+    public Optional<CliException> getException() {
+        return Optional.ofNullable(exception);
+    }
+
+    /**
+     * @return the problems found in the command line. Empty if the command line is valid.
+     */
+    public List<Diagnostic> getDiagnostics() {
+        return Diagnostic.describe(exception);
+    }
+
+    /**
+     * @return 0 if the command line is valid or the exit code that executing the command line would result in.
+     */
+    public int getExitCode() {
+        return isValid() ? 0 : exception.getExitCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{isValid=%s, command=%s, diagnostics=%s}", this.getClass().getSimpleName(), isValid(),
+                command == null ? null : command.getName(), getDiagnostics());
+    }
+
+}
@@ -0,0 +1,27 @@
+package io.github.johannesbuchholz.clihats.core.execution.exception;
+
+import io.github.johannesbuchholz.clihats.core.execution.AdmissionController;
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+
+/**
+ * Thrown when an {@link AdmissionController} refuses to run an invocation because of overload. The invocation did not
+ * run and may be retried later.
+ */
+public class AdmissionRejectedException extends CliException {
+
+    /**
+     * Exit code of rejected invocations, equal to {@code EX_TEMPFAIL} of sysexits.h.
+     */
+    public static final int EXIT_CODE = 75;
+
+    public AdmissionRejectedException(String commandName, String reason) {
+        // rejections are expected under load and need to be cheap
+        super(() -> String.format("Rejected invocation of command %s: %s", commandName, reason), null, false);
+    }
+
+    @Override
+    public int getExitCode() {
+        return EXIT_CODE;
+    }
+
+}
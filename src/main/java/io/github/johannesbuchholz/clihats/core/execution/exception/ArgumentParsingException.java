@@ -1,20 +1,52 @@
 package io.github.johannesbuchholz.clihats.core.execution.exception;
 
+import java.util.function.Supplier;
+
 /**
  * Exception thrown during argument parsing.
+ * <p>
+ *     Invalid arguments are an expected outcome. Hence, these exceptions do not capture a stack trace. Causes, like
+ *     exceptions thrown by value mappers, keep their own stack trace.
+ * </p>
  */
 public class ArgumentParsingException extends Exception {
 
+    // null if the message has been passed to the super constructor
+    private final Supplier<String> messageSupplier;
+    private volatile String renderedMessage;
+
     public ArgumentParsingException(String message) {
-        super(message);
+        this(message, null);
     }
 
     public ArgumentParsingException(Throwable cause) {
-        super(cause.getMessage(), cause);
+        this(cause.getMessage(), cause);
     }
 
     public ArgumentParsingException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, false);
+        this.messageSupplier = null;
+    }
+
+    /**
+     * @param messageSupplier supplies the message on first access.
+     * @param cause the cause. May be null.
+     */
+    protected ArgumentParsingException(Supplier<String> messageSupplier, Throwable cause) {
+        super(null, cause, true, false);
+        this.messageSupplier = messageSupplier;
+    }
+
+    @Override
+    public String getMessage() {
+        if (messageSupplier == null)
+            return super.getMessage();
+        String message = renderedMessage;
+        if (message == null) {
+            message = messageSupplier.get();
+            renderedMessage = message;
+        }
+        return message;
     }
 
 }
@@ -2,15 +2,25 @@ package io.github.johannesbuchholz.clihats.core.execution.exception;
 
 import io.github.johannesbuchholz.clihats.core.execution.CliException;
 
+import java.util.function.Supplier;
+
 /**
  * Thrown when user input requests help.
  * This Exception is intended to shield the command executing object from worrying about how to bring the help message
  * to the user. Instead, the calling code may handle this exception and decide how to use the contained help message.
+ * <p>Help calls are an expected outcome. Hence, this exception does not capture a stack trace.</p>
  */
 public class CliHelpCallException extends CliException {
 
     public CliHelpCallException(String helpMessage) {
-        super(helpMessage);
+        this(() -> helpMessage);
+    }
+
+    /**
+     * @param helpMessageSupplier renders the help message on first access.
+     */
+    public CliHelpCallException(Supplier<String> helpMessageSupplier) {
+        super(helpMessageSupplier, null, false);
     }
 
     @Override
@@ -3,18 +3,41 @@ package io.github.johannesbuchholz.clihats.core.execution.exception;
 import io.github.johannesbuchholz.clihats.core.execution.CliException;
 import io.github.johannesbuchholz.clihats.core.execution.Command;
 
+import java.util.function.Supplier;
+
 public abstract class CommandExecutionException extends CliException {
 
-    private static String generateMessagePrefix(Command command) {
-        return "Exception during invocation of command " + command.getName() + ": ";
+    private final Command failingCommand;
+
+    private static String generateMessagePrefix(String commandName) {
+        return "Exception during invocation of command " + commandName + ": ";
     }
 
     protected CommandExecutionException(Command failingCommand, Throwable cause) {
-        super(generateMessagePrefix(failingCommand) + cause.getMessage(), cause);
+        super(generateMessagePrefix(failingCommand.getName()) + cause.getMessage(), cause);
+        this.failingCommand = failingCommand;
     }
 
     public CommandExecutionException(Command failingCommand, String message, Throwable cause) {
-        super(generateMessagePrefix(failingCommand) + message, cause);
+        super(generateMessagePrefix(failingCommand.getName()) + message, cause);
+        this.failingCommand = failingCommand;
+    }
+
+    /**
+     * @param messageSupplier renders the message without prefix on first access.
+     * @param writableStackTrace false if the stack trace of this exception provides no value.
+     */
+    protected CommandExecutionException(Command failingCommand, Supplier<String> messageSupplier, Throwable cause, boolean writableStackTrace) {
+        super(createMessageSupplier(failingCommand.getName(), messageSupplier), cause, writableStackTrace);
+        this.failingCommand = failingCommand;
+    }
+
+    public Command getFailingCommand() {
+        return failingCommand;
+    }
+
+    private static Supplier<String> createMessageSupplier(String commandName, Supplier<String> messageSupplier) {
+        return () -> generateMessagePrefix(commandName) + messageSupplier.get();
     }
 
 }
@@ -0,0 +1,28 @@
+package io.github.johannesbuchholz.clihats.core.execution.exception;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the instruction of a command does not complete within its timeout. The instruction has been cancelled
+ * and its thread interrupted but may still be running.
+ */
+public class CommandTimeoutException extends CommandExecutionException {
+
+    /**
+     * Exit code of timed out invocations, equal to the exit code of the {@code timeout} utility of GNU coreutils.
+     */
+    public static final int EXIT_CODE = 124;
+
+    public CommandTimeoutException(Command command, Duration timeout) {
+        // the stack trace of the waiting thread provides no value
+        super(command, () -> "Timed out after " + timeout.toMillis() + " ms", null, false);
+    }
+
+    @Override
+    public int getExitCode() {
+        return EXIT_CODE;
+    }
+
+}
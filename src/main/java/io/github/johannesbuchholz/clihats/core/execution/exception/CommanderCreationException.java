@@ -8,7 +8,11 @@ import io.github.johannesbuchholz.clihats.core.execution.Commander;
 public class CommanderCreationException extends RuntimeException {
 
     public CommanderCreationException(Commander failingCommander, String message) {
-        super(String.format("Could not create Commander %s: %s", failingCommander.getName(), message));
+        this(failingCommander.getName(), message);
+    }
+
+    public CommanderCreationException(String failingCommanderName, String message) {
+        super(String.format("Could not create Commander %s: %s", failingCommanderName, message));
     }
 
 }
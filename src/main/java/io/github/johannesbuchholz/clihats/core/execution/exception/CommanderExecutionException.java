@@ -3,6 +3,12 @@ package io.github.johannesbuchholz.clihats.core.execution.exception;
 import io.github.johannesbuchholz.clihats.core.execution.CliException;
 import io.github.johannesbuchholz.clihats.core.execution.Commander;
 
+import java.util.function.Supplier;
+
+/**
+ * Thrown if a commander fails to execute a command line. Does not capture a stack trace since failures are either
+ * expected, like invalid user input, or carry the stack trace of their cause.
+ */
 public class CommanderExecutionException extends CliException {
 
     private static String generateMessagePrefix(String cliName) {
@@ -10,11 +16,34 @@ public class CommanderExecutionException extends CliException {
     }
 
     protected CommanderExecutionException(Commander failingCommander, String message) {
-        super(generateMessagePrefix(failingCommander.getName()) + message);
+        this(failingCommander, () -> message, null);
+    }
+
+    protected CommanderExecutionException(Commander failingCommander, String message, Throwable cause) {
+        this(failingCommander, () -> message, cause);
     }
 
     public CommanderExecutionException(Commander failingCommander, CommandExecutionException e) {
-        super(generateMessagePrefix(failingCommander.getName()) + e.getMessage(), e);
+        this(failingCommander, e::getMessage, e);
+    }
+
+    /**
+     * @param messageSupplier renders the message without prefix on first access.
+     */
+    protected CommanderExecutionException(Commander failingCommander, Supplier<String> messageSupplier, Throwable cause) {
+        super(createMessageSupplier(failingCommander.getName(), messageSupplier), cause, false);
+    }
+
+    private static Supplier<String> createMessageSupplier(String cliName, Supplier<String> messageSupplier) {
+        return () -> generateMessagePrefix(cliName) + messageSupplier.get();
+    }
+
+    /**
+     * @return the exit code of the failing command if this exception wraps one.
+     */
+    @Override
+    public int getExitCode() {
+        return getCause() instanceof CommandExecutionException ? ((CommandExecutionException) getCause()).getExitCode() : super.getExitCode();
     }
 
 }
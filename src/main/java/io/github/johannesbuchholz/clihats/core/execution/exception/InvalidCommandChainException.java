@@ -0,0 +1,15 @@
+package io.github.johannesbuchholz.clihats.core.execution.exception;
+
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+
+/**
+ * Thrown when a chain of commands passed to {@link Commander#executeChain(String[], java.util.concurrent.Executor)}
+ * is malformed.
+ */
+public class InvalidCommandChainException extends CommanderExecutionException {
+
+    public InvalidCommandChainException(Commander failingCommander, String message) {
+        super(failingCommander, "Invalid command chain: " + message);
+    }
+
+}
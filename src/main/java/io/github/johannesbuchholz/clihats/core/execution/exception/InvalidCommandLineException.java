@@ -0,0 +1,16 @@
+package io.github.johannesbuchholz.clihats.core.execution.exception;
+
+import io.github.johannesbuchholz.clihats.core.execution.CommandLineTokenizer;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+
+/**
+ * Thrown when a command line could not be split into arguments.
+ * @see CommandLineTokenizer
+ */
+public class InvalidCommandLineException extends CommanderExecutionException {
+
+    public InvalidCommandLineException(Commander failingCommander, IllegalArgumentException cause) {
+        super(failingCommander, () -> "Invalid command line: " + cause.getMessage(), cause);
+    }
+
+}
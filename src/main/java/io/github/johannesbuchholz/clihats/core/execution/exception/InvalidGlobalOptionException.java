@@ -0,0 +1,14 @@
+package io.github.johannesbuchholz.clihats.core.execution.exception;
+
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+
+/**
+ * Thrown when the global options of a {@link Commander} could not be parsed.
+ */
+public class InvalidGlobalOptionException extends CommanderExecutionException {
+
+    public InvalidGlobalOptionException(Commander failingCommander, ArgumentParsingException cause) {
+        super(failingCommander, () -> "Invalid global options: " + cause.getMessage(), cause);
+    }
+
+}
@@ -5,10 +5,11 @@ import io.github.johannesbuchholz.clihats.core.execution.Command;
 public class InvalidInputArgumentException extends CommandExecutionException {
 
     /**
-     * Constructs a message from the presumably invalid parsingState.
+     * Constructs a message from the presumably invalid parsingState on first access. Invalid input is an expected
+     * outcome. Hence, no stack trace is captured.
      */
     public InvalidInputArgumentException(Command failingCommand, ArgumentParsingException cause) {
-        super(failingCommand, "Invalid input arguments: " + cause.getMessage(), cause);
+        super(failingCommand, () -> "Invalid input arguments: " + cause.getMessage(), cause, false);
     }
 
 }
@@ -2,10 +2,59 @@ package io.github.johannesbuchholz.clihats.core.execution.exception;
 
 import io.github.johannesbuchholz.clihats.core.execution.Commander;
 
+import java.util.List;
+
 public class UnknownCommandException extends CommanderExecutionException {
 
+    private final List<String> candidates;
+    private final List<String> suggestions;
+
     public UnknownCommandException(Commander failingCommander, String unknownCommandName) {
         super(failingCommander, "Could not find command " + unknownCommandName);
+        candidates = List.of();
+        suggestions = List.of();
+    }
+
+    /**
+     * Used if the specified command name is the prefix of more than one command name.
+     */
+    public UnknownCommandException(Commander failingCommander, String ambiguousCommandName, List<String> candidates) {
+        super(failingCommander, String.format("Command %s is ambiguous. Candidates are: %s", ambiguousCommandName, String.join(", ", candidates)));
+        this.candidates = List.copyOf(candidates);
+        suggestions = List.of();
+    }
+
+    private UnknownCommandException(Commander failingCommander, String message, List<String> candidates, List<String> suggestions) {
+        super(failingCommander, message);
+        this.candidates = candidates;
+        this.suggestions = suggestions;
+    }
+
+    /**
+     * Used if the specified command name is not known but similar to other command names.
+     *
+     * @param suggestions names of commands similar to the unknown command name.
+     */
+    public static UnknownCommandException withSuggestions(Commander failingCommander, String unknownCommandName, List<String> suggestions) {
+        if (suggestions.isEmpty())
+            return new UnknownCommandException(failingCommander, unknownCommandName);
+        return new UnknownCommandException(failingCommander,
+                String.format("Could not find command %s. Did you mean %s?", unknownCommandName, String.join(" or ", suggestions)),
+                List.of(), List.copyOf(suggestions));
+    }
+
+    /**
+     * @return the names of all commands starting with the unknown command name if there are more than one.
+     */
+    public List<String> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * @return the names of commands similar to the unknown command name.
+     */
+    public List<String> getSuggestions() {
+        return suggestions;
     }
 
 }
@@ -4,6 +4,8 @@ import io.github.johannesbuchholz.clihats.core.execution.ArgumentParser;
 import io.github.johannesbuchholz.clihats.core.execution.ParserId;
 import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -29,9 +31,11 @@ public abstract class AbstractOperandParser<T> implements ArgumentParser<T> {
         return "Operand " + index;
     }
 
+    @SuppressWarnings("unchecked")
     T mapWithThrows(ValueMapper<T> mapper, String stringValue) throws ValueMappingException {
         if (stringValue == null)
-            return null;
+            // lazy parsers produce a lazy value even for absent values
+            return mapper instanceof LazyValueMapper ? (T) Lazy.ofNull() : null;
         try {
             return mapper.map(stringValue);
         } catch (Exception e) {
@@ -59,6 +63,11 @@ public abstract class AbstractOperandParser<T> implements ArgumentParser<T> {
             return Optional.empty();
         }
 
+        @Override
+        public Collection<Object> getConflictKeys() {
+            return List.of(value);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -5,10 +5,7 @@ import io.github.johannesbuchholz.clihats.core.execution.InputArgument;
 import io.github.johannesbuchholz.clihats.core.execution.ParserId;
 import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
 
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public abstract class AbstractOptionParser<T> implements ArgumentParser<T> {
@@ -35,9 +32,11 @@ public abstract class AbstractOptionParser<T> implements ArgumentParser<T> {
         return "Option " + id.value;
     }
 
+    @SuppressWarnings("unchecked")
     T mapWithThrows(ValueMapper<T> mapper, String stringValue) throws ValueMappingException {
         if (stringValue == null)
-            return null;
+            // lazy parsers produce a lazy value even for absent values
+            return mapper instanceof LazyValueMapper ? (T) Lazy.ofNull() : null;
         try {
             return mapper.map(stringValue);
         } catch (Exception e) {
@@ -124,10 +123,16 @@ public abstract class AbstractOptionParser<T> implements ArgumentParser<T> {
 
         private final Set<OptionParserName> names;
         private final String value;
+        // precomputed sort key
+        private final String posixNames;
 
         OptionParserId(Set<OptionParserName> names) {
             this.names = new HashSet<>(Objects.requireNonNull(names));
             value = names.stream().sorted().map(OptionParserName::getValue).collect(Collectors.joining(","));
+            posixNames = names.stream()
+                    .filter(OptionParserName::isPOSIXConformOptionName)
+                    .map(OptionParserName::getValue)
+                    .collect(Collectors.joining());
         }
 
         @Override
@@ -148,6 +153,11 @@ public abstract class AbstractOptionParser<T> implements ArgumentParser<T> {
             return Optional.of("Equal on names: " + commonNames);
         }
 
+        @Override
+        public Collection<Object> getConflictKeys() {
+            return Collections.unmodifiableSet(names);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -165,14 +175,7 @@ public abstract class AbstractOptionParser<T> implements ArgumentParser<T> {
         public int compareTo(ParserId o) {
             if(!(o instanceof OptionParserId))
                 return -1;
-            String posixNames = names.stream()
-                    .filter(OptionParserName::isPOSIXConformOptionName)
-                    .map(OptionParserName::getValue)
-                    .collect(Collectors.joining());
-            String otherPosixNames = ((OptionParserId) o).names.stream()
-                    .filter(OptionParserName::isPOSIXConformOptionName)
-                    .map(OptionParserName::getValue)
-                    .collect(Collectors.joining());
+            String otherPosixNames = ((OptionParserId) o).posixNames;
             if (posixNames.isEmpty() && otherPosixNames.isEmpty()) {
                 return value.compareTo(o.getValue());
             } else if (!posixNames.isEmpty() && !otherPosixNames.isEmpty()) {
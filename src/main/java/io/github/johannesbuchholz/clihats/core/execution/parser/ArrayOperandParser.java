@@ -1,6 +1,7 @@
 package io.github.johannesbuchholz.clihats.core.execution.parser;
 
 import io.github.johannesbuchholz.clihats.core.execution.ArgumentParsingResult;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionProvider;
 import io.github.johannesbuchholz.clihats.core.execution.InputArgument;
 import io.github.johannesbuchholz.clihats.core.execution.ParserHelpContent;
 import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
@@ -24,15 +25,16 @@ public class ArrayOperandParser<T> extends AbstractOperandParser<T[]> {
     private final boolean required;
     private final Supplier<String[]> defaultSupplier;
     private final String displayName;
+    private final CompletionProvider completionProvider;
 
     protected static ArrayOperandParser<String> at(int index) {
         if (index < 0) {
             throw new IllegalArgumentException("index needs to be non-negative but was " + index);
         }
-        return new ArrayOperandParser<>(index, String.class, () -> null, false, stringValue -> stringValue, "", null);
+        return new ArrayOperandParser<>(index, String.class, () -> null, false, stringValue -> stringValue, "", null, null);
     }
 
-    private ArrayOperandParser(int index, Class<T> type, Supplier<String[]> defaultSupplier, boolean required, ValueMapper<T> valueMapper, String description, String displayName) {
+    private ArrayOperandParser(int index, Class<T> type, Supplier<String[]> defaultSupplier, boolean required, ValueMapper<T> valueMapper, String description, String displayName, CompletionProvider completionProvider) {
         super(index);
         this.type = type;
         this.valueMapper = valueMapper;
@@ -40,33 +42,46 @@ public class ArrayOperandParser<T> extends AbstractOperandParser<T[]> {
         this.required = required;
         this.defaultSupplier = defaultSupplier;
         this.displayName = displayName;
+        this.completionProvider = completionProvider;
     }
 
     /**
      * Returns a new PositionalArgument with this objects position and the given mapper.
      */
     public <X> ArrayOperandParser<X> withMapper(ValueMapper<X> mapper, Class<X> type) {
-        return new ArrayOperandParser<>(index, type, defaultSupplier, required, Objects.requireNonNull(mapper), description, displayName);
+        return new ArrayOperandParser<>(index, type, defaultSupplier, required, Objects.requireNonNull(mapper), description, displayName, completionProvider);
     }
 
     public ArrayOperandParser<T> withDescription(String description) {
-        return new ArrayOperandParser<>(index, type, defaultSupplier, required, valueMapper,  description, displayName);
+        return new ArrayOperandParser<>(index, type, defaultSupplier, required, valueMapper,  description, displayName, completionProvider);
     }
 
     public ArrayOperandParser<T> withRequired(boolean required) {
-        return new ArrayOperandParser<>(index, type, defaultSupplier, required, valueMapper, description, displayName);
+        return new ArrayOperandParser<>(index, type, defaultSupplier, required, valueMapper, description, displayName, completionProvider);
     }
 
     public ArrayOperandParser<T> withDefault(String[] defaultValue) {
-        return new ArrayOperandParser<>(index, type, () -> defaultValue, required, valueMapper, description, displayName);
+        return new ArrayOperandParser<>(index, type, () -> defaultValue, required, valueMapper, description, displayName, completionProvider);
     }
 
     public ArrayOperandParser<T> withDefault(Supplier<String[]> defaultSupplier) {
-        return new ArrayOperandParser<>(index, type, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName);
+        return new ArrayOperandParser<>(index, type, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName, completionProvider);
     }
 
     public ArrayOperandParser<T> withDisplayName(String displayName) {
-        return new ArrayOperandParser<>(index, type, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName);
+        return new ArrayOperandParser<>(index, type, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName, completionProvider);
+    }
+
+    /**
+     * Returns a new parser completing its values with the candidates of the specified provider.
+     */
+    public ArrayOperandParser<T> withCompletionProvider(CompletionProvider completionProvider) {
+        return new ArrayOperandParser<>(index, type, defaultSupplier, required, valueMapper, description, displayName, Objects.requireNonNull(completionProvider));
+    }
+
+    @Override
+    public Optional<CompletionProvider> getCompletionProvider() {
+        return Optional.ofNullable(completionProvider);
     }
 
     @Override
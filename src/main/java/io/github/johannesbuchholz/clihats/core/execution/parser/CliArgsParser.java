@@ -36,7 +36,12 @@ public class CliArgsParser implements ArgsParser {
 
     @Override
     public Object[] parse(InputArgument[] args) throws ArgumentParsingException {
-        Object[] parsedValues = new Object[optionParsers.size() + operandParsers.size()];
+        return parse(args, 0);
+    }
+
+    @Override
+    public Object[] parse(InputArgument[] args, int trailingCapacity) throws ArgumentParsingException {
+        Object[] parsedValues = new Object[optionParsers.size() + operandParsers.size() + trailingCapacity];
 
         // parse options
         parseOptions(optionParsers, args, parsedValues);
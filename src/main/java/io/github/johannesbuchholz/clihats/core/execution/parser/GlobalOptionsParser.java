@@ -0,0 +1,76 @@
+package io.github.johannesbuchholz.clihats.core.execution.parser;
+
+import io.github.johannesbuchholz.clihats.core.execution.ArgumentParsingResult;
+import io.github.johannesbuchholz.clihats.core.execution.InputArgument;
+import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.MissingArgumentException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Parses options shared by all commands of a commander. Global options precede the command name:
+ * <p>{@code my-cli --verbose -c config.yml my-command --command-option}</p>
+ * Parsing stops at the first argument none of the global options applies to.
+ */
+public class GlobalOptionsParser {
+
+    private final List<AbstractOptionParser<?>> parsers;
+
+    public GlobalOptionsParser(List<AbstractOptionParser<?>> parsers) {
+        this.parsers = List.copyOf(parsers);
+    }
+
+    public List<AbstractOptionParser<?>> getParsers() {
+        return parsers;
+    }
+
+    public boolean isEmpty() {
+        return parsers.isEmpty();
+    }
+
+    /**
+     * Parses global options from the beginning of the specified arguments. Used arguments are replaced by null.
+     * @param args the input arguments.
+     * @return the parsed values in the order of the parsers of this object.
+     * @throws ArgumentParsingException if parsing fails or a required global option is missing.
+     */
+    public Object[] parse(InputArgument[] args) throws ArgumentParsingException {
+        Object[] parsedValues = new Object[parsers.size()];
+        List<Integer> remainingPositions = new ArrayList<>(parsers.size());
+        for (int i = 0; i < parsers.size(); i++) {
+            remainingPositions.add(i);
+        }
+
+        int index = 0;
+        while (index < args.length) {
+            if (args[index] == null) {
+                index++;
+                continue;
+            }
+            Iterator<Integer> positionIterator = remainingPositions.iterator();
+            while (args[index] != null && positionIterator.hasNext()) {
+                int position = positionIterator.next();
+                ArgumentParsingResult<?> result = parsers.get(position).parse(args, index);
+                if (result.isPresent()) {
+                    parsedValues[position] = result.getValue();
+                    positionIterator.remove();
+                }
+            }
+            if (args[index] != null)
+                // here if no global option applies to the current argument
+                break;
+        }
+
+        for (int position : remainingPositions) {
+            ArgumentParsingResult<?> defaultResult = parsers.get(position).defaultValue();
+            if (defaultResult.isPresent())
+                parsedValues[position] = defaultResult.getValue();
+            else
+                throw new MissingArgumentException(parsers.get(position));
+        }
+        return parsedValues;
+    }
+
+}
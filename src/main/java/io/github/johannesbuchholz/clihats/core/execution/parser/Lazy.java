@@ -0,0 +1,108 @@
+package io.github.johannesbuchholz.clihats.core.execution.parser;
+
+import io.github.johannesbuchholz.clihats.core.execution.ArgumentParser;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.UncheckedValueMappingException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Holds a raw string value together with the {@link ValueMapper} that transforms it.
+ * <p>The mapper is invoked at most once, on the first call to {@link #get()} or {@link #getWithThrows()}. Subsequent
+ * calls return the cached value or rethrow the cached mapping failure.</p>
+ * <p>Obtain parsers producing lazy values via {@link ValuedOptionParser#withLazyMapping()} or
+ * {@link OperandParser#withLazyMapping()}.</p>
+ * @param <T> the type of the mapped value.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private static final Lazy<?> NULL = new Lazy<>();
+
+    private final ArgumentParser<?> parser;
+    private final ValueMapper<T> valueMapper;
+    private final String rawValue;
+
+    private volatile boolean isMapped = false;
+    private T value;
+    private ValueMappingException failure;
+
+    Lazy(ArgumentParser<?> parser, ValueMapper<T> valueMapper, String rawValue) {
+        this.parser = Objects.requireNonNull(parser);
+        this.valueMapper = Objects.requireNonNull(valueMapper);
+        this.rawValue = Objects.requireNonNull(rawValue);
+    }
+
+    private Lazy() {
+        parser = null;
+        valueMapper = null;
+        rawValue = null;
+        isMapped = true;
+    }
+
+    /**
+     * @return a lazy value without raw value whose mapped value is null. Lazy parsers produce it for absent arguments
+     * without default value.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Lazy<T> ofNull() {
+        return (Lazy<T>) NULL;
+    }
+
+    /**
+     * @return the unmapped string value. Null for {@link #ofNull()}.
+     */
+    public String getRawValue() {
+        return rawValue;
+    }
+
+    /**
+     * @return true if the value has already been mapped.
+     */
+    public boolean isMapped() {
+        return isMapped;
+    }
+
+    /**
+     * Maps the raw value on first invocation.
+     * @return the mapped value.
+     * @throws UncheckedValueMappingException if mapping fails. The cause is the respective {@link ValueMappingException}.
+     */
+    @Override
+    public T get() {
+        try {
+            return getWithThrows();
+        } catch (ValueMappingException e) {
+            throw new UncheckedValueMappingException(e);
+        }
+    }
+
+    /**
+     * Maps the raw value on first invocation.
+     * @return the mapped value.
+     * @throws ValueMappingException if mapping fails.
+     */
+    public T getWithThrows() throws ValueMappingException {
+        if (!isMapped) {
+            synchronized (this) {
+                if (!isMapped) {
+                    try {
+                        value = valueMapper.map(rawValue);
+                    } catch (Exception e) {
+                        failure = new ValueMappingException(parser, e);
+                    }
+                    isMapped = true;
+                }
+            }
+        }
+        if (failure != null)
+            throw failure;
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy{rawValue=" + rawValue + ", isMapped=" + isMapped + "}";
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.github.johannesbuchholz.clihats.core.execution.parser;
+
+import io.github.johannesbuchholz.clihats.core.execution.ArgumentParser;
+
+/**
+ * Wraps string values into {@link Lazy} values mapped by the mapper of the originating parser on first access.
+ * @param <T> the type of the lazily mapped value.
+ */
+final class LazyValueMapper<T> implements ValueMapper<Lazy<T>> {
+
+    private final ArgumentParser<?> parser;
+    private final ValueMapper<T> eagerMapper;
+
+    LazyValueMapper(ArgumentParser<?> parser, ValueMapper<T> eagerMapper) {
+        this.parser = parser;
+        this.eagerMapper = eagerMapper;
+    }
+
+    @Override
+    public Lazy<T> map(String stringValue) {
+        return new Lazy<>(parser, eagerMapper, stringValue);
+    }
+
+}
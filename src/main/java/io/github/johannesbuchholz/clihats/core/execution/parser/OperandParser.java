@@ -1,6 +1,7 @@
 package io.github.johannesbuchholz.clihats.core.execution.parser;
 
 import io.github.johannesbuchholz.clihats.core.execution.ArgumentParsingResult;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionProvider;
 import io.github.johannesbuchholz.clihats.core.execution.InputArgument;
 import io.github.johannesbuchholz.clihats.core.execution.ParserHelpContent;
 import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
@@ -22,48 +23,70 @@ public class OperandParser<T> extends AbstractOperandParser<T> {
     private final boolean required;
     private final Supplier<String> defaultSupplier;
     private final String displayName;
+    private final CompletionProvider completionProvider;
 
     protected static OperandParser<String> at(int index) {
         if (index < 0) {
             throw new IllegalArgumentException("index needs to be non-negative but was " + index);
         }
-        return new OperandParser<>(index, () -> null, false, stringValue -> stringValue, "", null);
+        return new OperandParser<>(index, () -> null, false, stringValue -> stringValue, "", null, null);
     }
 
-    private OperandParser(int index, Supplier<String> defaultSupplier, boolean required, ValueMapper<T> valueMapper, String description, String displayName) {
+    private OperandParser(int index, Supplier<String> defaultSupplier, boolean required, ValueMapper<T> valueMapper, String description, String displayName, CompletionProvider completionProvider) {
         super(index);
         this.valueMapper = valueMapper;
         this.description =description;
         this.required = required;
         this.defaultSupplier = defaultSupplier;
         this.displayName = displayName;
+        this.completionProvider = completionProvider;
     }
 
     /**
      * Returns a new PositionalArgument with this objects position and the given mapper.
      */
     public <X> OperandParser<X> withMapper(ValueMapper<X> mapper) {
-        return new OperandParser<>(index, defaultSupplier, required, Objects.requireNonNull(mapper), description, displayName);
+        return new OperandParser<>(index, defaultSupplier, required, Objects.requireNonNull(mapper), description, displayName, completionProvider);
+    }
+
+    /**
+     * Returns a new parser producing {@link Lazy} values. The mapper of this parser is applied at most once and only
+     * when the value is first requested. Absent values without default value are produced as {@link Lazy#ofNull()}.
+     */
+    public OperandParser<Lazy<T>> withLazyMapping() {
+        return new OperandParser<>(index, defaultSupplier, required, new LazyValueMapper<>(this, valueMapper), description, displayName, completionProvider);
     }
 
     public OperandParser<T> withDescription(String description) {
-        return new OperandParser<>(index, defaultSupplier, required, valueMapper,  description, displayName);
+        return new OperandParser<>(index, defaultSupplier, required, valueMapper,  description, displayName, completionProvider);
     }
 
     public OperandParser<T> withRequired(boolean required) {
-        return new OperandParser<>(index, defaultSupplier, required, valueMapper, description, displayName);
+        return new OperandParser<>(index, defaultSupplier, required, valueMapper, description, displayName, completionProvider);
     }
 
     public OperandParser<T> withDefault(String defaultValue) {
-        return new OperandParser<>(index, () -> defaultValue, required, valueMapper, description, displayName);
+        return new OperandParser<>(index, () -> defaultValue, required, valueMapper, description, displayName, completionProvider);
     }
 
     public OperandParser<T> withDefault(Supplier<String> defaultSupplier) {
-        return new OperandParser<>(index, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName);
+        return new OperandParser<>(index, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName, completionProvider);
     }
 
     public OperandParser<T> withDisplayName(String displayName) {
-        return new OperandParser<>(index, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName);
+        return new OperandParser<>(index, Objects.requireNonNull(defaultSupplier), required, valueMapper, description, displayName, completionProvider);
+    }
+
+    /**
+     * Returns a new parser completing its values with the candidates of the specified provider.
+     */
+    public OperandParser<T> withCompletionProvider(CompletionProvider completionProvider) {
+        return new OperandParser<>(index, defaultSupplier, required, valueMapper, description, displayName, Objects.requireNonNull(completionProvider));
+    }
+
+    @Override
+    public Optional<CompletionProvider> getCompletionProvider() {
+        return Optional.ofNullable(completionProvider);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package io.github.johannesbuchholz.clihats.core.execution.parser;
 
 import io.github.johannesbuchholz.clihats.core.execution.ArgumentParsingResult;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionProvider;
 import io.github.johannesbuchholz.clihats.core.execution.InputArgument;
 import io.github.johannesbuchholz.clihats.core.execution.ParserHelpContent;
 import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
@@ -26,42 +27,64 @@ public class ValuedOptionParser<T> extends AbstractOptionParser<T> {
     private final ValueMapper<T> valueMapper;
     private final String description;
     private final Supplier<String> defaultSupplier;
+    private final CompletionProvider completionProvider;
 
     protected static ValuedOptionParser<String> forName(String name, String... names) {
         Set<OptionParserName> optionNames = Stream.concat(Stream.of(name), Stream.of(names))
                 .map(OptionParserName::of)
                 .collect(Collectors.toSet());
-        return new ValuedOptionParser<>(optionNames, false, () -> null, s -> s, null);
+        return new ValuedOptionParser<>(optionNames, false, () -> null, s -> s, null, null);
     }
 
-    private ValuedOptionParser(Set<OptionParserName> names, boolean required, Supplier<String> defaultSupplier, ValueMapper<T> valueMapper, String description) {
+    private ValuedOptionParser(Set<OptionParserName> names, boolean required, Supplier<String> defaultSupplier, ValueMapper<T> valueMapper, String description, CompletionProvider completionProvider) {
         super(names);
         this.required = required;
         this.valueMapper = valueMapper;
         this.description = description;
         this.defaultSupplier = defaultSupplier;
+        this.completionProvider = completionProvider;
     }
 
     // builder like methods
 
     public <X> ValuedOptionParser<X> withMapper(ValueMapper<X> valueMapper) {
-        return new ValuedOptionParser<>(names, required, defaultSupplier, Objects.requireNonNull(valueMapper), description);
+        return new ValuedOptionParser<>(names, required, defaultSupplier, Objects.requireNonNull(valueMapper), description, completionProvider);
+    }
+
+    /**
+     * Returns a new parser producing {@link Lazy} values. The mapper of this parser is applied at most once and only
+     * when the value is first requested. Absent values without default value are produced as {@link Lazy#ofNull()}.
+     */
+    public ValuedOptionParser<Lazy<T>> withLazyMapping() {
+        return new ValuedOptionParser<>(names, required, defaultSupplier, new LazyValueMapper<>(this, valueMapper), description, completionProvider);
     }
 
     public ValuedOptionParser<T> withDefault(String defaultValue) {
-        return new ValuedOptionParser<>(names, required, () -> defaultValue, valueMapper, description);
+        return new ValuedOptionParser<>(names, required, () -> defaultValue, valueMapper, description, completionProvider);
     }
 
     public ValuedOptionParser<T> withDefault(Supplier<String> defaultSupplier) {
-        return new ValuedOptionParser<>(names, required, Objects.requireNonNull(defaultSupplier), valueMapper, description);
+        return new ValuedOptionParser<>(names, required, Objects.requireNonNull(defaultSupplier), valueMapper, description, completionProvider);
     }
 
     public ValuedOptionParser<T> withRequired(boolean required) {
-        return new ValuedOptionParser<>(names, required, defaultSupplier, valueMapper, description);
+        return new ValuedOptionParser<>(names, required, defaultSupplier, valueMapper, description, completionProvider);
     }
 
     public ValuedOptionParser<T> withDescription(String description) {
-        return new ValuedOptionParser<>(names, required, defaultSupplier, valueMapper, description);
+        return new ValuedOptionParser<>(names, required, defaultSupplier, valueMapper, description, completionProvider);
+    }
+
+    /**
+     * Returns a new parser completing its value with the candidates of the specified provider.
+     */
+    public ValuedOptionParser<T> withCompletionProvider(CompletionProvider completionProvider) {
+        return new ValuedOptionParser<>(names, required, defaultSupplier, valueMapper, description, Objects.requireNonNull(completionProvider));
+    }
+
+    @Override
+    public Optional<CompletionProvider> getCompletionProvider() {
+        return Optional.ofNullable(completionProvider);
     }
 
     @Override
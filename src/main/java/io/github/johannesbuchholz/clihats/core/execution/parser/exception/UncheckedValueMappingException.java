@@ -0,0 +1,19 @@
+package io.github.johannesbuchholz.clihats.core.execution.parser.exception;
+
+import io.github.johannesbuchholz.clihats.core.execution.parser.Lazy;
+
+/**
+ * Wraps a {@link ValueMappingException} raised when a {@link Lazy} value is mapped within client code.
+ */
+public class UncheckedValueMappingException extends RuntimeException {
+
+    public UncheckedValueMappingException(ValueMappingException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized ValueMappingException getCause() {
+        return (ValueMappingException) super.getCause();
+    }
+
+}
@@ -4,14 +4,53 @@ import io.github.johannesbuchholz.clihats.core.execution.InputArgument;
 import io.github.johannesbuchholz.clihats.core.execution.exception.ArgumentParsingException;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Thrown when an input argument could not be parsed by any parser.
  */
 public class UnknownArgumentException extends ArgumentParsingException {
 
+    private final List<InputArgument> inputArguments;
+    private final Map<String, List<String>> suggestionsByInputArgument;
+
     public UnknownArgumentException(Collection<InputArgument> inputArguments) {
-        super("Unknown input arguments " + inputArguments);
+        this(inputArguments, Map.of());
+    }
+
+    /**
+     * @param suggestionsByInputArgument names of options similar to the respective unknown input argument.
+     */
+    public UnknownArgumentException(Collection<InputArgument> inputArguments, Map<String, List<String>> suggestionsByInputArgument) {
+        this(List.copyOf(inputArguments), Map.copyOf(suggestionsByInputArgument));
+    }
+
+    private UnknownArgumentException(List<InputArgument> inputArguments, Map<String, List<String>> suggestionsByInputArgument) {
+        super(() -> "Unknown input arguments " + inputArguments + generateSuggestionMessage(suggestionsByInputArgument), null);
+        this.inputArguments = inputArguments;
+        this.suggestionsByInputArgument = suggestionsByInputArgument;
+    }
+
+    private static String generateSuggestionMessage(Map<String, List<String>> suggestionsByInputArgument) {
+        if (suggestionsByInputArgument.isEmpty())
+            return "";
+        return suggestionsByInputArgument.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> String.format("Did you mean %s instead of %s?", String.join(" or ", entry.getValue()), entry.getKey()))
+                .collect(Collectors.joining(" ", ". ", ""));
+    }
+
+    public List<InputArgument> getInputArguments() {
+        return inputArguments;
+    }
+
+    /**
+     * @return names of options similar to unknown input arguments by the value of the respective input argument.
+     */
+    public Map<String, List<String>> getSuggestionsByInputArgument() {
+        return suggestionsByInputArgument;
     }
 
 }
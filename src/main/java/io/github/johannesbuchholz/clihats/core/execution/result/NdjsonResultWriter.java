@@ -0,0 +1,112 @@
+package io.github.johannesbuchholz.clihats.core.execution.result;
+
+import io.github.johannesbuchholz.clihats.core.execution.ResultWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes each record as one line of JSON (newline delimited JSON).
+ * <ul>
+ *     <li>{@link Map} instances become objects with the string representation of their keys as names.</li>
+ *     <li>{@link Iterable} instances and {@code Object[]} become arrays.</li>
+ *     <li>Booleans and numbers are written as such. Non-finite floating point numbers become null.</li>
+ *     <li>{@link Optional} instances are written as their value or null.</li>
+ *     <li>Any other object becomes the string of its string representation.</li>
+ * </ul>
+ */
+public class NdjsonResultWriter implements ResultWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    @Override
+    public void writeRecord(Object record, Writer out) throws IOException {
+        writeValue(record, out);
+        out.write('\n');
+    }
+
+    private static void writeValue(Object value, Writer out) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger || value instanceof BigDecimal) {
+            out.write(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            out.write(Double.isFinite(number) ? value.toString() : "null");
+        } else if (value instanceof Map) {
+            out.write('{');
+            boolean isFirst = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!isFirst)
+                    out.write(',');
+                writeString(String.valueOf(entry.getKey()), out);
+                out.write(':');
+                writeValue(entry.getValue(), out);
+                isFirst = false;
+            }
+            out.write('}');
+        } else if (value instanceof Iterable) {
+            out.write('[');
+            boolean isFirst = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!isFirst)
+                    out.write(',');
+                writeValue(element, out);
+                isFirst = false;
+            }
+            out.write(']');
+        } else if (value instanceof Object[]) {
+            Object[] elements = (Object[]) value;
+            out.write('[');
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                writeValue(elements[i], out);
+            }
+            out.write(']');
+        } else if (value instanceof Optional) {
+            writeValue(((Optional<?>) value).orElse(null), out);
+        } else {
+            writeString(value.toString(), out);
+        }
+    }
+
+    private static void writeString(String value, Writer out) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write("\\u00");
+                        out.write(HEX_DIGITS[c >> 4]);
+                        out.write(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+}
@@ -0,0 +1,21 @@
+package io.github.johannesbuchholz.clihats.core.execution.result;
+
+import io.github.johannesbuchholz.clihats.core.execution.ResultWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the string representation of each record on its own line like {@link java.io.PrintStream#println(Object)}.
+ */
+public class TextResultWriter implements ResultWriter {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    @Override
+    public void writeRecord(Object record, Writer out) throws IOException {
+        out.write(String.valueOf(record));
+        out.write(LINE_SEPARATOR);
+    }
+
+}
@@ -0,0 +1,71 @@
+package io.github.johannesbuchholz.clihats.core.execution.result;
+
+import io.github.johannesbuchholz.clihats.core.execution.ResultWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes each record as one line of tab separated values. The fields of a record are the elements of an
+ * {@link Iterable} or {@code Object[]}, the key and value of a {@link Map.Entry} or the record itself otherwise.
+ * <p>
+ *     Backslashes, tabs, line feeds and carriage returns within fields are escaped as {@code \\}, {@code \t},
+ *     {@code \n} and {@code \r}. Null fields are written as empty fields.
+ * </p>
+ */
+public class TsvResultWriter implements ResultWriter {
+
+    @Override
+    public void writeRecord(Object record, Writer out) throws IOException {
+        if (record instanceof Iterable) {
+            boolean isFirst = true;
+            for (Object field : (Iterable<?>) record) {
+                if (!isFirst)
+                    out.write('\t');
+                writeField(field, out);
+                isFirst = false;
+            }
+        } else if (record instanceof Object[]) {
+            Object[] fields = (Object[]) record;
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0)
+                    out.write('\t');
+                writeField(fields[i], out);
+            }
+        } else if (record instanceof Map.Entry) {
+            writeField(((Map.Entry<?, ?>) record).getKey(), out);
+            out.write('\t');
+            writeField(((Map.Entry<?, ?>) record).getValue(), out);
+        } else {
+            writeField(record, out);
+        }
+        out.write('\n');
+    }
+
+    private static void writeField(Object field, Writer out) throws IOException {
+        if (field == null)
+            return;
+        String value = field.toString();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                default:
+                    out.write(c);
+            }
+        }
+    }
+
+}
@@ -1,18 +1,30 @@
 package io.github.johannesbuchholz.clihats.processor;
 
+import io.github.johannesbuchholz.clihats.core.execution.CompletionProvider;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
+import io.github.johannesbuchholz.clihats.core.execution.OutputChannel;
+import io.github.johannesbuchholz.clihats.core.execution.ResultWriter;
+import io.github.johannesbuchholz.clihats.core.execution.parser.Lazy;
 import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
 import io.github.johannesbuchholz.clihats.processor.annotations.Command;
 import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
 import io.github.johannesbuchholz.clihats.processor.exceptions.ProcessingException;
+import io.github.johannesbuchholz.clihats.processor.execution.CliCompletion;
+import io.github.johannesbuchholz.clihats.processor.generators.CommanderCodeGenerator;
+import io.github.johannesbuchholz.clihats.processor.generators.CompletionScriptGenerator;
 import io.github.johannesbuchholz.clihats.processor.generators.CommanderProviderCodeGenerator;
 import io.github.johannesbuchholz.clihats.processor.mapper.AbstractValueMapper;
 import io.github.johannesbuchholz.clihats.processor.model.CommandDto;
 import io.github.johannesbuchholz.clihats.processor.model.CommanderDto;
+import io.github.johannesbuchholz.clihats.processor.model.GroupDto;
 import io.github.johannesbuchholz.clihats.processor.model.ProgramCodeData;
 import io.github.johannesbuchholz.clihats.processor.util.CliAutoDetector;
 import io.github.johannesbuchholz.clihats.processor.util.ProcessingUtils;
+import io.github.johannesbuchholz.clihats.processor.util.visitors.ArrayOfAnnotationAnnotationValueVisitor;
+import io.github.johannesbuchholz.clihats.processor.util.visitors.ArrayOfSimpleAnnotationValueVisitor;
 import io.github.johannesbuchholz.clihats.processor.util.visitors.ArrayOfTypeAnnotationValueVisitor;
 import io.github.johannesbuchholz.clihats.processor.util.visitors.SimpleValueAnnotationValueVisitor;
+import io.github.johannesbuchholz.clihats.processor.util.visitors.TypeAnnotationValueVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,14 +33,19 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,8 +64,13 @@ public class CommandLineInterfaceProcessor extends AbstractProcessor {
     public static TypeElement optionAnnotationType;
     public static TypeElement abstractValueMapperType;
     public static TypeElement identityMapperType;
+    public static TypeElement completionProviderType;
+    public static TypeElement resultWriterType;
+    public static TypeElement outputChannelType;
     public static TypeElement enumType;
     public static TypeElement stringType;
+    public static TypeElement lazyType;
+    public static TypeElement supplierType;
 
     private void initStaticFields() {
         cliAnnotationType = processingEnv.getElementUtils().getTypeElement(CommandLineInterface.class.getCanonicalName());
@@ -56,8 +78,13 @@ public class CommandLineInterfaceProcessor extends AbstractProcessor {
         optionAnnotationType = processingEnv.getElementUtils().getTypeElement(Argument.class.getCanonicalName());
         abstractValueMapperType = processingEnv.getElementUtils().getTypeElement(AbstractValueMapper.class.getCanonicalName());
         identityMapperType = processingEnv.getElementUtils().getTypeElement(AbstractValueMapper.IdentityMapper.class.getCanonicalName());
+        completionProviderType = processingEnv.getElementUtils().getTypeElement(CompletionProvider.class.getCanonicalName());
+        resultWriterType = processingEnv.getElementUtils().getTypeElement(ResultWriter.class.getCanonicalName());
+        outputChannelType = processingEnv.getElementUtils().getTypeElement(OutputChannel.class.getCanonicalName());
         enumType = processingEnv.getElementUtils().getTypeElement(Enum.class.getCanonicalName());
         stringType = processingEnv.getElementUtils().getTypeElement(String.class.getCanonicalName());
+        lazyType = processingEnv.getElementUtils().getTypeElement(Lazy.class.getCanonicalName());
+        supplierType = processingEnv.getElementUtils().getTypeElement(Supplier.class.getCanonicalName());
     }
 
     @Override
@@ -86,6 +113,40 @@ public class CommandLineInterfaceProcessor extends AbstractProcessor {
         ProgramCodeData programCodeData = new CommanderProviderCodeGenerator(processingEnv, commanderDtos)
                 .generateCommanderProviderCode();
         writeClassFile(programCodeData);
+        commanderDtos.forEach(this::writeCompletionResources);
+    }
+
+    /**
+     * Writes the completion table and the completion scripts of the specified command-line interface.
+     */
+    private void writeCompletionResources(CommanderDto commanderDto) {
+        String qualifiedCliName = commanderDto.getAnnotatedInterface().getQualifiedName().toString();
+        CommanderCodeGenerator commanderCodeGenerator = new CommanderCodeGenerator(processingEnv, commanderDto);
+        CompletionTable completionTable = commanderCodeGenerator.generateCompletionTable();
+        writeResource(CliCompletion.getResourceName(qualifiedCliName), completionTable::write);
+        CompletionScriptGenerator scriptGenerator = new CompletionScriptGenerator(commanderCodeGenerator.generateCommanderName(), completionTable);
+        for (CliCompletion.Shell shell : CliCompletion.Shell.values())
+            writeResource(CliCompletion.getScriptResourceName(qualifiedCliName, shell), out -> out.write(scriptGenerator.generateScript(shell)));
+    }
+
+    private void writeResource(String resourceName, ResourceWriter resourceWriter) {
+        FileObject resourceFile;
+        try {
+            resourceFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resourceName);
+        } catch (IOException e) {
+            throw new ProcessingException(e, "Could not create resource {}: {}", resourceName, e);
+        }
+        try (Writer out = resourceFile.openWriter()) {
+            resourceWriter.write(out);
+        } catch (IOException e) {
+            throw new ProcessingException(e, "Could not write to resource {}: {}", resourceName, e);
+        }
+        log.debug("Wrote resource {}", resourceFile.toUri());
+    }
+
+    @FunctionalInterface
+    private interface ResourceWriter {
+        void write(Writer out) throws IOException;
     }
 
     private void writeClassFile(ProgramCodeData programCodeData) {
@@ -173,7 +234,22 @@ public class CommandLineInterfaceProcessor extends AbstractProcessor {
                 Objects.requireNonNull(cliAnnotationValuesBySimpleName.get(CommanderDto.NAME_FIELD_NAME)).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null).trim(),
                 Objects.requireNonNull(cliAnnotationValuesBySimpleName.get(CommanderDto.DESCRIPTION_FIELD_NAME)).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null).trim(),
                 cliInterfaceType,
-                matchingCommandDto
+                matchingCommandDto,
+                Objects.requireNonNull(cliAnnotationValuesBySimpleName.get(CommanderDto.GROUPS_FIELD_NAME)).accept(new ArrayOfAnnotationAnnotationValueVisitor(), null).stream()
+                        .map(this::mapToGroupDto)
+                        .collect(Collectors.toList())
+        );
+    }
+
+    private GroupDto mapToGroupDto(AnnotationMirror groupMirror) {
+        Map<String, ? extends AnnotationValue> groupAnnotationValuesBySimpleName = processingEnv.getElementUtils().getElementValuesWithDefaults(groupMirror)
+                .entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().getSimpleName().toString(), Map.Entry::getValue));
+        return new GroupDto(
+                Objects.requireNonNull(groupAnnotationValuesBySimpleName.get(GroupDto.PATH_FIELD_NAME)).accept(new ArrayOfSimpleAnnotationValueVisitor<>(String.class), null).stream()
+                        .map(String::trim)
+                        .collect(Collectors.toList()),
+                Objects.requireNonNull(groupAnnotationValuesBySimpleName.get(GroupDto.DESCRIPTION_FIELD_NAME)).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null).trim()
         );
     }
 
@@ -187,6 +263,11 @@ public class CommandLineInterfaceProcessor extends AbstractProcessor {
                 Objects.requireNonNull(commandAnnotationValuesBySimpleName.get(CommandDto.NAME_FIELD_NAME)).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null).trim(),
                 Objects.requireNonNull(commandAnnotationValuesBySimpleName.get(CommandDto.DESCRIPTION_FIELD_NAME)).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null).trim(),
                 Objects.requireNonNull(commandAnnotationValuesBySimpleName.get(CommandDto.CLI_FIELD_NAME)).accept(new ArrayOfTypeAnnotationValueVisitor(), processingEnv.getTypeUtils()),
+                Objects.requireNonNull(commandAnnotationValuesBySimpleName.get(CommandDto.GROUP_FIELD_NAME)).accept(new ArrayOfSimpleAnnotationValueVisitor<>(String.class), null).stream()
+                        .map(String::trim)
+                        .collect(Collectors.toList()),
+                Objects.requireNonNull(commandAnnotationValuesBySimpleName.get(CommandDto.TIMEOUT_FIELD_NAME)).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null).trim(),
+                Objects.requireNonNull(commandAnnotationValuesBySimpleName.get(CommandDto.RESULT_WRITER_FIELD_NAME)).accept(new TypeAnnotationValueVisitor(), processingEnv.getTypeUtils()),
                 commandAnnotatedElement
         );
     }
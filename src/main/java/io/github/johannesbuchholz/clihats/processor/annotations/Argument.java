@@ -1,5 +1,6 @@
 package io.github.johannesbuchholz.clihats.processor.annotations;
 
+import io.github.johannesbuchholz.clihats.core.execution.CompletionProvider;
 import io.github.johannesbuchholz.clihats.core.execution.parser.FlagOptionParser;
 import io.github.johannesbuchholz.clihats.processor.mapper.AbstractValueMapper;
 
@@ -63,11 +64,27 @@ public @interface Argument {
      */
     Class<? extends AbstractValueMapper<?>> mapper() default AbstractValueMapper.IdentityMapper.class;
 
+    /**
+     * A provider of the values this argument may take, used to complete values on the command line. Must be a
+     * public class possessing a public no-args constructor.
+     * <p>Defaults to {@link CompletionProvider} itself which denotes that no values are provided.</p>
+     * <p>Ignored if {@link #flagValue()} is non-empty.</p>
+     */
+    Class<? extends CompletionProvider> completionProvider() default CompletionProvider.class;
+
     /**
      * The description of this option.
      */
     String description() default "";
 
+    /**
+     * If true, this option is registered once as global option on the command-line interface instead of on the
+     * command. Global options are parsed once per invocation and must precede the command name.
+     * <p>Commands declaring an equally configured global option share the same parser and value.</p>
+     * <p>Only applicable if {@link #type()} is set to {@link Type#OPTION}.</p>
+     */
+    boolean global() default false;
+
     /**
      * Determines how CliHats reacts if an argument value is not provided.
      */
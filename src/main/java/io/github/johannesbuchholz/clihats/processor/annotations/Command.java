@@ -1,5 +1,7 @@
 package io.github.johannesbuchholz.clihats.processor.annotations;
 
+import io.github.johannesbuchholz.clihats.core.execution.ResultWriter;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -27,4 +29,31 @@ public @interface Command {
      */
     Class<?>[] cli() default {};
 
+    /**
+     * Names of the nested sub-commanders this command belongs to, outermost first. For example, the command
+     * {@code restart} with {@code group = {"cluster", "node"}} is invoked via {@code my-cli cluster node restart}.
+     * Defaults to no group, making this command a direct command of the cli.
+     */
+    String[] group() default {};
+
+    /**
+     * The maximum time this command may run as ISO-8601 duration, for example {@code PT30S}. Once elapsed, the command
+     * is cancelled and fails with exit code
+     * {@value io.github.johannesbuchholz.clihats.core.execution.exception.CommandTimeoutException#EXIT_CODE}.
+     * Defaults to no timeout.
+     * @see io.github.johannesbuchholz.clihats.core.execution.Command#withTimeout(java.time.Duration)
+     */
+    String timeout() default "";
+
+    /**
+     * The writer of values returned by the annotated method, for example
+     * {@link io.github.johannesbuchholz.clihats.core.execution.result.NdjsonResultWriter}. Returned streams, iterators,
+     * iterables and arrays are written record by record. Must be a public class with a public no-args constructor.
+     * <p>Defaults to {@link ResultWriter} itself which denotes
+     * {@link io.github.johannesbuchholz.clihats.core.execution.result.TextResultWriter}.</p>
+     * <p>Ignored if the annotated method returns void.</p>
+     * @see io.github.johannesbuchholz.clihats.core.execution.Command#withResultWriter(ResultWriter)
+     */
+    Class<? extends ResultWriter> resultWriter() default ResultWriter.class;
+
 }
@@ -27,4 +27,11 @@ public @interface CommandLineInterface {
      */
     String description() default "";
 
+    /**
+     * Descriptions of the groups of commands of this command-line interface. Groups without description are
+     * displayed without description.
+     * @see Command#group()
+     */
+    Group[] groups() default {};
+
 }
@@ -0,0 +1,26 @@
+package io.github.johannesbuchholz.clihats.processor.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Describes a group of commands, that is a nested sub-commander referenced by {@link Command#group()}.
+ * @see CommandLineInterface#groups()
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface Group {
+
+    /**
+     * Names of the nested sub-commanders leading to the described group, outermost first. For example,
+     * {@code {"cluster", "node"}} describes the group invoked via {@code my-cli cluster node}.
+     */
+    String[] path();
+
+    /**
+     * Description of this group displayed in help strings.
+     */
+    String description() default "";
+
+}
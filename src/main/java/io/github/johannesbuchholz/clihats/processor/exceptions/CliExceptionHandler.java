@@ -1,23 +1,45 @@
 package io.github.johannesbuchholz.clihats.processor.exceptions;
 
 import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.OutputChannel;
 import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
 
 import java.io.PrintStream;
 
 public class CliExceptionHandler {
 
-    private final PrintStream infoStream = System.out;
-    private final PrintStream errorStream = System.err;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final PrintStream infoStream;
+    private final PrintStream errorStream;
+
+    /**
+     * Creates a handler printing to {@link System#out} and {@link System#err}.
+     */
+    public CliExceptionHandler() {
+        this(System.out, System.err);
+    }
+
+    /**
+     * @param infoStream receives help messages.
+     * @param errorStream receives error messages.
+     */
+    public CliExceptionHandler(PrintStream infoStream, PrintStream errorStream) {
+        this.infoStream = infoStream;
+        this.errorStream = errorStream;
+    }
 
     /**
+     * Prints the message of the specified exception through an {@link OutputChannel} sized to the message such that
+     * long help pages are written at once instead of line by line.
      * @return the exit code
      */
     public int handle(CliException e) {
-        if (e instanceof CliHelpCallException)
-            infoStream.println(e.getMessage());
-        else
-            errorStream.println(e.getMessage());
+        String message = String.valueOf(e.getMessage());
+        OutputChannel channel = OutputChannel.of(e instanceof CliHelpCallException ? infoStream : errorStream,
+                message.length() + LINE_SEPARATOR.length());
+        channel.println(message);
+        channel.flush();
         return e.getExitCode();
     }
 
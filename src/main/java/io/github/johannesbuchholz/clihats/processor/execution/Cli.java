@@ -1,12 +1,43 @@
 package io.github.johannesbuchholz.clihats.processor.execution;
 
+import io.github.johannesbuchholz.clihats.core.execution.BatchExecutor;
+import io.github.johannesbuchholz.clihats.core.execution.BatchResult;
+import io.github.johannesbuchholz.clihats.core.execution.ChainExecutionResult;
 import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.CliExecutors;
 import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.ExecutionResult;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.ValidationResult;
 import io.github.johannesbuchholz.clihats.processor.exceptions.CliExceptionHandler;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
 public class Cli {
 
-    private final CliExceptionHandler cliExceptionHandler = new CliExceptionHandler();
+    private static final String BATCH_SWITCH = "--batch";
+    private static final String DAEMON_SWITCH = "--daemon";
+    private static final String SHELL_SWITCH = "--shell";
+    private static final String DRY_RUN_SWITCH = "--dry-run";
+
+    /**
+     * Arguments handled by {@link #execute(String[])} or {@link CliCompletion#completeIfRequested} before the
+     * arguments are passed to the commander if given as first argument. Commands, command groups and global options
+     * must thus not use these names.
+     */
+    public static final List<String> RESERVED_SWITCHES = List.of(BATCH_SWITCH, DAEMON_SWITCH, SHELL_SWITCH, DRY_RUN_SWITCH, CliCompletion.COMPLETE_SWITCH);
+
     private final Commander commander;
 
     Cli(Commander commander) {
@@ -17,17 +48,58 @@ public class Cli {
      * Passes the specified arguments to this command-line interface and executes the matching command.
      * <p>{@link CliException} thrown during execution are handled within this method.
      * In such a case, {@link System#exit(int)} will be called with exit code according to the received exception.</p>
+     * <p>The arguments {@code --batch <file>} execute the lines of the specified file as described in
+     * {@link #executeBatch(Path, int)} using one worker thread per available processor. The arguments
+     * {@code --daemon <socket-file>} start a daemon as described in {@link #serve(Path)}. The argument
+     * {@code --shell} starts an interactive shell as described in {@link #repl()}. Arguments following
+     * {@code --dry-run} are validated as described in {@link #validate(String[])} instead of executed, including
+     * {@code --batch <file>} as described in {@link #validateBatch(Path, int)}.</p>
      * @param args the arguments to pass to this command-line interface.
+     * @see #execute(String[], InvocationContext)
      */
     public void execute(String[] args) {
+        execute(args, InvocationContext.current());
+    }
+
+    /**
+     * Like {@link #execute(String[])} but executes within the specified context. Messages of {@link CliException}
+     * are printed to the streams of the context and exit codes are passed to {@link InvocationContext#exit(int)}.
+     * @param args the arguments to pass to this command-line interface.
+     * @param context the context of this invocation.
+     */
+    public void execute(String[] args, InvocationContext context) {
+        if (args.length > 0 && DRY_RUN_SWITCH.equals(args[0])) {
+            String[] dryRunArgs = Arrays.copyOfRange(args, 1, args.length);
+            if (dryRunArgs.length == 2 && BATCH_SWITCH.equals(dryRunArgs[0]))
+                executeBatch(Path.of(dryRunArgs[1]), Runtime.getRuntime().availableProcessors(), true, context);
+            else
+                validate(dryRunArgs, context);
+            return;
+        }
+        if (args.length == 2 && BATCH_SWITCH.equals(args[0])) {
+            executeBatch(Path.of(args[1]), Runtime.getRuntime().availableProcessors(), false, context);
+            return;
+        }
+        if (args.length == 2 && DAEMON_SWITCH.equals(args[0])) {
+            serve(Path.of(args[1]), context);
+            return;
+        }
+        if (args.length == 1 && SHELL_SWITCH.equals(args[0])) {
+            repl(context);
+            return;
+        }
         try {
-            commander.execute(args);
+            commander.execute(args, context);
         } catch (CliException e) {
-            int exitCode = cliExceptionHandler.handle(e);
-            System.exit(exitCode);
+            int exitCode = createExceptionHandler(context).handle(e);
+            context.exit(exitCode);
         }
     }
 
+    private static CliExceptionHandler createExceptionHandler(InvocationContext context) {
+        return new CliExceptionHandler(context.getOut(), context.getErr());
+    }
+
     /**
      * Passes the specified arguments to this command-line interface and executes the matching command.
      * <p>{@link CliException} thrown during execution are passed to the caller. Use this method if custom
@@ -39,4 +111,188 @@ public class Cli {
         commander.execute(args);
     }
 
+    /**
+     * Passes the specified arguments to this command-line interface and executes the matching command.
+     * <p>Help calls, invalid arguments and failures are reported by the returned result instead of by exceptions. The
+     * help message is only rendered if requested from the result.</p>
+     * @param args the arguments to pass to this command-line interface.
+     * @return the outcome of the execution.
+     * @see Commander#tryExecute(String[], InvocationContext)
+     */
+    public ExecutionResult tryExecute(String[] args) {
+        return commander.tryExecute(args);
+    }
+
+    /**
+     * Validates the specified arguments without executing the matching command. Lazy values are mapped and arguments
+     * that would be prompted for are not read.
+     * @param args the arguments to validate.
+     * @return the outcome of the validation.
+     * @see Commander#validate(String[], InvocationContext, boolean)
+     */
+    public ValidationResult validate(String[] args) {
+        return commander.validate(args, InvocationContext.current(), true);
+    }
+
+    private void validate(String[] args, InvocationContext context) {
+        ValidationResult result = commander.validate(args, context, true);
+        if (result.isValid())
+            return;
+        result.getDiagnostics().forEach(context.getErr()::println);
+        context.exit(result.getExitCode());
+    }
+
+    /**
+     * Passes the specified arguments to this command-line interface and runs the matching command using the specified
+     * executor. Arguments are parsed on the calling thread.
+     * <p>{@link CliException} thrown during parsing or execution complete the returned future exceptionally. Use this
+     * method to run many invocations concurrently without blocking the calling thread.</p>
+     * @param args the arguments to pass to this command-line interface.
+     * @param executor the executor running the matching command.
+     * @return a future of the result of the execution.
+     * @see Commander#executeAsync(String[], Executor)
+     */
+    public CompletableFuture<ExecutionResult> executeAsync(String[] args, Executor executor) {
+        return commander.executeAsync(args, executor);
+    }
+
+    /**
+     * Passes the specified chain of commands to this command-line interface and executes each step within this
+     * process, for example {@code cmd1 a b + cmd2 c ++ cmd3}. Steps separated by {@code ++} run in parallel.
+     * Separators escaped by a leading backslash, such as {@code \+}, are passed to the step as plain arguments.
+     * All steps are parsed and mapped, including prompts and default values, before the first step runs.
+     * <p>{@link CliException} thrown during execution are handled within this method. If any step fails,
+     * {@link InvocationContext#exit(int)} of the current context will be called with the exit code of the first
+     * failed step.</p>
+     * @param args the chain of commands to pass to this command-line interface.
+     * @see Commander#executeChain(String[], Executor)
+     */
+    public void executeChain(String[] args) {
+        InvocationContext context = InvocationContext.current();
+        CliExceptionHandler cliExceptionHandler = createExceptionHandler(context);
+        ExecutorService executor = CliExecutors.newPerTaskExecutor();
+        try {
+            ChainExecutionResult result = commander.executeChain(args, executor);
+            result.getSteps().stream()
+                    .map(ChainExecutionResult.Step::getException)
+                    .flatMap(Optional::stream)
+                    .forEach(cliExceptionHandler::handle);
+            if (!result.isSuccessful())
+                context.exit(result.getExitCode());
+        } catch (CliException e) {
+            int exitCode = cliExceptionHandler.handle(e);
+            context.exit(exitCode);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Executes each line of the specified file as an invocation of this command-line interface within this process.
+     * Lines are split into arguments like by a POSIX shell. Blank lines and lines starting with {@code #} are skipped.
+     * <p>The exit code and message of every failed line as well as the totals of all lines are printed to the error
+     * stream of the current {@link InvocationContext}. If any line fails, {@link InvocationContext#exit(int)} will be
+     * called with the exit code of the first failed line.</p>
+     * @param scriptFile the file of command lines.
+     * @param parallelism the number of lines to execute in parallel.
+     * @see BatchExecutor
+     */
+    public void executeBatch(Path scriptFile, int parallelism) {
+        executeBatch(scriptFile, parallelism, false, InvocationContext.current());
+    }
+
+    /**
+     * Validates each line of the specified file like {@link #validate(String[])} without executing any line. Lines
+     * are validated in parallel.
+     * <p>The diagnostics of every invalid line as well as the totals of all lines are printed to the error stream of
+     * the current {@link InvocationContext}. If any line is invalid, {@link InvocationContext#exit(int)} will be called
+     * with the exit code of the first invalid line.</p>
+     * @param scriptFile the file of command lines.
+     * @param parallelism the number of lines to validate in parallel.
+     * @see BatchExecutor#withDryRun(boolean)
+     */
+    public void validateBatch(Path scriptFile, int parallelism) {
+        executeBatch(scriptFile, parallelism, true, InvocationContext.current());
+    }
+
+    private void executeBatch(Path scriptFile, int parallelism, boolean isDryRun, InvocationContext context) {
+        PrintStream err = context.getErr();
+        BatchResult result;
+        try (BufferedReader reader = Files.newBufferedReader(context.getWorkingDirectory().resolve(scriptFile), StandardCharsets.UTF_8)) {
+            result = BatchExecutor.forCommander(commander)
+                    .withParallelism(parallelism)
+                    .withInvocationContext(context)
+                    .withDryRun(isDryRun)
+                    .execute(reader, line -> {
+                        if (isDryRun)
+                            line.getDiagnostics().forEach(diagnostic -> err.printf("Line %d: %s%n", line.getLineNumber(), diagnostic));
+                        else
+                            line.getFailure().ifPresent(failure ->
+                                    err.printf("Line %d failed with exit code %d: %s%n", line.getLineNumber(), line.getExitCode(), failure.getMessage()));
+                    });
+        } catch (IOException e) {
+            err.println("Could not read batch file " + scriptFile + ": " + e.getMessage());
+            context.exit(1);
+            return;
+        }
+        if (isDryRun)
+            err.printf("Validated %d lines: %d valid, %d invalid%n",
+                    result.getLineCount(), result.getSucceededLineCount(), result.getFailedLineCount());
+        else
+            err.printf("Executed %d lines: %d succeeded, %d failed%n",
+                    result.getLineCount(), result.getSucceededLineCount(), result.getFailedLineCount());
+        if (result.getExitCode() != 0)
+            context.exit(result.getExitCode());
+    }
+
+    /**
+     * Runs an interactive shell reading command lines from the input stream of the current {@link InvocationContext}
+     * and executing them within this process until the input ends or {@code exit} is entered. Lines are split into
+     * arguments like by a POSIX shell.
+     * <p>{@link CliException} thrown during execution are printed without ending the shell. The shell keeps a bounded
+     * history listed by {@code history} and repeated by {@code !!} or {@code !<n>}. Lines ending in a tab character
+     * list the completions of their last argument.</p>
+     * @see Commander#getCompletions(String[])
+     */
+    public void repl() {
+        repl(InvocationContext.current());
+    }
+
+    private void repl(InvocationContext context) {
+        try {
+            new CliShell(commander, context).run();
+        } catch (IOException e) {
+            context.getErr().println("Could not read input: " + e.getMessage());
+            context.exit(1);
+        }
+    }
+
+    /**
+     * Runs this command-line interface as a daemon accepting invocations from {@link CliDaemonClient} over a Unix
+     * domain socket at the specified location. Blocks until the JVM shuts down.
+     * <p>If the daemon could not be started, {@link InvocationContext#exit(int)} of the current context will be called
+     * with exit code 1.</p>
+     * @param socketFile the location of the Unix domain socket.
+     * @see CliDaemon
+     */
+    public void serve(Path socketFile) {
+        serve(socketFile, InvocationContext.current());
+    }
+
+    private void serve(Path socketFile, InvocationContext context) {
+        try (CliDaemon daemon = CliDaemon.bind(commander, socketFile)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    daemon.close();
+                } catch (IOException e) {
+                    // nothing left to clean up
+                }
+            }));
+            daemon.serve();
+        } catch (IOException | UnsupportedOperationException e) {
+            context.getErr().println("Could not run daemon at " + socketFile + ": " + e.getMessage());
+            context.exit(1);
+        }
+    }
+
 }
@@ -0,0 +1,173 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Entry point for shell completion of command-line interfaces. Completions are answered from the
+ * {@link CompletionTable} generated alongside each command-line interface without initializing {@link CliHats} and
+ * thus without constructing any commander, command or parser.
+ * <p>
+ *     Static completion scripts for the shells listed in {@link Shell} are generated as well. These complete without
+ *     starting a JVM at all. See {@link #getScript(Class, Shell)}.
+ * </p>
+ * <p>
+ *     Either run this class as main class with the qualified name of the command-line interface followed by the
+ *     partial arguments or call {@link #completeIfRequested(Class, String[])} first thing in the main method of the
+ *     application.
+ * </p>
+ */
+public final class CliCompletion {
+
+    /**
+     * Requests completions for the arguments following it, for example {@code my-cli --complete greet --na}.
+     */
+    public static final String COMPLETE_SWITCH = "--complete";
+    private static final String RESOURCE_DIRECTORY = "META-INF/clihats/completion/";
+    private static final String RESOURCE_SUFFIX = ".tsv";
+
+    /**
+     * Shells supported by generated completion scripts.
+     */
+    public enum Shell {
+        BASH("bash"),
+        ZSH("zsh"),
+        FISH("fish");
+
+        private final String fileExtension;
+
+        Shell(String fileExtension) {
+            this.fileExtension = fileExtension;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    private CliCompletion() {}
+
+    /**
+     * @param qualifiedCliName the qualified name of a class annotated with {@link CommandLineInterface}.
+     * @return the name of the class path resource containing the completion table of the command-line interface.
+     */
+    public static String getResourceName(String qualifiedCliName) {
+        return RESOURCE_DIRECTORY.concat(qualifiedCliName).concat(RESOURCE_SUFFIX);
+    }
+
+    /**
+     * @param qualifiedCliName the qualified name of a class annotated with {@link CommandLineInterface}.
+     * @param shell the targeted shell.
+     * @return the name of the class path resource containing the completion script of the command-line interface.
+     */
+    public static String getScriptResourceName(String qualifiedCliName, Shell shell) {
+        return RESOURCE_DIRECTORY.concat(qualifiedCliName).concat(".").concat(shell.getFileExtension());
+    }
+
+    /**
+     * Provides the generated completion script of the specified command-line interface. Install the script like any
+     * other completion script of the respective shell, for example by sourcing it from {@code ~/.bashrc}.
+     * @param commandLineInterface the class annotated with {@link CommandLineInterface}.
+     * @param shell the targeted shell.
+     * @return the generated completion script. Empty if there is none.
+     * @throws IOException if reading the script fails.
+     */
+    public static Optional<String> getScript(Class<?> commandLineInterface, Shell shell) throws IOException {
+        InputStream in = getClassLoader(commandLineInterface).getResourceAsStream(getScriptResourceName(commandLineInterface.getCanonicalName(), shell));
+        if (in == null)
+            return Optional.empty();
+        try (in) {
+            return Optional.of(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @param commandLineInterface the class annotated with {@link CommandLineInterface}.
+     * @return the generated completion table of the specified command-line interface. Empty if there is none.
+     * @throws IOException if reading the table fails.
+     */
+    public static Optional<CompletionTable> getCompletionTable(Class<?> commandLineInterface) throws IOException {
+        return getCompletionTable(commandLineInterface.getCanonicalName(), getClassLoader(commandLineInterface));
+    }
+
+    private static ClassLoader getClassLoader(Class<?> commandLineInterface) {
+        ClassLoader classLoader = commandLineInterface.getClassLoader();
+        // null if loaded by the bootstrap class loader
+        return classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+    }
+
+    private static Optional<CompletionTable> getCompletionTable(String qualifiedCliName, ClassLoader classLoader) throws IOException {
+        InputStream in = classLoader.getResourceAsStream(getResourceName(qualifiedCliName));
+        if (in == null)
+            return Optional.empty();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return Optional.of(CompletionTable.read(reader));
+        }
+    }
+
+    /**
+     * Prints the completions of the last argument one per line to {@link System#out} if the first argument is
+     * {@value #COMPLETE_SWITCH}.
+     * <pre>{@code
+     * public static void main(String[] args) {
+     *     if (CliCompletion.completeIfRequested(MyCli.class, args))
+     *         return;
+     *     CliHats.get(MyCli.class).execute(args);
+     * }
+     * }</pre>
+     * @param commandLineInterface the class annotated with {@link CommandLineInterface}.
+     * @param args the arguments passed to the application.
+     * @return true if completions were requested.
+     */
+    public static boolean completeIfRequested(Class<?> commandLineInterface, String[] args) {
+        if (args.length == 0 || !COMPLETE_SWITCH.equals(args[0]))
+            return false;
+        complete(commandLineInterface.getCanonicalName(), getClassLoader(commandLineInterface), Arrays.copyOfRange(args, 1, args.length), System.out);
+        return true;
+    }
+
+    /**
+     * Prints the completions of the last argument one per line.
+     * <p>Usage: {@code CliCompletion <qualified-cli-class-name> [<partial-argument>...]}</p>
+     * @param args the qualified name of the command-line interface followed by the partial arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: CliCompletion <qualified-cli-class-name> [<partial-argument>...]");
+            System.exit(2);
+        }
+        if (!complete(args[0], CliCompletion.class.getClassLoader(), Arrays.copyOfRange(args, 1, args.length), System.out))
+            System.exit(1);
+    }
+
+    /**
+     * @return false if there is no completion table for the specified command-line interface.
+     */
+    private static boolean complete(String qualifiedCliName, ClassLoader classLoader, String[] partialArgs, PrintStream out) {
+        Optional<CompletionTable> table;
+        try {
+            table = getCompletionTable(qualifiedCliName, classLoader);
+        } catch (IOException | IllegalArgumentException e) {
+            // completion must never disturb the shell
+            return false;
+        }
+        if (table.isEmpty())
+            return false;
+        List<String> completions = table.get().complete(partialArgs);
+        for (String completion : completions)
+            out.println(completion);
+        out.flush();
+        return true;
+    }
+
+}
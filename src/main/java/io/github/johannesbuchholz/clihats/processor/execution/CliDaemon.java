@@ -0,0 +1,272 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.AdmissionController;
+import io.github.johannesbuchholz.clihats.core.execution.CancellationToken;
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.CliExecutors;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionCache;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.processor.exceptions.CliExceptionHandler;
+
+import java.io.*;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Long-running process executing invocations of a command-line interface received over a Unix domain socket. The
+ * {@link Commander} is built once and stays warm between invocations.
+ * <p>
+ *     Each invocation consists of arguments, working directory and environment of the calling process. The input,
+ *     output and error streams of the caller are forwarded for the duration of the invocation and the exit code is
+ *     sent back. See {@link CliDaemonClient} for the client side.
+ * </p>
+ * <p>
+ *     Invocations run concurrently, each within its own {@link InvocationContext}. While serving, the process-wide
+ *     standard streams forward to the streams of the context bound to the calling thread. Thus, instructions writing
+ *     to {@link System#out} reach their client as long as they write from the thread executing the invocation.
+ * </p>
+ * <p>
+ *     An invocation is cancelled via its {@link CancellationToken} as soon as its client disconnects, for example if
+ *     the client has been killed. The instruction is interrupted and its admission is released once it terminates.
+ * </p>
+ * <p>
+ *     Bind the daemon using an {@link AdmissionController} to limit the number of concurrent invocations. Rejected
+ *     invocations exit with {@value io.github.johannesbuchholz.clihats.core.execution.exception.AdmissionRejectedException#EXIT_CODE}.
+ * </p>
+ * <p>
+ *     Invocations with the arguments {@value CliCompletion#COMPLETE_SWITCH} followed by partial arguments print the
+ *     completions of the last argument. Candidates looked up by a
+ *     {@link io.github.johannesbuchholz.clihats.core.execution.CompletionProvider} are cached by the daemon.
+ * </p>
+ * <p>
+ *     The daemon runs arbitrary command lines with the environment and working directory sent by its clients. On
+ *     file systems supporting POSIX permissions, the socket file is therefore only accessible by its owner.
+ * </p>
+ * <p>Requires Java 16 or later.</p>
+ */
+public class CliDaemon implements Closeable {
+
+    private final AdmissionController admissionController;
+    private final Path socketFile;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService invocationExecutor = CliExecutors.newPerTaskExecutor();
+    private final CompletionCache completionCache = CompletionCache.create();
+
+    /**
+     * Binds a new daemon to the specified socket file. A stale socket file at that location is replaced.
+     * @param commander the commander executing invocations.
+     * @param socketFile the location of the Unix domain socket.
+     * @return a new daemon not yet accepting invocations.
+     * @throws IOException if the socket could not be bound.
+     * @throws UnsupportedOperationException if the running JVM does not provide Unix domain sockets.
+     * @see #serve()
+     */
+    public static CliDaemon bind(Commander commander, Path socketFile) throws IOException {
+        return bind(AdmissionController.forCommander(commander), socketFile);
+    }
+
+    /**
+     * Binds a new daemon to the specified socket file. A stale socket file at that location is replaced.
+     * @param admissionController the controller admitting and executing invocations.
+     * @param socketFile the location of the Unix domain socket.
+     * @return a new daemon not yet accepting invocations.
+     * @throws IOException if the socket could not be bound.
+     * @throws FileAlreadyExistsException if a file other than a stale socket exists at the specified location.
+     * @throws UnsupportedOperationException if the running JVM does not provide Unix domain sockets.
+     * @see #serve()
+     */
+    public static CliDaemon bind(AdmissionController admissionController, Path socketFile) throws IOException {
+        Objects.requireNonNull(admissionController);
+        deleteStaleSocket(socketFile);
+        return new CliDaemon(admissionController, socketFile, UnixDomainSockets.bind(socketFile));
+    }
+
+    /**
+     * Deletes the specified file only if it is a socket no daemon is listening on.
+     */
+    private static void deleteStaleSocket(Path socketFile) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(socketFile, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (!attributes.isOther())
+            throw new FileAlreadyExistsException(socketFile.toString(), null, "Refusing to replace a file that is not a socket");
+        try (SocketChannel ignored = UnixDomainSockets.connect(socketFile)) {
+            throw new FileAlreadyExistsException(socketFile.toString(), null, "Another daemon is listening on this socket");
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException e) {
+            // here if nobody is listening: the socket is stale
+        }
+        Files.delete(socketFile);
+    }
+
+    private CliDaemon(AdmissionController admissionController, Path socketFile, ServerSocketChannel serverChannel) {
+        this.admissionController = admissionController;
+        this.socketFile = socketFile;
+        this.serverChannel = serverChannel;
+    }
+
+    /**
+     * Accepts and executes invocations until this daemon is closed.
+     * @throws IOException if accepting connections fails.
+     */
+    public void serve() throws IOException {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        System.setIn(ContextRouting.in(originalIn));
+        System.setOut(ContextRouting.out(originalOut, InvocationContext::getOut));
+        System.setErr(ContextRouting.out(originalErr, InvocationContext::getErr));
+        try {
+            while (serverChannel.isOpen()) {
+                SocketChannel channel;
+                try {
+                    channel = serverChannel.accept();
+                } catch (ClosedChannelException e) {
+                    // here if closed while waiting
+                    return;
+                }
+                invocationExecutor.execute(() -> {
+                    try (channel) {
+                        handle(channel);
+                    } catch (IOException | RuntimeException e) {
+                        // the client vanished, other clients are not affected
+                        originalErr.println("Invocation aborted: " + e.getMessage());
+                    }
+                });
+            }
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+    }
+
+    private void handle(SocketChannel channel) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(UnixDomainSockets.newInputStream(channel)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(UnixDomainSockets.newOutputStream(channel)));
+        DaemonProtocol.Request request = DaemonProtocol.readRequest(in);
+
+        PipedOutputStream stdinSink = new PipedOutputStream();
+        PipedInputStream stdin = new PipedInputStream(stdinSink);
+        // cancelled once the client disconnects
+        CancellationToken cancellationToken = CancellationToken.create();
+        Thread stdinForwarder = new Thread(() -> forwardStdin(in, stdinSink, cancellationToken), "clihats-daemon-stdin");
+        stdinForwarder.setDaemon(true);
+        stdinForwarder.start();
+        PrintStream stdout = new PrintStream(new BufferedOutputStream(new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDOUT)), true);
+        PrintStream stderr = new PrintStream(new BufferedOutputStream(new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDERR)), true);
+        AtomicReference<Integer> requestedExitCode = new AtomicReference<>();
+        InvocationContext context = InvocationContext.system()
+                .withIn(stdin)
+                .withOut(stdout)
+                .withErr(stderr)
+                .withEnvironment(request.getEnvironment())
+                .withWorkingDirectory(Path.of(request.getWorkingDirectory()))
+                .withExitHandler(requestedExitCode::set)
+                .withCancellationToken(cancellationToken);
+
+        int exitCode;
+        try {
+            if (isCompletionRequest(request.getArgs()))
+                complete(request.getArgs(), stdout);
+            else
+                admissionController.execute(request.getArgs(), context);
+            exitCode = Objects.requireNonNullElse(requestedExitCode.get(), 0);
+        } catch (CliException e) {
+            exitCode = new CliExceptionHandler(stdout, stderr).handle(e);
+        } catch (RuntimeException e) {
+            e.printStackTrace(stderr);
+            exitCode = 1;
+        } finally {
+            stdout.flush();
+            stderr.flush();
+            // releases the forwarder if it waits for the invocation to read
+            stdin.close();
+        }
+        DaemonProtocol.writeExit(out, exitCode);
+    }
+
+    private static boolean isCompletionRequest(String[] args) {
+        return args.length > 0 && CliCompletion.COMPLETE_SWITCH.equals(args[0]);
+    }
+
+    /**
+     * Answers completion requests without admission control. Provided candidates are cached across requests.
+     */
+    private void complete(String[] args, PrintStream out) {
+        List<String> completions = admissionController.getCommander().getCompletions(Arrays.copyOfRange(args, 1, args.length), completionCache);
+        for (String completion : completions)
+            out.println(completion);
+    }
+
+    /**
+     * Forwards input frames of the client to the invocation until the end of its input. Then waits for the client to
+     * disconnect. Cancels the invocation as soon as the client disconnects, for example if it has been killed, such
+     * that an abandoned invocation neither keeps running nor keeps its admission.
+     */
+    private static void forwardStdin(DataInputStream in, PipedOutputStream stdinSink, CancellationToken cancellationToken) {
+        try {
+            forwardStdinFrames(in, stdinSink);
+            // the client sends nothing after the end of its input: reading returns once it disconnects
+            while (in.read() >= 0) {
+                // discard
+            }
+        } catch (IOException e) {
+            // here if the client disconnected or the invocation finished and closed the socket
+        } finally {
+            cancellationToken.cancel();
+        }
+    }
+
+    private static void forwardStdinFrames(DataInputStream in, PipedOutputStream stdinSink) throws IOException {
+        // the invocation sees the end of its input once the sink is closed
+        try (stdinSink) {
+            boolean isReading = true;
+            while (true) {
+                if (in.readByte() != DaemonProtocol.STDIN)
+                    throw new IOException("Unexpected frame from client");
+                int length = DaemonProtocol.readLength(in);
+                if (length == 0)
+                    return;
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (isReading) {
+                    try {
+                        stdinSink.write(payload);
+                    } catch (IOException e) {
+                        // here if the invocation stopped reading its input: keep watching the connection
+                        isReading = false;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting invocations and removes the socket file.
+     */
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        invocationExecutor.shutdown();
+        Files.deleteIfExists(socketFile);
+    }
+
+}
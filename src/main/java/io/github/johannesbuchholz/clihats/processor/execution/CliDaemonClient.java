@@ -0,0 +1,110 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import java.io.*;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Forwards an invocation to a {@link CliDaemon} together with the standard streams, working directory and
+ * environment of the current process.
+ * <p>Usage: {@code CliDaemonClient <socket-file> [args...]}. The process exits with the exit code of the
+ * invocation.</p>
+ * <p>Requires Java 16 or later.</p>
+ */
+public class CliDaemonClient {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path socketFile;
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: " + CliDaemonClient.class.getSimpleName() + " <socket-file> [args...]");
+            System.exit(2);
+        }
+        int exitCode;
+        try {
+            exitCode = forSocket(Paths.get(args[0])).invoke(Arrays.copyOfRange(args, 1, args.length), System.in, System.out, System.err);
+        } catch (IOException e) {
+            System.err.println("Could not reach daemon at " + args[0] + ": " + e.getMessage());
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * @param socketFile the location of the Unix domain socket of the daemon.
+     * @return a new client.
+     */
+    public static CliDaemonClient forSocket(Path socketFile) {
+        return new CliDaemonClient(Objects.requireNonNull(socketFile));
+    }
+
+    private CliDaemonClient(Path socketFile) {
+        this.socketFile = socketFile;
+    }
+
+    /**
+     * Invokes the daemon using the working directory and environment of the current process.
+     * @see #invoke(String[], String, Map, InputStream, OutputStream, OutputStream)
+     */
+    public int invoke(String[] args, InputStream stdin, OutputStream stdout, OutputStream stderr) throws IOException {
+        return invoke(args, System.getProperty("user.dir"), System.getenv(), stdin, stdout, stderr);
+    }
+
+    /**
+     * Sends the specified invocation to the daemon and waits for it to complete. Input is forwarded while the
+     * invocation runs.
+     * @return the exit code of the invocation.
+     * @throws IOException if the daemon could not be reached or disconnected before completing the invocation.
+     */
+    public int invoke(String[] args, String workingDirectory, Map<String, String> environment,
+                      InputStream stdin, OutputStream stdout, OutputStream stderr) throws IOException {
+        try (SocketChannel channel = UnixDomainSockets.connect(socketFile)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(UnixDomainSockets.newOutputStream(channel)));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(UnixDomainSockets.newInputStream(channel)));
+            DaemonProtocol.writeRequest(out, new DaemonProtocol.Request(args, workingDirectory, environment));
+            Thread stdinForwarder = new Thread(() -> forwardStdin(stdin, out), "clihats-client-stdin");
+            stdinForwarder.setDaemon(true);
+            stdinForwarder.start();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (true) {
+                byte type = in.readByte();
+                int length = DaemonProtocol.readLength(in);
+                if (type == DaemonProtocol.EXIT) {
+                    stdout.flush();
+                    stderr.flush();
+                    return in.readInt();
+                }
+                OutputStream target = type == DaemonProtocol.STDERR ? stderr : stdout;
+                while (length > 0) {
+                    int read = in.read(buffer, 0, Math.min(length, buffer.length));
+                    if (read < 0)
+                        throw new EOFException("Daemon disconnected");
+                    target.write(buffer, 0, read);
+                    length -= read;
+                }
+                target.flush();
+            }
+        }
+    }
+
+    private static void forwardStdin(InputStream stdin, DataOutputStream out) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = stdin.read(buffer)) >= 0) {
+                if (read > 0)
+                    DaemonProtocol.writeFrame(out, DaemonProtocol.STDIN, buffer, 0, read);
+            }
+            DaemonProtocol.writeFrame(out, DaemonProtocol.STDIN, buffer, 0, 0);
+        } catch (IOException e) {
+            // here if the invocation completed before all input was sent
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.CommandLineTokenizer;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionCache;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.processor.exceptions.CliExceptionHandler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Interactive loop reading command lines from the input stream of an {@link InvocationContext} and executing them
+ * within this process.
+ * <p>
+ *     Lines are split into arguments like by {@link CommandLineTokenizer}. Besides invocations of the commander, the
+ *     following lines are understood:
+ * </p>
+ * <ul>
+ *     <li>{@code exit} or {@code quit} ends the loop.</li>
+ *     <li>{@code history} lists the most recent lines.</li>
+ *     <li>{@code !!} and {@code !<n>} repeat the last line and the line with number n.</li>
+ *     <li>A line ending in a tab character lists all completions of its last argument instead of executing it.
+ *     Candidates looked up by a {@link io.github.johannesbuchholz.clihats.core.execution.CompletionProvider} are
+ *     cached for the lifetime of the shell.</li>
+ * </ul>
+ */
+final class CliShell {
+
+    static final int MAX_HISTORY_SIZE = 500;
+    private static final char COMPLETION_REQUEST = '\t';
+    private static final List<String> EXIT_COMMANDS = List.of("exit", "quit");
+    private static final String HISTORY_COMMAND = "history";
+    private static final String HISTORY_EXPANSION_PREFIX = "!";
+    private static final String LAST_LINE_EXPANSION = "!!";
+
+    private final Commander commander;
+    private final InvocationContext context;
+    private final CliExceptionHandler cliExceptionHandler;
+    private final Deque<String> history = new ArrayDeque<>();
+    private final CompletionCache completionCache = CompletionCache.create();
+    // number of the most recent history entry
+    private int lastHistoryNumber = 0;
+
+    CliShell(Commander commander, InvocationContext context) {
+        this.commander = commander;
+        this.context = context;
+        this.cliExceptionHandler = new CliExceptionHandler(context.getOut(), context.getErr());
+    }
+
+    /**
+     * Reads and executes lines until the input ends or an exit command is read.
+     * @throws IOException if reading from the input fails.
+     */
+    void run() throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(context.getIn()));
+        PrintStream out = context.getOut();
+        String prompt = commander.getName() + "> ";
+        String line;
+        while (true) {
+            out.print(prompt);
+            out.flush();
+            if ((line = reader.readLine()) == null) {
+                out.println();
+                return;
+            }
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == COMPLETION_REQUEST) {
+                printCompletions(line.substring(0, line.length() - 1));
+                continue;
+            }
+            String trimmedLine = line.trim();
+            if (EXIT_COMMANDS.contains(trimmedLine))
+                return;
+            if (trimmedLine.startsWith(HISTORY_EXPANSION_PREFIX)) {
+                trimmedLine = expandHistory(trimmedLine);
+                if (trimmedLine == null)
+                    continue;
+                out.println(trimmedLine);
+            }
+            if (trimmedLine.isEmpty())
+                continue;
+            addToHistory(trimmedLine);
+            if (trimmedLine.equals(HISTORY_COMMAND))
+                printHistory();
+            else
+                execute(trimmedLine);
+        }
+    }
+
+    private void execute(String line) {
+        String[] args;
+        try {
+            args = CommandLineTokenizer.tokenize(line);
+        } catch (IllegalArgumentException e) {
+            context.getErr().println("Invalid command line: " + e.getMessage());
+            return;
+        }
+        if (args.length == 0)
+            return;
+        try {
+            commander.execute(args, context);
+        } catch (CliException e) {
+            cliExceptionHandler.handle(e);
+        } catch (RuntimeException e) {
+            // the shell survives failing commands
+            e.printStackTrace(context.getErr());
+        }
+    }
+
+    private void printCompletions(String partialLine) {
+        String[] args;
+        try {
+            args = CommandLineTokenizer.tokenize(partialLine);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (partialLine.isEmpty() || Character.isWhitespace(partialLine.charAt(partialLine.length() - 1))) {
+            // here if a new argument is started
+            args = Arrays.copyOf(args, args.length + 1);
+            args[args.length - 1] = "";
+        }
+        List<String> completions = commander.getCompletions(args, completionCache);
+        if (!completions.isEmpty())
+            context.getOut().println(String.join("  ", completions));
+    }
+
+    private String expandHistory(String line) {
+        if (history.isEmpty()) {
+            context.getErr().println("History is empty");
+            return null;
+        }
+        if (line.equals(LAST_LINE_EXPANSION))
+            return history.getLast();
+        int number;
+        try {
+            number = Integer.parseInt(line.substring(HISTORY_EXPANSION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            context.getErr().println("Invalid history reference: " + line);
+            return null;
+        }
+        int firstHistoryNumber = lastHistoryNumber - history.size() + 1;
+        if (number < firstHistoryNumber || number > lastHistoryNumber) {
+            context.getErr().println("No history entry " + number);
+            return null;
+        }
+        return history.stream().skip(number - firstHistoryNumber).findFirst().orElseThrow();
+    }
+
+    private void addToHistory(String line) {
+        if (history.size() == MAX_HISTORY_SIZE)
+            history.removeFirst();
+        history.addLast(line);
+        lastHistoryNumber++;
+    }
+
+    private void printHistory() {
+        int number = lastHistoryNumber - history.size() + 1;
+        for (String line : history)
+            context.getOut().printf("%5d  %s%n", number++, line);
+    }
+
+}
@@ -0,0 +1,93 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.function.Function;
+
+/**
+ * Standard streams forwarding to the streams of the {@link InvocationContext} bound to the calling thread. If no
+ * context is bound or the context refers to the standard stream itself, the original stream is used.
+ */
+final class ContextRouting {
+
+    private ContextRouting() {}
+
+    static PrintStream out(PrintStream original, Function<InvocationContext, PrintStream> streamOfContext) {
+        RoutingOutputStream routingStream = new RoutingOutputStream(original, streamOfContext);
+        PrintStream router = new PrintStream(routingStream, true);
+        routingStream.router = router;
+        return router;
+    }
+
+    static InputStream in(InputStream original) {
+        return new RoutingInputStream(original);
+    }
+
+    private static final class RoutingOutputStream extends OutputStream {
+
+        private final PrintStream original;
+        private final Function<InvocationContext, PrintStream> streamOfContext;
+        private volatile PrintStream router;
+
+        private RoutingOutputStream(PrintStream original, Function<InvocationContext, PrintStream> streamOfContext) {
+            this.original = original;
+            this.streamOfContext = streamOfContext;
+        }
+
+        private PrintStream target() {
+            PrintStream target = streamOfContext.apply(InvocationContext.current());
+            return target == router ? original : target;
+        }
+
+        @Override
+        public void write(int b) {
+            target().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            target().write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            target().flush();
+        }
+
+    }
+
+    private static final class RoutingInputStream extends InputStream {
+
+        private final InputStream original;
+
+        private RoutingInputStream(InputStream original) {
+            this.original = original;
+        }
+
+        private InputStream source() {
+            InputStream source = InvocationContext.current().getIn();
+            return source == this ? original : source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return source().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return source().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return source().available();
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wire format between {@link CliDaemonClient} and {@link CliDaemon}. All integers are big-endian, strings are
+ * UTF-8 encoded and prefixed by their length in bytes.
+ * <ol>
+ *     <li>The client sends a request: protocol version, argument count, arguments, working directory, environment
+ *     variable count, then name and value of each environment variable.</li>
+ *     <li>Both sides then send frames consisting of a type byte and a length-prefixed payload. The client sends
+ *     {@link #STDIN} frames and ends its input with an empty one. The daemon sends {@link #STDOUT} and
+ *     {@link #STDERR} frames and ends the invocation with an {@link #EXIT} frame whose payload is the exit code.</li>
+ * </ol>
+ */
+final class DaemonProtocol {
+
+    static final int VERSION = 1;
+    static final byte STDIN = 0;
+    static final byte STDOUT = 1;
+    static final byte STDERR = 2;
+    static final byte EXIT = 3;
+    private static final int MAX_LENGTH = 1 << 24;
+
+    private DaemonProtocol() {}
+
+    static void writeRequest(DataOutputStream out, Request request) throws IOException {
+        out.writeInt(VERSION);
+        out.writeInt(request.getArgs().length);
+        for (String arg : request.getArgs())
+            writeString(out, arg);
+        writeString(out, request.getWorkingDirectory());
+        out.writeInt(request.getEnvironment().size());
+        for (Map.Entry<String, String> variable : request.getEnvironment().entrySet()) {
+            writeString(out, variable.getKey());
+            writeString(out, variable.getValue());
+        }
+        out.flush();
+    }
+
+    static Request readRequest(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != VERSION)
+            throw new IOException(String.format("Unsupported protocol version %d, expected %d", version, VERSION));
+        String[] args = new String[readLength(in)];
+        for (int i = 0; i < args.length; i++)
+            args[i] = readString(in);
+        String workingDirectory = readString(in);
+        int environmentSize = readLength(in);
+        Map<String, String> environment = new HashMap<>();
+        for (int i = 0; i < environmentSize; i++)
+            environment.put(readString(in), readString(in));
+        return new Request(args, workingDirectory, environment);
+    }
+
+    static void writeFrame(DataOutputStream out, byte type, byte[] payload, int off, int len) throws IOException {
+        synchronized (out) {
+            out.writeByte(type);
+            out.writeInt(len);
+            out.write(payload, off, len);
+            out.flush();
+        }
+    }
+
+    static void writeExit(DataOutputStream out, int exitCode) throws IOException {
+        synchronized (out) {
+            out.writeByte(EXIT);
+            out.writeInt(Integer.BYTES);
+            out.writeInt(exitCode);
+            out.flush();
+        }
+    }
+
+    static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_LENGTH)
+            throw new IOException("Invalid length " + length);
+        return length;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static final class Request {
+
+        private final String[] args;
+        private final String workingDirectory;
+        private final Map<String, String> environment;
+
+        Request(String[] args, String workingDirectory, Map<String, String> environment) {
+            this.args = args;
+            this.workingDirectory = workingDirectory;
+            this.environment = environment;
+        }
+
+        String[] getArgs() {
+            return args;
+        }
+
+        String getWorkingDirectory() {
+            return workingDirectory;
+        }
+
+        Map<String, String> getEnvironment() {
+            return environment;
+        }
+
+    }
+
+    /**
+     * Sends everything written to it as frames of a fixed type.
+     */
+    static final class FrameOutputStream extends OutputStream {
+
+        private final DataOutputStream out;
+        private final byte type;
+
+        FrameOutputStream(DataOutputStream out, byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0)
+                writeFrame(out, type, b, off, len);
+        }
+
+    }
+
+}
@@ -0,0 +1,188 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * Access to Unix domain socket channels. CliHats is compiled for Java 11 while these channels are provided since
+ * Java 16. They are therefore looked up at runtime.
+ */
+final class UnixDomainSockets {
+
+    // all null if the running JVM does not provide Unix domain sockets
+    private static final ProtocolFamily UNIX;
+    private static final MethodHandle NEW_ADDRESS;
+    private static final MethodHandle OPEN_SERVER_CHANNEL;
+    private static final MethodHandle OPEN_CHANNEL;
+
+    static {
+        ProtocolFamily unix;
+        MethodHandle newAddress;
+        MethodHandle openServerChannel;
+        MethodHandle openChannel;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> addressClass = Class.forName("java.net.UnixDomainSocketAddress");
+            newAddress = lookup.findStatic(addressClass, "of", MethodType.methodType(addressClass, Path.class))
+                    .asType(MethodType.methodType(SocketAddress.class, Path.class));
+            openServerChannel = lookup.findStatic(ServerSocketChannel.class, "open", MethodType.methodType(ServerSocketChannel.class, ProtocolFamily.class));
+            openChannel = lookup.findStatic(SocketChannel.class, "open", MethodType.methodType(SocketChannel.class, ProtocolFamily.class));
+            unix = StandardProtocolFamily.valueOf("UNIX");
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            unix = null;
+            newAddress = null;
+            openServerChannel = null;
+            openChannel = null;
+        }
+        UNIX = unix;
+        NEW_ADDRESS = newAddress;
+        OPEN_SERVER_CHANNEL = openServerChannel;
+        OPEN_CHANNEL = openChannel;
+    }
+
+    private UnixDomainSockets() {}
+
+    /**
+     * @return true if the running JVM provides Unix domain sockets.
+     */
+    static boolean isSupported() {
+        return NEW_ADDRESS != null;
+    }
+
+    /**
+     * Binds a new server socket accessible by its owner only if the file system supports POSIX permissions. To not
+     * rely on the umask, the socket is bound within a new directory accessible by the owner only, restricted to mode
+     * 0600 and then moved to the specified location.
+     */
+    static ServerSocketChannel bind(Path socketFile) throws IOException {
+        checkSupported();
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix"))
+            return bindDirectly(socketFile);
+        Path parent = socketFile.toAbsolutePath().getParent();
+        Path privateDirectory = Files.createTempDirectory(parent, ".clihats-",
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        Path privateSocketFile = privateDirectory.resolve("s");
+        try {
+            ServerSocketChannel channel = bindDirectly(privateSocketFile);
+            try {
+                Files.setPosixFilePermissions(privateSocketFile, PosixFilePermissions.fromString("rw-------"));
+                Files.move(privateSocketFile, socketFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            return channel;
+        } finally {
+            Files.deleteIfExists(privateSocketFile);
+            Files.delete(privateDirectory);
+        }
+    }
+
+    private static ServerSocketChannel bindDirectly(Path socketFile) throws IOException {
+        ServerSocketChannel channel;
+        try {
+            channel = (ServerSocketChannel) OPEN_SERVER_CHANNEL.invokeExact(UNIX);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not open Unix domain socket", e);
+        }
+        try {
+            channel.bind(toAddress(socketFile));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    static SocketChannel connect(Path socketFile) throws IOException {
+        checkSupported();
+        SocketChannel channel;
+        try {
+            channel = (SocketChannel) OPEN_CHANNEL.invokeExact(UNIX);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not open Unix domain socket", e);
+        }
+        try {
+            channel.connect(toAddress(socketFile));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    private static void checkSupported() {
+        if (!isSupported())
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later");
+    }
+
+    private static SocketAddress toAddress(Path socketFile) {
+        try {
+            return (SocketAddress) NEW_ADDRESS.invokeExact(socketFile);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create Unix domain socket address", e);
+        }
+    }
+
+    /**
+     * Unlike {@link java.nio.channels.Channels#newInputStream}, the returned stream does not lock the channel. Thus,
+     * one thread may read while another thread writes.
+     */
+    static InputStream newInputStream(SocketChannel channel) {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0)
+                    return 0;
+                return channel.read(ByteBuffer.wrap(b, off, len));
+            }
+        };
+    }
+
+    /**
+     * @see #newInputStream(SocketChannel)
+     */
+    static OutputStream newOutputStream(SocketChannel channel) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+            }
+        };
+    }
+
+}
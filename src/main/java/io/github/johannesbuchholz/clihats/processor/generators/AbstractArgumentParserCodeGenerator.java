@@ -12,6 +12,9 @@ import io.github.johannesbuchholz.clihats.processor.util.UserInputPrompter;
 
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public abstract class AbstractArgumentParserCodeGenerator implements ArgumentParserCodeGenerator {
 
@@ -19,18 +22,27 @@ public abstract class AbstractArgumentParserCodeGenerator implements ArgumentPar
     final String description;
     final String defaultValue;
     final TypeElement mapperElement;
+    final TypeElement completionProviderElement;
     final TargetParameter targetParameter;
 
-    AbstractArgumentParserCodeGenerator(Argument.Necessity necessity, String description, String defaultValue, TypeElement mapperElement, TargetParameter targetParameter) {
+    AbstractArgumentParserCodeGenerator(Argument.Necessity necessity, String description, String defaultValue, TypeElement mapperElement, TypeElement completionProviderElement, TargetParameter targetParameter) {
         this.necessity = necessity;
         this.description = description;
         this.defaultValue = defaultValue;
         this.mapperElement = mapperElement;
+        this.completionProviderElement = completionProviderElement;
         this.targetParameter = targetParameter;
     }
 
     public abstract SnippetCodeData generateParserCode();
 
+    @Override
+    public String generateSearchText() {
+        List<String> terms = new ArrayList<>(getOptionNames());
+        terms.add(description);
+        return String.join(" ", terms).trim();
+    }
+
     SnippetCodeData generatePromptCode() {
         String promptText = TextUtils.quote(TextUtils.uppercaseFirst(targetParameter.getName()) + ":\\n");
         String userInputSupplierCode;
@@ -75,6 +87,37 @@ public abstract class AbstractArgumentParserCodeGenerator implements ArgumentPar
         return codeData;
     }
 
+    /**
+     * @return the names of the constants of the specified type if it is an enum mapped by the default mapper.
+     */
+    List<String> getKnownValues(TypeElement targetTypeElement) {
+        if (!mapperElement.asType().equals(CommandLineInterfaceProcessor.identityMapperType.asType())
+                || targetTypeElement.getKind() != ElementKind.ENUM)
+            return List.of();
+        return targetTypeElement.getEnclosedElements().stream()
+                .filter(element -> element.getKind() == ElementKind.ENUM_CONSTANT)
+                .map(element -> element.getSimpleName().toString())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The code attaching the configured {@link io.github.johannesbuchholz.clihats.core.execution.CompletionProvider}
+     * if any.
+     */
+    SnippetCodeData generateCompletionProviderCode() {
+        if (completionProviderElement.asType().equals(CommandLineInterfaceProcessor.completionProviderType.asType()))
+            return SnippetCodeData.empty();
+        return SnippetCodeData.from(
+                String.format(".withCompletionProvider(new %s())", completionProviderElement.getSimpleName()),
+                ProcessingUtils.getPackageStrings(completionProviderElement));
+    }
+
+    String generateLazyMappingCode() {
+        if (targetParameter.isLazy())
+            return ".withLazyMapping()";
+        return "";
+    }
+
     String generateRequiredCode() {
         if (necessity == Argument.Necessity.REQUIRED)
             return ".withRequired(true)";
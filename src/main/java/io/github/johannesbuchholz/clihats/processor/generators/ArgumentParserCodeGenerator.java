@@ -1,9 +1,30 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
 import io.github.johannesbuchholz.clihats.processor.model.SnippetCodeData;
 
+import java.util.List;
+
 public interface ArgumentParserCodeGenerator {
 
     SnippetCodeData generateParserCode();
 
+    /**
+     * @return the names of the generated option parser. Empty if the generated parser is not an option parser.
+     */
+    default List<String> getOptionNames() {
+        return List.of();
+    }
+
+    /**
+     * @return the names and the description of the generated parser separated by spaces.
+     */
+    String generateSearchText();
+
+    /**
+     * Adds the names and known values of the generated parser to the specified completion table.
+     * @param path the path of the command or commander the generated parser belongs to.
+     */
+    void addCompletionEntry(CompletionTable.Builder tableBuilder, List<String> path);
+
 }
@@ -1,5 +1,6 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
+import io.github.johannesbuchholz.clihats.core.execution.parser.Lazy;
 import io.github.johannesbuchholz.clihats.processor.CommandLineInterfaceProcessor;
 import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
 import io.github.johannesbuchholz.clihats.processor.exceptions.ArgumentConfigurationException;
@@ -17,8 +18,11 @@ import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 public class ArgumentParserCodeGeneratorFactory {
 
@@ -42,7 +46,14 @@ public class ArgumentParserCodeGeneratorFactory {
             }
             ArgumentDto argumentDto = pair.getArgumentDto();
             VariableElement targetElement = pair.getTargetParameter();
+            verifyCompletionProvider(argumentDto, targetElement);
             Argument.Type parserType = argumentDto.getType();
+            if (argumentDto.isGlobal()) {
+                if (parserType != Argument.Type.OPTION)
+                    throw new ArgumentConfigurationException(String.format("Only options may be global but %s is of type %s", targetElement, parserType));
+                parameterCodeGeneratorPairs.add(ParameterCodeGeneratorPair.globalPair(targetElement, createOptionParser(argumentDto, targetElement)));
+                continue;
+            }
             ArgumentParserCodeGenerator parserCodeGenerator;
             switch (parserType) {
                 case OPTION:
@@ -63,8 +74,11 @@ public class ArgumentParserCodeGeneratorFactory {
     }
 
     private ArgumentParserCodeGenerator createOptionParser(ArgumentDto argumentDto, VariableElement targetElement) throws ArgumentConfigurationException {
-        verifyMapperType(targetElement.asType(), argumentDto.getMapper());
-        TargetParameter targetParameter = extractTargetParameter(targetElement);
+        Optional<DeclaredType> lazyValueType = deduceLazyValueType(targetElement.asType(), argumentDto.getMapper());
+        if (lazyValueType.isPresent() && !argumentDto.getFlagValue().isEmpty())
+            throw new ArgumentConfigurationException(String.format("Lazy parameter types are not supported for flag options: %s", targetElement));
+        verifyMapperType(lazyValueType.map(TypeMirror.class::cast).orElse(targetElement.asType()), argumentDto.getMapper());
+        TargetParameter targetParameter = extractTargetParameter(targetElement, lazyValueType.orElse(null));
         if (argumentDto.getFlagValue().isEmpty()) {
             return new ValuedOptionParserCodeGenerator(argumentDto, targetParameter);
         }
@@ -72,8 +86,9 @@ public class ArgumentParserCodeGeneratorFactory {
     }
 
     private ArgumentParserCodeGenerator createOperandParser(ArgumentDto argumentDto, VariableElement targetElement, int operandsEncountered) throws ArgumentConfigurationException {
-        verifyMapperType(targetElement.asType(), argumentDto.getMapper());
-        return new OperandParserCodeGenerator(argumentDto, extractTargetParameter(targetElement), operandsEncountered);
+        Optional<DeclaredType> lazyValueType = deduceLazyValueType(targetElement.asType(), argumentDto.getMapper());
+        verifyMapperType(lazyValueType.map(TypeMirror.class::cast).orElse(targetElement.asType()), argumentDto.getMapper());
+        return new OperandParserCodeGenerator(argumentDto, extractTargetParameter(targetElement, lazyValueType.orElse(null)), operandsEncountered);
     }
 
     private ArgumentParserCodeGenerator createArrayOperandParser(ArgumentDto argumentDto, VariableElement targetElement, int operandsEncountered) throws ArgumentConfigurationException {
@@ -104,6 +119,19 @@ public class ArgumentParserCodeGeneratorFactory {
         }
     }
 
+    private void verifyCompletionProvider(ArgumentDto argumentDto, VariableElement targetElement) throws ArgumentConfigurationException {
+        TypeElement completionProviderElement = argumentDto.getCompletionProvider();
+        if (processingEnvironment.getTypeUtils().isSameType(completionProviderElement.asType(), CommandLineInterfaceProcessor.completionProviderType.asType()))
+            // here if no values are provided
+            return;
+        if (!argumentDto.getFlagValue().isEmpty())
+            throw new ArgumentConfigurationException(String.format("Completion providers are not supported for flag options: %s", targetElement));
+        if (!completionProviderElement.getModifiers().contains(Modifier.PUBLIC) || completionProviderElement.getModifiers().contains(Modifier.ABSTRACT))
+            throw new ArgumentConfigurationException(String.format("Completion provider %s is not a public non-abstract class", completionProviderElement));
+        if (ProcessingUtils.getPublicNoArgsConstructor(completionProviderElement).isEmpty())
+            throw new ArgumentConfigurationException(String.format("Completion provider %s does not possess a public no-args constructor", completionProviderElement));
+    }
+
     private DeclaredType deduceArrayComponentTypeAndVerify(VariableElement targetElement) throws ArgumentConfigurationException {
         TypeMirror targetType = targetElement.asType();
         if (targetType.getKind() != TypeKind.ARRAY)
@@ -118,6 +146,42 @@ public class ArgumentParserCodeGeneratorFactory {
         return (DeclaredType) componentType;
     }
 
+    /**
+     * Returns the type wrapped by {@link Lazy} or {@link Supplier} if the target type is such a type and the value
+     * should be mapped lazily. A custom mapper already producing the target type itself disables lazy mapping.
+     */
+    private Optional<DeclaredType> deduceLazyValueType(TypeMirror targetType, TypeElement mapperInputTypeElement) throws ArgumentConfigurationException {
+        if (targetType.getKind() != TypeKind.DECLARED)
+            return Optional.empty();
+        Types typeUtils = processingEnvironment.getTypeUtils();
+        TypeMirror erasedTargetType = typeUtils.erasure(targetType);
+        if (!typeUtils.isSameType(erasedTargetType, typeUtils.erasure(CommandLineInterfaceProcessor.lazyType.asType()))
+                && !typeUtils.isSameType(erasedTargetType, typeUtils.erasure(CommandLineInterfaceProcessor.supplierType.asType())))
+            return Optional.empty();
+        if (!typeUtils.isSameType(mapperInputTypeElement.asType(), CommandLineInterfaceProcessor.identityMapperType.asType())) {
+            TypeMirror mapperTargetType = ProcessingUtils.getMatchingSuperClass(mapperInputTypeElement, CommandLineInterfaceProcessor.abstractValueMapperType, processingEnvironment)
+                    .map(declaredMapperType -> declaredMapperType.getTypeArguments().get(0))
+                    .orElseThrow(() -> new IllegalStateException("Mapper type should implement ValueMapper but is " + mapperInputTypeElement));
+            if (typeUtils.isAssignable(mapperTargetType, targetType))
+                // here if the mapper creates the lazy wrapper on its own
+                return Optional.empty();
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) targetType).getTypeArguments();
+        if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED)
+            throw new ArgumentConfigurationException(String.format("Lazy target type must possess exactly one declared type argument: %s", targetType));
+        return Optional.of((DeclaredType) typeArguments.get(0));
+    }
+
+    private TargetParameter extractTargetParameter(VariableElement targetVariableElement, DeclaredType lazyValueType) {
+        if (lazyValueType == null)
+            return extractTargetParameter(targetVariableElement);
+        return new TargetParameter(
+                targetVariableElement.getSimpleName().toString(),
+                (TypeElement) lazyValueType.asElement(),
+                true
+        );
+    }
+
     private TargetParameter extractTargetParameter(VariableElement targetVariableElement) {
         return new TargetParameter(
                 targetVariableElement.getSimpleName().toString(),
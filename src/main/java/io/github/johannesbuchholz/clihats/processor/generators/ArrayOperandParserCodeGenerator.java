@@ -1,5 +1,6 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
 import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
 import io.github.johannesbuchholz.clihats.processor.model.ArgumentDto;
 import io.github.johannesbuchholz.clihats.processor.model.SnippetCodeData;
@@ -20,7 +21,7 @@ public class ArrayOperandParserCodeGenerator extends AbstractArgumentParserCodeG
     private final DeclaredType componentType;
 
     public ArrayOperandParserCodeGenerator(ArgumentDto argumentInputs, TargetParameter targetParameter, int operandIndex, DeclaredType componentType) {
-        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), targetParameter);
+        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), argumentInputs.getCompletionProvider(), targetParameter);
         names = argumentInputs.getName();
         this.operandIndex = operandIndex;
         this.componentType = componentType;
@@ -30,12 +31,14 @@ public class ArrayOperandParserCodeGenerator extends AbstractArgumentParserCodeG
     public SnippetCodeData generateParserCode() {
         SnippetCodeData mapperSnippetCodeData = generateMapperCode();
         SnippetCodeData promptSnippetCodeData = generatePromptCode();
+        SnippetCodeData completionProviderSnippetCodeData = generateCompletionProviderCode();
         Set<String> imports = new HashSet<>(ProcessingUtils.getPackageStrings(ArgumentParsers.class));
         imports.addAll(promptSnippetCodeData.getImportPackages());
         imports.addAll(mapperSnippetCodeData.getImportPackages());
+        imports.addAll(completionProviderSnippetCodeData.getImportPackages());
         return SnippetCodeData.from(
                 String.format(
-                        "%s.arrayOperand(%s)%s%s%s%s%s%s",
+                        "%s.arrayOperand(%s)%s%s%s%s%s%s%s",
                         ArgumentParsers.class.getSimpleName(),
                         operandIndex,
                         generateName(),
@@ -43,7 +46,8 @@ public class ArrayOperandParserCodeGenerator extends AbstractArgumentParserCodeG
                         generateDefaultValueCode(),
                         mapperSnippetCodeData.getCodeSnippet(),
                         promptSnippetCodeData.getCodeSnippet(),
-                        generateDescriptionCode()
+                        generateDescriptionCode(),
+                        completionProviderSnippetCodeData.getCodeSnippet()
                 ),
                 imports
         );
@@ -59,6 +63,11 @@ public class ArrayOperandParserCodeGenerator extends AbstractArgumentParserCodeG
         return ".withDisplayName(" + TextUtils.quote(TextUtils.toUpperCaseString(displayName)) + ")";
     }
 
+    @Override
+    public void addCompletionEntry(CompletionTable.Builder tableBuilder, List<String> path) {
+        tableBuilder.addOperand(path, getKnownValues((TypeElement) componentType.asElement()));
+    }
+
     private SnippetCodeData generateMapperCode() {
         SnippetCodeData valueMapperCode = generateValueMapperCode((TypeElement) componentType.asElement());
         if (valueMapperCode.isEmpty())
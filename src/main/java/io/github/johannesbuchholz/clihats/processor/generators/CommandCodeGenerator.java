@@ -1,7 +1,11 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
 import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
 import io.github.johannesbuchholz.clihats.core.execution.Instruction;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.OutputChannel;
+import io.github.johannesbuchholz.clihats.core.execution.ResultInstruction;
 import io.github.johannesbuchholz.clihats.processor.CommandLineInterfaceProcessor;
 import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
 import io.github.johannesbuchholz.clihats.processor.exceptions.ArgumentConfigurationException;
@@ -23,6 +27,8 @@ import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,10 +36,16 @@ public class CommandCodeGenerator {
 
     private static final Logger log = LoggerFactory.getLogger(CommandCodeGenerator.class);
     private static final String INSTRUCTION_PARAMETER_NAME = "args";
+    private static final int MAX_TYPED_INSTRUCTION_ARITY = 4;
 
     private final ProcessingEnvironment processingEnvironment;
     private final String name;
     private final String description;
+    private final List<String> group;
+    // null if unbounded
+    private final Duration timeout;
+    // null if the default writer is used or the method returns void
+    private final TypeElement resultWriter;
     private final ExecutableElement annotatedMethod;
 
     private final String originIdentifier;
@@ -46,10 +58,14 @@ public class CommandCodeGenerator {
         annotatedMethod = commandDto.getAnnotatedMethod();
         name = commandDto.getName();
         description = commandDto.getDescription();
+        group = commandDto.getGroup();
 
         List<ParameterArgumentPair> parameterArgumentPairs = extractArgumentDtos(commandDto.getAnnotatedMethod(), processingEnvironment);
         originIdentifier = ProcessingUtils.generateOriginIdentifier(annotatedMethod);
         validateMethod(originIdentifier, annotatedMethod);
+        validateGroup(originIdentifier, group);
+        timeout = parseTimeout(originIdentifier, commandDto.getTimeout());
+        resultWriter = verifyResultWriter(originIdentifier, annotatedMethod, commandDto.getResultWriter(), processingEnvironment);
 
         parameterCodeGeneratorPairs = gatherArgumentParserCodeGenerators(
                 parameterArgumentPairs,
@@ -115,23 +131,25 @@ public class CommandCodeGenerator {
         String flagValue = valuesByFieldName.get(ArgumentDto.FLAG_FIELD_NAME).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null);
         String defaultValue = valuesByFieldName.get(ArgumentDto.DEFAULT_FIELD_NAME).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null);
         TypeElement mapper = valuesByFieldName.get(ArgumentDto.MAPPER_FIELD_NAME).accept(new TypeAnnotationValueVisitor(), processingEnvironment.getTypeUtils());
+        TypeElement completionProvider = valuesByFieldName.get(ArgumentDto.COMPLETION_PROVIDER_FIELD_NAME).accept(new TypeAnnotationValueVisitor(), processingEnvironment.getTypeUtils());
         VariableElement necessityVariableElement = valuesByFieldName.get(ArgumentDto.NECESSITY_FIELD_NAME).accept(new EnumAnnotationValueVisitor(), null);
         String descriptionFromAnnotation = valuesByFieldName.get(ArgumentDto.DESCRIPTION_FIELD_NAME).accept(new SimpleValueAnnotationValueVisitor<>(String.class), null);
+        Boolean global = valuesByFieldName.get(ArgumentDto.GLOBAL_FIELD_NAME).accept(new SimpleValueAnnotationValueVisitor<>(Boolean.class), null);
         return new ArgumentDto(
                 ProcessingUtils.getEnumFromTypeElement(Argument.Type.class, typeVariableElement, processingEnvironment),
                 name,
                 flagValue,
                 defaultValue,
                 mapper,
+                completionProvider,
                 ProcessingUtils.getEnumFromTypeElement(Argument.Necessity.class, necessityVariableElement, processingEnvironment),
-                descriptionFromAnnotation.isEmpty() ? javadocParamDescription : descriptionFromAnnotation
+                descriptionFromAnnotation.isEmpty() ? javadocParamDescription : descriptionFromAnnotation,
+                global
         );
     }
 
     private static void validateMethod(String originIdentifier, ExecutableElement annotatedMethod) throws ConfigurationException {
         List<String> errorMessages = new ArrayList<>();
-        if (annotatedMethod.getReturnType().getKind() != TypeKind.VOID)
-            errorMessages.add("Method must have return type kind void but has return type kind " + annotatedMethod.getReturnType().getKind());
         if (!annotatedMethod.getModifiers().containsAll(List.of(Modifier.PUBLIC, Modifier.STATIC)))
             errorMessages.add("Annotated method is not public or not static: " + annotatedMethod.getModifiers());
 
@@ -151,6 +169,21 @@ public class CommandCodeGenerator {
             );
     }
 
+    private static TypeElement verifyResultWriter(String originIdentifier, ExecutableElement annotatedMethod, TypeElement resultWriterElement, ProcessingEnvironment processingEnvironment) throws ConfigurationException {
+        if (processingEnvironment.getTypeUtils().isSameType(resultWriterElement.asType(), CommandLineInterfaceProcessor.resultWriterType.asType()))
+            // here if the default writer is used
+            return null;
+        if (annotatedMethod.getReturnType().getKind() == TypeKind.VOID) {
+            log.warn("Dubious command configuration at {}: Result writer {} is ignored since the method returns void", originIdentifier, resultWriterElement);
+            return null;
+        }
+        if (!resultWriterElement.getModifiers().contains(Modifier.PUBLIC) || resultWriterElement.getModifiers().contains(Modifier.ABSTRACT))
+            throw new ConfigurationException("Result writer %s of command %s is not a public non-abstract class", resultWriterElement, originIdentifier);
+        if (ProcessingUtils.getPublicNoArgsConstructor(resultWriterElement).isEmpty())
+            throw new ConfigurationException("Result writer %s of command %s does not possess a public no-args constructor", resultWriterElement, originIdentifier);
+        return resultWriterElement;
+    }
+
     private static List<ParameterCodeGeneratorPair> gatherArgumentParserCodeGenerators(
             List<ParameterArgumentPair> parameterArgumentPairs,
             String originIdentifier,
@@ -164,22 +197,43 @@ public class CommandCodeGenerator {
         }
     }
 
+    /**
+     * The global option parsers declared by this command.
+     */
+    public List<ParameterCodeGeneratorPair> getGlobalOptionParserCodeGenerators() {
+        return parameterCodeGeneratorPairs.stream()
+                .filter(ParameterCodeGeneratorPair::isGlobal)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Code and import for a {@link Command} object.
+     * @param globalOptionParserCodes the code of all global option parsers of the commander in registration order.
      */
-    public ExtendedSnippetCodeData generateCommandCode() {
-        SnippetCodeData instructionSnippetCodeData = generateInstructionCode();
+    public ExtendedSnippetCodeData generateCommandCode(List<String> globalOptionParserCodes) {
+        SnippetCodeData instructionSnippetCodeData = generateInstructionCode(globalOptionParserCodes);
 
         Set<String> imports = new HashSet<>(instructionSnippetCodeData.getImportPackages());
         imports.addAll(ProcessingUtils.getPackageStrings(Command.class));
 
         StringBuilder commandCodeSb = new StringBuilder()
                 .append("Command.forName(").append(TextUtils.quote(generateActualCommandName())).append(")")
-                .append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withInstruction(").append(instructionSnippetCodeData.getCodeSnippet()).append(")");
+                .append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(isReturningResult() ? ".withResultInstruction(" : ".withInstruction(")
+                .append(instructionSnippetCodeData.getCodeSnippet()).append(")");
+        if (resultWriter != null) {
+            commandCodeSb
+                    .append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withResultWriter(new ").append(resultWriter.getSimpleName()).append("())");
+            imports.addAll(ProcessingUtils.getPackageStrings(resultWriter));
+        }
         String actualDescription = generateActualDescription();
         if (!actualDescription.isBlank())
             commandCodeSb
                     .append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withDescription(").append(TextUtils.quote(actualDescription)).append(")");
+        if (timeout != null) {
+            commandCodeSb
+                    .append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withTimeout(Duration.parse(").append(TextUtils.quote(timeout.toString())).append("))");
+            imports.addAll(ProcessingUtils.getPackageStrings(Duration.class));
+        }
         if (isAnyArgumentParserCodeGeneratorPresent()) {
             commandCodeSb
                     .append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withParsers(")
@@ -187,6 +241,7 @@ public class CommandCodeGenerator {
             List<String> parserCodeStrings = new ArrayList<>();
             parameterCodeGeneratorPairs.stream()
                     .filter(ParameterCodeGeneratorPair::isHasCodeGenerator)
+                    .filter(pair -> !pair.isGlobal())
                     .map(pair -> pair.getArgumentParserCodeGenerator().generateParserCode())
                     .forEach(snippet -> {
                         imports.addAll(snippet.getImportPackages());
@@ -201,14 +256,73 @@ public class CommandCodeGenerator {
                 .setBaggage(Set.of(generateSuppressWarningAnnotation()));
     }
 
-    private String generateActualCommandName() {
+    /**
+     * Adds this command together with its options and known operand values to the specified completion table. Global
+     * options are added to the root commander.
+     */
+    public void addCompletionEntries(CompletionTable.Builder tableBuilder) {
+        List<String> path = new ArrayList<>(group);
+        path.add(generateActualCommandName());
+        tableBuilder.addCommand(path);
+        parameterCodeGeneratorPairs.stream()
+                .filter(ParameterCodeGeneratorPair::isHasCodeGenerator)
+                .forEach(pair -> pair.getArgumentParserCodeGenerator().addCompletionEntry(tableBuilder, pair.isGlobal() ? List.of() : path));
+    }
+
+    private static void validateGroup(String originIdentifier, List<String> group) throws ConfigurationException {
+        for (String groupName : group) {
+            if (groupName.isEmpty() || groupName.chars().anyMatch(Character::isWhitespace))
+                throw new ConfigurationException("Invalid group name '%s' of command %s: Group names must not be empty or contain whitespaces", groupName, originIdentifier);
+        }
+    }
+
+    private static Duration parseTimeout(String originIdentifier, String timeout) throws ConfigurationException {
+        if (timeout.isEmpty())
+            return null;
+        Duration parsedTimeout;
+        try {
+            parsedTimeout = Duration.parse(timeout);
+        } catch (DateTimeParseException e) {
+            throw new ConfigurationException("Invalid timeout '%s' of command %s: Timeouts must be ISO-8601 durations like PT30S", timeout, originIdentifier);
+        }
+        if (parsedTimeout.isNegative() || parsedTimeout.isZero())
+            throw new ConfigurationException("Invalid timeout '%s' of command %s: Timeouts must be positive", timeout, originIdentifier);
+        return parsedTimeout;
+    }
+
+    /**
+     * @return the names of the nested sub-commanders this command belongs to, outermost first.
+     */
+    public List<String> getGroup() {
+        return group;
+    }
+
+    /**
+     * @return the names and descriptions of the arguments of this command except global options. Commands registered
+     * by suppliers are found by these terms without being constructed.
+     */
+    public String generateSearchText() {
+        return parameterCodeGeneratorPairs.stream()
+                .filter(pair -> pair.isHasCodeGenerator() && !pair.isGlobal())
+                .map(pair -> pair.getArgumentParserCodeGenerator().generateSearchText())
+                .collect(Collectors.joining(" "))
+                // only letters and digits are searched for
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    public ExecutableElement getAnnotatedMethod() {
+        return annotatedMethod;
+    }
+
+    public String generateActualCommandName() {
         if (name.isBlank()){
             return TextUtils.toHyphenString(annotatedMethod.getSimpleName().toString());
         }
         return name;
     }
 
-    private String generateActualDescription() {
+    public String generateActualDescription() {
         String actualDescription = description;
         if (description.isBlank()) {
             String docComment = Objects.requireNonNullElse(processingEnvironment.getElementUtils().getDocComment(annotatedMethod), "");
@@ -218,48 +332,106 @@ public class CommandCodeGenerator {
     }
 
     /**
-     * Code and imports for an {@link Instruction} lambda for the command delegating to the user-annotated
-     * method that actually performs the command logic.
+     * Code and imports for an {@link Instruction} or {@link ResultInstruction} delegating to the user-annotated method
+     * that actually performs the command logic. Void methods with at most {@value #MAX_TYPED_INSTRUCTION_ARITY}
+     * parameters receiving the values in order are referenced as typed instruction:
+     * <p>
+     *     (Instruction2&lt;String, Path&gt;) SomeClass::myMethod1
+     * </p>
+     * Otherwise, a lambda casts each value. Unmanaged parameters of type {@link OutputChannel} receive the channel of
+     * the invocation, other unmanaged parameters receive null:
      * <p>
      *     args -> SomeClass.myMethod1((String) args[0], null, (Path) args[1])
      * </p>
      */
-    private SnippetCodeData generateInstructionCode() {
-        SnippetCodeData methodCallParametersCode = getMethodCallParameters();
-        Set<String> imports = new HashSet<>(methodCallParametersCode.getImportPackages());
-
+    private SnippetCodeData generateInstructionCode(List<String> globalOptionParserCodes) {
+        List<Integer> valueIndices = getValueIndices(globalOptionParserCodes);
+        Set<String> imports = new HashSet<>();
         TypeElement enclosingType = (TypeElement) annotatedMethod.getEnclosingElement();
         imports.addAll(ProcessingUtils.getPackageStrings(enclosingType));
 
-        String code = String.format("%s -> %s.%s(%s)",
-                INSTRUCTION_PARAMETER_NAME,
-                enclosingType.getSimpleName(),
-                annotatedMethod.getSimpleName(),
-                methodCallParametersCode.getCodeSnippet()
-        );
+        List<String> parameterTypes = new ArrayList<>();
+        for (int i = 0; i < parameterCodeGeneratorPairs.size(); i++) {
+            if (valueIndices.get(i) == null) {
+                parameterTypes.add(null);
+            } else {
+                SnippetCodeData typeSnippet = mapToTypeString(parameterCodeGeneratorPairs.get(i).getTargetParameter().asType());
+                parameterTypes.add(typeSnippet.getCodeSnippet());
+                imports.addAll(typeSnippet.getImportPackages());
+            }
+        }
 
+        String code;
+        if (!isReturningResult() && isTypedInstructionApplicable(valueIndices)) {
+            String typedInstructionName = Instruction.class.getSimpleName() + valueIndices.size();
+            imports.add(Instruction.class.getPackageName() + "." + typedInstructionName);
+            code = String.format("(%s<%s>) %s::%s",
+                    typedInstructionName,
+                    String.join(", ", parameterTypes),
+                    enclosingType.getSimpleName(),
+                    annotatedMethod.getSimpleName()
+            );
+        } else {
+            List<String> parameterStrings = new ArrayList<>();
+            for (int i = 0; i < parameterTypes.size(); i++) {
+                if (parameterTypes.get(i) != null) {
+                    parameterStrings.add(String.format("(%s) %s[%s]", parameterTypes.get(i), INSTRUCTION_PARAMETER_NAME, valueIndices.get(i)));
+                } else if (isOutputChannel(parameterCodeGeneratorPairs.get(i).getTargetParameter())) {
+                    parameterStrings.add(InvocationContext.class.getSimpleName() + ".current().getOutputChannel()");
+                    imports.addAll(ProcessingUtils.getPackageStrings(InvocationContext.class));
+                } else {
+                    parameterStrings.add("null");
+                }
+            }
+            code = String.format("%s -> %s.%s(%s)",
+                    INSTRUCTION_PARAMETER_NAME,
+                    enclosingType.getSimpleName(),
+                    annotatedMethod.getSimpleName(),
+                    String.join(", ", parameterStrings)
+            );
+        }
         return SnippetCodeData.from(code, imports);
     }
 
     /**
-     * (String) args[0], (Integer) args[1], null
+     * @return true if every parameter receives the value at its own position.
      */
-    private SnippetCodeData getMethodCallParameters() {
-        Set<String> imports = new HashSet<>();
-        List<String> parameterStrings = new ArrayList<>();
-        String pattern = "(%s) " + INSTRUCTION_PARAMETER_NAME + "[%s]";
+    private static boolean isTypedInstructionApplicable(List<Integer> valueIndices) {
+        if (valueIndices.isEmpty() || valueIndices.size() > MAX_TYPED_INSTRUCTION_ARITY)
+            return false;
+        for (int i = 0; i < valueIndices.size(); i++) {
+            if (!Integer.valueOf(i).equals(valueIndices.get(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * The index of the value passed to each method parameter. Null for unmanaged parameters.
+     * <p>Values of global options are located after the values of the command's own parsers.</p>
+     */
+    private List<Integer> getValueIndices(List<String> globalOptionParserCodes) {
+        List<Integer> valueIndices = new ArrayList<>();
+        int commandParserCount = (int) parameterCodeGeneratorPairs.stream()
+                .filter(pair -> pair.isHasCodeGenerator() && !pair.isGlobal())
+                .count();
         int argIndex = 0;
         for (ParameterCodeGeneratorPair pair : parameterCodeGeneratorPairs) {
             if (pair.isHasCodeGenerator()) {
                 // here if method parameter has been annotated
-                SnippetCodeData codeSnippet = mapToTypeString(pair.getTargetParameter().asType());
-                parameterStrings.add(String.format(pattern, codeSnippet.getCodeSnippet(), argIndex++));
-                imports.addAll(codeSnippet.getImportPackages());
+                if (pair.isGlobal()) {
+                    int globalIndex = globalOptionParserCodes.indexOf(pair.getArgumentParserCodeGenerator().generateParserCode().getCodeSnippet());
+                    if (globalIndex < 0)
+                        throw new IllegalStateException("Global option of parameter " + pair.getTargetParameter() + " is not registered at " + originIdentifier);
+                    valueIndices.add(commandParserCount + globalIndex);
+                } else {
+                    valueIndices.add(argIndex++);
+                }
             } else {
-                parameterStrings.add("null");
+                valueIndices.add(null);
             }
         }
-        return SnippetCodeData.from(String.join(", ", parameterStrings), imports);
+        return valueIndices;
     }
 
     /**
@@ -318,8 +490,16 @@ public class CommandCodeGenerator {
                 .anyMatch(ProcessingUtils::hasGenericTypeParameter);
     }
 
+    private boolean isOutputChannel(VariableElement parameter) {
+        return processingEnvironment.getTypeUtils().isSameType(parameter.asType(), CommandLineInterfaceProcessor.outputChannelType.asType());
+    }
+
+    private boolean isReturningResult() {
+        return annotatedMethod.getReturnType().getKind() != TypeKind.VOID;
+    }
+
     private boolean isAnyArgumentParserCodeGeneratorPresent() {
-        return !parameterCodeGeneratorPairs.isEmpty();
+        return parameterCodeGeneratorPairs.stream().anyMatch(pair -> pair.isHasCodeGenerator() && !pair.isGlobal());
     }
 
 }
@@ -1,19 +1,33 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
 import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
 import io.github.johannesbuchholz.clihats.processor.exceptions.ConfigurationException;
+import io.github.johannesbuchholz.clihats.processor.execution.Cli;
 import io.github.johannesbuchholz.clihats.processor.model.CommandDto;
 import io.github.johannesbuchholz.clihats.processor.model.CommanderDto;
 import io.github.johannesbuchholz.clihats.processor.model.ExtendedSnippetCodeData;
+import io.github.johannesbuchholz.clihats.processor.model.GroupDto;
+import io.github.johannesbuchholz.clihats.processor.model.ParameterCodeGeneratorPair;
 import io.github.johannesbuchholz.clihats.processor.model.SnippetCodeData;
 import io.github.johannesbuchholz.clihats.processor.util.ProcessingUtils;
 import io.github.johannesbuchholz.clihats.processor.util.TextUtils;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class CommanderCodeGenerator {
 
+    private static final Logger log = LoggerFactory.getLogger(CommanderCodeGenerator.class);
+
     private final ProcessingEnvironment processingEnvironment;
     private final CommanderDto commanderDto;
 
@@ -23,34 +37,162 @@ public class CommanderCodeGenerator {
     }
 
     public ExtendedSnippetCodeData generateCommanderCode() {
-        StringBuilder commanderSb = new StringBuilder("Commander.forName(").append(TextUtils.quote(generateCommanderName())).append(")");
+        StringBuilder commanderSb = new StringBuilder("Commander.builder(").append(TextUtils.quote(generateCommanderName())).append(")");
         Set<String> imports = ProcessingUtils.getPackageStrings(Commander.class);
         // additional setter
         String actualDescription = generateActualDescription();
         if (!actualDescription.isBlank())
             commanderSb.append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withDescription(").append(TextUtils.quote(actualDescription)).append(")");
-        // commands
-        List<CommandDto> commandInfoList = commanderDto.getCommandDtoList();
-        List<String> commandCodeStrings = new ArrayList<>(commandInfoList.size());
-        Set<SnippetCodeData> requestedMethodAnnotations = new HashSet<>();
-        commandInfoList.stream()
+        List<CommandCodeGenerator> commandCodeGenerators = commanderDto.getCommandDtoList().stream()
                 .sorted(Comparator.comparing(CommandDto::getName))
-                .forEachOrdered(commandDto -> {
-                    ExtendedSnippetCodeData extendedSnippetCodeData = new CommandCodeGenerator(processingEnvironment, commandDto).generateCommandCode();
-                    imports.addAll(extendedSnippetCodeData.getImportPackages());
-                    commandCodeStrings.add(extendedSnippetCodeData.getCodeSnippet());
-                    requestedMethodAnnotations.addAll(extendedSnippetCodeData.getBaggage());
-                });
-        if (!commandCodeStrings.isEmpty()) {
-            commanderSb.append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withCommands(");
-            commanderSb.append("\n").append(TextUtils.indentEveryLine(String.join(",\n", commandCodeStrings), CommanderProviderCodeGenerator.LINE_INDENT_DOUBLE.repeat(2)));
+                .map(commandDto -> new CommandCodeGenerator(processingEnvironment, commandDto))
+                .collect(Collectors.toList());
+        verifyReservedNames(commandCodeGenerators);
+        SortedMap<String, SnippetCodeData> globalOptionCodesByCode = collectGlobalOptionCodes(commandCodeGenerators);
+        List<String> globalOptionCodeStrings = new ArrayList<>(globalOptionCodesByCode.keySet());
+        if (!globalOptionCodeStrings.isEmpty()) {
+            globalOptionCodesByCode.values().forEach(snippet -> imports.addAll(snippet.getImportPackages()));
+            commanderSb.append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".addGlobalOptions(");
+            commanderSb.append("\n").append(TextUtils.indentEveryLine(String.join(",\n", globalOptionCodeStrings), CommanderProviderCodeGenerator.LINE_INDENT_DOUBLE.repeat(2)));
             commanderSb.append(")");
         }
+        // commands grouped by nested sub-commanders: commands are registered by suppliers and only built when invoked
+        CommandGroup rootGroup = new CommandGroup();
+        Set<SnippetCodeData> requestedMethodAnnotations = new HashSet<>();
+        commandCodeGenerators.forEach(commandCodeGenerator -> {
+            ExtendedSnippetCodeData extendedSnippetCodeData = commandCodeGenerator.generateCommandCode(globalOptionCodeStrings);
+            imports.addAll(extendedSnippetCodeData.getImportPackages());
+            String searchText = commandCodeGenerator.generateSearchText();
+            String lazyCommandCode = ".addCommand(" + TextUtils.quote(commandCodeGenerator.generateActualCommandName()) + ", "
+                    + TextUtils.quote(commandCodeGenerator.generateActualDescription()) + ", "
+                    + (searchText.isEmpty() ? "" : TextUtils.quote(searchText) + ", ") + "() ->\n"
+                    + TextUtils.indentEveryLine(extendedSnippetCodeData.getCodeSnippet(), CommanderProviderCodeGenerator.LINE_INDENT_DOUBLE.repeat(2)) + ")";
+            CommandGroup group = rootGroup.getGroup(commandCodeGenerator.getGroup());
+            group.commandCodeStrings.add(lazyCommandCode);
+            group.commandMethodsByName.put(commandCodeGenerator.generateActualCommandName(), commandCodeGenerator.getAnnotatedMethod());
+            requestedMethodAnnotations.addAll(extendedSnippetCodeData.getBaggage());
+        });
+        verifyGroupNames(rootGroup);
+        appendGroupCode(commanderSb, rootGroup, generateCommanderName(), List.of(), collectGroupDescriptions(rootGroup));
         return ExtendedSnippetCodeData.from(commanderSb.toString(), imports)
                 .setBaggage(requestedMethodAnnotations);
     }
 
-    private String generateCommanderName() {
+    /**
+     * Global options declared equally by different commands are registered only once. Global options sharing a name
+     * but differing in their definition are reported as error.
+     * @return the code of all global options of the commander by their code.
+     */
+    private SortedMap<String, SnippetCodeData> collectGlobalOptionCodes(List<CommandCodeGenerator> commandCodeGenerators) {
+        SortedMap<String, SnippetCodeData> globalOptionCodesByCode = new TreeMap<>();
+        Map<String, ParameterCodeGeneratorPair> globalOptionsByName = new HashMap<>();
+        for (CommandCodeGenerator commandCodeGenerator : commandCodeGenerators) {
+            for (ParameterCodeGeneratorPair pair : commandCodeGenerator.getGlobalOptionParserCodeGenerators()) {
+                SnippetCodeData snippet = pair.getArgumentParserCodeGenerator().generateParserCode();
+                for (String optionName : pair.getArgumentParserCodeGenerator().getOptionNames()) {
+                    ParameterCodeGeneratorPair registeredPair = globalOptionsByName.putIfAbsent(optionName, pair);
+                    if (registeredPair != null && !registeredPair.getArgumentParserCodeGenerator().generateParserCode().getCodeSnippet().equals(snippet.getCodeSnippet()))
+                        reportError(pair.getTargetParameter(), "Conflicting definitions of global option %s at %s and %s: Global options sharing a name must be declared equally",
+                                optionName, describeParameter(registeredPair.getTargetParameter()), describeParameter(pair.getTargetParameter()));
+                }
+                globalOptionCodesByCode.putIfAbsent(snippet.getCodeSnippet(), snippet);
+            }
+        }
+        return globalOptionCodesByCode;
+    }
+
+    /**
+     * Reports commands, command groups and global options named like a switch that {@link Cli} handles before
+     * dispatching the arguments to the commander.
+     */
+    private void verifyReservedNames(List<CommandCodeGenerator> commandCodeGenerators) {
+        for (CommandCodeGenerator commandCodeGenerator : commandCodeGenerators) {
+            List<String> group = commandCodeGenerator.getGroup();
+            String firstName = group.isEmpty() ? commandCodeGenerator.generateActualCommandName() : group.get(0);
+            if (Cli.RESERVED_SWITCHES.contains(firstName))
+                reportError(commandCodeGenerator.getAnnotatedMethod(), "Reserved name %s of %s: Commands and groups must not be named like any of %s",
+                        firstName, ProcessingUtils.generateOriginIdentifier(commandCodeGenerator.getAnnotatedMethod()), Cli.RESERVED_SWITCHES);
+            for (ParameterCodeGeneratorPair pair : commandCodeGenerator.getGlobalOptionParserCodeGenerators()) {
+                pair.getArgumentParserCodeGenerator().getOptionNames().stream()
+                        .filter(Cli.RESERVED_SWITCHES::contains)
+                        .forEach(optionName -> reportError(pair.getTargetParameter(), "Reserved name %s of global option %s: Global options must not be named like any of %s",
+                                optionName, describeParameter(pair.getTargetParameter()), Cli.RESERVED_SWITCHES));
+            }
+        }
+    }
+
+    private void reportError(Element element, String template, Object... args) {
+        processingEnvironment.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(template, args), element);
+    }
+
+    private static String describeParameter(VariableElement parameter) {
+        return parameter.getSimpleName() + " of " + ProcessingUtils.generateOriginIdentifier((ExecutableElement) parameter.getEnclosingElement());
+    }
+
+    /**
+     * @return the names of all commands, nested commanders and options of the commander together with known values.
+     */
+    public CompletionTable generateCompletionTable() {
+        CompletionTable.Builder tableBuilder = CompletionTable.builder();
+        commanderDto.getCommandDtoList().stream()
+                .map(commandDto -> new CommandCodeGenerator(processingEnvironment, commandDto))
+                .forEach(commandCodeGenerator -> commandCodeGenerator.addCompletionEntries(tableBuilder));
+        return tableBuilder.build();
+    }
+
+    /**
+     * Appends commands and nested sub-commanders of the specified group followed by the final build call. Each nested
+     * sub-commander is created by a supplier and thus only built when entered.
+     */
+    private static void appendGroupCode(StringBuilder commanderSb, CommandGroup group, String commanderName, List<String> path, Map<List<String>, String> descriptionsByPath) {
+        group.commandCodeStrings.forEach(commandCode ->
+                commanderSb.append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(commandCode));
+        group.subGroupsByName.forEach((subGroupName, subGroup) -> {
+            String subCommanderName = commanderName + " " + subGroupName;
+            List<String> subGroupPath = new ArrayList<>(path);
+            subGroupPath.add(subGroupName);
+            String subGroupDescription = descriptionsByPath.getOrDefault(subGroupPath, "");
+            StringBuilder subCommanderSb = new StringBuilder("Commander.builder(").append(TextUtils.quote(subCommanderName)).append(")");
+            if (!subGroupDescription.isEmpty())
+                subCommanderSb.append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".withDescription(").append(TextUtils.quote(subGroupDescription)).append(")");
+            appendGroupCode(subCommanderSb, subGroup, subCommanderName, subGroupPath, descriptionsByPath);
+            commanderSb.append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE)
+                    .append(".addSubCommander(").append(TextUtils.quote(subGroupName)).append(", ").append(TextUtils.quote(subGroupDescription)).append(", () ->\n")
+                    .append(TextUtils.indentEveryLine(subCommanderSb.toString(), CommanderProviderCodeGenerator.LINE_INDENT_DOUBLE.repeat(2)))
+                    .append(")");
+        });
+        commanderSb.append(CommanderProviderCodeGenerator.NEW_LINE_INDENT_DOUBLE).append(".build()");
+    }
+
+    /**
+     * Reports commands named like a group at the same level.
+     */
+    private void verifyGroupNames(CommandGroup group) {
+        group.subGroupsByName.forEach((subGroupName, subGroup) -> {
+            ExecutableElement clashingMethod = group.commandMethodsByName.get(subGroupName);
+            if (clashingMethod != null)
+                reportError(clashingMethod, "Command name %s of %s clashes with a group of the same name: Commands and groups at the same level must be named differently",
+                        subGroupName, ProcessingUtils.generateOriginIdentifier(clashingMethod));
+            verifyGroupNames(subGroup);
+        });
+    }
+
+    /**
+     * @return the normalized descriptions declared on the command-line interface by the path of the described group.
+     */
+    private Map<List<String>, String> collectGroupDescriptions(CommandGroup rootGroup) {
+        Map<List<String>, String> descriptionsByPath = new HashMap<>();
+        for (GroupDto groupDto : commanderDto.getGroupDtoList()) {
+            if (descriptionsByPath.putIfAbsent(groupDto.getPath(), TextUtils.normalizeString(groupDto.getDescription())) != null)
+                reportError(commanderDto.getAnnotatedInterface(), "Group %s of %s is described multiple times",
+                        groupDto.getPath(), commanderDto.getAnnotatedInterface().getQualifiedName());
+            else if (!rootGroup.hasGroup(groupDto.getPath()))
+                log.warn("Dubious group configuration at {}: No command belongs to the described group {}", commanderDto.getAnnotatedInterface().getQualifiedName(), groupDto.getPath());
+        }
+        return descriptionsByPath;
+    }
+
+    public String generateCommanderName() {
         String commanderName = commanderDto.getName();
         if (commanderName.isBlank())
             commanderName = TextUtils.toHyphenString(commanderDto.getAnnotatedInterface().getSimpleName().toString());
@@ -64,4 +206,29 @@ public class CommanderCodeGenerator {
         return TextUtils.normalizeString(actualDescription);
     }
 
+    private static class CommandGroup {
+
+        private final List<String> commandCodeStrings = new ArrayList<>();
+        private final Map<String, ExecutableElement> commandMethodsByName = new HashMap<>();
+        private final SortedMap<String, CommandGroup> subGroupsByName = new TreeMap<>();
+
+        private CommandGroup getGroup(List<String> path) {
+            CommandGroup group = this;
+            for (String groupName : path)
+                group = group.subGroupsByName.computeIfAbsent(groupName, name -> new CommandGroup());
+            return group;
+        }
+
+        private boolean hasGroup(List<String> path) {
+            CommandGroup group = this;
+            for (String groupName : path) {
+                group = group.subGroupsByName.get(groupName);
+                if (group == null)
+                    return false;
+            }
+            return !path.isEmpty();
+        }
+
+    }
+
 }
@@ -56,7 +56,7 @@ public class CommanderProviderCodeGenerator {
                 ));
         SnippetCodeData fieldCodeData = generateFieldCode(commanderCodeSnippetsByCliName);
 
-        Set<String> imports = MANDATORY_IMPORTS;
+        Set<String> imports = new HashSet<>(MANDATORY_IMPORTS);
         imports.addAll(fieldCodeData.getImportPackages());
 
         String packageName = AbstractCommanderProvider.getImplementationPackageName();
@@ -0,0 +1,256 @@
+package io.github.johannesbuchholz.clihats.processor.generators;
+
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
+import io.github.johannesbuchholz.clihats.processor.execution.CliCompletion;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generates static completion scripts for bash, zsh and fish. Each script contains the full tables of command names,
+ * option names and known values of a command-line interface and completes without starting a JVM.
+ * <p>
+ *     The scripts resolve what the current word refers to like {@link CompletionTable#complete(String[])} but do not
+ *     resolve abbreviated command names. Tables are keyed by contexts: a colon followed by the space separated path of
+ *     the current commander or command.
+ * </p>
+ */
+public class CompletionScriptGenerator {
+
+    private static final String ROOT_CONTEXT = ":";
+    private static final String HELP_OPTION = "--help";
+    // table names are prefixed to not shadow special parameters of zsh like options and commands
+    private static final String CHILDREN_TABLE = "ctx_children";
+    private static final String OPTIONS_TABLE = "ctx_options";
+    private static final String VALUED_TABLE = "ctx_valued";
+    private static final String VALUES_TABLE = "ctx_values";
+    private static final String OPERANDS_TABLE = "ctx_operands";
+    private static final String COMMANDS_TABLE = "ctx_commands";
+
+    private final String programName;
+    private final String functionName;
+    private final List<Context> contexts;
+
+    public CompletionScriptGenerator(String programName, CompletionTable completionTable) {
+        this.programName = programName;
+        this.functionName = "_clihats_" + programName.replaceAll("[^A-Za-z0-9_]", "_");
+        this.contexts = completionTable.getPaths().stream()
+                .map(path -> new Context(path, completionTable))
+                .collect(Collectors.toList());
+    }
+
+    public String generateScript(CliCompletion.Shell shell) {
+        switch (shell) {
+            case BASH:
+                return generateBashScript();
+            case ZSH:
+                return generateZshScript();
+            case FISH:
+                return generateFishScript();
+            default:
+                throw new IllegalArgumentException("Unknown shell " + shell);
+        }
+    }
+
+    private String generateBashScript() {
+        return "# bash completion for " + programName + ", generated by clihats\n" +
+                functionName + "() {\n" +
+                generateBashTables() +
+                "    local cur=\"${COMP_WORDS[COMP_CWORD]}\" ctx=':' option='' word i\n" +
+                "    for ((i = 1; i < COMP_CWORD; i++)); do\n" +
+                "        word=\"${COMP_WORDS[i]}\"\n" +
+                generateShellWordHandling() +
+                "    done\n" +
+                generateShellCandidateSelection("\"$cur\"") +
+                "    COMPREPLY=($(compgen -W \"$candidates\" -- \"$cur\"))\n" +
+                "}\n" +
+                "complete -F " + functionName + " " + quoteShell(programName) + "\n";
+    }
+
+    private String generateZshScript() {
+        return "# zsh completion for " + programName + ", generated by clihats. Source after compinit.\n" +
+                functionName + "() {\n" +
+                generateZshTables() +
+                "    local ctx=':' option='' word i\n" +
+                "    for ((i = 2; i < CURRENT; i++)); do\n" +
+                "        word=\"${words[i]}\"\n" +
+                generateShellWordHandling() +
+                "    done\n" +
+                generateShellCandidateSelection("\"${words[CURRENT]}\"") +
+                "    compadd -- ${=candidates}\n" +
+                "}\n" +
+                "compdef " + functionName + " " + quoteShell(programName) + "\n";
+    }
+
+    /**
+     * Shared by bash and zsh: determines the context and a pending option expecting a value.
+     */
+    private static String generateShellWordHandling() {
+        return "        if [[ -n \"$option\" ]]; then\n" +
+                "            option=''\n" +
+                "        elif [[ \"$word\" == -?* && \"$word\" != '--' ]]; then\n" +
+                "            [[ \" ${ctx_valued[$ctx]} \" == *\" $word \"* ]] && option=\"$word\"\n" +
+                "        elif [[ -z \"${ctx_commands[$ctx]}\" ]]; then\n" +
+                "            [[ \" ${ctx_children[$ctx]} \" == *\" $word \"* ]] || return 1\n" +
+                "            if [[ \"$ctx\" == ':' ]]; then ctx=\":$word\"; else ctx=\"$ctx $word\"; fi\n" +
+                "        fi\n";
+    }
+
+    private static String generateShellCandidateSelection(String currentWord) {
+        return "    local candidates\n" +
+                "    if [[ -n \"$option\" ]]; then\n" +
+                "        candidates=\"${ctx_values[$ctx $option]}\"\n" +
+                "    elif [[ " + currentWord + " == -* ]]; then\n" +
+                "        candidates=\"${ctx_options[$ctx]}\"\n" +
+                "    elif [[ -n \"${ctx_commands[$ctx]}\" ]]; then\n" +
+                "        candidates=\"${ctx_operands[$ctx]}\"\n" +
+                "    else\n" +
+                "        candidates=\"${ctx_children[$ctx]}\"\n" +
+                "    fi\n";
+    }
+
+    private String generateBashTables() {
+        StringBuilder sb = new StringBuilder();
+        getTables().forEach((tableName, entries) -> {
+            sb.append("    local -A ").append(tableName).append("=(\n");
+            entries.forEach((key, value) -> sb.append("        [").append(quoteShell(key)).append("]=").append(quoteShell(value)).append("\n"));
+            sb.append("    )\n");
+        });
+        return sb.toString();
+    }
+
+    private String generateZshTables() {
+        StringBuilder sb = new StringBuilder("    local -A ").append(String.join(" ", getTables().keySet())).append("\n");
+        getTables().forEach((tableName, entries) -> {
+            sb.append("    ").append(tableName).append("=(\n");
+            entries.forEach((key, value) -> sb.append("        ").append(quoteShell(key)).append(" ").append(quoteShell(value)).append("\n"));
+            sb.append("    )\n");
+        });
+        return sb.toString();
+    }
+
+    private String generateFishScript() {
+        String tableFunctionName = "_" + functionName + "_table";
+        String completeFunctionName = "_" + functionName + "_complete";
+        StringBuilder sb = new StringBuilder("# fish completion for ").append(programName).append(", generated by clihats\n")
+                .append("function ").append(tableFunctionName).append("\n")
+                .append("    switch \"$argv[1]\"\n");
+        getTables().forEach((tableName, entries) -> entries.forEach((key, value) -> {
+            if (!tableName.equals(COMMANDS_TABLE)) {
+                sb.append("        case ").append(quoteFishPattern(tableName + ":" + key)).append("\n")
+                        .append("            printf '%s\\n'");
+                for (String candidate : value.split(" "))
+                    sb.append(" ").append(quoteFish(candidate));
+                sb.append("\n");
+            }
+        }));
+        Collection<String> commandContexts = getTables().get(COMMANDS_TABLE).keySet();
+        if (!commandContexts.isEmpty()) {
+            sb.append("        case 'ctx_commands'\n")
+                    .append("            printf '%s\\n'");
+            commandContexts.forEach(context -> sb.append(" ").append(quoteFish(context)));
+            sb.append("\n");
+        }
+        return sb.append("    end\n")
+                .append("end\n")
+                .append("function ").append(completeFunctionName).append("\n")
+                .append("    set -l ctx ':'\n")
+                .append("    set -l option ''\n")
+                .append("    for word in (commandline -opc)[2..-1]\n")
+                .append("        if test -n \"$option\"\n")
+                .append("            set option ''\n")
+                .append("        else if string match -qr -- '^-.' $word; and test \"$word\" != '--'\n")
+                .append("            if contains -- $word (").append(tableFunctionName).append(" \"ctx_valued:$ctx\")\n")
+                .append("                set option $word\n")
+                .append("            end\n")
+                .append("        else if not contains -- $ctx (").append(tableFunctionName).append(" ctx_commands)\n")
+                .append("            contains -- $word (").append(tableFunctionName).append(" \"ctx_children:$ctx\"); or return\n")
+                .append("            if test \"$ctx\" = ':'\n")
+                .append("                set ctx \":$word\"\n")
+                .append("            else\n")
+                .append("                set ctx \"$ctx $word\"\n")
+                .append("            end\n")
+                .append("        end\n")
+                .append("    end\n")
+                .append("    if test -n \"$option\"\n")
+                .append("        ").append(tableFunctionName).append(" \"ctx_values:$ctx $option\"\n")
+                .append("    else if string match -q -- '-*' (commandline -ct)\n")
+                .append("        ").append(tableFunctionName).append(" \"ctx_options:$ctx\"\n")
+                .append("    else if contains -- $ctx (").append(tableFunctionName).append(" ctx_commands)\n")
+                .append("        ").append(tableFunctionName).append(" \"ctx_operands:$ctx\"\n")
+                .append("    else\n")
+                .append("        ").append(tableFunctionName).append(" \"ctx_children:$ctx\"\n")
+                .append("    end\n")
+                .append("end\n")
+                .append("complete -c ").append(quoteFish(programName)).append(" -f -a '(").append(completeFunctionName).append(")'\n")
+                .toString();
+    }
+
+    /**
+     * @return entries of every table by context in a stable order, omitting empty entries.
+     */
+    private Map<String, SortedMap<String, String>> getTables() {
+        Map<String, SortedMap<String, String>> tables = new LinkedHashMap<>();
+        for (String tableName : List.of(CHILDREN_TABLE, OPTIONS_TABLE, VALUED_TABLE, VALUES_TABLE, OPERANDS_TABLE, COMMANDS_TABLE))
+            tables.put(tableName, new TreeMap<>());
+        for (Context context : contexts) {
+            putIfNotEmpty(tables.get(OPTIONS_TABLE), context.key, context.optionNames);
+            putIfNotEmpty(tables.get(VALUED_TABLE), context.key, context.valuedOptionNames);
+            context.valuesByOptionName.forEach((optionName, values) -> putIfNotEmpty(tables.get(VALUES_TABLE), context.key + " " + optionName, values));
+            if (context.isCommand) {
+                tables.get(COMMANDS_TABLE).put(context.key, "1");
+                putIfNotEmpty(tables.get(OPERANDS_TABLE), context.key, context.operandValues);
+            } else {
+                putIfNotEmpty(tables.get(CHILDREN_TABLE), context.key, context.childNames);
+            }
+        }
+        return tables;
+    }
+
+    private static void putIfNotEmpty(Map<String, String> table, String key, List<String> words) {
+        if (!words.isEmpty())
+            table.put(key, String.join(" ", words));
+    }
+
+    /**
+     * Single quotes for bash and zsh.
+     */
+    private static String quoteShell(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
+    private static String quoteFish(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    /**
+     * Wildcards of case patterns are active even within quotes in fish.
+     */
+    private static String quoteFishPattern(String value) {
+        return quoteFish(value).replace("*", "'\\*'").replace("?", "'\\?'");
+    }
+
+    private static class Context {
+
+        private final String key;
+        private final boolean isCommand;
+        private final List<String> childNames;
+        private final List<String> optionNames;
+        private final List<String> valuedOptionNames;
+        private final Map<String, List<String>> valuesByOptionName = new TreeMap<>();
+        private final List<String> operandValues;
+
+        private Context(List<String> path, CompletionTable completionTable) {
+            key = ROOT_CONTEXT + String.join(" ", path);
+            isCommand = completionTable.isCommand(path);
+            childNames = completionTable.getChildNames(path);
+            optionNames = new ArrayList<>(completionTable.getOptionNames(path, false));
+            optionNames.add(HELP_OPTION);
+            valuedOptionNames = completionTable.getOptionNames(path, true);
+            valuedOptionNames.forEach(optionName -> valuesByOptionName.put(optionName, completionTable.getOptionValues(path, optionName)));
+            operandValues = completionTable.getOperandValues(path);
+        }
+
+    }
+
+}
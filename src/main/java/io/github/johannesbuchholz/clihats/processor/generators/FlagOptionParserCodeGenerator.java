@@ -1,5 +1,6 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
 import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
 import io.github.johannesbuchholz.clihats.processor.model.ArgumentDto;
 import io.github.johannesbuchholz.clihats.processor.model.SnippetCodeData;
@@ -11,7 +12,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class FlagOptionParserCodeGenerator extends AbstractArgumentParserCodeGenerator {
 
@@ -19,7 +19,7 @@ public class FlagOptionParserCodeGenerator extends AbstractArgumentParserCodeGen
     private final String flagValue;
 
     public FlagOptionParserCodeGenerator(ArgumentDto argumentInputs, TargetParameter targetParameter) {
-        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), targetParameter);
+        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), argumentInputs.getCompletionProvider(), targetParameter);
         names = argumentInputs.getName();
         flagValue = argumentInputs.getFlagValue();
     }
@@ -53,15 +53,21 @@ public class FlagOptionParserCodeGenerator extends AbstractArgumentParserCodeGen
     }
 
 
+    @Override
+    public void addCompletionEntry(CompletionTable.Builder tableBuilder, List<String> path) {
+        tableBuilder.addOption(path, getOptionNames(), false, List.of());
+    }
+
+    @Override
+    public List<String> getOptionNames() {
+        if (!names.isEmpty())
+            return names;
+        String variableName = targetParameter.getName();
+        return List.of("-" + variableName.charAt(0), "--" + TextUtils.toHyphenString(variableName));
+    }
+
     private String generateNames() {
-        Stream<String> nameStream;
-        if (!names.isEmpty()) {
-            nameStream = names.stream();
-        } else {
-            String variableName = targetParameter.getName();
-            nameStream = Stream.of("-" + variableName.charAt(0), "--" + TextUtils.toHyphenString(variableName));
-        }
-        return nameStream.map(TextUtils::quote).collect(Collectors.joining(", "));
+        return getOptionNames().stream().map(TextUtils::quote).collect(Collectors.joining(", "));
     }
 
     private String generateFlagValueCode() {
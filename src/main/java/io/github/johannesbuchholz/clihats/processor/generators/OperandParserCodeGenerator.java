@@ -1,5 +1,6 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
 import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
 import io.github.johannesbuchholz.clihats.processor.model.ArgumentDto;
 import io.github.johannesbuchholz.clihats.processor.model.SnippetCodeData;
@@ -17,7 +18,7 @@ public class OperandParserCodeGenerator extends AbstractArgumentParserCodeGenera
     private final List<String> names;
 
     public OperandParserCodeGenerator(ArgumentDto argumentInputs, TargetParameter targetParameter, int operandIndex) {
-        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), targetParameter);
+        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), argumentInputs.getCompletionProvider(), targetParameter);
         this.operandIndex = operandIndex;
         this.names = argumentInputs.getName();
     }
@@ -26,25 +27,34 @@ public class OperandParserCodeGenerator extends AbstractArgumentParserCodeGenera
     public SnippetCodeData generateParserCode() {
         SnippetCodeData mapperSnippetCodeData = generateMapperCode();
         SnippetCodeData promptSnippetCodeData = generatePromptCode();
+        SnippetCodeData completionProviderSnippetCodeData = generateCompletionProviderCode();
         Set<String> imports = new HashSet<>(ProcessingUtils.getPackageStrings(ArgumentParsers.class));
         imports.addAll(promptSnippetCodeData.getImportPackages());
         imports.addAll(mapperSnippetCodeData.getImportPackages());
+        imports.addAll(completionProviderSnippetCodeData.getImportPackages());
         return SnippetCodeData.from(
                 String.format(
-                        "%s.operand(%s)%s%s%s%s%s%s",
+                        "%s.operand(%s)%s%s%s%s%s%s%s%s",
                         ArgumentParsers.class.getSimpleName(),
                         operandIndex,
                         generateName(),
                         generateRequiredCode(),
                         generateDefaultValueCode(),
                         mapperSnippetCodeData.getCodeSnippet(),
+                        generateLazyMappingCode(),
                         promptSnippetCodeData.getCodeSnippet(),
-                        generateDescriptionCode()
+                        generateDescriptionCode(),
+                        completionProviderSnippetCodeData.getCodeSnippet()
                 ),
                 imports
         );
     }
 
+    @Override
+    public void addCompletionEntry(CompletionTable.Builder tableBuilder, List<String> path) {
+        tableBuilder.addOperand(path, getKnownValues(targetParameter.getTypeElement()));
+    }
+
     private SnippetCodeData generateMapperCode() {
         SnippetCodeData valueMapperCode = generateValueMapperCode(targetParameter.getTypeElement());
         if (valueMapperCode.isEmpty())
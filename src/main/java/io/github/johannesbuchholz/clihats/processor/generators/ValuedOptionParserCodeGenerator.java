@@ -1,5 +1,6 @@
 package io.github.johannesbuchholz.clihats.processor.generators;
 
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
 import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
 import io.github.johannesbuchholz.clihats.processor.model.ArgumentDto;
 import io.github.johannesbuchholz.clihats.processor.model.SnippetCodeData;
@@ -11,14 +12,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class ValuedOptionParserCodeGenerator extends AbstractArgumentParserCodeGenerator {
 
     private final List<String> names;
 
     public ValuedOptionParserCodeGenerator(ArgumentDto argumentInputs, TargetParameter targetParameter) {
-        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), targetParameter);
+        super(argumentInputs.getNecessity(), argumentInputs.getDescription(), argumentInputs.getDefaultValue(), argumentInputs.getMapper(), argumentInputs.getCompletionProvider(), targetParameter);
         names = argumentInputs.getName();
     }
 
@@ -26,19 +26,23 @@ public class ValuedOptionParserCodeGenerator extends AbstractArgumentParserCodeG
     public SnippetCodeData generateParserCode() {
         SnippetCodeData mapperSnippetCodeData = generateMapperCode();
         SnippetCodeData promptSnippetCodeData = generatePromptCode();
+        SnippetCodeData completionProviderSnippetCodeData = generateCompletionProviderCode();
         Set<String> imports = new HashSet<>(ProcessingUtils.getPackageStrings(ArgumentParsers.class));
         imports.addAll(mapperSnippetCodeData.getImportPackages());
         imports.addAll(promptSnippetCodeData.getImportPackages());
+        imports.addAll(completionProviderSnippetCodeData.getImportPackages());
         return SnippetCodeData.from(
                 String.format(
-                        "%s.valuedOption(%s)%s%s%s%s%s",
+                        "%s.valuedOption(%s)%s%s%s%s%s%s%s",
                         ArgumentParsers.class.getSimpleName(),
                         generateNames(),
                         generateRequiredCode(),
                         generateDefaultValueCode(),
                         generateDescriptionCode(),
                         mapperSnippetCodeData.getCodeSnippet(),
-                        promptSnippetCodeData.getCodeSnippet()
+                        generateLazyMappingCode(),
+                        promptSnippetCodeData.getCodeSnippet(),
+                        completionProviderSnippetCodeData.getCodeSnippet()
                 ),
                 imports
         );
@@ -53,15 +57,21 @@ public class ValuedOptionParserCodeGenerator extends AbstractArgumentParserCodeG
                 valueMapperCode.getImportPackages());
     }
 
+    @Override
+    public void addCompletionEntry(CompletionTable.Builder tableBuilder, List<String> path) {
+        tableBuilder.addOption(path, getOptionNames(), true, getKnownValues(targetParameter.getTypeElement()));
+    }
+
+    @Override
+    public List<String> getOptionNames() {
+        if (!names.isEmpty())
+            return names;
+        String variableName = targetParameter.getName();
+        return List.of("-" + variableName.charAt(0), "--" + TextUtils.toHyphenString(variableName));
+    }
+
     private String generateNames() {
-        Stream<String> nameStream;
-        if (!names.isEmpty()) {
-            nameStream = names.stream();
-        } else {
-            String variableName = targetParameter.getName();
-            nameStream = Stream.of("-" + variableName.charAt(0), "--" + TextUtils.toHyphenString(variableName));
-        }
-        return nameStream.map(TextUtils::quote).collect(Collectors.joining(", "));
+        return getOptionNames().stream().map(TextUtils::quote).collect(Collectors.joining(", "));
     }
 
 }
@@ -15,25 +15,31 @@ public class ArgumentDto {
     public static final String FLAG_FIELD_NAME = "flagValue";
     public static final String DEFAULT_FIELD_NAME = "defaultValue";
     public static final String MAPPER_FIELD_NAME = "mapper";
+    public static final String COMPLETION_PROVIDER_FIELD_NAME = "completionProvider";
     public static final String NECESSITY_FIELD_NAME = "necessity";
     public static final String DESCRIPTION_FIELD_NAME = "description";
+    public static final String GLOBAL_FIELD_NAME = "global";
 
     private final Argument.Type type;
     private final List<String> name;
     private final String flagValue;
     private final String defaultValue;
     private final TypeElement mapper;
+    private final TypeElement completionProvider;
     private final Argument.Necessity necessity;
     private final String description;
+    private final boolean global;
 
-    public ArgumentDto(Argument.Type type, List<String> name, String flagValue, String defaultValue, TypeElement mapper, Argument.Necessity necessity, String description) {
+    public ArgumentDto(Argument.Type type, List<String> name, String flagValue, String defaultValue, TypeElement mapper, TypeElement completionProvider, Argument.Necessity necessity, String description, boolean global) {
         this.type = type;
         this.name = name;
         this.flagValue = flagValue;
         this.defaultValue = defaultValue;
         this.mapper = mapper;
+        this.completionProvider = completionProvider;
         this.necessity = necessity;
         this.description = description;
+        this.global = global;
     }
 
     public Argument.Type getType() {
@@ -56,6 +62,10 @@ public class ArgumentDto {
         return mapper;
     }
 
+    public TypeElement getCompletionProvider() {
+        return completionProvider;
+    }
+
     public Argument.Necessity getNecessity() {
         return necessity;
     }
@@ -64,4 +74,8 @@ public class ArgumentDto {
         return description;
     }
 
+    public boolean isGlobal() {
+        return global;
+    }
+
 }
@@ -16,17 +16,26 @@ public class CommandDto {
     public static final String NAME_FIELD_NAME = "name";
     public static final String DESCRIPTION_FIELD_NAME = "description";
     public static final String CLI_FIELD_NAME = "cli";
+    public static final String GROUP_FIELD_NAME = "group";
+    public static final String TIMEOUT_FIELD_NAME = "timeout";
+    public static final String RESULT_WRITER_FIELD_NAME = "resultWriter";
 
     private final String name;
     private final String description;
     private final List<TypeElement> cli;
+    private final List<String> group;
+    private final String timeout;
+    private final TypeElement resultWriter;
 
     private final ExecutableElement annotatedMethod;
 
-    public CommandDto(String name, String description, List<TypeElement> cli, ExecutableElement annotatedMethod) {
+    public CommandDto(String name, String description, List<TypeElement> cli, List<String> group, String timeout, TypeElement resultWriter, ExecutableElement annotatedMethod) {
         this.name = name;
         this.description = description;
         this.cli = cli;
+        this.group = group;
+        this.timeout = timeout;
+        this.resultWriter = resultWriter;
         this.annotatedMethod = annotatedMethod;
     }
 
@@ -42,6 +51,18 @@ public class CommandDto {
         return cli;
     }
 
+    public List<String> getGroup() {
+        return group;
+    }
+
+    public String getTimeout() {
+        return timeout;
+    }
+
+    public TypeElement getResultWriter() {
+        return resultWriter;
+    }
+
     public ExecutableElement getAnnotatedMethod() {
         return annotatedMethod;
     }
@@ -7,14 +7,17 @@ public class CommanderDto {
 
     public static final String NAME_FIELD_NAME = "name";
     public static final String DESCRIPTION_FIELD_NAME = "description";
+    public static final String GROUPS_FIELD_NAME = "groups";
 
     private final String name;
     private final String description;
     private final TypeElement annotatedInterface;
     private final List<CommandDto> commandDtoList;
+    private final List<GroupDto> groupDtoList;
 
-    public CommanderDto(String name, String description, TypeElement annotatedInterface, List<CommandDto> commandDtoList) {
+    public CommanderDto(String name, String description, TypeElement annotatedInterface, List<CommandDto> commandDtoList, List<GroupDto> groupDtoList) {
         this.description = description;
+        this.groupDtoList = groupDtoList;
         this.name = name;
         this.annotatedInterface = annotatedInterface;
         this.commandDtoList = commandDtoList;
@@ -36,4 +39,8 @@ public class CommanderDto {
         return commandDtoList;
     }
 
+    public List<GroupDto> getGroupDtoList() {
+        return groupDtoList;
+    }
+
 }
@@ -0,0 +1,36 @@
+package io.github.johannesbuchholz.clihats.processor.model;
+
+import io.github.johannesbuchholz.clihats.processor.annotations.Group;
+
+import java.util.List;
+
+/**
+ * Holds values extracted from a {@link Group} annotation.
+ */
+public class GroupDto {
+
+    public static final String PATH_FIELD_NAME = "path";
+    public static final String DESCRIPTION_FIELD_NAME = "description";
+
+    private final List<String> path;
+    private final String description;
+
+    public GroupDto(List<String> path, String description) {
+        this.path = path;
+        this.description = description;
+    }
+
+    public List<String> getPath() {
+        return path;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupDto{path=" + path + ", description='" + description + "'}";
+    }
+
+}
@@ -8,18 +8,24 @@ public class ParameterCodeGeneratorPair {
 
     private final VariableElement targetParameter;
     private final ArgumentParserCodeGenerator argumentParserCodeGenerator;
+    private final boolean global;
 
     public static ParameterCodeGeneratorPair pair(VariableElement variableElement, ArgumentParserCodeGenerator argumentParserCodeGenerator) {
-        return new ParameterCodeGeneratorPair(variableElement, argumentParserCodeGenerator);
+        return new ParameterCodeGeneratorPair(variableElement, argumentParserCodeGenerator, false);
+    }
+
+    public static ParameterCodeGeneratorPair globalPair(VariableElement variableElement, ArgumentParserCodeGenerator argumentParserCodeGenerator) {
+        return new ParameterCodeGeneratorPair(variableElement, argumentParserCodeGenerator, true);
     }
 
     public static ParameterCodeGeneratorPair unmanagedParameter(VariableElement variableElement) {
-        return new ParameterCodeGeneratorPair(variableElement, null);
+        return new ParameterCodeGeneratorPair(variableElement, null, false);
     }
 
-    private ParameterCodeGeneratorPair(VariableElement targetParameter, ArgumentParserCodeGenerator argumentParserCodeGenerator) {
+    private ParameterCodeGeneratorPair(VariableElement targetParameter, ArgumentParserCodeGenerator argumentParserCodeGenerator, boolean global) {
         this.targetParameter = targetParameter;
         this.argumentParserCodeGenerator = argumentParserCodeGenerator;
+        this.global = global;
     }
 
     public VariableElement getTargetParameter() {
@@ -34,4 +40,11 @@ public class ParameterCodeGeneratorPair {
         return argumentParserCodeGenerator != null;
     }
 
+    /**
+     * @return true if the code generator produces a global option parser registered on the commander.
+     */
+    public boolean isGlobal() {
+        return global;
+    }
+
 }
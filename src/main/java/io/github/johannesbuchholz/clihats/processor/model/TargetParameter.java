@@ -5,10 +5,17 @@ import javax.lang.model.element.TypeElement;
 public class TargetParameter {
     private final String name;
     private final TypeElement typeElement;
+    // if true, typeElement denotes the type wrapped by a lazy parameter type
+    private final boolean lazy;
 
     public TargetParameter(String name, TypeElement typeElement) {
+        this(name, typeElement, false);
+    }
+
+    public TargetParameter(String name, TypeElement typeElement, boolean lazy) {
         this.name = name;
         this.typeElement = typeElement;
+        this.lazy = lazy;
     }
 
     public String getName() {
@@ -18,4 +25,8 @@ public class TargetParameter {
     public TypeElement getTypeElement() {
         return typeElement;
     }
+
+    public boolean isLazy() {
+        return lazy;
+    }
 }
@@ -1,8 +1,20 @@
 package io.github.johannesbuchholz.clihats.processor.util;
 
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+
+import java.io.ByteArrayOutputStream;
 import java.io.Console;
-import java.util.Objects;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Optional;
 
+/**
+ * Prompts for user input within the {@link InvocationContext#current() current} invocation context. Uses the console
+ * of the running process if available and reads from the input stream of the context otherwise.
+ */
 public class UserInputPrompter {
 
     public static UserInputPrompter getNew() {
@@ -13,17 +25,48 @@ public class UserInputPrompter {
     }
 
     public String prompt(String promptText) {
-        Console console = obtainConsole();
-        return console.readLine(promptText);
+        InvocationContext context = InvocationContext.current();
+        Optional<Console> console = context.getConsole();
+        if (console.isPresent())
+            return console.get().readLine(promptText);
+        return promptFromStreams(context, promptText);
     }
 
+    /**
+     * Does not mask the input if no console is available.
+     */
     public String promptMasked(String promptText) {
-        Console console = obtainConsole();
-        return String.valueOf(console.readPassword(promptText));
+        InvocationContext context = InvocationContext.current();
+        Optional<Console> console = context.getConsole();
+        if (console.isPresent())
+            return String.valueOf(console.get().readPassword(promptText));
+        return promptFromStreams(context, promptText);
+    }
+
+    private String promptFromStreams(InvocationContext context, String promptText) {
+        PrintStream out = context.getOut();
+        out.print(promptText);
+        out.flush();
+        try {
+            return readLine(context.getIn());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read user input", e);
+        }
     }
 
-    private Console obtainConsole() {
-        return Objects.requireNonNull(System.console(), "Tried to obtain system console but received null");
+    /**
+     * Reads up to the next line break without consuming input beyond it.
+     * @return the line without line terminator or null if the input ended before any character was read.
+     */
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n')
+            line.write(b);
+        if (b < 0 && line.size() == 0)
+            return null;
+        String result = line.toString(Charset.defaultCharset());
+        return result.endsWith("\r") ? result.substring(0, result.length() - 1) : result;
     }
 
 }
@@ -0,0 +1,28 @@
+package io.github.johannesbuchholz.clihats.processor.util.visitors;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.util.SimpleAnnotationValueVisitor9;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Designed for accepting arrays of AnnotationValue Objects that are expected to contain annotations.
+ * <p>Visiting such an AnnotationValue returns the contained values as {@link AnnotationMirror}.</p>
+ */
+public class ArrayOfAnnotationAnnotationValueVisitor extends SimpleAnnotationValueVisitor9<List<AnnotationMirror>, Void> {
+
+    @Override
+    public List<AnnotationMirror> visitArray(List<? extends AnnotationValue> vals, Void unused) {
+        return vals.stream()
+                .map(AnnotationValue::getValue)
+                .map(AnnotationMirror.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected List<AnnotationMirror> defaultAction(Object o, Void unused) {
+        throw new UnsupportedOperationException(String.format("Trying to visit array of AnnotationValue of not implemented type: %s of type %s", o, o.getClass()));
+    }
+
+}
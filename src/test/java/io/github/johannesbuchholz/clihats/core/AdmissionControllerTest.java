@@ -0,0 +1,239 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.AdmissionController;
+import io.github.johannesbuchholz.clihats.core.execution.AdmissionMetrics;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.AdmissionRejectedException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AdmissionControllerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Semaphore started = new Semaphore(0);
+    private final List<String> executedValues = new CopyOnWriteArrayList<>();
+    private Commander commander;
+    private ExecutorService executorService;
+
+    @Before
+    public void setup() {
+        commander = Commander.forName("admission-cli").withCommands(
+                Command.forName("block")
+                        .withInstruction(args -> {
+                            started.release();
+                            release.await();
+                            executedValues.add((String) args[0]);
+                        })
+                        .withParsers(ArgumentParsers.operand(0)),
+                Command.forName("run")
+                        .withInstruction(args -> executedValues.add((String) args[0]))
+                        .withParsers(ArgumentParsers.operand(0))
+        );
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    private Future<?> submit(AdmissionController controller, String... args) {
+        return executorService.submit(() -> {
+            controller.execute(args);
+            return null;
+        });
+    }
+
+    private static void awaitQueued(AdmissionController controller, int queuedCount) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (controller.getMetrics().getQueuedCount() != queuedCount) {
+            if (System.nanoTime() > deadline)
+                fail("Expected " + queuedCount + " queued invocations but got " + controller.getMetrics());
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void shouldExecuteWithoutLimits() throws Exception {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander);
+        // when
+        controller.execute(new String[]{"run", "value"});
+        // then
+        assertEquals(List.of("value"), executedValues);
+        AdmissionMetrics metrics = controller.getMetrics();
+        assertEquals(0, metrics.getRunningCount());
+        assertEquals(1, metrics.getAdmittedCount());
+        assertEquals(0, metrics.getRejectedCount());
+    }
+
+    @Test
+    public void shouldRejectImmediatelyWithoutQueue() throws Exception {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1)
+                .withMaxQueueLength(0);
+        Future<?> blocking = submit(controller, "block", "1");
+        assertTrue(started.tryAcquire(10, TimeUnit.SECONDS));
+        // when
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class, () -> controller.execute(new String[]{"run", "2"}));
+        // then
+        assertEquals(AdmissionRejectedException.EXIT_CODE, e.getExitCode());
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("1"), executedValues);
+        assertEquals(1, controller.getMetrics().getRejectedCount());
+    }
+
+    @Test
+    public void shouldAdmitQueuedInvocationsInOrder() throws Exception {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1);
+        Future<?> blocking = submit(controller, "block", "1");
+        assertTrue(started.tryAcquire(10, TimeUnit.SECONDS));
+        Future<?> second = submit(controller, "run", "2");
+        awaitQueued(controller, 1);
+        Future<?> third = submit(controller, "run", "3");
+        awaitQueued(controller, 2);
+        // when
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        third.get(10, TimeUnit.SECONDS);
+        // then
+        assertEquals(List.of("1", "2", "3"), executedValues);
+        assertEquals(3, controller.getMetrics().getAdmittedCount());
+    }
+
+    @Test
+    public void shouldLimitPerCommand() throws Exception {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency("block", 1);
+        Future<?> blocking = submit(controller, "block", "1");
+        assertTrue(started.tryAcquire(10, TimeUnit.SECONDS));
+        Future<?> queued = submit(controller, "block", "2");
+        awaitQueued(controller, 1);
+        // when
+        controller.execute(new String[]{"run", "3"});
+        // then
+        assertEquals(List.of("3"), executedValues);
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        queued.get(10, TimeUnit.SECONDS);
+        assertEquals(3, executedValues.size());
+    }
+
+    @Test
+    public void shouldRejectNewInvocationIfQueueIsFull() throws Exception {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1)
+                .withMaxQueueLength(1);
+        Future<?> blocking = submit(controller, "block", "1");
+        assertTrue(started.tryAcquire(10, TimeUnit.SECONDS));
+        Future<?> queued = submit(controller, "run", "2");
+        awaitQueued(controller, 1);
+        // when
+        assertThrows(AdmissionRejectedException.class, () -> controller.execute(new String[]{"run", "3"}));
+        // then
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        queued.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("1", "2"), executedValues);
+    }
+
+    @Test
+    public void shouldRejectOldestInvocationIfQueueIsFull() throws Exception {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1)
+                .withMaxQueueLength(1)
+                .withRejectPolicy(AdmissionController.RejectPolicy.REJECT_OLDEST);
+        Future<?> blocking = submit(controller, "block", "1");
+        assertTrue(started.tryAcquire(10, TimeUnit.SECONDS));
+        Future<?> oldest = submit(controller, "run", "2");
+        awaitQueued(controller, 1);
+        // when
+        Future<?> newest = submit(controller, "run", "3");
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> oldest.get(10, TimeUnit.SECONDS));
+        assertEquals(AdmissionRejectedException.class, e.getCause().getClass());
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        newest.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("1", "3"), executedValues);
+    }
+
+    @Test
+    public void shouldRejectAfterMaxWaitTime() throws Exception {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1)
+                .withMaxWaitTime(Duration.ofMillis(50));
+        submit(controller, "block", "1");
+        assertTrue(started.tryAcquire(10, TimeUnit.SECONDS));
+        // when
+        assertThrows(AdmissionRejectedException.class, () -> controller.execute(new String[]{"run", "2"}));
+        // then
+        AdmissionMetrics metrics = controller.getMetrics();
+        assertEquals(0, metrics.getQueuedCount());
+        assertEquals(1, metrics.getRunningCount());
+        assertEquals(1, metrics.getRejectedCount());
+    }
+
+    @Test
+    public void shouldNotAdmitHelpCallsAndInvalidArguments() {
+        // given
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1)
+                .withMaxQueueLength(0);
+        // when
+        assertThrows(CliHelpCallException.class, () -> controller.execute(new String[]{"--help"}));
+        assertThrows(CommanderExecutionException.class, () -> controller.execute(new String[]{"unknown"}));
+        // then
+        assertEquals(0, controller.getMetrics().getAdmittedCount());
+        assertEquals(0, controller.getMetrics().getRejectedCount());
+    }
+
+    @Test
+    public void shouldNeverExceedConcurrencyLimit() throws Exception {
+        // given
+        int limit = 3;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Commander countingCommander = Commander.forName("counting-cli").withCommands(
+                Command.forName("count")
+                        .withInstruction(args -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            Thread.sleep(1);
+                            running.decrementAndGet();
+                        })
+        );
+        AdmissionController controller = AdmissionController.forCommander(countingCommander).withMaxConcurrency(limit);
+        // when
+        List<Future<?>> futures = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 100; i++)
+            futures.add(submit(controller, "count"));
+        for (Future<?> future : futures)
+            future.get(10, TimeUnit.SECONDS);
+        // then
+        assertTrue(maxRunning.get() <= limit);
+        assertEquals(100, controller.getMetrics().getAdmittedCount());
+    }
+
+}
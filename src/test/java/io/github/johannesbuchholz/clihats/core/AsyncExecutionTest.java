@@ -0,0 +1,149 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.ExecutionResult;
+import io.github.johannesbuchholz.clihats.core.execution.exception.*;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AsyncExecutionTest {
+
+    private final List<Runnable> submittedTasks = new ArrayList<>();
+    private final Executor recordingExecutor = submittedTasks::add;
+    private TestResult testResult;
+    private Commander commander;
+    private ExecutorService executorService;
+
+    @Before
+    public void setup() {
+        testResult = TestResult.newEmpty();
+        commander = Commander.forName("async-cli").withCommands(
+                Command.forName("run")
+                        .withInstruction(testResult.getTestInstruction())
+                        .withParsers(ArgumentParsers.valuedOption("-a")),
+                Command.forName("fail")
+                        .withInstruction(args -> {
+                            throw new IllegalStateException("failing on purpose");
+                        })
+        );
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunInstructionOnExecutor() throws Exception {
+        // given
+        String[] args = {"run", "-a", "value"};
+        // when
+        CompletableFuture<ExecutionResult> future = commander.executeAsync(args, recordingExecutor);
+        // then
+        assertFalse(future.isDone());
+        assertEquals(TestResult.newEmpty(), testResult);
+        assertEquals(1, submittedTasks.size());
+        submittedTasks.get(0).run();
+        assertEquals(TestResult.newExpected("value"), testResult);
+        assertEquals("run", future.get().getCommand().getName());
+    }
+
+    @Test
+    public void shouldParseOnCallingThread() {
+        // given
+        String[] args = {"run", "-b"};
+        // when
+        CompletableFuture<ExecutionResult> future = commander.executeAsync(args, recordingExecutor);
+        // then
+        assertTrue(future.isCompletedExceptionally());
+        assertTrue(submittedTasks.isEmpty());
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertEquals(CommanderExecutionException.class, e.getCause().getClass());
+        assertEquals(InvalidInputArgumentException.class, e.getCause().getCause().getClass());
+    }
+
+    @Test
+    public void shouldCompleteWithHelpCall() {
+        // given
+        String[] args = {"--help"};
+        // when
+        CompletableFuture<ExecutionResult> future = commander.executeAsync(args, recordingExecutor);
+        // then
+        assertTrue(submittedTasks.isEmpty());
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertEquals(CliHelpCallException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void shouldCompleteWithClientCodeException() {
+        // given
+        String[] args = {"fail"};
+        // when
+        CompletableFuture<ExecutionResult> future = commander.executeAsync(args, executorService);
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertEquals(CommanderExecutionException.class, e.getCause().getClass());
+        assertEquals(ClientCodeExecutionException.class, e.getCause().getCause().getClass());
+    }
+
+    @Test
+    public void shouldCompleteWithRejection() {
+        // given
+        String[] args = {"run"};
+        Executor rejectingExecutor = task -> {
+            throw new RejectedExecutionException("rejecting on purpose");
+        };
+        // when
+        CompletableFuture<ExecutionResult> future = commander.executeAsync(args, rejectingExecutor);
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertEquals(RejectedExecutionException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void shouldExecuteConcurrently() throws Exception {
+        // given
+        int invocations = 1000;
+        AtomicInteger executions = new AtomicInteger();
+        Commander countingCommander = Commander.forName("counting-cli").withCommands(
+                Command.forName("count")
+                        .withInstruction(args -> executions.addAndGet((Integer) args[0]))
+                        .withParsers(ArgumentParsers.valuedOption("-n").withMapper(Integer::valueOf))
+        );
+        // when
+        List<CompletableFuture<ExecutionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < invocations; i++)
+            futures.add(countingCommander.executeAsync(new String[]{"count", "-n", "1"}, executorService));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        // then
+        assertEquals(invocations, executions.get());
+    }
+
+    @Test
+    public void commandShouldRunInstructionOnExecutor() throws Exception {
+        // given
+        TestResult commandResult = TestResult.newEmpty();
+        Command command = Command.forName("cmd")
+                .withInstruction(commandResult.getTestInstruction())
+                .withParsers(ArgumentParsers.operand(0));
+        // when
+        CompletableFuture<ExecutionResult> future = command.executeAsync(new String[]{"operand"}, recordingExecutor);
+        // then
+        assertEquals(TestResult.newEmpty(), commandResult);
+        submittedTasks.get(0).run();
+        assertEquals(TestResult.newExpected("operand"), commandResult);
+        assertSame(command, future.get().getCommand());
+    }
+
+}
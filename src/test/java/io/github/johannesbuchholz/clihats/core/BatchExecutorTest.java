@@ -0,0 +1,158 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.BatchExecutor;
+import io.github.johannesbuchholz.clihats.core.execution.BatchResult;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.Diagnostic;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidCommandLineException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.UnknownCommandException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class BatchExecutorTest {
+
+    private final Set<String> executedValues = ConcurrentHashMap.newKeySet();
+    private Commander commander;
+
+    @Before
+    public void setup() {
+        commander = Commander.forName("batch-cli").withCommands(
+                Command.forName("echo")
+                        .withInstruction(args -> {
+                            // later lines complete earlier
+                            Thread.sleep(Math.max(0, 20 - Integer.parseInt((String) args[0])));
+                            executedValues.add((String) args[0]);
+                        })
+                        .withParsers(ArgumentParsers.operand(0).withRequired(true)),
+                Command.forName("fail")
+                        .withInstruction(args -> {
+                            throw new IllegalStateException("failing on purpose");
+                        })
+        );
+    }
+
+    private static BufferedReader reader(String... lines) {
+        return new BufferedReader(new StringReader(String.join("\n", lines)));
+    }
+
+    @Test
+    public void shouldExecuteAllLines() throws IOException {
+        // given
+        BufferedReader reader = reader("echo 1", "", "# comment", "echo '2'", "echo 3 # comment");
+        List<BatchResult.Line> reportedLines = new ArrayList<>();
+        // when
+        BatchResult result = BatchExecutor.forCommander(commander).execute(reader, reportedLines::add);
+        // then
+        assertEquals(Set.of("1", "2", "3"), executedValues);
+        assertEquals(3, result.getLineCount());
+        assertEquals(3, result.getSucceededLineCount());
+        assertEquals(0, result.getExitCode());
+        assertEquals(List.of(1, 4, 5), reportedLines.stream().map(BatchResult.Line::getLineNumber).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldReportInOrderWhenExecutedInParallel() throws IOException {
+        // given
+        String[] lines = IntStream.rangeClosed(1, 20).mapToObj(i -> "echo " + i).toArray(String[]::new);
+        List<Integer> reportedLineNumbers = new ArrayList<>();
+        // when
+        BatchResult result = BatchExecutor.forCommander(commander)
+                .withParallelism(4)
+                .execute(reader(lines), line -> reportedLineNumbers.add(line.getLineNumber()));
+        // then
+        assertEquals(20, executedValues.size());
+        assertEquals(20, result.getLineCount());
+        assertEquals(IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()), reportedLineNumbers);
+    }
+
+    @Test
+    public void shouldReportEveryLineWhenUnordered() throws IOException {
+        // given
+        String[] lines = IntStream.rangeClosed(1, 20).mapToObj(i -> "echo " + i).toArray(String[]::new);
+        List<Integer> reportedLineNumbers = new ArrayList<>();
+        // when
+        BatchExecutor.forCommander(commander)
+                .withParallelism(4)
+                .withOrderedReporting(false)
+                .execute(reader(lines), line -> reportedLineNumbers.add(line.getLineNumber()));
+        // then
+        assertEquals(IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toSet()), Set.copyOf(reportedLineNumbers));
+        assertEquals(20, reportedLineNumbers.size());
+    }
+
+    @Test
+    public void shouldReportFailuresAndContinue() throws IOException {
+        // given
+        BufferedReader reader = reader("echo 1", "fail", "unknown", "echo 'unterminated", "echo 5");
+        List<BatchResult.Line> reportedLines = new ArrayList<>();
+        // when
+        BatchResult result = BatchExecutor.forCommander(commander).withParallelism(2).execute(reader, reportedLines::add);
+        // then
+        assertEquals(Set.of("1", "5"), executedValues);
+        assertEquals(5, result.getLineCount());
+        assertEquals(3, result.getFailedLineCount());
+        assertEquals(1, result.getExitCode());
+        assertEquals(CommanderExecutionException.class, reportedLines.get(1).getFailure().orElseThrow().getClass());
+        assertEquals(UnknownCommandException.class, reportedLines.get(2).getFailure().orElseThrow().getClass());
+        assertEquals(InvalidCommandLineException.class, reportedLines.get(3).getFailure().orElseThrow().getClass());
+        assertEquals(0, reportedLines.get(4).getExitCode());
+    }
+
+    @Test
+    public void shouldTreatHelpCallsAsSuccess() throws IOException {
+        // when
+        BatchResult result = BatchExecutor.forCommander(commander).execute(reader("echo --help"), line -> {});
+        // then
+        assertEquals(1, result.getLineCount());
+        assertEquals(0, result.getFailedLineCount());
+    }
+
+    @Test
+    public void shouldRejectInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> BatchExecutor.forCommander(commander).withParallelism(0));
+    }
+
+    @Test
+    public void shouldValidateWithoutExecutingInDryRun() throws IOException {
+        // given
+        BufferedReader reader = reader("echo 1", "fail", "ech-o 2", "echo", "echo 'unterminated", "echo 3 4");
+        List<BatchResult.Line> reportedLines = new ArrayList<>();
+        // when
+        BatchResult result = BatchExecutor.forCommander(commander)
+                .withParallelism(4)
+                .withDryRun(true)
+                .execute(reader, reportedLines::add);
+        // then
+        assertTrue(executedValues.isEmpty());
+        assertEquals(6, result.getLineCount());
+        assertEquals(2, result.getSucceededLineCount());
+        assertEquals(1, result.getExitCode());
+        List<List<Diagnostic.Kind>> kinds = reportedLines.stream()
+                .map(line -> line.getDiagnostics().stream().map(Diagnostic::getKind).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        assertEquals(List.of(
+                List.of(),
+                List.of(),
+                List.of(Diagnostic.Kind.UNKNOWN_COMMAND),
+                List.of(Diagnostic.Kind.MISSING_ARGUMENT),
+                List.of(Diagnostic.Kind.INVALID_COMMAND_LINE),
+                List.of(Diagnostic.Kind.UNKNOWN_ARGUMENT)
+        ), kinds);
+    }
+
+}
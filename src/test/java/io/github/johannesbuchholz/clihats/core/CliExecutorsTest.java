@@ -0,0 +1,52 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliExecutors;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.ExecutionResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class CliExecutorsTest {
+
+    @Test
+    public void shouldDetectVirtualThreads() {
+        assertEquals(Runtime.version().feature() >= 21, CliExecutors.isVirtualThreadSupported());
+    }
+
+    @Test
+    public void shouldRunBlockingInstructionsConcurrently() throws Exception {
+        // given
+        int invocations = 100;
+        // every instruction blocks until all instructions have started
+        CountDownLatch started = new CountDownLatch(invocations);
+        Commander commander = Commander.forName("blocking-cli").withCommands(
+                Command.forName("block").withInstruction(args -> {
+                    started.countDown();
+                    if (!started.await(10, TimeUnit.SECONDS))
+                        throw new IllegalStateException("Instructions did not run concurrently");
+                })
+        );
+        ExecutorService executor = CliExecutors.newPerTaskExecutor();
+        // when
+        List<CompletableFuture<ExecutionResult>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < invocations; i++)
+                futures.add(commander.executeAsync(new String[]{"block"}, executor));
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(20, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        // then
+        assertEquals(0, started.getCount());
+    }
+
+}
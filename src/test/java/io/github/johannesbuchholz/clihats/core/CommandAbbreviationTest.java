@@ -0,0 +1,85 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.UnknownCommandException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandAbbreviationTest {
+
+    private TestResult deployResult;
+    private TestResult deleteResult;
+    private Commander commander;
+
+    @Before
+    public void setup() {
+        deployResult = TestResult.newEmpty();
+        deleteResult = TestResult.newEmpty();
+        commander = Commander.forName("abbreviation-cli")
+                .withCommands(
+                        Command.forName("deploy")
+                                .withInstruction(deployResult.getTestInstruction())
+                                .withParsers(ArgumentParsers.operand(0)),
+                        Command.forName("delete")
+                                .withInstruction(deleteResult.getTestInstruction())
+                                .withParsers(ArgumentParsers.operand(0)),
+                        Command.forName("de"));
+    }
+
+    @Test
+    public void shouldExecute_uniquePrefix() throws CliException {
+        // given
+        String[] args = {"dep", "operand"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected("operand"), deployResult);
+        assertEquals(TestResult.newEmpty(), deleteResult);
+    }
+
+    @Test
+    public void shouldExecute_exactNameBeforePrefix() throws CliException {
+        // given
+        String[] args = {"de"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newEmpty(), deployResult);
+        assertEquals(TestResult.newEmpty(), deleteResult);
+    }
+
+    @Test
+    public void shouldFail_ambiguousPrefix() {
+        // given
+        String[] args = {"d", "operand"};
+        // when
+        UnknownCommandException e = assertThrows(UnknownCommandException.class, () -> commander.execute(args));
+        // then
+        assertEquals(List.of("de", "delete", "deploy"), e.getCandidates());
+    }
+
+    @Test
+    public void shouldFail_unknownCommand() {
+        // given
+        String[] args = {"deployment"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(args));
+        // then
+        assertEquals(UnknownCommandException.class, e.getClass());
+    }
+
+    @Test
+    public void completions() {
+        assertEquals(List.of("de", "delete", "deploy"), commander.getCommandNameCompletions("de"));
+        assertEquals(List.of("deploy"), commander.getCommandNameCompletions("dep"));
+        assertEquals(List.of(), commander.getCommandNameCompletions("x"));
+    }
+
+}
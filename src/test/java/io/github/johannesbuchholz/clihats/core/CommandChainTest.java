@@ -0,0 +1,171 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.ChainExecutionResult;
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.*;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CommandChainTest {
+
+    private final List<String> executedSteps = new CopyOnWriteArrayList<>();
+    private Commander commander;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        commander = Commander.forName("chain-cli").withCommands(
+                Command.forName("echo")
+                        .withInstruction(args -> executedSteps.add((String) args[0]))
+                        .withParsers(ArgumentParsers.operand(0)),
+                Command.forName("await")
+                        .withInstruction(args -> {
+                            // passes only if two steps await concurrently
+                            barrier.await(10, TimeUnit.SECONDS);
+                            executedSteps.add("await");
+                        }),
+                Command.forName("fail")
+                        .withInstruction(args -> {
+                            executedSteps.add("fail");
+                            throw new IllegalStateException("failing on purpose");
+                        })
+        );
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldExecuteStepsInOrder() throws CliException {
+        // given
+        String[] args = {"echo", "a", "+", "echo", "b", "+", "echo", "c"};
+        // when
+        ChainExecutionResult result = commander.executeChain(args, executor);
+        // then
+        assertEquals(List.of("a", "b", "c"), executedSteps);
+        assertTrue(result.isSuccessful());
+        assertEquals(0, result.getExitCode());
+        assertEquals(List.of("echo", "b"), result.getSteps().get(1).getArgs());
+    }
+
+    @Test
+    public void shouldExecuteSingleStep() throws CliException {
+        // given
+        String[] args = {"echo", "a"};
+        // when
+        ChainExecutionResult result = commander.executeChain(args, executor);
+        // then
+        assertEquals(List.of("a"), executedSteps);
+        assertEquals(1, result.getSteps().size());
+    }
+
+    @Test
+    public void shouldExecuteIndependentStepsInParallel() throws CliException {
+        // given
+        String[] args = {"await", "++", "await", "+", "echo", "after"};
+        // when
+        ChainExecutionResult result = commander.executeChain(args, executor);
+        // then
+        assertTrue(result.isSuccessful());
+        assertEquals(List.of("await", "await", "after"), executedSteps);
+    }
+
+    @Test
+    public void shouldStopOnFailure() throws CliException {
+        // given
+        String[] args = {"echo", "a", "+", "fail", "+", "echo", "c"};
+        // when
+        ChainExecutionResult result = commander.executeChain(args, executor);
+        // then
+        assertEquals(List.of("a", "fail"), executedSteps);
+        assertFalse(result.isSuccessful());
+        assertEquals(1, result.getExitCode());
+        assertEquals(ChainExecutionResult.Status.SUCCEEDED, result.getSteps().get(0).getStatus());
+        assertEquals(ChainExecutionResult.Status.FAILED, result.getSteps().get(1).getStatus());
+        assertEquals(ChainExecutionResult.Status.SKIPPED, result.getSteps().get(2).getStatus());
+        assertEquals(ClientCodeExecutionException.class, result.getSteps().get(1).getException().orElseThrow().getCause().getClass());
+    }
+
+    @Test
+    public void shouldNotRunAnyStepOnInvalidArguments() {
+        // given
+        String[] args = {"echo", "a", "+", "echo", "b", "c"};
+        // when
+        assertThrows(CommanderExecutionException.class, () -> commander.executeChain(args, executor));
+        // then
+        assertTrue(executedSteps.isEmpty());
+    }
+
+    @Test
+    public void shouldRejectEmptyStep() {
+        // given
+        String[] args = {"echo", "a", "+", "+", "echo", "b"};
+        // when
+        InvalidCommandChainException e = assertThrows(InvalidCommandChainException.class, () -> commander.executeChain(args, executor));
+        // then
+        assertTrue(e.getMessage().contains("Empty step at position 2"));
+        assertTrue(executedSteps.isEmpty());
+    }
+
+    @Test
+    public void shouldRequestHelpForStep() {
+        // given
+        String[] args = {"echo", "a", "+", "echo", "--help"};
+        // when
+        CliHelpCallException e = assertThrows(CliHelpCallException.class, () -> commander.executeChain(args, executor));
+        // then
+        assertTrue(e.getMessage().contains("Help for echo"));
+        assertTrue(executedSteps.isEmpty());
+    }
+
+    @Test
+    public void shouldPassEscapedSeparatorsAsArguments() throws CliException {
+        // given
+        String[] args = {"echo", "\\+", "+", "echo", "\\++", "+", "echo", "\\\\+", "+", "echo", "\\a"};
+        // when
+        ChainExecutionResult result = commander.executeChain(args, executor);
+        // then
+        assertEquals(List.of("+", "++", "\\+", "\\a"), executedSteps);
+        assertEquals(4, result.getSteps().size());
+        assertEquals(List.of("echo", "+"), result.getSteps().get(0).getArgs());
+    }
+
+    @Test
+    public void shouldFailStepRejectedByExecutor() throws CliException {
+        // given
+        AtomicInteger submissionCount = new AtomicInteger();
+        Executor rejectingExecutor = task -> {
+            if (submissionCount.getAndIncrement() > 0)
+                throw new RejectedExecutionException("saturated");
+            task.run();
+        };
+        String[] args = {"echo", "a", "++", "echo", "b", "++", "echo", "c", "+", "echo", "d"};
+        // when
+        ChainExecutionResult result = commander.executeChain(args, rejectingExecutor);
+        // then
+        assertEquals(List.of("a"), executedSteps);
+        assertFalse(result.isSuccessful());
+        assertEquals(ChainExecutionResult.Status.SUCCEEDED, result.getSteps().get(0).getStatus());
+        assertEquals(ChainExecutionResult.Status.FAILED, result.getSteps().get(1).getStatus());
+        assertEquals(ChainExecutionResult.Status.SKIPPED, result.getSteps().get(2).getStatus());
+        assertEquals(ChainExecutionResult.Status.SKIPPED, result.getSteps().get(3).getStatus());
+        CliException e = result.getSteps().get(1).getException().orElseThrow();
+        assertEquals(ClientCodeExecutionException.class, e.getCause().getClass());
+        assertEquals(RejectedExecutionException.class, e.getCause().getCause().getClass());
+    }
+
+}
@@ -0,0 +1,173 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.exception.ClientCodeExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommandTimeoutException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import io.github.johannesbuchholz.clihats.core.execution.result.NdjsonResultWriter;
+import io.github.johannesbuchholz.clihats.core.execution.result.TsvResultWriter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class CommandResultTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final InvocationContext context = InvocationContext.system()
+            .withOut(new PrintStream(out, true, Charset.defaultCharset()));
+
+    private String getOutput() {
+        return out.toString(Charset.defaultCharset()).replace(System.lineSeparator(), "\n");
+    }
+
+    @Test
+    public void shouldWriteResultAsText() throws Exception {
+        // given
+        Command command = Command.forName("greet")
+                .withResultInstruction(args -> "Hello " + args[0])
+                .withParsers(ArgumentParsers.operand(0));
+
+        // when
+        command.execute(new String[]{"World"}, context);
+
+        // then
+        assertEquals("Hello World\n", getOutput());
+    }
+
+    @Test
+    public void shouldWriteNothingForNullResult() throws Exception {
+        // given
+        Command command = Command.forName("nothing").withResultInstruction(args -> null);
+
+        // when
+        command.execute(new String[]{}, context);
+
+        // then
+        assertEquals("", getOutput());
+    }
+
+    @Test
+    public void shouldWriteRecordsOfStreamLazilyAndCloseIt() throws Exception {
+        // given
+        AtomicInteger producedCount = new AtomicInteger();
+        AtomicBoolean isClosed = new AtomicBoolean();
+        Command command = Command.forName("count")
+                .withResultInstruction(args -> IntStream.range(0, 3)
+                        .peek(i -> producedCount.incrementAndGet())
+                        .boxed()
+                        .onClose(() -> isClosed.set(true)));
+
+        // when
+        command.execute(new String[]{}, context);
+
+        // then
+        assertEquals("0\n1\n2\n", getOutput());
+        assertEquals(3, producedCount.get());
+        assertTrue(isClosed.get());
+    }
+
+    @Test
+    public void shouldWriteRecordsOfIteratorAndIterable() throws Exception {
+        // given
+        Command iterator = Command.forName("iterator").withResultInstruction(args -> List.of("a", "b").iterator());
+        Command iterable = Command.forName("iterable").withResultInstruction(args -> new TreeSet<>(Set.of("d", "c")));
+
+        // when
+        iterator.execute(new String[]{}, context);
+        iterable.execute(new String[]{}, context);
+
+        // then
+        assertEquals("a\nb\nc\nd\n", getOutput());
+    }
+
+    @Test
+    public void shouldWriteTsv() throws Exception {
+        // given
+        Command command = Command.forName("tsv")
+                .withResultInstruction(args -> Stream.of(
+                        List.of("name", "value"),
+                        Arrays.asList("tab\there", null),
+                        new Object[]{"line\nbreak", "back\\slash"},
+                        Map.entry("key", 1)))
+                .withResultWriter(new TsvResultWriter());
+
+        // when
+        command.execute(new String[]{}, context);
+
+        // then
+        assertEquals("name\tvalue\ntab\\there\t\nline\\nbreak\tback\\\\slash\nkey\t1\n", getOutput());
+    }
+
+    @Test
+    public void shouldWriteNdjson() throws Exception {
+        // given
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("name", "quote \" and\nbreak");
+        record.put("count", 3);
+        record.put("ratio", 0.5);
+        record.put("nan", Double.NaN);
+        record.put("tags", List.of("a", "b"));
+        record.put("present", Optional.of(true));
+        record.put("missing", null);
+        Command command = Command.forName("json")
+                .withResultInstruction(args -> List.of(record, "\u0001"))
+                .withResultWriter(new NdjsonResultWriter());
+
+        // when
+        command.execute(new String[]{}, context);
+
+        // then
+        assertEquals("{\"name\":\"quote \\\" and\\nbreak\",\"count\":3,\"ratio\":0.5,\"nan\":null,\"tags\":[\"a\",\"b\"],\"present\":true,\"missing\":null}\n" +
+                "\"\\u0001\"\n", getOutput());
+    }
+
+    @Test
+    public void shouldStopEndlessStreamOnTimeout() throws InterruptedException {
+        // given
+        AtomicBoolean isClosed = new AtomicBoolean();
+        Command command = Command.forName("endless")
+                .withResultInstruction(args -> Stream.generate(() -> "record").onClose(() -> isClosed.set(true)))
+                .withTimeout(Duration.ofMillis(100));
+        InvocationContext discardingContext = InvocationContext.system().withOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        // when
+        assertThrows(CommandTimeoutException.class, () -> command.execute(new String[]{}, discardingContext));
+
+        // then
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!isClosed.get() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertTrue(isClosed.get());
+    }
+
+    @Test
+    public void shouldFailIfStreamFails() {
+        // given
+        Command command = Command.forName("failing")
+                .withResultInstruction(args -> Stream.of("first", "second").map(s -> {
+                    if (s.equals("second"))
+                        throw new IllegalStateException("failing on purpose");
+                    return s;
+                }));
+
+        // when
+        ClientCodeExecutionException e = assertThrows(ClientCodeExecutionException.class, () -> command.execute(new String[]{}, context));
+
+        // then
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+        assertEquals("first\n", getOutput());
+    }
+
+}
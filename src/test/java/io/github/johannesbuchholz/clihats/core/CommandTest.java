@@ -1,6 +1,9 @@
 package io.github.johannesbuchholz.clihats.core;
 
 import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.Instruction1;
+import io.github.johannesbuchholz.clihats.core.execution.Instruction3;
 import io.github.johannesbuchholz.clihats.core.execution.exception.CommandExecutionException;
 import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
 import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
@@ -8,6 +11,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 
@@ -46,6 +50,36 @@ public class CommandTest {
         assertEquals(expectedException, actualCause.getCause());
     }
 
+    @Test
+    public void typedInstruction() throws Exception {
+        AtomicReference<String> received = new AtomicReference<>();
+        Instruction3<String, Integer, Boolean> instruction = (name, count, flag) -> received.set(name + count + flag);
+        Command command = Command.forName("run")
+                .withInstruction(instruction)
+                .withParsers(
+                        ArgumentParsers.operand(0),
+                        ArgumentParsers.valuedOption("-c").withMapper(Integer::valueOf),
+                        ArgumentParsers.flagOption("-f").withFlagValue("true").withDefault("false").withMapper(Boolean::valueOf));
+
+        command.execute(new String[]{"-c", "3", "-f", "name"});
+
+        assertEquals("name3true", received.get());
+    }
+
+    @Test
+    public void typedInstruction_ignoresGlobalValues() throws Exception {
+        AtomicReference<String> received = new AtomicReference<>();
+        Commander commander = Commander.forName("cli")
+                .withGlobalOptions(ArgumentParsers.valuedOption("--global").withDefault("global"))
+                .withCommands(Command.forName("run")
+                        .withInstruction((Instruction1<String>) received::set)
+                        .withParsers(ArgumentParsers.operand(0)));
+
+        commander.execute(new String[]{"--global", "value", "run", "operand"});
+
+        assertEquals("operand", received.get());
+    }
+
     private static class CustomException extends RuntimeException {
         public CustomException(String message) {
             super(message);
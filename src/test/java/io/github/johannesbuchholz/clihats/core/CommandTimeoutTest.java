@@ -0,0 +1,274 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.AdmissionController;
+import io.github.johannesbuchholz.clihats.core.execution.CancellationToken;
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.CliExecutors;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.exception.AdmissionRejectedException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.ClientCodeExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommandTimeoutException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CommandTimeoutTest {
+
+    // releases instructions ignoring cancellation at the end of each test
+    private volatile boolean released = false;
+
+    @After
+    public void release() {
+        released = true;
+    }
+
+    private void spinUntilReleased() {
+        while (!released)
+            Thread.onSpinWait();
+    }
+
+    @Test
+    public void shouldReleaseCallerIfInstructionIgnoresTimeout() {
+        // given
+        Command command = Command.forName("stuck")
+                .withInstruction(args -> spinUntilReleased())
+                .withTimeout(Duration.ofMillis(100));
+
+        // when
+        long start = System.nanoTime();
+        CommandTimeoutException e = assertThrows(CommandTimeoutException.class, () -> command.execute(new String[]{}));
+
+        // then
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(CommandTimeoutException.EXIT_CODE, e.getExitCode());
+        assertTrue(e.getMessage().contains("stuck"));
+    }
+
+    @Test
+    public void shouldCancelAndInterruptInstructionOnTimeout() throws InterruptedException {
+        // given
+        CountDownLatch observed = new CountDownLatch(1);
+        AtomicBoolean wasInterrupted = new AtomicBoolean();
+        AtomicBoolean wasCancelled = new AtomicBoolean();
+        Command command = Command.forName("sleep")
+                .withInstruction(args -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        wasInterrupted.set(true);
+                        wasCancelled.set(InvocationContext.current().getCancellationToken().isCancelled());
+                        observed.countDown();
+                    }
+                })
+                .withTimeout(Duration.ofMillis(50));
+
+        // when
+        assertThrows(CommandTimeoutException.class, () -> command.execute(new String[]{}));
+
+        // then
+        assertTrue(observed.await(5, TimeUnit.SECONDS));
+        assertTrue(wasInterrupted.get());
+        assertTrue(wasCancelled.get());
+    }
+
+    @Test
+    public void shouldApplyShorterTimeoutOfContext() {
+        // given
+        Commander commander = Commander.forName("timeout-cli").withCommands(Command.forName("stuck")
+                .withInstruction(args -> spinUntilReleased())
+                .withTimeout(Duration.ofMinutes(1)));
+        InvocationContext context = InvocationContext.system().withTimeout(Duration.ofMillis(50));
+
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(new String[]{"stuck"}, context));
+
+        // then
+        assertEquals(CommandTimeoutException.EXIT_CODE, e.getExitCode());
+    }
+
+    @Test
+    public void shouldCompleteWithinTimeout() throws CliException {
+        // given
+        AtomicReference<Object> received = new AtomicReference<>();
+        Command command = Command.forName("fast")
+                .withInstruction(args -> received.set(InvocationContext.current().getCancellationToken().isCancelled()))
+                .withTimeout(Duration.ofSeconds(5));
+        Command failing = Command.forName("failing")
+                .withInstruction(args -> {
+                    throw new IllegalStateException("failing on purpose");
+                })
+                .withTimeout(Duration.ofSeconds(5));
+
+        // when
+        command.execute(new String[]{});
+        ClientCodeExecutionException e = assertThrows(ClientCodeExecutionException.class, () -> failing.execute(new String[]{}));
+
+        // then
+        assertEquals(false, received.get());
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void shouldReleaseCallerOnCancellation() throws InterruptedException {
+        // given
+        CancellationToken token = CancellationToken.create();
+        Command command = Command.forName("stuck").withInstruction(args -> spinUntilReleased());
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread caller = new Thread(() -> thrown.set(assertThrows(ClientCodeExecutionException.class,
+                () -> command.execute(new String[]{}, InvocationContext.system().withCancellationToken(token)))));
+
+        // when
+        caller.start();
+        Thread.sleep(50);
+        token.cancel();
+        caller.join(5000);
+
+        // then
+        assertFalse(caller.isAlive());
+        assertEquals(CancellationException.class, thrown.get().getCause().getClass());
+        assertThrows(CancellationException.class, token::throwIfCancelled);
+    }
+
+    @Test
+    public void shouldNotCancelTokenOfContextOnTimeout() {
+        // given
+        CancellationToken token = CancellationToken.create();
+        Command command = Command.forName("stuck")
+                .withInstruction(args -> spinUntilReleased())
+                .withTimeout(Duration.ofMillis(50));
+
+        // when
+        assertThrows(CommandTimeoutException.class, () -> command.execute(new String[]{}, InvocationContext.system().withCancellationToken(token)));
+
+        // then
+        assertFalse(token.isCancelled());
+    }
+
+    @Test
+    public void shouldRunOnCallingThreadWithoutTimeout() throws CliException {
+        // given
+        AtomicReference<Thread> executingThread = new AtomicReference<>();
+        Command command = Command.forName("plain").withInstruction(args -> executingThread.set(Thread.currentThread()));
+
+        // when
+        command.execute(new String[]{});
+
+        // then
+        assertSame(Thread.currentThread(), executingThread.get());
+        assertThrows(UnsupportedOperationException.class, () -> InvocationContext.system().getCancellationToken().cancel());
+        assertThrows(IllegalArgumentException.class, () -> command.withTimeout(Duration.ZERO));
+    }
+
+    private static void awaitNoRunningInvocation(AdmissionController controller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (controller.getMetrics().getRunningCount() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(5);
+    }
+
+    @Test
+    public void shouldKeepAdmissionOfTimedOutInstructionUntilItTerminates() throws InterruptedException {
+        // given
+        Commander commander = Commander.forName("timeout-cli").withCommands(Command.forName("stuck")
+                .withInstruction(args -> spinUntilReleased())
+                .withTimeout(Duration.ofMillis(50)));
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1)
+                .withMaxQueueLength(0);
+
+        // when
+        CliException e = assertThrows(CliException.class, () -> controller.execute(new String[]{"stuck"}));
+        int runningCountAfterTimeout = controller.getMetrics().getRunningCount();
+        assertThrows(AdmissionRejectedException.class, () -> controller.execute(new String[]{"stuck"}));
+        release();
+        awaitNoRunningInvocation(controller);
+
+        // then
+        assertEquals(CommandTimeoutException.EXIT_CODE, e.getExitCode());
+        assertEquals(1, runningCountAfterTimeout);
+        assertEquals(0, controller.getMetrics().getRunningCount());
+    }
+
+    @Test
+    public void shouldDiscardOutputOfTimedOutInstruction() throws InterruptedException {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Commander commander = Commander.forName("timeout-cli").withCommands(Command.forName("stuck")
+                .withInstruction(args -> {
+                    InvocationContext.current().getOutputChannel().println("early");
+                    spinUntilReleased();
+                    InvocationContext.current().getOutputChannel().println("late");
+                })
+                .withTimeout(Duration.ofMillis(50)));
+        AdmissionController controller = AdmissionController.forCommander(commander);
+        InvocationContext context = InvocationContext.system().withOut(new PrintStream(out, true));
+
+        // when
+        CliException e = assertThrows(CliException.class, () -> controller.execute(new String[]{"stuck"}, context));
+        release();
+        awaitNoRunningInvocation(controller);
+
+        // then
+        assertEquals(CommandTimeoutException.EXIT_CODE, e.getExitCode());
+        assertEquals(0, controller.getMetrics().getRunningCount());
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldNotLimitConcurrentTimedInstructions() throws InterruptedException {
+        // given
+        int invocations = 64;
+        CountDownLatch started = new CountDownLatch(invocations);
+        Command command = Command.forName("await")
+                .withInstruction(args -> {
+                    // passes only if all instructions run concurrently
+                    started.countDown();
+                    if (!started.await(10, TimeUnit.SECONDS))
+                        throw new IllegalStateException("Instructions did not run concurrently");
+                })
+                .withTimeout(Duration.ofSeconds(20));
+        ExecutorService callers = Executors.newFixedThreadPool(invocations);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < invocations; i++)
+            futures.add(callers.submit(() -> {
+                command.execute(new String[]{});
+                return null;
+            }));
+
+        // then
+        try {
+            for (Future<?> future : futures)
+                assertNull(future.get(30, TimeUnit.SECONDS));
+        } catch (ExecutionException | TimeoutException e) {
+            throw new AssertionError(e);
+        } finally {
+            callers.shutdownNow();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (CliExecutors.getCancellableWorkerCount() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertEquals(0, CliExecutors.getCancellableWorkerCount());
+    }
+
+}
@@ -6,6 +6,7 @@ import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderCrea
 import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -96,4 +97,37 @@ public class CommanderConflictTest {
         assertTrue(actualException.getMessage().contains(repeatedArgName));
     }
 
+    @Test
+    public void testConflict_builderShouldDetectCommandsWithSameName() {
+        String repeatedCommandName = "samename";
+        Commander.Builder builder = Commander.builder("conflictCommander-Builder")
+                .addCommands(Command.forName(repeatedCommandName), Command.forName("my-other-command-name"));
+        CommanderCreationException actualException = assertThrows(CommanderCreationException.class, () ->
+                builder.addCommand(Command.forName(repeatedCommandName)));
+        assertTrue(actualException.getMessage().contains(repeatedCommandName));
+    }
+
+    @Test
+    public void testConflict_builderShouldDetectGlobalOptionsWithSameName() {
+        String repeatedArgName = "--samename";
+        Commander.Builder builder = Commander.builder("conflictCommander-Builder")
+                .addGlobalOption(ArgumentParsers.flagOption("-f", repeatedArgName));
+        CommanderCreationException actualException = assertThrows(CommanderCreationException.class, () ->
+                builder.addGlobalOption(ArgumentParsers.valuedOption(repeatedArgName)));
+        assertTrue(actualException.getMessage().contains(repeatedArgName));
+    }
+
+    @Test
+    public void testConflict_builderShouldReportGlobalOptionConflictsLikeCommander() {
+        String repeatedArgName = "--samename";
+        CommanderCreationException commanderException = assertThrows(CommanderCreationException.class, () ->
+                Commander.forName("conflictCommander-Builder")
+                        .withGlobalOptions(ArgumentParsers.flagOption("-f", repeatedArgName), ArgumentParsers.valuedOption(repeatedArgName)));
+        Commander.Builder builder = Commander.builder("conflictCommander-Builder")
+                .addGlobalOption(ArgumentParsers.flagOption("-f", repeatedArgName));
+        CommanderCreationException builderException = assertThrows(CommanderCreationException.class, () ->
+                builder.addGlobalOption(ArgumentParsers.valuedOption(repeatedArgName)));
+        assertEquals(commanderException.getMessage(), builderException.getMessage());
+    }
+
 }
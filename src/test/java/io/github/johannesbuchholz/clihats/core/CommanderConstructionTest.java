@@ -0,0 +1,60 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CommanderConstructionTest {
+
+    private static final int COMMAND_COUNT = 10_000;
+
+    private static Command createCommand(int i, TestResult testResult) {
+        return Command.forName("command-" + i)
+                .withInstruction(testResult.getTestInstruction())
+                .withParsers(
+                        ArgumentParsers.operand(0),
+                        ArgumentParsers.valuedOption("-v", "--value"),
+                        ArgumentParsers.flagOption("-f", "--flag").withFlagValue("true")
+                );
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldBuildManyCommands_withCommands() throws CliException {
+        // given
+        TestResult testResult = TestResult.newEmpty();
+        Command[] commands = new Command[COMMAND_COUNT];
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            commands[i] = createCommand(i, testResult);
+        }
+        String[] args = {"command-" + (COMMAND_COUNT - 1), "operand", "-f"};
+
+        // when
+        Commander commander = Commander.forName("large-cli").withCommands(commands);
+        commander.execute(args);
+
+        // then
+        assertEquals(TestResult.newExpected("operand", null, "true"), testResult);
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldBuildManyCommands_builder() throws CliException {
+        // given
+        TestResult testResult = TestResult.newEmpty();
+        Commander.Builder builder = Commander.builder("large-cli");
+        String[] args = {"command-0", "operand", "--value", "value"};
+
+        // when
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            builder.addCommand(createCommand(i, testResult));
+        }
+        builder.build().execute(args);
+
+        // then
+        assertEquals(TestResult.newExpected("operand", "value", null), testResult);
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CommanderSearchTest {
+
+    private final AtomicInteger clusterConstructions = new AtomicInteger();
+    private final AtomicInteger commandConstructions = new AtomicInteger();
+    private final Commander commander = Commander.builder("search-cli")
+            .addCommands(
+                    Command.forName("deploy")
+                            .withDescription("Deploys the application to a target environment.")
+                            .withParsers(ArgumentParsers.valuedOption("--target").withDescription("The environment to deploy to.")),
+                    Command.forName("rollback")
+                            .withDescription("Restores the previously deployed version.")
+                            .withParsers(ArgumentParsers.flagOption("--force").withDescription("Skip the confirmation of the environment.")),
+                    Command.forName("status")
+                            .withDescription("Shows the current state."))
+            .addCommand("logs", "Prints application logs.", () -> {
+                commandConstructions.incrementAndGet();
+                return Command.forName("logs");
+            })
+            .addCommand("prune", "Removes old entries.", "--older-than Minimum age of removed snapshots", () -> {
+                commandConstructions.incrementAndGet();
+                return Command.forName("prune")
+                        .withParsers(ArgumentParsers.valuedOption("--older-than").withDescription("Minimum age of removed snapshots"));
+            })
+            .addSubCommander("cluster", "Manages the cluster of the environment.", () -> {
+                clusterConstructions.incrementAndGet();
+                return Commander.forName("search-cli cluster");
+            })
+            .build();
+
+    @Test
+    public void search_ranksNamesAboveDescriptionsAboveArguments() {
+        assertEquals(List.of("deploy", "cluster", "rollback"), commander.search("environment"));
+    }
+
+    @Test
+    public void search_prefixAndCaseInsensitive() {
+        assertEquals(List.of("deploy", "rollback"), commander.search("DEPLOY"));
+        assertEquals(List.of("deploy", "logs"), commander.search("applic"));
+    }
+
+    @Test
+    public void search_allTermsMustMatch() {
+        assertEquals(List.of("deploy"), commander.search("deploy target"));
+        assertEquals(List.of(), commander.search("deploy nothing"));
+        assertEquals(List.of(), commander.search(" "));
+    }
+
+    @Test
+    public void search_doesNotBuildNestedCommanders() {
+        commander.search("cluster");
+        assertEquals(0, clusterConstructions.get());
+    }
+
+    @Test
+    public void search_doesNotBuildCommandsRegisteredBySuppliers() {
+        // when
+        List<String> result = commander.search("snapshots");
+        // then
+        assertEquals(List.of("prune"), result);
+        assertEquals(0, commandConstructions.get());
+    }
+
+    @Test
+    public void helpCall_withSearchTerms() {
+        // given
+        String[] args = {"--help", "restores"};
+        // when
+        CliHelpCallException e = assertThrows(CliHelpCallException.class, () -> commander.execute(args));
+        // then
+        assertTrue(e.getMessage().contains("matching 'restores'"));
+        assertTrue(e.getMessage().contains("rollback"));
+        assertFalse(e.getMessage().contains("status"));
+    }
+
+    @Test
+    public void helpCall_withoutMatches() {
+        // given
+        String[] args = {"--help", "unrelated"};
+        // when
+        CliHelpCallException e = assertThrows(CliHelpCallException.class, () -> commander.execute(args));
+        // then
+        assertTrue(e.getMessage().contains("No matching commands."));
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionCache;
+import io.github.johannesbuchholz.clihats.core.execution.CompletionProvider;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompletionTest {
+
+    private final Commander commander = Commander.forName("completion-cli")
+            .withCommands(
+                    Command.forName("greet").withParsers(
+                            ArgumentParsers.valuedOption("-n", "--name"),
+                            ArgumentParsers.flagOption("-l", "--loud"),
+                            ArgumentParsers.operand(0)),
+                    Command.forName("grep"),
+                    Command.forName("run"))
+            .withSubCommander("remote", "", () -> Commander.forName("remote").withCommands(
+                    Command.forName("push").withParsers(ArgumentParsers.flagOption("-f", "--force")),
+                    Command.forName("pull")))
+            .withGlobalOptions(ArgumentParsers.valuedOption("-c", "--config"));
+
+    @Test
+    public void shouldCompleteCommandNames() {
+        assertEquals(List.of("greet", "grep"), commander.getCompletions(new String[]{"gre"}));
+        assertEquals(List.of("greet", "grep", "remote", "run"), commander.getCompletions(new String[]{""}));
+        assertEquals(List.of("greet", "grep", "remote", "run"), commander.getCompletions(new String[]{}));
+    }
+
+    @Test
+    public void shouldCompleteOptionNames() {
+        assertEquals(List.of("--help", "--loud", "--name"), commander.getCompletions(new String[]{"greet", "--"}));
+        assertEquals(List.of("--help", "--loud", "--name", "-l", "-n"), commander.getCompletions(new String[]{"greet", "-l", "-"}));
+    }
+
+    @Test
+    public void shouldNotCompleteOptionValuesAndOperands() {
+        assertEquals(List.of(), commander.getCompletions(new String[]{"greet", "-n", ""}));
+        assertEquals(List.of(), commander.getCompletions(new String[]{"greet", "op"}));
+    }
+
+    @Test
+    public void shouldSkipGlobalOptions() {
+        assertEquals(List.of("remote", "run"), commander.getCompletions(new String[]{"-c", "file", "r"}));
+        assertEquals(List.of(), commander.getCompletions(new String[]{"-c", ""}));
+        assertEquals(List.of("--config", "--help"), commander.getCompletions(new String[]{"--"}));
+    }
+
+    @Test
+    public void shouldCompleteWithinNestedCommanders() {
+        assertEquals(List.of("pull", "push"), commander.getCompletions(new String[]{"remote", "pu"}));
+        assertEquals(List.of("--force"), commander.getCompletions(new String[]{"rem", "push", "--f"}));
+    }
+
+    @Test
+    public void shouldNotCompleteAfterUnknownCommand() {
+        assertEquals(List.of(), commander.getCompletions(new String[]{"unknown", "-"}));
+    }
+
+    @Test
+    public void shouldCompleteProvidedValues() {
+        // given
+        CompletionProvider clusters = () -> List.of("prod-eu", "prod-us", "staging");
+        Commander providingCommander = Commander.forName("provider-cli")
+                .withCommands(Command.forName("deploy").withParsers(
+                        ArgumentParsers.valuedOption("-c", "--cluster").withCompletionProvider(clusters),
+                        ArgumentParsers.operand(0).withCompletionProvider(() -> List.of("api", "web")),
+                        ArgumentParsers.arrayOperand(1).withCompletionProvider(() -> List.of("v1", "v2"))))
+                .withGlobalOptions(ArgumentParsers.valuedOption("--region").withCompletionProvider(() -> List.of("eu", "us")));
+
+        // then
+        assertEquals(List.of("prod-eu", "prod-us"), providingCommander.getCompletions(new String[]{"deploy", "--cluster", "prod"}));
+        assertEquals(List.of("api", "web"), providingCommander.getCompletions(new String[]{"deploy", "-c", "staging", ""}));
+        assertEquals(List.of("v1", "v2"), providingCommander.getCompletions(new String[]{"deploy", "web", "v1", "v"}));
+        assertEquals(List.of("v2"), providingCommander.getCompletions(new String[]{"deploy", "--", "-x", "v2"}));
+        assertEquals(List.of("eu"), providingCommander.getCompletions(new String[]{"--region", "e"}));
+    }
+
+    @Test
+    public void shouldAnswerRepeatedRequestsFromCache() {
+        // given
+        AtomicInteger lookupCount = new AtomicInteger();
+        Commander providingCommander = Commander.forName("provider-cli")
+                .withCommands(Command.forName("cancel").withParsers(ArgumentParsers.operand(0).withCompletionProvider(() -> {
+                    lookupCount.incrementAndGet();
+                    return List.of("job-1", "job-2");
+                })));
+        CompletionCache cache = CompletionCache.create();
+
+        // when
+        for (int i = 0; i < 3; i++)
+            assertEquals(List.of("job-1", "job-2"), providingCommander.getCompletions(new String[]{"cancel", "job"}, cache));
+
+        // then
+        assertEquals(1, lookupCount.get());
+        providingCommander.getCompletions(new String[]{"cancel", "job"});
+        assertEquals(2, lookupCount.get());
+    }
+
+    @Test
+    public void shouldExpireCachedCandidates() throws InterruptedException {
+        // given
+        AtomicInteger lookupCount = new AtomicInteger();
+        CompletionProvider provider = () -> List.of("value-" + lookupCount.incrementAndGet());
+        CompletionCache cache = CompletionCache.create(Duration.ofMillis(50), 8);
+
+        // when
+        assertEquals(List.of("value-1"), cache.getCandidates(provider, ""));
+        assertEquals(List.of("value-1"), cache.getCandidates(provider, ""));
+        Thread.sleep(100);
+
+        // then
+        assertEquals(List.of("value-2"), cache.getCandidates(provider, ""));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedCandidates() {
+        // given
+        AtomicInteger lookupCount = new AtomicInteger();
+        CompletionProvider first = () -> List.of("first-" + lookupCount.incrementAndGet());
+        CompletionProvider second = () -> List.of("second");
+        CompletionProvider third = () -> List.of("third");
+        CompletionCache cache = CompletionCache.create(Duration.ofMinutes(1), 2);
+
+        // when
+        cache.getCandidates(first, "");
+        cache.getCandidates(second, "");
+        cache.getCandidates(first, "");
+        cache.getCandidates(third, "");
+
+        // then
+        assertEquals(2, cache.size());
+        assertEquals(List.of("first-1"), cache.getCandidates(first, ""));
+        assertEquals(1, lookupCount.get());
+    }
+
+    @Test
+    public void shouldNotCacheFailingLookups() {
+        // given
+        AtomicInteger lookupCount = new AtomicInteger();
+        CompletionProvider provider = () -> {
+            if (lookupCount.incrementAndGet() == 1)
+                throw new IllegalStateException("lookup failed");
+            return List.of("b", "a", "a");
+        };
+        CompletionCache cache = CompletionCache.create();
+
+        // then
+        assertEquals(List.of(), cache.getCandidates(provider, ""));
+        assertEquals(0, cache.size());
+        assertEquals(List.of("a", "b"), cache.getCandidates(provider, ""));
+    }
+
+}
@@ -0,0 +1,136 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.ExecutionResult;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.ClientCodeExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ExecutionResultTest {
+
+    private Commander commander;
+    private String greeted;
+
+    @Before
+    public void setup() {
+        greeted = null;
+        commander = Commander.forName("my-cli")
+                .withCommands(
+                        Command.forName("greet")
+                                .withInstruction(args -> greeted = (String) args[0])
+                                .withParsers(ArgumentParsers.valuedOption("--name").withDefault("world")),
+                        Command.forName("fail")
+                                .withInstruction(args -> {
+                                    throw new IllegalStateException("failed on purpose");
+                                })
+                );
+    }
+
+    @Test
+    public void succeeded() {
+        // when
+        ExecutionResult result = commander.tryExecute(new String[]{"greet", "--name", "Anna"}, InvocationContext.current());
+
+        // then
+        assertEquals(ExecutionResult.Status.SUCCEEDED, result.getStatus());
+        assertTrue(result.isSuccessful());
+        assertEquals(0, result.getExitCode());
+        assertEquals("", result.getMessage());
+        assertTrue(result.getException().isEmpty());
+        assertEquals("greet", result.getCommand().getName());
+        assertEquals("Anna", greeted);
+    }
+
+    @Test
+    public void helpRequested() {
+        // when
+        ExecutionResult result = commander.tryExecute(new String[]{"greet", "--help"});
+
+        // then
+        assertEquals(ExecutionResult.Status.HELP_REQUESTED, result.getStatus());
+        assertEquals(0, result.getExitCode());
+        assertTrue(result.getMessage().contains("--name"));
+        assertNull(greeted);
+    }
+
+    @Test
+    public void invalidArguments() {
+        // when
+        ExecutionResult result = commander.tryExecute(new String[]{"greet", "--unknown"});
+
+        // then
+        assertEquals(ExecutionResult.Status.INVALID_INPUT, result.getStatus());
+        assertEquals(1, result.getExitCode());
+        assertEquals("greet", result.getCommand().getName());
+        assertTrue(result.getMessage().contains("--unknown"));
+        assertNull(greeted);
+    }
+
+    @Test
+    public void unknownCommand() {
+        // when
+        ExecutionResult result = commander.tryExecute(new String[]{"gree-t"});
+
+        // then
+        assertEquals(ExecutionResult.Status.INVALID_INPUT, result.getStatus());
+        assertNull(result.getCommand());
+        assertTrue(result.getMessage().contains("gree-t"));
+    }
+
+    @Test
+    public void failed() {
+        // when
+        ExecutionResult result = commander.tryExecute(new String[]{"fail"});
+
+        // then
+        assertEquals(ExecutionResult.Status.FAILED, result.getStatus());
+        assertEquals(1, result.getExitCode());
+        assertEquals("fail", result.getCommand().getName());
+        CliException e = result.getException().orElseThrow();
+        assertTrue(e.getCause() instanceof ClientCodeExecutionException);
+        // failures of client code keep their stack trace
+        assertTrue(e.getCause().getCause().getStackTrace().length > 0);
+    }
+
+    @Test
+    public void expectedOutcomesDoNotCaptureStackTraces() {
+        // when
+        ExecutionResult helpResult = commander.tryExecute(new String[]{"--help"});
+        ExecutionResult invalidResult = commander.tryExecute(new String[]{"greet", "--unknown"});
+
+        // then
+        CliException helpException = helpResult.getException().orElseThrow();
+        assertEquals(0, helpException.getStackTrace().length);
+        CliException invalidException = invalidResult.getException().orElseThrow();
+        assertEquals(0, invalidException.getStackTrace().length);
+        assertEquals(0, invalidException.getCause().getStackTrace().length);
+        assertEquals(0, invalidException.getCause().getCause().getStackTrace().length);
+    }
+
+    @Test
+    public void helpMessageIsRenderedOnceOnAccess() {
+        // given
+        AtomicInteger renderCount = new AtomicInteger();
+        CliHelpCallException e = new CliHelpCallException(() -> "help #" + renderCount.incrementAndGet());
+
+        // when
+        int countBeforeAccess = renderCount.get();
+        String message = e.getMessage();
+
+        // then
+        assertEquals(0, countBeforeAccess);
+        assertEquals("help #1", message);
+        assertEquals("help #1", e.getMessage());
+        assertEquals(1, renderCount.get());
+    }
+
+}
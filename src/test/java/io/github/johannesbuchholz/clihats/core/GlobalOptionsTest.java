@@ -0,0 +1,129 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.*;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.MissingArgumentException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GlobalOptionsTest {
+
+    private TestResult testResult;
+    private Commander commander;
+
+    @Before
+    public void setup() {
+        testResult = TestResult.newEmpty();
+        commander = Commander.forName("global-cli")
+                .withGlobalOptions(
+                        ArgumentParsers.flagOption("-v", "--verbose").withFlagValue("true").withDefault("false").withMapper(Boolean::parseBoolean),
+                        ArgumentParsers.valuedOption("-t", "--threads").withDefault("1").withMapper(Integer::parseInt)
+                )
+                .withCommands(
+                        Command.forName("run")
+                                .withInstruction(testResult.getTestInstruction())
+                                .withParsers(ArgumentParsers.operand(0), ArgumentParsers.flagOption("-v")),
+                        Command.forName("other")
+                );
+    }
+
+    @Test
+    public void globalOptions_areAppendedToCommandValues() throws CliException {
+        // given
+        String[] args = {"-v", "--threads", "4", "run", "operand"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected("operand", null, true, 4), testResult);
+    }
+
+    @Test
+    public void globalOptions_defaultsApplyWhenAbsent() throws CliException {
+        // given
+        String[] args = {"run", "operand", "-v"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected("operand", "", false, 1), testResult);
+    }
+
+    @Test
+    public void globalOptions_combinedPosixOptions() throws CliException {
+        // given
+        String[] args = {"-vt", "8", "run", "operand"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected("operand", null, true, 8), testResult);
+    }
+
+    @Test
+    public void globalOptions_invalidValue() {
+        // given
+        String[] args = {"-t", "not-a-number", "run", "operand"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(args));
+        // then
+        assertEquals(InvalidGlobalOptionException.class, e.getClass());
+    }
+
+    @Test
+    public void globalOptions_requiredMissing() {
+        // given
+        Commander commanderWithRequiredOption = Commander.forName("global-cli")
+                .withGlobalOptions(ArgumentParsers.valuedOption("-c").withRequired(true))
+                .withCommands(Command.forName("run"));
+        String[] args = {"run"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commanderWithRequiredOption.execute(args));
+        // then
+        assertEquals(InvalidGlobalOptionException.class, e.getClass());
+        assertEquals(MissingArgumentException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void globalOptions_unknownCommandAfterGlobalOptions() {
+        // given
+        String[] args = {"-t", "3", "unknown"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(args));
+        // then
+        assertEquals(UnknownCommandException.class, e.getClass());
+        assertTrue(e.getMessage().contains("unknown"));
+    }
+
+    @Test
+    public void globalOptions_helpCallListsGlobalOptions() {
+        // given
+        String[] args = {"--help"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(args));
+        // then
+        assertEquals(CliHelpCallException.class, e.getClass());
+        assertTrue(e.getMessage().contains("Global options:"));
+        assertTrue(e.getMessage().contains("--threads"));
+    }
+
+    @Test
+    public void globalOptions_helpCallOnCommand() {
+        // given
+        String[] args = {"-t", "3", "run", "--help"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(args));
+        // then
+        assertEquals(CliHelpCallException.class, e.getClass());
+        assertTrue(e.getMessage().contains("Help for run"));
+    }
+
+    @Test(expected = CommanderCreationException.class)
+    public void globalOptions_conflictingNames() {
+        Commander.forName("conflicting-cli")
+                .withGlobalOptions(ArgumentParsers.flagOption("-v"), ArgumentParsers.valuedOption("-v", "--value"));
+    }
+
+}
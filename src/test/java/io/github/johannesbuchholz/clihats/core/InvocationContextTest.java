@@ -0,0 +1,148 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.ExecutionResult;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class InvocationContextTest {
+
+    private Commander commander;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        commander = Commander.forName("context-cli").withCommands(
+                Command.forName("echo")
+                        .withInstruction(args -> InvocationContext.current().getOut().print(args[0]))
+                        .withParsers(ArgumentParsers.operand(0)),
+                Command.forName("env")
+                        .withInstruction(args -> {
+                            InvocationContext context = InvocationContext.current();
+                            context.getOut().print(context.getEnvironment().get("KEY") + " " + context.getWorkingDirectory());
+                        }),
+                Command.forName("cat")
+                        .withInstruction(args -> InvocationContext.current().getOut().print(
+                                new String(InvocationContext.current().getIn().readAllBytes(), StandardCharsets.UTF_8))),
+                Command.forName("exit")
+                        .withInstruction(args -> InvocationContext.current().exit(3))
+        );
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldProvideContextToInstruction() throws CliException {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system()
+                .withOut(new PrintStream(out, true))
+                .withEnvironment(Map.of("KEY", "value"))
+                .withWorkingDirectory(Path.of("/some/dir"));
+        // when
+        commander.execute(new String[]{"env"}, context);
+        // then
+        assertEquals("value " + Path.of("/some/dir"), out.toString(StandardCharsets.UTF_8));
+        assertSame(InvocationContext.system(), InvocationContext.current());
+    }
+
+    @Test
+    public void shouldProvideInput() throws CliException {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system()
+                .withIn(new ByteArrayInputStream("input".getBytes(StandardCharsets.UTF_8)))
+                .withOut(new PrintStream(out, true));
+        // when
+        commander.execute(new String[]{"cat"}, context);
+        // then
+        assertEquals("input", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldPassExitCodeToHandler() throws CliException {
+        // given
+        AtomicInteger exitCode = new AtomicInteger(-1);
+        InvocationContext context = InvocationContext.system().withExitHandler(exitCode::set);
+        // when
+        commander.execute(new String[]{"exit"}, context);
+        // then
+        assertEquals(3, exitCode.get());
+    }
+
+    @Test
+    public void shouldInheritContextOfCallingThread() throws CliException {
+        // given
+        ByteArrayOutputStream outerOut = new ByteArrayOutputStream();
+        ByteArrayOutputStream innerOut = new ByteArrayOutputStream();
+        InvocationContext innerContext = InvocationContext.system().withOut(new PrintStream(innerOut, true));
+        Commander nestingCommander = Commander.forName("nesting-cli").withCommands(
+                Command.forName("nest").withInstruction(args -> {
+                    commander.execute(new String[]{"echo", "inherited"});
+                    commander.execute(new String[]{"echo", "explicit"}, innerContext);
+                    commander.execute(new String[]{"echo", "restored"});
+                })
+        );
+        // when
+        nestingCommander.execute(new String[]{"nest"}, InvocationContext.system().withOut(new PrintStream(outerOut, true)));
+        // then
+        assertEquals("inheritedrestored", outerOut.toString(StandardCharsets.UTF_8));
+        assertEquals("explicit", innerOut.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldBindContextOnExecutorThread() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system().withOut(new PrintStream(out, true));
+        // when
+        commander.executeAsync(new String[]{"echo", "async"}, context, executor).get(10, TimeUnit.SECONDS);
+        // then
+        assertEquals("async", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void concurrentInvocationsShouldNotInterfere() throws Exception {
+        // given
+        int invocations = 200;
+        List<ByteArrayOutputStream> outs = new ArrayList<>();
+        List<CompletableFuture<ExecutionResult>> futures = new ArrayList<>();
+        // when
+        for (int i = 0; i < invocations; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            outs.add(out);
+            futures.add(commander.executeAsync(new String[]{"echo", "invocation-" + i},
+                    InvocationContext.system().withOut(new PrintStream(out, true)), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        // then
+        for (int i = 0; i < invocations; i++)
+            assertEquals("invocation-" + i, outs.get(i).toString(StandardCharsets.UTF_8));
+    }
+
+}
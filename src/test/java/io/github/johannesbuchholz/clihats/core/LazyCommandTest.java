@@ -0,0 +1,112 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderCreationException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LazyCommandTest {
+
+    private TestResult testResult;
+    private AtomicInteger runConstructions;
+    private AtomicInteger otherConstructions;
+    private Commander commander;
+
+    @Before
+    public void setup() {
+        testResult = TestResult.newEmpty();
+        runConstructions = new AtomicInteger();
+        otherConstructions = new AtomicInteger();
+        commander = Commander.builder("lazy-cli")
+                .addCommand("run", "Runs things.", () -> {
+                    runConstructions.incrementAndGet();
+                    return Command.forName("run")
+                            .withInstruction(testResult.getTestInstruction())
+                            .withParsers(ArgumentParsers.operand(0));
+                })
+                .addCommand("other", "Does other things.", () -> {
+                    otherConstructions.incrementAndGet();
+                    return Command.forName("other");
+                })
+                .build();
+    }
+
+    @Test
+    public void shouldBuildOnlyInvokedCommand() throws CliException {
+        // given
+        String[] args = {"run", "operand"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected("operand"), testResult);
+        assertEquals(1, runConstructions.get());
+        assertEquals(0, otherConstructions.get());
+    }
+
+    @Test
+    public void shouldListCommandsWithoutBuildingThem() {
+        // given
+        String[] args = {"--help"};
+        // when
+        CliHelpCallException e = assertThrows(CliHelpCallException.class, () -> commander.execute(args));
+        // then
+        assertTrue(e.getMessage().contains("Runs things."));
+        assertTrue(e.getMessage().contains("Does other things."));
+        assertEquals(0, runConstructions.get());
+        assertEquals(0, otherConstructions.get());
+    }
+
+    @Test
+    public void shouldBuildCommandOnceForHelpAndExecution() throws CliException {
+        // given
+        String[] helpArgs = {"run", "--help"};
+        String[] args = {"run", "operand"};
+        // when
+        CliHelpCallException e = assertThrows(CliHelpCallException.class, () -> commander.execute(helpArgs));
+        commander.execute(args);
+        // then
+        assertTrue(e.getMessage().contains("Help for run"));
+        assertEquals(1, runConstructions.get());
+    }
+
+    @Test
+    public void shouldAddLazyCommandToExistingCommander() throws CliException {
+        // given
+        TestResult otherResult = TestResult.newEmpty();
+        Commander extendedCommander = Commander.forName("lazy-cli")
+                .withCommands(Command.forName("eager"))
+                .withCommand("lazy", "", () -> Command.forName("lazy").withInstruction(otherResult.getTestInstruction()));
+        String[] args = {"lazy"};
+        // when
+        extendedCommander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected(), otherResult);
+    }
+
+    @Test
+    public void shouldFail_suppliedCommandWithDifferentName() {
+        // given
+        Commander invalidCommander = Commander.forName("lazy-cli")
+                .withCommand("run", "", () -> Command.forName("walk"));
+        String[] args = {"run"};
+        // when
+        // then
+        assertThrows(IllegalStateException.class, () -> invalidCommander.execute(args));
+    }
+
+    @Test(expected = CommanderCreationException.class)
+    public void shouldFail_duplicateLazyCommand() {
+        Commander.builder("lazy-cli")
+                .addCommand(Command.forName("run"))
+                .addCommand("run", "", () -> Command.forName("run"));
+    }
+
+}
@@ -0,0 +1,127 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CliHelpCallException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderCreationException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.UnknownCommandException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SubCommanderTest {
+
+    private TestResult restartResult;
+    private AtomicInteger clusterConstructions;
+    private AtomicInteger storageConstructions;
+    private Commander commander;
+
+    @Before
+    public void setup() {
+        restartResult = TestResult.newEmpty();
+        clusterConstructions = new AtomicInteger();
+        storageConstructions = new AtomicInteger();
+        commander = Commander.forName("tool")
+                .withGlobalOptions(ArgumentParsers.valuedOption("-c", "--config").withDefault("default.yml"))
+                .withCommands(Command.forName("version"))
+                .withSubCommander("cluster", "Manages clusters.", () -> {
+                    clusterConstructions.incrementAndGet();
+                    return Commander.forName("tool cluster")
+                            .withGlobalOptions(ArgumentParsers.flagOption("-f", "--force").withFlagValue("true"))
+                            .withSubCommander("node", "Manages nodes.", () -> Commander.forName("tool cluster node")
+                                    .withCommands(Command.forName("restart")
+                                            .withInstruction(restartResult.getTestInstruction())
+                                            .withParsers(ArgumentParsers.operand(0))));
+                })
+                .withSubCommander("storage", "Manages storage.", () -> {
+                    storageConstructions.incrementAndGet();
+                    return Commander.forName("tool storage");
+                });
+    }
+
+    @Test
+    public void shouldDispatchToNestedCommand() throws CliException {
+        // given
+        String[] args = {"--config", "my.yml", "cluster", "-f", "node", "restart", "node-1"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected("node-1", "true", "my.yml"), restartResult);
+    }
+
+    @Test
+    public void shouldBuildOnlyEnteredSubtrees() throws CliException {
+        // given
+        String[] helpArgs = {"cluster", "--help"};
+        String[] args = {"cluster", "node", "restart", "node-1"};
+        // when
+        assertThrows(CliHelpCallException.class, () -> commander.execute(helpArgs));
+        commander.execute(args);
+        // then
+        assertEquals(1, clusterConstructions.get());
+        assertEquals(0, storageConstructions.get());
+    }
+
+    @Test
+    public void shouldResolveAbbreviatedSubCommanderNames() throws CliException {
+        // given
+        String[] args = {"cl", "no", "re", "node-1"};
+        // when
+        commander.execute(args);
+        // then
+        assertEquals(TestResult.newExpected("node-1", null, "default.yml"), restartResult);
+    }
+
+    @Test
+    public void shouldShowHelpOfNestedCommander() {
+        // given
+        String[] args = {"cluster", "--help"};
+        // when
+        CliHelpCallException e = assertThrows(CliHelpCallException.class, () -> commander.execute(args));
+        // then
+        assertTrue(e.getMessage().contains("Help for tool cluster"));
+        assertTrue(e.getMessage().contains("node"));
+    }
+
+    @Test
+    public void shouldListSubCommandersWithoutBuildingThem() {
+        // given
+        String[] args = {"--help"};
+        // when
+        CliHelpCallException e = assertThrows(CliHelpCallException.class, () -> commander.execute(args));
+        // then
+        assertTrue(e.getMessage().contains("Sub-commands:"));
+        assertTrue(e.getMessage().contains("Manages storage."));
+        assertEquals(0, clusterConstructions.get());
+        assertEquals(0, storageConstructions.get());
+    }
+
+    @Test
+    public void shouldFail_unknownNestedCommand() {
+        // given
+        String[] args = {"cluster", "node", "stop"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(args));
+        // then
+        assertEquals(UnknownCommandException.class, e.getClass());
+        assertTrue(e.getMessage().contains("tool cluster node"));
+    }
+
+    @Test(expected = CommanderCreationException.class)
+    public void shouldFail_subCommanderNameUsedByCommand() {
+        commander.withSubCommander("version", "", () -> Commander.forName("tool version"));
+    }
+
+    @Test(expected = CommanderCreationException.class)
+    public void shouldFail_builderSubCommanderNameUsedByCommand() {
+        Commander.builder("tool")
+                .addSubCommander("cluster", "", () -> Commander.forName("tool cluster"))
+                .addCommand(Command.forName("cluster"));
+    }
+
+}
@@ -0,0 +1,62 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidInputArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.UnknownCommandException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.UnknownArgumentException;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SuggestionTest {
+
+    private final Commander commander = Commander.forName("suggestion-cli")
+            .withCommands(
+                    Command.forName("deploy")
+                            .withParsers(
+                                    ArgumentParsers.flagOption("-v", "--verbose"),
+                                    ArgumentParsers.valuedOption("--target")),
+                    Command.forName("destroy"),
+                    Command.forName("status"));
+
+    @Test
+    public void unknownCommand_suggestsSimilarCommandNames() {
+        // given
+        String[] args = {"deplyo"};
+        // when
+        UnknownCommandException e = assertThrows(UnknownCommandException.class, () -> commander.execute(args));
+        // then
+        assertEquals(List.of("deploy"), e.getSuggestions());
+        assertTrue(e.getMessage().contains("Did you mean deploy?"));
+    }
+
+    @Test
+    public void unknownCommand_noSimilarCommandNames() {
+        // given
+        String[] args = {"completely-different"};
+        // when
+        UnknownCommandException e = assertThrows(UnknownCommandException.class, () -> commander.execute(args));
+        // then
+        assertEquals(List.of(), e.getSuggestions());
+    }
+
+    @Test
+    public void unknownOption_suggestsSimilarOptionNames() {
+        // given
+        String[] args = {"deploy", "--verbos", "--targte", "x"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> commander.execute(args));
+        // then
+        assertEquals(InvalidInputArgumentException.class, e.getCause().getClass());
+        UnknownArgumentException cause = (UnknownArgumentException) e.getCause().getCause();
+        assertEquals(Map.of("--verbos", List.of("--verbose"), "--targte", List.of("--target")), cause.getSuggestionsByInputArgument());
+        assertTrue(e.getMessage().contains("Did you mean --verbose instead of --verbos?"));
+    }
+
+}
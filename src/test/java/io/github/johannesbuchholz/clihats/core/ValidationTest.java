@@ -0,0 +1,161 @@
+package io.github.johannesbuchholz.clihats.core;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.Diagnostic;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.ValidationResult;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ValidationTest {
+
+    private final AtomicInteger runCount = new AtomicInteger();
+    private final AtomicInteger mapCount = new AtomicInteger();
+    private Commander commander;
+
+    @Before
+    public void setup() {
+        runCount.set(0);
+        mapCount.set(0);
+        commander = Commander.forName("my-cli")
+                .withCommands(
+                        Command.forName("resize")
+                                .withInstruction(args -> runCount.incrementAndGet())
+                                .withParsers(
+                                        ArgumentParsers.valuedOption("--width").withMapper(Integer::parseInt).withRequired(true),
+                                        ArgumentParsers.valuedOption("--height").withMapper(value -> {
+                                            mapCount.incrementAndGet();
+                                            return Integer.parseInt(value);
+                                        }).withLazyMapping()
+                                ),
+                        Command.forName("login")
+                                .withInstruction(args -> runCount.incrementAndGet())
+                                .withParsers(ArgumentParsers.valuedOption("--user")
+                                        .withDefault(ValidationTest::readInput))
+                );
+    }
+
+    private static String readInput() {
+        try {
+            return new String(InvocationContext.current().getIn().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Diagnostic.Kind> getKinds(ValidationResult result) {
+        return result.getDiagnostics().stream().map(Diagnostic::getKind).collect(Collectors.toList());
+    }
+
+    @Test
+    public void validate_validArguments() {
+        // when
+        ValidationResult result = commander.validate(new String[]{"resize", "--width", "10", "--height", "20"});
+
+        // then
+        assertTrue(result.isValid());
+        assertEquals(0, result.getExitCode());
+        assertEquals("resize", result.getCommand().orElseThrow().getName());
+        assertTrue(result.getDiagnostics().isEmpty());
+        assertEquals(0, runCount.get());
+        assertEquals(0, mapCount.get());
+    }
+
+    @Test
+    public void validate_mapsLazyValuesOnlyIfRequested() {
+        // given
+        String[] args = {"resize", "--width", "10", "--height", "tall"};
+
+        // when
+        ValidationResult resultWithoutMapping = commander.validate(args, InvocationContext.current(), false);
+        ValidationResult resultWithMapping = commander.validate(args, InvocationContext.current(), true);
+
+        // then
+        assertTrue(resultWithoutMapping.isValid());
+        assertFalse(resultWithMapping.isValid());
+        assertEquals(List.of(Diagnostic.Kind.INVALID_VALUE), getKinds(resultWithMapping));
+        assertEquals(1, mapCount.get());
+        assertEquals(0, runCount.get());
+    }
+
+    @Test
+    public void validate_invalidArguments() {
+        // when
+        ValidationResult invalidValue = commander.validate(new String[]{"resize", "--width", "wide"});
+        ValidationResult missingArgument = commander.validate(new String[]{"resize"});
+        ValidationResult missingValue = commander.validate(new String[]{"resize", "--width"});
+
+        // then
+        assertEquals(List.of(Diagnostic.Kind.INVALID_VALUE), getKinds(invalidValue));
+        assertEquals(List.of(Diagnostic.Kind.MISSING_ARGUMENT), getKinds(missingArgument));
+        assertEquals(List.of(Diagnostic.Kind.MISSING_VALUE), getKinds(missingValue));
+        assertEquals(1, missingArgument.getExitCode());
+        assertEquals("resize", missingArgument.getCommand().orElseThrow().getName());
+    }
+
+    @Test
+    public void validate_unknownArguments() {
+        // when
+        ValidationResult result = commander.validate(new String[]{"resize", "--width", "10", "--heigth", "--depth"});
+
+        // then
+        assertFalse(result.isValid());
+        List<Diagnostic> diagnostics = result.getDiagnostics();
+        assertEquals(List.of(Diagnostic.Kind.UNKNOWN_ARGUMENT, Diagnostic.Kind.UNKNOWN_ARGUMENT), getKinds(result));
+        Diagnostic misspelled = diagnostics.stream()
+                .filter(diagnostic -> diagnostic.getArgument().orElseThrow().equals("--heigth"))
+                .findFirst().orElseThrow();
+        assertEquals(List.of("--height"), misspelled.getSuggestions());
+    }
+
+    @Test
+    public void validate_unknownCommand() {
+        // when
+        ValidationResult result = commander.validate(new String[]{"resiz3"});
+
+        // then
+        assertFalse(result.isValid());
+        assertTrue(result.getCommand().isEmpty());
+        assertEquals(List.of(Diagnostic.Kind.UNKNOWN_COMMAND), getKinds(result));
+        assertEquals(List.of("resize"), result.getDiagnostics().get(0).getSuggestions());
+    }
+
+    @Test
+    public void validate_helpCallIsValid() {
+        // when
+        ValidationResult result = commander.validate(new String[]{"resize", "--help"});
+
+        // then
+        assertTrue(result.isValid());
+        assertTrue(result.isHelpCall());
+        assertTrue(result.getDiagnostics().isEmpty());
+    }
+
+    @Test
+    public void validate_doesNotReadUserInput() {
+        // given
+        ByteArrayInputStream in = new ByteArrayInputStream("alice".getBytes(StandardCharsets.UTF_8));
+        InvocationContext context = InvocationContext.system().withIn(in);
+
+        // when
+        ValidationResult result = commander.validate(new String[]{"login"}, context, true);
+
+        // then
+        assertTrue(result.isValid());
+        assertEquals(5, in.available());
+        assertEquals(0, runCount.get());
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.github.johannesbuchholz.clihats.core.benchmark;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliExecutors;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Measures the throughput of many concurrent invocations of a command blocking on simulated I/O, once on a fixed pool
+ * of platform threads and once on {@link CliExecutors#newPerTaskExecutor()}. Not run as part of the test suite.
+ * <p>Run on Java 21 or later to measure virtual threads. On older JVMs, the per-task executor uses platform threads,
+ * so the results compare two pools of platform threads and say nothing about virtual threads.</p>
+ * <p>Usage: {@code BlockingExecutionBenchmark [invocations [blockingMillis [poolSize]]]}</p>
+ */
+public class BlockingExecutionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    public static void main(String[] args) throws Exception {
+        int invocations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int blockingMillis = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Commander commander = Commander.forName("benchmark-cli").withCommands(
+                Command.forName("sleep")
+                        .withInstruction(a -> Thread.sleep((Integer) a[0]))
+                        .withParsers(ArgumentParsers.valuedOption("--millis").withMapper(Integer::valueOf))
+        );
+        String[] commandArgs = {"sleep", "--millis", String.valueOf(blockingMillis)};
+
+        System.out.printf("%d invocations blocking %d ms each, virtual threads supported: %s%n",
+                invocations, blockingMillis, CliExecutors.isVirtualThreadSupported());
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(commander, commandArgs, invocations / 10, Executors.newFixedThreadPool(poolSize));
+            run(commander, commandArgs, invocations / 10, CliExecutors.newPerTaskExecutor());
+        }
+        long fixedPoolNanos = run(commander, commandArgs, invocations, Executors.newFixedThreadPool(poolSize));
+        long perTaskNanos = run(commander, commandArgs, invocations, CliExecutors.newPerTaskExecutor());
+        System.out.printf("fixed pool of %4d threads: %10.1f invocations/s%n", poolSize, invocations / (fixedPoolNanos / NANOS_PER_SECOND));
+        System.out.printf("thread per task:            %10.1f invocations/s%n", invocations / (perTaskNanos / NANOS_PER_SECOND));
+    }
+
+    private static long run(Commander commander, String[] commandArgs, int invocations, ExecutorService executor) throws Exception {
+        long start = System.nanoTime();
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[invocations];
+            for (int i = 0; i < invocations; i++)
+                futures[i] = commander.executeAsync(commandArgs, executor);
+            CompletableFuture.allOf(futures).get();
+        } finally {
+            executor.shutdown();
+        }
+        return System.nanoTime() - start;
+    }
+
+}
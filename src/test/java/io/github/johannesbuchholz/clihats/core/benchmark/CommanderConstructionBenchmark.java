@@ -0,0 +1,80 @@
+package io.github.johannesbuchholz.clihats.core.benchmark;
+
+import io.github.johannesbuchholz.clihats.core.execution.ArgumentParser;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+
+/**
+ * Measures the time needed to build commanders with many commands. Not run as part of the test suite.
+ * <p>Parsers are created before measuring so that only the validation of commands and commanders is timed.</p>
+ * <p>Usage: {@code CommanderConstructionBenchmark [commandCount...]}</p>
+ */
+public class CommanderConstructionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int PARSERS_PER_COMMAND = 20;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    public static void main(String[] args) {
+        int[] commandCounts = args.length == 0 ? new int[]{1_000, 10_000, 100_000} : parseCounts(args);
+        for (int commandCount : commandCounts) {
+            ArgumentParser<?>[][] parsers = createParsers(commandCount);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                buildWithCommands(parsers);
+                buildWithBuilder(parsers);
+            }
+            long withCommandsNanos = 0;
+            long builderNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                withCommandsNanos += buildWithCommands(parsers);
+                builderNanos += buildWithBuilder(parsers);
+            }
+            System.out.printf("%8d commands: withCommands %8.2f ms, builder %8.2f ms%n", commandCount,
+                    withCommandsNanos / (double) MEASURED_ROUNDS / NANOS_PER_MILLI,
+                    builderNanos / (double) MEASURED_ROUNDS / NANOS_PER_MILLI);
+        }
+    }
+
+    private static int[] parseCounts(String[] args) {
+        int[] counts = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            counts[i] = Integer.parseInt(args[i]);
+        }
+        return counts;
+    }
+
+    private static long buildWithCommands(ArgumentParser<?>[][] parsers) {
+        long start = System.nanoTime();
+        Command[] commands = new Command[parsers.length];
+        for (int i = 0; i < parsers.length; i++) {
+            commands[i] = Command.forName("command-" + i).withParsers(parsers[i]);
+        }
+        Commander.forName("benchmark-cli").withCommands(commands);
+        return System.nanoTime() - start;
+    }
+
+    private static long buildWithBuilder(ArgumentParser<?>[][] parsers) {
+        long start = System.nanoTime();
+        Commander.Builder builder = Commander.builder("benchmark-cli");
+        for (int i = 0; i < parsers.length; i++) {
+            builder.addCommand(Command.forName("command-" + i).withParsers(parsers[i]));
+        }
+        builder.build();
+        return System.nanoTime() - start;
+    }
+
+    private static ArgumentParser<?>[][] createParsers(int commandCount) {
+        ArgumentParser<?>[][] parsers = new ArgumentParser<?>[commandCount][PARSERS_PER_COMMAND];
+        for (int i = 0; i < commandCount; i++) {
+            for (int p = 0; p < PARSERS_PER_COMMAND; p++) {
+                parsers[i][p] = p % 2 == 0
+                        ? ArgumentParsers.valuedOption("-" + (char) ('a' + p), "--option-" + p)
+                        : ArgumentParsers.operand(p);
+            }
+        }
+        return parsers;
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommanderCreationException;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("deprecation")
+public class CommandConflictTest {
+
+    @Test
+    public void conflictsWith_sameName() {
+        // given
+        Command command = Command.forName("run");
+        Command other = Command.forName("run").withDescription("other");
+        // when
+        Optional<String> conflict = command.conflictsWith(other);
+        // then
+        assertEquals(Optional.of("Command run is registered multiple times"), conflict);
+        CommanderCreationException e = assertThrows(CommanderCreationException.class, () -> Commander.forName("cli").withCommands(command, other));
+        assertTrue(e.getMessage().contains(conflict.orElseThrow()));
+    }
+
+    @Test
+    public void conflictsWith_differentName() {
+        assertTrue(Command.forName("run").conflictsWith(Command.forName("stop")).isEmpty());
+    }
+
+}
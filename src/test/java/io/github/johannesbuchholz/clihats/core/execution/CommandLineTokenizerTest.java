@@ -0,0 +1,48 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CommandLineTokenizerTest {
+
+    @Test
+    public void shouldSplitOnWhitespace() {
+        assertArrayEquals(new String[]{"cmd", "-a", "value"}, CommandLineTokenizer.tokenize("  cmd\t-a   value "));
+    }
+
+    @Test
+    public void shouldKeepQuotedWhitespace() {
+        assertArrayEquals(new String[]{"cmd", "a b", "c d", ""}, CommandLineTokenizer.tokenize("cmd 'a b' \"c d\" ''"));
+    }
+
+    @Test
+    public void shouldConcatenateAdjacentParts() {
+        assertArrayEquals(new String[]{"--name=a b"}, CommandLineTokenizer.tokenize("--name='a b'"));
+    }
+
+    @Test
+    public void shouldEscape() {
+        assertArrayEquals(new String[]{"a b", "\"", "'q'", "x\\y"}, CommandLineTokenizer.tokenize("a\\ b \\\" \"'q'\" \"x\\\\y\""));
+    }
+
+    @Test
+    public void shouldKeepSingleQuotesLiteral() {
+        assertArrayEquals(new String[]{"a\\b\"c"}, CommandLineTokenizer.tokenize("'a\\b\"c'"));
+    }
+
+    @Test
+    public void shouldSkipComments() {
+        assertArrayEquals(new String[]{"cmd", "a#b"}, CommandLineTokenizer.tokenize("cmd a#b # comment"));
+        assertArrayEquals(new String[0], CommandLineTokenizer.tokenize("# comment"));
+        assertArrayEquals(new String[0], CommandLineTokenizer.tokenize("   "));
+    }
+
+    @Test
+    public void shouldRejectMalformedLines() {
+        assertThrows(IllegalArgumentException.class, () -> CommandLineTokenizer.tokenize("cmd 'a"));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineTokenizer.tokenize("cmd \"a"));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineTokenizer.tokenize("cmd a\\"));
+    }
+
+}
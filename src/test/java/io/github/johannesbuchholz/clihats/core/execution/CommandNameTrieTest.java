@@ -0,0 +1,56 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CommandNameTrieTest {
+
+    private final CommandNameTrie trie = CommandNameTrie.of(List.of("deploy", "delete", "describe", "de", "run", "run-all", "status"));
+
+    @Test
+    public void resolve_exactNames() {
+        assertEquals("deploy", trie.resolve("deploy"));
+        assertEquals("de", trie.resolve("de"));
+        assertEquals("run", trie.resolve("run"));
+        assertEquals("run-all", trie.resolve("run-all"));
+    }
+
+    @Test
+    public void resolve_uniquePrefixes() {
+        assertEquals("deploy", trie.resolve("dep"));
+        assertEquals("delete", trie.resolve("del"));
+        assertEquals("describe", trie.resolve("des"));
+        assertEquals("run-all", trie.resolve("run-"));
+        assertEquals("status", trie.resolve("s"));
+    }
+
+    @Test
+    public void resolve_ambiguousOrUnknown() {
+        assertNull(trie.resolve("d"));
+        assertNull(trie.resolve("r"));
+        assertNull(trie.resolve("deployment"));
+        assertNull(trie.resolve("x"));
+        assertNull(trie.resolve(""));
+    }
+
+    @Test
+    public void namesStartingWith() {
+        assertEquals(List.of("de", "delete", "deploy", "describe"), trie.getNamesStartingWith("d"));
+        assertEquals(List.of("delete"), trie.getNamesStartingWith("del"));
+        assertEquals(List.of("run", "run-all"), trie.getNamesStartingWith("ru"));
+        assertEquals(List.of(), trie.getNamesStartingWith("x"));
+        assertEquals(7, trie.getNamesStartingWith("").size());
+    }
+
+    @Test
+    public void emptyTrie() {
+        CommandNameTrie emptyTrie = CommandNameTrie.of(List.of());
+        assertNull(emptyTrie.resolve("any"));
+        assertEquals(List.of(), emptyTrie.getNamesStartingWith(""));
+    }
+
+}
@@ -0,0 +1,84 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class CompletionTableTest {
+
+    private final CompletionTable table = CompletionTable.builder()
+            .addCommand(List.of("greet"))
+            .addOption(List.of("greet"), List.of("-n", "--name"), true, List.of())
+            .addOption(List.of("greet"), List.of("-l", "--language"), true, List.of("EN", "DE", "FR"))
+            .addOption(List.of("greet"), List.of("-q", "--quiet"), false, List.of())
+            .addOperand(List.of("greet"), List.of("MORNING", "EVENING"))
+            .addCommand(List.of("grep"))
+            .addCommand(List.of("cluster", "node", "restart"))
+            .addCommand(List.of("cluster", "create"))
+            .addOption(List.of(), List.of("-v"), false, List.of())
+            .addOption(List.of(), List.of("-c", "--config"), true, List.of())
+            // equal options of different commands are registered once
+            .addOption(List.of(), List.of("-v"), false, List.of())
+            .build();
+
+    @Test
+    public void shouldCompleteCommandNames() {
+        assertEquals(List.of("cluster", "greet", "grep"), table.complete(new String[]{}));
+        assertEquals(List.of("greet", "grep"), table.complete(new String[]{"gr"}));
+        assertEquals(List.of("create", "node"), table.complete(new String[]{"cluster", ""}));
+        assertEquals(List.of("restart"), table.complete(new String[]{"cl", "no", "r"}));
+    }
+
+    @Test
+    public void shouldCompleteOptionNames() {
+        assertEquals(List.of("--help", "--language", "--name", "--quiet"), table.complete(new String[]{"greet", "--"}));
+        assertEquals(List.of("--config", "--help", "-c", "-v"), table.complete(new String[]{"-"}));
+    }
+
+    @Test
+    public void shouldCompleteKnownValues() {
+        assertEquals(List.of("DE", "EN", "FR"), table.complete(new String[]{"greet", "-l", ""}));
+        assertEquals(List.of("EVENING"), table.complete(new String[]{"greet", "-n", "name", "-q", "E"}));
+        assertEquals(List.of(), table.complete(new String[]{"greet", "--name", ""}));
+    }
+
+    @Test
+    public void shouldSkipGlobalOptions() {
+        assertEquals(List.of("greet", "grep"), table.complete(new String[]{"-v", "-c", "file", "g"}));
+        assertEquals(List.of(), table.complete(new String[]{"-c", ""}));
+    }
+
+    @Test
+    public void shouldNotCompleteAfterUnknownName() {
+        assertEquals(List.of(), table.complete(new String[]{"unknown", ""}));
+        assertEquals(List.of(), table.complete(new String[]{"g", ""}));
+    }
+
+    @Test
+    public void shouldReadWrittenTable() throws IOException {
+        // given
+        StringWriter writer = new StringWriter();
+        table.write(writer);
+        // when
+        CompletionTable readTable = CompletionTable.read(new BufferedReader(new StringReader(writer.toString())));
+        // then
+        StringWriter rewriter = new StringWriter();
+        readTable.write(rewriter);
+        assertEquals(writer.toString(), rewriter.toString());
+        assertEquals(List.of("DE", "EN", "FR"), readTable.complete(new String[]{"greet", "-l", ""}));
+        assertEquals(List.of("restart"), readTable.complete(new String[]{"cluster", "node", ""}));
+    }
+
+    @Test
+    public void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> CompletionTable.read(new BufferedReader(new StringReader("no table"))));
+    }
+
+}
@@ -0,0 +1,67 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class NameSuggestionIndexTest {
+
+    @Test
+    public void distance() {
+        assertEquals(0, NameSuggestionIndex.distance("deploy", "deploy"));
+        assertEquals(1, NameSuggestionIndex.distance("deploy", "deplo"));
+        assertEquals(1, NameSuggestionIndex.distance("deploy", "deplay"));
+        assertEquals(2, NameSuggestionIndex.distance("deploy", "deplyo"));
+        assertEquals(6, NameSuggestionIndex.distance("deploy", ""));
+    }
+
+    @Test
+    public void suggest_closestNamesFirst() {
+        NameSuggestionIndex index = NameSuggestionIndex.of(List.of("deploy", "destroy", "delete", "status", "describe"));
+        assertEquals(List.of("deploy"), index.suggest("deplyo"));
+        assertEquals(List.of("delete"), index.suggest("delet"));
+        assertEquals(List.of(), index.suggest("xyz"));
+        assertEquals(List.of(), index.suggest(""));
+    }
+
+    @Test
+    public void suggest_atMostThreeNames() {
+        NameSuggestionIndex index = NameSuggestionIndex.of(List.of("run-a", "run-b", "run-c", "run-d"));
+        assertEquals(List.of("run-a", "run-b", "run-c"), index.suggest("run-x"));
+    }
+
+    @Test
+    public void suggest_equalToExhaustiveSearch() {
+        // given
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            names.add(Integer.toString(random.nextInt(1_000_000), 36));
+        }
+        NameSuggestionIndex index = NameSuggestionIndex.of(names);
+        List<String> inputs = List.of("abcd", "zz1", "q0q0", "hello");
+
+        for (String input : inputs) {
+            // when
+            List<String> actual = index.suggest(input);
+            // then
+            int maxDistance = Math.max(1, Math.min(3, input.length() / 3));
+            List<String> expected = names.stream()
+                    .distinct()
+                    .filter(name -> NameSuggestionIndex.distance(input, name) <= maxDistance)
+                    .sorted((a, b) -> {
+                        int compare = Integer.compare(NameSuggestionIndex.distance(input, a), NameSuggestionIndex.distance(input, b));
+                        return compare != 0 ? compare : a.compareTo(b);
+                    })
+                    .limit(3)
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual);
+        }
+    }
+
+}
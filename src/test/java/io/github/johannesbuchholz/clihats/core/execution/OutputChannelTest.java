@@ -0,0 +1,96 @@
+package io.github.johannesbuchholz.clihats.core.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.exception.ClientCodeExecutionException;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class OutputChannelTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final PrintStream printStream = new PrintStream(out, true, Charset.defaultCharset());
+
+    private String getOutput() {
+        return out.toString(Charset.defaultCharset()).replace(System.lineSeparator(), "\n");
+    }
+
+    @Test
+    public void shouldBufferUntilFlush() {
+        // given
+        OutputChannel channel = OutputChannel.of(printStream);
+
+        // when
+        channel.println("first");
+        channel.print(2);
+        channel.append('\n').append("third");
+
+        // then
+        assertEquals("", getOutput());
+        channel.flush();
+        assertEquals("first\n2\nthird", getOutput());
+    }
+
+    @Test
+    public void shouldWriteOnceBufferIsFull() {
+        // given
+        OutputChannel channel = OutputChannel.of(printStream, 4);
+
+        // when
+        channel.write("abc");
+        channel.write("de");
+
+        // then
+        assertEquals("abc", getOutput());
+        channel.write("0123456789");
+        assertEquals("abcde0123456789", getOutput());
+        channel.close();
+        assertEquals("abcde0123456789", getOutput());
+    }
+
+    @Test
+    public void shouldRejectInvalidBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> OutputChannel.of(printStream, 0));
+        assertThrows(IllegalArgumentException.class, () -> InvocationContext.system().withOutputBufferSize(-1));
+    }
+
+    @Test
+    public void shouldProvideChannelOfRunningCommandAndFlushOnCompletion() throws Exception {
+        // given
+        AtomicReference<OutputChannel> channels = new AtomicReference<>();
+        Command command = Command.forName("print").withInstruction(args -> {
+            OutputChannel channel = InvocationContext.current().getOutputChannel();
+            assertSame(channel, InvocationContext.current().getOutputChannel());
+            channels.set(channel);
+            channel.println("buffered");
+            assertEquals("", getOutput());
+        });
+
+        // when
+        command.execute(new String[]{}, InvocationContext.system().withOut(printStream));
+
+        // then
+        assertEquals("buffered\n", getOutput());
+        assertNotSame(channels.get(), InvocationContext.current().getOutputChannel());
+    }
+
+    @Test
+    public void shouldFlushIfCommandFails() {
+        // given
+        Command command = Command.forName("fail").withInstruction(args -> {
+            InvocationContext.current().getOutputChannel().println("before failure");
+            throw new IllegalStateException("failing on purpose");
+        });
+
+        // when
+        assertThrows(ClientCodeExecutionException.class, () -> command.execute(new String[]{}, InvocationContext.system().withOut(printStream)));
+
+        // then
+        assertEquals("before failure\n", getOutput());
+    }
+
+}
@@ -0,0 +1,145 @@
+package io.github.johannesbuchholz.clihats.core.execution.parser;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommandExecutionException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidInputArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class LazyTest {
+
+    @Test
+    public void shouldNotMap_whenValueIsNotRequested() throws CommandExecutionException {
+        // given
+        AtomicInteger mapperCalls = new AtomicInteger();
+        AtomicReference<Object> received = new AtomicReference<>();
+        Command c = Command.forName("run")
+                .withInstruction(args -> received.set(args[0]))
+                .withParsers(ValuedOptionParser.forName("-a")
+                        .withMapper(s -> mapperCalls.incrementAndGet())
+                        .withLazyMapping());
+        String[] args = {"-a", "value"};
+
+        // when
+        c.execute(args);
+
+        // then
+        assertEquals(0, mapperCalls.get());
+        Lazy<?> lazy = (Lazy<?>) received.get();
+        assertEquals("value", lazy.getRawValue());
+        assertFalse(lazy.isMapped());
+    }
+
+    @Test
+    public void shouldMapAtMostOnce() throws CommandExecutionException {
+        // given
+        AtomicInteger mapperCalls = new AtomicInteger();
+        AtomicReference<Object> received = new AtomicReference<>();
+        Command c = Command.forName("run")
+                .withInstruction(args -> {
+                    Lazy<?> lazy = (Lazy<?>) args[0];
+                    lazy.get();
+                    received.set(lazy.get());
+                })
+                .withParsers(OperandParser.at(0)
+                        .withMapper(s -> s + mapperCalls.incrementAndGet())
+                        .withLazyMapping());
+        String[] args = {"value"};
+
+        // when
+        c.execute(args);
+
+        // then
+        assertEquals(1, mapperCalls.get());
+        assertEquals("value1", received.get());
+    }
+
+    @Test
+    public void shouldProduceLazyValue_whenValueIsAbsent() throws CommandExecutionException {
+        // given
+        AtomicReference<Object> receivedOption = new AtomicReference<>();
+        AtomicReference<Object> receivedOperand = new AtomicReference<>();
+        Command c = Command.forName("run")
+                .withInstruction(args -> {
+                    receivedOption.set(args[0]);
+                    receivedOperand.set(args[1]);
+                })
+                .withParsers(
+                        ValuedOptionParser.forName("-a").withMapper(Integer::parseInt).withLazyMapping(),
+                        OperandParser.at(0).withMapper(Integer::parseInt).withLazyMapping());
+        String[] args = {};
+
+        // when
+        c.execute(args);
+
+        // then
+        assertSame(Lazy.ofNull(), receivedOption.get());
+        assertSame(Lazy.ofNull(), receivedOperand.get());
+        assertNull(Lazy.ofNull().get());
+        assertTrue(Lazy.ofNull().isMapped());
+    }
+
+    @Test
+    public void shouldMapDefaultValueLazily() throws CommandExecutionException {
+        // given
+        AtomicReference<Object> received = new AtomicReference<>();
+        Command c = Command.forName("run")
+                .withInstruction(args -> received.set(((Lazy<?>) args[0]).get()))
+                .withParsers(ValuedOptionParser.forName("-a")
+                        .withDefault("42")
+                        .withMapper(Integer::parseInt)
+                        .withLazyMapping());
+        String[] args = {};
+
+        // when
+        c.execute(args);
+
+        // then
+        assertEquals(42, received.get());
+    }
+
+    @Test
+    public void shouldFail_mappingErrorOnAccess() {
+        // given
+        IllegalArgumentException expectedThrow = new IllegalArgumentException("I am the test exception");
+        Command c = Command.forName("run")
+                .withInstruction(args -> ((Lazy<?>) args[0]).get())
+                .withParsers(ValuedOptionParser.forName("-a")
+                        .withMapper(s -> {
+                            throw expectedThrow;
+                        })
+                        .withLazyMapping());
+        String[] args = {"-a", "anyways"};
+
+        // when
+        // then
+        CommandExecutionException actualException = assertThrows(CommandExecutionException.class, () -> c.execute(args));
+        assertEquals(InvalidInputArgumentException.class, actualException.getClass());
+        assertEquals(ValueMappingException.class, actualException.getCause().getClass());
+        assertEquals(expectedThrow, actualException.getCause().getCause());
+    }
+
+    @Test
+    public void shouldFail_mappingErrorIsCached() {
+        // given
+        AtomicInteger mapperCalls = new AtomicInteger();
+        Lazy<Object> lazy = new Lazy<>(OperandParser.at(0), s -> {
+            mapperCalls.incrementAndGet();
+            throw new IllegalStateException("fail");
+        }, "value");
+
+        // when
+        ValueMappingException first = assertThrows(ValueMappingException.class, lazy::getWithThrows);
+        ValueMappingException second = assertThrows(ValueMappingException.class, lazy::getWithThrows);
+
+        // then
+        assertSame(first, second);
+        assertEquals(1, mapperCalls.get());
+    }
+
+}
@@ -0,0 +1,116 @@
+package io.github.johannesbuchholz.clihats.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compiles command-line interfaces with the {@link CommandLineInterfaceProcessor} and verifies that incorrect
+ * configurations are reported as compilation errors.
+ */
+public class ConfigurationErrorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<String> compile(String className, String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject sourceFile = new SimpleJavaFileObject(URI.create("string:///sample/" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        String outputDirectory = temporaryFolder.newFolder().toString();
+        List<String> options = List.of("-proc:only", "-classpath", System.getProperty("java.class.path"), "-d", outputDirectory, "-s", outputDirectory);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, List.of(sourceFile));
+        task.setProcessors(List.of(new CommandLineInterfaceProcessor()));
+        task.call();
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void equalGlobalOptions() throws IOException {
+        // given
+        String source = "package sample;\n"
+                + "import io.github.johannesbuchholz.clihats.processor.annotations.*;\n"
+                + "@CommandLineInterface\n"
+                + "public class EqualGlobalOptions {\n"
+                + "    @Command(cli = EqualGlobalOptions.class) public static void first(@Argument(name = \"-v\", flagValue = \"true\", global = true) Boolean v) {}\n"
+                + "    @Command(cli = EqualGlobalOptions.class) public static void second(@Argument(name = \"-v\", flagValue = \"true\", global = true) Boolean v) {}\n"
+                + "}\n";
+        // when
+        List<String> errors = compile("EqualGlobalOptions", source);
+        // then
+        assertEquals(List.of(), errors);
+    }
+
+    @Test
+    public void conflictingGlobalOptions() throws IOException {
+        // given
+        String source = "package sample;\n"
+                + "import io.github.johannesbuchholz.clihats.processor.annotations.*;\n"
+                + "@CommandLineInterface\n"
+                + "public class ConflictingGlobalOptions {\n"
+                + "    @Command(cli = ConflictingGlobalOptions.class) public static void first(@Argument(name = \"-v\", flagValue = \"true\", global = true) Boolean v) {}\n"
+                + "    @Command(cli = ConflictingGlobalOptions.class) public static void second(@Argument(name = {\"-v\", \"--verbose\"}, flagValue = \"true\", global = true) Boolean v) {}\n"
+                + "}\n";
+        // when
+        List<String> errors = compile("ConflictingGlobalOptions", source);
+        // then
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).startsWith("Conflicting definitions of global option -v"));
+    }
+
+    @Test
+    public void groupNameClashesWithCommandName() throws IOException {
+        // given
+        String source = "package sample;\n"
+                + "import io.github.johannesbuchholz.clihats.processor.annotations.*;\n"
+                + "@CommandLineInterface(groups = {@Group(path = \"node\"), @Group(path = \"node\")})\n"
+                + "public class ClashingGroup {\n"
+                + "    @Command(cli = ClashingGroup.class, group = \"cluster\") public static void node() {}\n"
+                + "    @Command(cli = ClashingGroup.class, group = {\"cluster\", \"node\"}) public static void restart() {}\n"
+                + "}\n";
+        // when
+        List<String> errors = compile("ClashingGroup", source);
+        // then
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0).startsWith("Command name node of sample.ClashingGroup#node() clashes with a group"));
+        assertTrue(errors.get(1).startsWith("Group [node] of sample.ClashingGroup is described multiple times"));
+    }
+
+    @Test
+    public void reservedNames() throws IOException {
+        // given
+        String source = "package sample;\n"
+                + "import io.github.johannesbuchholz.clihats.processor.annotations.*;\n"
+                + "@CommandLineInterface\n"
+                + "public class ReservedNames {\n"
+                + "    @Command(cli = ReservedNames.class, name = \"--shell\") public static void shell() {}\n"
+                + "    @Command(cli = ReservedNames.class, group = \"--batch\") public static void batch() {}\n"
+                + "    @Command(cli = ReservedNames.class) public static void run(@Argument(name = \"--dry-run\", flagValue = \"true\", global = true) Boolean dryRun) {}\n"
+                + "    @Command(cli = ReservedNames.class) public static void other(@Argument(name = \"--daemon\", flagValue = \"true\") Boolean daemon) {}\n"
+                + "}\n";
+        // when
+        List<String> errors = compile("ReservedNames", source);
+        // then
+        assertEquals(3, errors.size());
+        assertTrue(errors.stream().anyMatch(error -> error.startsWith("Reserved name --shell")));
+        assertTrue(errors.stream().anyMatch(error -> error.startsWith("Reserved name --batch")));
+        assertTrue(errors.stream().anyMatch(error -> error.startsWith("Reserved name --dry-run of global option")));
+    }
+
+}
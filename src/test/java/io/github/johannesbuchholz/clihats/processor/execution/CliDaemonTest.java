@@ -0,0 +1,273 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.AdmissionController;
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class CliDaemonTest {
+
+    private Path directory;
+    private Path socketFile;
+    private CliDaemon daemon;
+    private Thread daemonThread;
+
+    @Before
+    public void setup() throws IOException {
+        assumeTrue(UnixDomainSockets.isSupported());
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Commander commander = Commander.forName("daemon-cli").withCommands(
+                Command.forName("greet")
+                        .withInstruction(args -> System.out.println("Hello " + args[0]))
+                        .withParsers(ArgumentParsers.operand(0)),
+                Command.forName("cat")
+                        .withInstruction(args -> System.out.print(new String(System.in.readAllBytes(), StandardCharsets.UTF_8))),
+                Command.forName("env")
+                        .withInstruction(args -> System.out.print(InvocationContext.current().getEnvironment().get("KEY")
+                                + " " + InvocationContext.current().getWorkingDirectory())),
+                Command.forName("await")
+                        .withInstruction(args -> {
+                            // passes only if two invocations run concurrently
+                            barrier.await(10, TimeUnit.SECONDS);
+                            System.out.print("awaited");
+                        }),
+                Command.forName("fail")
+                        .withInstruction(args -> {
+                            throw new IllegalStateException("failing on purpose");
+                        })
+        );
+        directory = Files.createTempDirectory("clihats-daemon");
+        socketFile = directory.resolve("cli.sock");
+        daemon = CliDaemon.bind(commander, socketFile);
+        daemonThread = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        daemonThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (daemon != null) {
+            daemon.close();
+            daemonThread.join(5_000);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private Invocation invoke(String input, String... args) throws IOException {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        int exitCode = CliDaemonClient.forSocket(socketFile).invoke(args, "/tmp", Map.of("KEY", "value"),
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), stdout, stderr);
+        return new Invocation(exitCode, stdout.toString(StandardCharsets.UTF_8), stderr.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldForwardOutput() throws IOException {
+        // when
+        Invocation invocation = invoke("", "greet", "daemon");
+        // then
+        assertEquals(0, invocation.exitCode);
+        assertEquals("Hello daemon" + System.lineSeparator(), invocation.stdout);
+        assertEquals("", invocation.stderr);
+    }
+
+    @Test
+    public void shouldForwardInput() throws IOException {
+        // when
+        Invocation invocation = invoke("some input", "cat");
+        // then
+        assertEquals(0, invocation.exitCode);
+        assertEquals("some input", invocation.stdout);
+    }
+
+    @Test
+    public void shouldForwardErrorsAndExitCode() throws IOException {
+        // when
+        Invocation failed = invoke("", "fail");
+        Invocation unknown = invoke("", "unknown");
+        Invocation help = invoke("", "--help");
+        // then
+        assertEquals(1, failed.exitCode);
+        assertTrue(failed.stderr.contains("failing on purpose"));
+        assertNotEquals(0, unknown.exitCode);
+        assertEquals(0, help.exitCode);
+        assertTrue(help.stdout.contains("daemon-cli"));
+    }
+
+    @Test
+    public void shouldProvideEnvironmentAndWorkingDirectory() throws IOException {
+        // when
+        Invocation invocation = invoke("", "env");
+        // then
+        assertEquals("value " + Path.of("/tmp"), invocation.stdout);
+    }
+
+    @Test
+    public void shouldRunInvocationsConcurrently() throws Exception {
+        // when
+        CompletableFuture<Invocation> first = CompletableFuture.supplyAsync(() -> invokeUnchecked("await"));
+        CompletableFuture<Invocation> second = CompletableFuture.supplyAsync(() -> invokeUnchecked("await"));
+        // then
+        assertEquals("awaited", first.get(20, TimeUnit.SECONDS).stdout);
+        assertEquals("awaited", second.get(20, TimeUnit.SECONDS).stdout);
+    }
+
+    private Invocation invokeUnchecked(String... args) {
+        try {
+            return invoke("", args);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    public void shouldServeManyInvocations() throws IOException {
+        for (int i = 0; i < 50; i++)
+            assertEquals("Hello " + i + System.lineSeparator(), invoke("", "greet", String.valueOf(i)).stdout);
+    }
+
+    @Test
+    public void shouldRemoveSocketFileOnClose() throws IOException {
+        // when
+        daemon.close();
+        // then
+        assertFalse(Files.exists(socketFile));
+    }
+
+    @Test
+    public void shouldCreateSocketAccessibleByOwnerOnly() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        // then
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(socketFile));
+        assertEquals(List.of(socketFile), Files.list(directory).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldNotReplaceRegularFile() throws IOException {
+        // given
+        Path regularFile = Files.writeString(directory.resolve("notes.txt"), "my notes");
+        Commander commander = Commander.forName("other-cli");
+        try {
+            // when
+            assertThrows(FileAlreadyExistsException.class, () -> CliDaemon.bind(commander, regularFile));
+            // then
+            assertEquals("my notes", Files.readString(regularFile));
+        } finally {
+            Files.delete(regularFile);
+        }
+    }
+
+    @Test
+    public void shouldNotReplaceSocketOfRunningDaemon() throws IOException {
+        // when
+        assertThrows(FileAlreadyExistsException.class, () -> CliDaemon.bind(Commander.forName("other-cli"), socketFile));
+        // then
+        assertEquals("Hello daemon" + System.lineSeparator(), invoke("", "greet", "daemon").stdout);
+    }
+
+    @Test
+    public void shouldReplaceStaleSocket() throws IOException {
+        // given
+        Path staleSocketFile = directory.resolve("stale.sock");
+        UnixDomainSockets.bind(staleSocketFile).close();
+        assertTrue(Files.exists(staleSocketFile));
+        // when
+        try (CliDaemon otherDaemon = CliDaemon.bind(Commander.forName("other-cli"), staleSocketFile)) {
+            // then
+            assertTrue(Files.exists(staleSocketFile));
+        }
+        assertFalse(Files.exists(staleSocketFile));
+    }
+
+    @Test
+    public void shouldCancelInvocationOnClientDisconnect() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Commander commander = Commander.forName("blocking-cli").withCommands(Command.forName("block")
+                .withInstruction(args -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                }));
+        AdmissionController controller = AdmissionController.forCommander(commander)
+                .withMaxConcurrency(1)
+                .withMaxQueueLength(0);
+        Path otherSocketFile = directory.resolve("blocking.sock");
+        try (CliDaemon otherDaemon = CliDaemon.bind(controller, otherSocketFile)) {
+            Thread otherDaemonThread = new Thread(() -> {
+                try {
+                    otherDaemon.serve();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            otherDaemonThread.start();
+
+            // when
+            int runningCountWhileConnected;
+            try (SocketChannel channel = UnixDomainSockets.connect(otherSocketFile)) {
+                DataOutputStream out = new DataOutputStream(UnixDomainSockets.newOutputStream(channel));
+                DaemonProtocol.writeRequest(out, new DaemonProtocol.Request(new String[]{"block"}, "/tmp", Map.of()));
+                assertTrue(started.await(10, TimeUnit.SECONDS));
+                runningCountWhileConnected = controller.getMetrics().getRunningCount();
+            }
+
+            // then
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (controller.getMetrics().getRunningCount() > 0 && System.nanoTime() < deadline)
+                Thread.sleep(5);
+            assertEquals(1, runningCountWhileConnected);
+            assertEquals(0, controller.getMetrics().getRunningCount());
+            otherDaemon.close();
+            otherDaemonThread.join(5_000);
+        }
+    }
+
+    private static class Invocation {
+
+        private final int exitCode;
+        private final String stdout;
+        private final String stderr;
+
+        private Invocation(int exitCode, String stdout, String stderr) {
+            this.exitCode = exitCode;
+            this.stdout = stdout;
+            this.stderr = stderr;
+        }
+
+    }
+
+}
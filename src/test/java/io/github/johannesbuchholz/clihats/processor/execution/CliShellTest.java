@@ -0,0 +1,90 @@
+package io.github.johannesbuchholz.clihats.processor.execution;
+
+import io.github.johannesbuchholz.clihats.core.execution.Command;
+import io.github.johannesbuchholz.clihats.core.execution.Commander;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.parser.ArgumentParsers;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class CliShellTest {
+
+    private final Commander commander = Commander.forName("shell-cli").withCommands(
+            Command.forName("greet")
+                    .withInstruction(args -> InvocationContext.current().getOut().println("Hello " + args[0]))
+                    .withParsers(ArgumentParsers.operand(0), ArgumentParsers.flagOption("--loud")),
+            Command.forName("fail")
+                    .withInstruction(args -> {
+                        throw new IllegalStateException("failing on purpose");
+                    })
+    );
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private void runShell(String input) throws IOException {
+        InvocationContext context = InvocationContext.system()
+                .withIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)))
+                .withOut(new PrintStream(out, true, StandardCharsets.UTF_8))
+                .withErr(new PrintStream(err, true, StandardCharsets.UTF_8))
+                .withExitHandler(exitCode -> fail("Shell must not exit but exited with " + exitCode));
+        new CliShell(commander, context).run();
+    }
+
+    private String getOut() {
+        return out.toString(StandardCharsets.UTF_8).replace("shell-cli> ", "");
+    }
+
+    @Test
+    public void shouldExecuteLinesUntilExit() throws IOException {
+        // when
+        runShell("greet 'you and me'\n\ngreet again\nexit\ngreet never\n");
+        // then
+        assertEquals("Hello you and me\nHello again\n", getOut());
+    }
+
+    @Test
+    public void shouldContinueAfterErrors() throws IOException {
+        // when
+        runShell("unknown\nfail\ngreet 'unclosed\ngreet after\n");
+        // then
+        assertEquals("Hello after\n\n", getOut());
+        String errors = err.toString(StandardCharsets.UTF_8);
+        assertTrue(errors.contains("unknown"));
+        assertTrue(errors.contains("failing on purpose"));
+        assertTrue(errors.contains("Invalid command line"));
+    }
+
+    @Test
+    public void shouldRepeatLinesFromHistory() throws IOException {
+        // when
+        runShell("greet first\ngreet second\n!1\n!!\nhistory\n!9\n");
+        // then
+        assertEquals("Hello first\nHello second\ngreet first\nHello first\ngreet first\nHello first\n"
+                + "    1  greet first\n    2  greet second\n    3  greet first\n    4  greet first\n    5  history\n\n", getOut());
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("No history entry 9"));
+    }
+
+    @Test
+    public void shouldListCompletions() throws IOException {
+        // when
+        runShell("gr\t\ngreet --\t\ngreet \t\n");
+        // then
+        assertEquals("greet\n--help  --loud\n--help  --loud\n\n", getOut());
+    }
+
+    @Test
+    public void shouldBoundHistory() throws IOException {
+        // when
+        runShell("greet x\n".repeat(CliShell.MAX_HISTORY_SIZE + 1) + "!1\n");
+        // then
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("No history entry 1"));
+    }
+
+}
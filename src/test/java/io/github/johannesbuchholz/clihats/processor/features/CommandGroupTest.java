@@ -0,0 +1,98 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.processor.ReusableTestResult;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.annotations.Group;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+@CommandLineInterface(groups = {
+        @Group(path = "cluster", description = "Manages clusters."),
+        @Group(path = {"cluster", "node"}, description = "Manages nodes of a cluster.")
+})
+public class CommandGroupTest {
+
+    @Command(cli = CommandGroupTest.class)
+    public static void status() {
+        result.put("status");
+    }
+
+    @Command(cli = CommandGroupTest.class, group = "cluster")
+    public static void create(@Argument(type = Argument.Type.OPERAND) String name) {
+        result.put("cluster create", name);
+    }
+
+    @Command(cli = CommandGroupTest.class, group = {"cluster", "node"})
+    public static void restart(
+            @Argument(type = Argument.Type.OPERAND) String node,
+            @Argument(name = "-v", flagValue = "true", global = true) Boolean verbose
+    ) {
+        result.put("cluster node restart", node, verbose);
+    }
+
+    private static final ReusableTestResult result = new ReusableTestResult();
+
+    @Before
+    public void setup() {
+        result.clear();
+    }
+
+    @Test
+    public void directCommand() {
+        // given
+        String[] args = {"status"};
+        // when
+        CliHats.get(CommandGroupTest.class).execute(args);
+        // then
+        assertEquals(ReusableTestResult.getExpected("status"), result.getAndClear());
+    }
+
+    @Test
+    public void groupedCommand() {
+        // given
+        String[] args = {"cluster", "create", "my-cluster"};
+        // when
+        CliHats.get(CommandGroupTest.class).execute(args);
+        // then
+        assertEquals(ReusableTestResult.getExpected("cluster create", "my-cluster"), result.getAndClear());
+    }
+
+    @Test
+    public void nestedGroupedCommandWithGlobalOption() {
+        // given
+        String[] args = {"-v", "cluster", "node", "restart", "node-1"};
+        // when
+        CliHats.get(CommandGroupTest.class).execute(args);
+        // then
+        assertEquals(ReusableTestResult.getExpected("cluster node restart", "node-1", true), result.getAndClear());
+    }
+
+    @Test
+    public void groupHelp() {
+        // given
+        String[] args = {"cluster", "--help"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> CliHats.get(CommandGroupTest.class).executeWithThrows(args));
+        // then
+        assertTrue(e.getMessage().contains("Help for command-group-test cluster"));
+        assertTrue(e.getMessage().contains("Manages clusters."));
+        assertTrue(e.getMessage().contains("Manages nodes of a cluster."));
+    }
+
+    @Test
+    public void groupDescriptionInHelpOfParent() {
+        // given
+        String[] args = {"--help"};
+        // when
+        CliException e = assertThrows(CliException.class, () -> CliHats.get(CommandGroupTest.class).executeWithThrows(args));
+        // then
+        assertTrue(e.getMessage().contains("Manages clusters."));
+    }
+
+}
@@ -0,0 +1,62 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.result.NdjsonResultWriter;
+import io.github.johannesbuchholz.clihats.core.execution.result.TsvResultWriter;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+@CommandLineInterface
+public class CommandResultTest {
+
+    @Command
+    public static Stream<String> range(@Argument(type = Argument.Type.OPERAND) Integer count) {
+        return IntStream.range(0, count).mapToObj(i -> "line " + i);
+    }
+
+    @Command(resultWriter = TsvResultWriter.class)
+    public static List<List<String>> table() {
+        return List.of(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Command(resultWriter = NdjsonResultWriter.class)
+    public static Map<String, Object> json(@Argument String name) {
+        return Map.of("name", name);
+    }
+
+    @Command
+    public static int number() {
+        return 42;
+    }
+
+    private static String run(String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system()
+                .withOut(new PrintStream(out, true, Charset.defaultCharset()))
+                .withExitHandler(exitCode -> {});
+        CliHats.get(CommandResultTest.class).execute(args, context);
+        return out.toString(Charset.defaultCharset()).replace(System.lineSeparator(), "\n");
+    }
+
+    @Test
+    public void shouldWriteReturnedValues() {
+        assertEquals("line 0\nline 1\nline 2\n", run("range", "3"));
+        assertEquals("a\tb\nc\td\n", run("table"));
+        assertEquals("{\"name\":\"clihats\"}\n", run("json", "--name", "clihats"));
+        assertEquals("42\n", run("number"));
+    }
+
+}
@@ -0,0 +1,42 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.exception.CommandTimeoutException;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@CommandLineInterface
+public class CommandTimeoutTest {
+
+    @Command(timeout = "PT0.05S")
+    public static void waitForCancellation() throws InterruptedException {
+        while (!InvocationContext.current().getCancellationToken().isCancelled())
+            Thread.sleep(5);
+    }
+
+    @Test
+    public void shouldExitWithTimeoutExitCode() {
+        // given
+        AtomicInteger exitCode = new AtomicInteger(-1);
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system()
+                .withErr(new PrintStream(err, true, StandardCharsets.UTF_8))
+                .withExitHandler(exitCode::set);
+        // when
+        CliHats.get(CommandTimeoutTest.class).execute(new String[]{"wait-for-cancellation"}, context);
+        // then
+        assertEquals(CommandTimeoutException.EXIT_CODE, exitCode.get());
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Timed out after 50 ms"));
+    }
+
+}
@@ -0,0 +1,78 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.CompletionProvider;
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.johannesbuchholz.clihats.processor.annotations.Argument.Type.ARRAY_OPERAND;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@CommandLineInterface
+public class CompletionProviderTest {
+
+    private static final AtomicInteger clusterLookupCount = new AtomicInteger();
+
+    public static class ClusterProvider implements CompletionProvider {
+
+        @Override
+        public Collection<String> getCandidates() {
+            clusterLookupCount.incrementAndGet();
+            return List.of("prod-eu", "prod-us", "staging");
+        }
+
+    }
+
+    public static class JobProvider implements CompletionProvider {
+
+        @Override
+        public Collection<String> getCandidates() {
+            return List.of("job-17", "job-42");
+        }
+
+    }
+
+    @Command
+    public static void cancel(
+            @Argument(completionProvider = ClusterProvider.class) String cluster,
+            @Argument(type = ARRAY_OPERAND, completionProvider = JobProvider.class) String[] jobIds) {
+    }
+
+    @Before
+    public void setup() {
+        clusterLookupCount.set(0);
+    }
+
+    private static String runShell(String input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system()
+                .withIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)))
+                .withOut(new PrintStream(out, true, StandardCharsets.UTF_8))
+                .withExitHandler(exitCode -> fail("Shell must not exit but exited with " + exitCode));
+        CliHats.get(CompletionProviderTest.class).execute(new String[]{"--shell"}, context);
+        return out.toString(StandardCharsets.UTF_8).replace("completion-provider-test> ", "");
+    }
+
+    @Test
+    public void shouldCompleteProvidedValuesFromCache() {
+        // when
+        String output = runShell("cancel --cluster \t\ncancel -c prod\t\ncancel -c staging job-1\t\n");
+        // then
+        assertEquals("prod-eu  prod-us  staging\nprod-eu  prod-us\njob-17\n\n", output);
+        assertEquals(1, clusterLookupCount.get());
+    }
+
+}
@@ -0,0 +1,94 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.processor.ReusableTestResult;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@CommandLineInterface
+public class DryRunTest {
+
+    @Command(cli = DryRunTest.class)
+    public static void login(
+            @Argument(name = "-u", necessity = Argument.Necessity.PROMPT) String user,
+            @Argument(name = "-r", necessity = Argument.Necessity.REQUIRED) Integer retries
+    ) {
+        result.put("login", user, retries);
+    }
+
+    private static final ReusableTestResult result = new ReusableTestResult();
+
+    private final AtomicInteger exitCode = new AtomicInteger(-1);
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private InvocationContext context;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        result.clear();
+        context = InvocationContext.system()
+                .withIn(new ByteArrayInputStream("alice\n".getBytes(StandardCharsets.UTF_8)))
+                .withOut(new PrintStream(out, true))
+                .withErr(new PrintStream(err, true))
+                .withExitHandler(exitCode::set);
+    }
+
+    @Test
+    public void dryRun_validArgumentsAreNotExecuted() {
+        // when
+        CliHats.get(DryRunTest.class).execute(new String[]{"--dry-run", "login", "-r", "3"}, context);
+        // then prompts are neither shown nor answered
+        assertFalse(result.hasResult());
+        assertEquals(-1, exitCode.get());
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void dryRun_invalidArgumentsArePrinted() {
+        // when
+        CliHats.get(DryRunTest.class).execute(new String[]{"--dry-run", "login", "-r", "three"}, context);
+        // then
+        assertFalse(result.hasResult());
+        assertEquals(1, exitCode.get());
+        assertTrue(err.toString(StandardCharsets.UTF_8).startsWith("INVALID_VALUE: "));
+    }
+
+    @Test
+    public void dryRun_batch() throws IOException {
+        // given
+        Path scriptFile = temporaryFolder.newFile("script.txt").toPath();
+        Files.write(scriptFile, List.of("login -r 1", "login -r one", "logout", "login -r 2 -u bob"));
+        // when
+        CliHats.get(DryRunTest.class).execute(new String[]{"--dry-run", "--batch", scriptFile.toString()}, context);
+        // then
+        assertFalse(result.hasResult());
+        assertEquals(1, exitCode.get());
+        String errOutput = err.toString(StandardCharsets.UTF_8);
+        assertTrue(errOutput.contains("Line 2: INVALID_VALUE: "));
+        assertTrue(errOutput.contains("Line 3: UNKNOWN_COMMAND: "));
+        assertTrue(errOutput.contains("Validated 4 lines: 2 valid, 2 invalid"));
+    }
+
+}
@@ -0,0 +1,70 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.processor.ReusableTestResult;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+@CommandLineInterface
+public class GlobalOptionTest {
+
+    @Command(cli = GlobalOptionTest.class)
+    public static void first(
+            @Argument(type = Argument.Type.OPERAND) String operand,
+            @Argument(flagValue = "true", global = true) Boolean verbose,
+            @Argument(name = "-o") String option,
+            @Argument(name = {"-t", "--threads"}, defaultValue = "1", global = true) Integer threads
+    ) {
+        result.put("first", operand, verbose, option, threads);
+    }
+
+    @Command(cli = GlobalOptionTest.class)
+    public static void second(
+            @Argument(name = {"-t", "--threads"}, defaultValue = "1", global = true) Integer threads
+    ) {
+        result.put("second", threads);
+    }
+
+    private static final ReusableTestResult result = new ReusableTestResult();
+
+    @Before
+    public void setup() {
+        result.clear();
+    }
+
+    @Test
+    public void globalOptions_precedeCommandName() {
+        // given
+        String[] args = {"--verbose", "-t", "4", "first", "operand", "-o", "option"};
+        // when
+        CliHats.get(GlobalOptionTest.class).execute(args);
+        // then
+        assertEquals(ReusableTestResult.getExpected("first", "operand", true, "option", 4), result.getAndClear());
+    }
+
+    @Test
+    public void globalOptions_sharedAmongCommands() {
+        // given
+        String[] args = {"--threads", "8", "second"};
+        // when
+        CliHats.get(GlobalOptionTest.class).execute(args);
+        // then
+        assertEquals(ReusableTestResult.getExpected("second", 8), result.getAndClear());
+    }
+
+    @Test
+    public void globalOptions_defaults() {
+        // given
+        String[] args = {"first", "operand"};
+        // when
+        CliHats.get(GlobalOptionTest.class).execute(args);
+        // then
+        assertEquals(ReusableTestResult.getExpected("first", "operand", null, null, 1), result.getAndClear());
+    }
+
+}
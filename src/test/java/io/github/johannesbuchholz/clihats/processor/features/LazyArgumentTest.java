@@ -0,0 +1,85 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.CliException;
+import io.github.johannesbuchholz.clihats.core.execution.exception.InvalidInputArgumentException;
+import io.github.johannesbuchholz.clihats.core.execution.parser.Lazy;
+import io.github.johannesbuchholz.clihats.core.execution.parser.exception.ValueMappingException;
+import io.github.johannesbuchholz.clihats.processor.ReusableTestResult;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import io.github.johannesbuchholz.clihats.processor.subjects.MyClass;
+import io.github.johannesbuchholz.clihats.processor.subjects.MyClassMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+@CommandLineInterface
+public class LazyArgumentTest {
+
+    @Command(cli = LazyArgumentTest.class)
+    public static void lazyArguments(
+            @Argument(type = Argument.Type.OPERAND) Lazy<Integer> number,
+            @Argument(name = "-p", defaultValue = "/my/path") Supplier<Path> path,
+            @Argument(name = "-m", mapper = MyClassMapper.class) Lazy<MyClass> myClass,
+            @Argument(name = "-s") Lazy<String> string
+    ) {
+        result.put("lazy-arguments", number.get(), path.get(), myClass.get(), string);
+    }
+
+    @Command(cli = LazyArgumentTest.class)
+    public static void lazyUnused(@Argument(type = Argument.Type.OPERAND) Lazy<Integer> number) {
+        result.put("lazy-unused", number.isMapped());
+    }
+
+    private static final ReusableTestResult result = new ReusableTestResult();
+
+    @Before
+    public void setup() {
+        result.clear();
+    }
+
+    @Test
+    public void lazyArguments_areMappedOnAccess() {
+        // given
+        String[] args = {"lazy-arguments", "42", "-m", "my-class"};
+        // when
+        CliHats.get(LazyArgumentTest.class).execute(args);
+        // then
+        ReusableTestResult.Result actual = result.getAndClear();
+        assertEquals(42, actual.getArgs()[0]);
+        assertEquals(Path.of("/my/path"), actual.getArgs()[1]);
+        assertEquals(new MyClass("my-class"), actual.getArgs()[2]);
+        Lazy<?> absent = (Lazy<?>) actual.getArgs()[3];
+        assertNull(absent.get());
+        assertNull(absent.getRawValue());
+    }
+
+    @Test
+    public void lazyArguments_areNotMappedWhenUnused() {
+        // given
+        String[] args = {"lazy-unused", "not-a-number"};
+        // when
+        CliHats.get(LazyArgumentTest.class).execute(args);
+        // then
+        assertEquals(ReusableTestResult.getExpected("lazy-unused", false), result.getAndClear());
+    }
+
+    @Test
+    public void lazyArguments_mappingErrorIsReportedAsInvalidInput() {
+        // given
+        String[] args = {"lazy-arguments", "not-a-number"};
+        // when
+        CliException actualException = assertThrows(CliException.class, () -> CliHats.get(LazyArgumentTest.class).executeWithThrows(args));
+        // then
+        assertEquals(InvalidInputArgumentException.class, actualException.getCause().getClass());
+        assertEquals(ValueMappingException.class, actualException.getCause().getCause().getClass());
+        assertFalse(result.hasResult());
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.core.execution.OutputChannel;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+
+@CommandLineInterface
+public class OutputChannelTest {
+
+    @Command
+    public static void count(@Argument(type = Argument.Type.OPERAND) Integer count, OutputChannel out) {
+        for (int i = 0; i < count; i++)
+            out.println("line " + i);
+    }
+
+    @Test
+    public void shouldInjectOutputChannel() {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system()
+                .withOut(new PrintStream(out, true, Charset.defaultCharset()))
+                .withExitHandler(exitCode -> {});
+        // when
+        CliHats.get(OutputChannelTest.class).execute(new String[]{"count", "3"}, context);
+        // then
+        assertEquals("line 0\nline 1\nline 2\n", out.toString(Charset.defaultCharset()).replace(System.lineSeparator(), "\n"));
+    }
+
+}
@@ -0,0 +1,64 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.InvocationContext;
+import io.github.johannesbuchholz.clihats.processor.ReusableTestResult;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliHats;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@CommandLineInterface
+public class PromptTest {
+
+    @Command(cli = PromptTest.class)
+    public static void login(
+            @Argument(name = "-u", necessity = Argument.Necessity.PROMPT) String user,
+            @Argument(name = "-p", necessity = Argument.Necessity.MASKED_PROMPT) String password
+    ) {
+        result.put("login", user, password);
+    }
+
+    private static final ReusableTestResult result = new ReusableTestResult();
+
+    @Before
+    public void setup() {
+        result.clear();
+    }
+
+    @Test
+    public void prompt_readsFromInvocationContext() {
+        // given
+        String[] args = {"login"};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvocationContext context = InvocationContext.system()
+                .withIn(new ByteArrayInputStream("secret\r\nalice\n".getBytes(StandardCharsets.UTF_8)))
+                .withOut(new PrintStream(out, true));
+        // when
+        CliHats.get(PromptTest.class).execute(args, context);
+        // then prompts appear in the order of parsers
+        assertEquals(ReusableTestResult.getExpected("login", "alice", "secret"), result.getAndClear());
+        assertEquals("Password:\nUser:\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void prompt_isSkippedIfValuePresent() {
+        // given
+        String[] args = {"login", "-u", "bob", "-p", "pw"};
+        InvocationContext context = InvocationContext.system()
+                .withIn(new ByteArrayInputStream(new byte[0]));
+        // when
+        CliHats.get(PromptTest.class).execute(args, context);
+        // then
+        assertEquals(ReusableTestResult.getExpected("login", "bob", "pw"), result.getAndClear());
+    }
+
+}
@@ -0,0 +1,118 @@
+package io.github.johannesbuchholz.clihats.processor.features;
+
+import io.github.johannesbuchholz.clihats.core.execution.CompletionTable;
+import io.github.johannesbuchholz.clihats.processor.annotations.Argument;
+import io.github.johannesbuchholz.clihats.processor.annotations.Command;
+import io.github.johannesbuchholz.clihats.processor.annotations.CommandLineInterface;
+import io.github.johannesbuchholz.clihats.processor.execution.CliCompletion;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@CommandLineInterface
+public class ShellCompletionTest {
+
+    public enum Color {RED, GREEN, BLUE}
+
+    @Command
+    public static void paint(
+            @Argument(type = Argument.Type.OPERAND) Color color,
+            @Argument Color border,
+            @Argument(flagValue = "true") Boolean glossy,
+            @Argument(name = "--config", global = true) String config) {
+    }
+
+    @Command(group = "canvas")
+    public static void resize(@Argument(name = {"-w", "--width"}) Integer width) {
+    }
+
+    private static CompletionTable getTable() throws IOException {
+        return CliCompletion.getCompletionTable(ShellCompletionTest.class).orElseThrow();
+    }
+
+    @Test
+    public void shouldGenerateCompletionTable() throws IOException {
+        CompletionTable table = getTable();
+        assertEquals(List.of("canvas", "paint"), table.complete(new String[]{""}));
+        assertEquals(List.of("--border", "--glossy", "--help", "-b", "-g"), table.complete(new String[]{"paint", "-"}));
+        assertEquals(List.of("GREEN"), table.complete(new String[]{"paint", "--border", "G"}));
+        assertEquals(List.of("BLUE", "GREEN", "RED"), table.complete(new String[]{"paint", ""}));
+        assertEquals(List.of("--config", "--help"), table.complete(new String[]{"--"}));
+        assertEquals(List.of("--width"), table.complete(new String[]{"--config", "file", "canvas", "resize", "--w"}));
+    }
+
+    @Test
+    public void shouldPrintCompletionsIfRequested() {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        boolean isCompletionCall;
+        try {
+            // when
+            isCompletionCall = CliCompletion.completeIfRequested(ShellCompletionTest.class, new String[]{"--complete", "paint", "--b"});
+        } finally {
+            System.setOut(originalOut);
+        }
+        // then
+        assertTrue(isCompletionCall);
+        assertEquals("--border\n", out.toString(StandardCharsets.UTF_8));
+        assertFalse(CliCompletion.completeIfRequested(ShellCompletionTest.class, new String[]{"paint"}));
+    }
+
+    @Test
+    public void shouldNotFindTableOfUnknownInterface() throws IOException {
+        assertTrue(CliCompletion.getCompletionTable(String.class).isEmpty());
+        assertTrue(CliCompletion.getScript(String.class, CliCompletion.Shell.BASH).isEmpty());
+    }
+
+    @Test
+    public void shouldGenerateCompletionScripts() throws IOException {
+        for (CliCompletion.Shell shell : CliCompletion.Shell.values()) {
+            String script = CliCompletion.getScript(ShellCompletionTest.class, shell).orElseThrow();
+            assertTrue(shell + " script should register for the program", script.contains("shell-completion-test"));
+            assertTrue(shell + " script should contain values", script.contains("BLUE"));
+            assertTrue(shell + " script should contain option names", script.contains("--width"));
+        }
+    }
+
+    @Test
+    public void shouldCompleteWithBashScript() throws IOException, InterruptedException {
+        Path scriptFile = Files.createTempFile("completion", ".bash");
+        try {
+            Files.writeString(scriptFile, CliCompletion.getScript(ShellCompletionTest.class, CliCompletion.Shell.BASH).orElseThrow());
+            assertEquals("canvas paint", completeWithBash(scriptFile, "shell-completion-test ''"));
+            assertEquals("resize", completeWithBash(scriptFile, "shell-completion-test --config file canvas ''"));
+            assertEquals("GREEN", completeWithBash(scriptFile, "shell-completion-test paint --border G"));
+            assertEquals("--border --glossy -b -g --help", completeWithBash(scriptFile, "shell-completion-test paint -"));
+            assertEquals("", completeWithBash(scriptFile, "shell-completion-test unknown ''"));
+        } finally {
+            Files.delete(scriptFile);
+        }
+    }
+
+    private static String completeWithBash(Path scriptFile, String words) throws IOException, InterruptedException {
+        String commandLine = "source '" + scriptFile + "'; COMP_WORDS=(" + words + "); COMP_CWORD=$((${#COMP_WORDS[@]} - 1)); "
+                + "_clihats_shell_completion_test; echo \"${COMPREPLY[*]}\"";
+        Process process;
+        try {
+            process = new ProcessBuilder("bash", "-c", commandLine).redirectErrorStream(true).start();
+        } catch (IOException e) {
+            Assume.assumeNoException("bash is not available", e);
+            throw e;
+        }
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(output, 0, process.waitFor());
+        return output.strip();
+    }
+
+}